@@ -2,45 +2,72 @@ package com.mindfulfinance.api;
 
 import static com.mindfulfinance.domain.account.AccountStatus.ACTIVE;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfulfinance.api.metrics.UseCaseMetrics;
 import com.mindfulfinance.application.ports.AccountRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.application.usecases.ComputeAccountBalance;
 import com.mindfulfinance.application.usecases.ComputeMonthlyBurnByCurrency;
 import com.mindfulfinance.application.usecases.ComputeMonthlySavingsByCurrency;
 import com.mindfulfinance.application.usecases.ComputeNetWorthByCurrency;
 import com.mindfulfinance.application.usecases.DeleteAccount;
 import com.mindfulfinance.application.usecases.DeleteTransaction;
+import com.mindfulfinance.application.usecases.ImportJobScheduler;
 import com.mindfulfinance.application.usecases.ImportTransactions;
+import com.mindfulfinance.application.usecases.IngestTransactions;
 import com.mindfulfinance.application.usecases.UpdateAccount;
 import com.mindfulfinance.application.usecases.UpdateTransaction;
+import com.mindfulfinance.application.usecases.ValidateTransactionsImport;
 import com.mindfulfinance.domain.account.Account;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.account.AccountType;
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
 import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
 import com.mindfulfinance.domain.transaction.Transaction;
 import com.mindfulfinance.domain.transaction.TransactionDirection;
 import com.mindfulfinance.domain.transaction.TransactionId;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.Currency;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
@@ -59,6 +86,12 @@ public class AccountsController {
   private final DeleteTransaction deleteTransactionUseCase;
   private final UpdateAccount updateAccount;
   private final UpdateTransaction updateTransaction;
+  private final ValidateTransactionsImport validateTransactionsImport;
+  private final ImportJobScheduler importJobScheduler;
+  private final IngestTransactions ingestTransactions;
+  private final UseCaseMetrics useCases;
+  private final ObjectMapper objectMapper;
+  private final long parallelCsvParseThresholdBytes;
 
   public AccountsController(
       AccountRepository accountRepository,
@@ -72,7 +105,14 @@ public class AccountsController {
       ImportTransactions importTransactions,
       DeleteTransaction deleteTransactionUseCase,
       UpdateAccount updateAccount,
-      UpdateTransaction updateTransaction) {
+      UpdateTransaction updateTransaction,
+      ValidateTransactionsImport validateTransactionsImport,
+      ImportJobScheduler importJobScheduler,
+      IngestTransactions ingestTransactions,
+      UseCaseMetrics useCases,
+      ObjectMapper objectMapper,
+      @Value("${mindful-finance.import.parallel-parse-threshold:16MB}")
+          DataSize parallelCsvParseThreshold) {
     this.accountRepository = accountRepository;
     this.personalFinanceCardRepository = personalFinanceCardRepository;
     this.transactionRepository = transactionRepository;
@@ -85,6 +125,12 @@ public class AccountsController {
     this.deleteTransactionUseCase = deleteTransactionUseCase;
     this.updateAccount = updateAccount;
     this.updateTransaction = updateTransaction;
+    this.validateTransactionsImport = validateTransactionsImport;
+    this.importJobScheduler = importJobScheduler;
+    this.ingestTransactions = ingestTransactions;
+    this.useCases = useCases;
+    this.objectMapper = objectMapper;
+    this.parallelCsvParseThresholdBytes = parallelCsvParseThreshold.toBytes();
   }
 
   // Milestone 3: create account endpoint for the HTTP adapter v0.
@@ -107,9 +153,13 @@ public class AccountsController {
 
   @GetMapping("/accounts")
   public List<AccountDto> getAccounts() {
+    // Card ledgers are hidden; one read of the cards instead of a lookup per account.
+    Set<AccountId> cardAccountIds =
+        personalFinanceCardRepository.findAll().stream()
+            .map(PersonalFinanceCard::linkedAccountId)
+            .collect(Collectors.toSet());
     return accountRepository.findAll().stream()
-        .filter(
-            account -> personalFinanceCardRepository.findByLinkedAccountId(account.id()).isEmpty())
+        .filter(account -> !cardAccountIds.contains(account.id()))
         .map(
             account ->
                 new AccountDto(
@@ -130,12 +180,10 @@ public class AccountsController {
       throw new IllegalArgumentException("Request body must not be null");
     }
 
+    UpdateAccount.Command command =
+        new UpdateAccount.Command(parsedAccountId, req.name(), parseAccountType(req.type()));
     boolean updated =
-        updateAccount
-            .update(
-                new UpdateAccount.Command(
-                    parsedAccountId, req.name(), parseAccountType(req.type())))
-            .isPresent();
+        useCases.call(UpdateAccount.class, () -> updateAccount.update(command)).isPresent();
 
     if (!updated) {
       throw new AccountNotFoundException("Account not found");
@@ -149,7 +197,8 @@ public class AccountsController {
   public ResponseEntity<Void> deleteAccount(@PathVariable("accountId") String accountId) {
     AccountId parsedAccountId = parseAccountId(accountId);
     Account account = requireInvestmentAccount(parsedAccountId);
-    deleteAccount.delete(new DeleteAccount.Command(account));
+    useCases.run(
+        DeleteAccount.class, () -> deleteAccount.delete(new DeleteAccount.Command(account)));
     return ResponseEntity.noContent().build();
   }
 
@@ -180,45 +229,80 @@ public class AccountsController {
     requireInvestmentAccount(parsedAccountId);
 
     return transactionRepository.findByAccountId(parsedAccountId).stream()
-        .map(
-            tx ->
-                new TransactionDto(
-                    tx.id().value().toString(),
-                    tx.occurredOn(),
-                    tx.direction().name(),
-                    tx.amount().amount().toPlainString(),
-                    tx.amount().currency().getCurrencyCode(),
-                    tx.memo()))
+        .map(AccountsController::toTransactionDto)
         .toList();
   }
 
+  // Backup export: rows go from a database cursor straight to the response, so memory use does
+  // not grow with the ledger. The read-only transaction is what lets the JDBC driver use a cursor.
+  @GetMapping("/accounts/{accountId}/transactions/export")
+  @Transactional(readOnly = true)
+  public void exportTransactions(
+      @PathVariable("accountId") String accountId,
+      @RequestParam(value = "format", defaultValue = "csv") String format,
+      HttpServletResponse response)
+      throws IOException {
+    AccountId parsedAccountId = parseAccountId(accountId);
+    requireInvestmentAccount(parsedAccountId);
+    boolean csv = parseExportFormat(format);
+
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(csv ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment()
+            .filename("transactions-" + accountId + (csv ? ".csv" : ".ndjson"))
+            .build()
+            .toString());
+
+    Writer writer =
+        new BufferedWriter(
+            new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    if (csv) TransactionsCsvWriter.writeHeader(writer);
+    transactionRepository.forEachByAccountId(
+        parsedAccountId,
+        tx -> {
+          try {
+            if (csv) {
+              TransactionsCsvWriter.writeRow(writer, tx);
+            } else {
+              writer.write(objectMapper.writeValueAsString(toTransactionDto(tx)));
+              writer.write('\n');
+            }
+          } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write transactions export", ex);
+          }
+        });
+    writer.flush();
+  }
+
   @PutMapping("/accounts/{accountId}/transactions/{transactionId}")
   public ResponseEntity<Void> updateTransaction(
       @PathVariable("accountId") String accountId,
       @PathVariable("transactionId") String transactionId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @RequestBody UpdateTransactionRequest req) {
     AccountId parsedAccountId = parseAccountId(accountId);
     Account account = requireInvestmentAccount(parsedAccountId);
     TransactionId parsedTransactionId = parseTransactionId(transactionId);
 
-    boolean updated =
-        updateTransaction
-            .update(
-                new UpdateTransaction.Command(
-                    parsedAccountId,
-                    parsedTransactionId,
-                    account.currency(),
-                    req.occurredOn(),
-                    req.direction(),
-                    req.amount(),
-                    req.memo()))
-            .isPresent();
-
-    if (!updated) {
-      throw new TransactionNotFoundException("Transaction not found");
-    }
+    UpdateTransaction.Command command =
+        new UpdateTransaction.Command(
+            parsedAccountId,
+            parsedTransactionId,
+            account.currency(),
+            req.occurredOn(),
+            req.direction(),
+            req.amount(),
+            req.memo(),
+            VersionHeaders.parseIfMatch(ifMatch));
+    Versioned<Transaction> updated =
+        useCases
+            .call(UpdateTransaction.class, () -> updateTransaction.updateVersioned(command))
+            .orElseThrow(() -> new TransactionNotFoundException("Transaction not found"));
 
-    return ResponseEntity.noContent().build();
+    return VersionHeaders.noContent(updated.version());
   }
 
   @DeleteMapping("/accounts/{accountId}/transactions/{transactionId}")
@@ -229,9 +313,10 @@ public class AccountsController {
     requireInvestmentAccount(parsedAccountId);
     TransactionId parsedTransactionId = parseTransactionId(transactionId);
 
+    DeleteTransaction.Command command =
+        new DeleteTransaction.Command(parsedAccountId, parsedTransactionId);
     boolean deleted =
-        deleteTransactionUseCase.delete(
-            new DeleteTransaction.Command(parsedAccountId, parsedTransactionId));
+        useCases.call(DeleteTransaction.class, () -> deleteTransactionUseCase.delete(command));
 
     if (!deleted) {
       throw new TransactionNotFoundException("Transaction not found");
@@ -246,11 +331,125 @@ public class AccountsController {
     AccountId parsedAccountId = parseAccountId(accountId);
     requireInvestmentAccount(parsedAccountId);
 
-    List<ImportTransactions.Row> rows = TransactionsCsvParser.parse(file);
-    ImportTransactions.Result result = importTransactions.importRows(parsedAccountId, rows);
+    ImportTransactions.Result result;
+    try (Stream<ImportTransactions.Row> rows =
+        file.getSize() >= parallelCsvParseThresholdBytes
+            ? TransactionsCsvParser.parseInParallel(file, ForkJoinPool.commonPool())
+            : TransactionsCsvParser.parse(file)) {
+      result =
+          useCases.call(
+              ImportTransactions.class, () -> importTransactions.importRows(parsedAccountId, rows));
+    }
 
     return new ImportTransactionsCsvResponse(
-        rows.size(), result.importedCount(), rows.size() - result.importedCount());
+        result.receivedCount(), result.importedCount(), result.skippedCount());
+  }
+
+  // Dry run of the CSV import: reports every bad row at once and saves nothing.
+  @PostMapping(
+      value = "/imports/transactions/csv/validate",
+      consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ValidateTransactionsCsvResponse validateTransactionsCsv(
+      @RequestParam("accountId") String accountId, @RequestParam("file") MultipartFile file) {
+    AccountId parsedAccountId = parseAccountId(accountId);
+    requireInvestmentAccount(parsedAccountId);
+
+    ValidateTransactionsImport.Report report;
+    try (Stream<ValidateTransactionsImport.Candidate> candidates =
+        TransactionsCsvParser.parseForValidation(file)) {
+      report =
+          useCases.call(
+              ValidateTransactionsImport.class,
+              () -> validateTransactionsImport.validate(parsedAccountId, candidates));
+    }
+
+    Map<String, Integer> errorCounts = new LinkedHashMap<>();
+    report.errorCounts().forEach((code, count) -> errorCounts.put(code.name(), count));
+    return new ValidateTransactionsCsvResponse(
+        report.valid(),
+        report.rowCount(),
+        report.validRowCount(),
+        report.invalidRowCount(),
+        errorCounts,
+        report.errors().stream()
+            .map(
+                error ->
+                    new ImportRowErrorDto(error.lineNumber(), error.column(), error.code().name()))
+            .toList(),
+        report.truncated());
+  }
+
+  // Background CSV import: the upload is spooled to disk and imported by a worker; poll the job.
+  @PostMapping(
+      value = "/imports/transactions/csv/jobs",
+      consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportJobDto> submitImportJob(
+      @RequestParam("accountId") String accountId, @RequestParam("file") MultipartFile file) {
+    AccountId parsedAccountId = parseAccountId(accountId);
+    requireInvestmentAccount(parsedAccountId);
+
+    SpooledCsvUpload upload = SpooledCsvUpload.spool(file);
+    ImportJob job =
+        useCases.call(
+            ImportJobScheduler.class, () -> importJobScheduler.submit(parsedAccountId, upload));
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(toImportJobDto(job));
+  }
+
+  @GetMapping("/imports/jobs/{jobId}")
+  public ImportJobDto getImportJob(@PathVariable("jobId") String jobId) {
+    ImportJobId parsedJobId = parseImportJobId(jobId);
+    return useCases
+        .call(ImportJobScheduler.class, () -> importJobScheduler.find(parsedJobId))
+        .map(AccountsController::toImportJobDto)
+        .orElseThrow(() -> new ImportJobNotFoundException("Import job not found"));
+  }
+
+  @PostMapping("/imports/jobs/{jobId}/cancel")
+  public ImportJobDto cancelImportJob(@PathVariable("jobId") String jobId) {
+    ImportJobId parsedJobId = parseImportJobId(jobId);
+    return useCases
+        .call(ImportJobScheduler.class, () -> importJobScheduler.cancel(parsedJobId))
+        .map(AccountsController::toImportJobDto)
+        .orElseThrow(() -> new ImportJobNotFoundException("Import job not found"));
+  }
+
+  // Bulk ingestion: one JSON transaction per line, possibly for several accounts. Results are
+  // streamed back one line per input line, in input order, followed by a summary line.
+  @PostMapping(value = "/transactions/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public void ingestTransactions(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    OutputStream out = response.getOutputStream();
+
+    IngestTransactions.Summary summary;
+    try (Stream<IngestTransactions.Item> items =
+        TransactionsNdjsonParser.parse(request.getInputStream(), objectMapper)) {
+      summary =
+          useCases.call(
+              IngestTransactions.class,
+              () ->
+                  ingestTransactions.ingest(
+                      items,
+                      result ->
+                          writeNdjsonLine(
+                              out,
+                              new IngestResultDto(
+                                  result.lineNumber(),
+                                  result.outcome().name(),
+                                  result.transactionId() == null
+                                      ? null
+                                      : result.transactionId().value().toString(),
+                                  result.error()))));
+    }
+    writeNdjsonLine(
+        out,
+        new IngestSummaryDto(
+            summary.receivedCount(),
+            summary.importedCount(),
+            summary.duplicateCount(),
+            summary.rejectedCount()));
+    out.flush();
   }
 
   // Milestone 3: expose application balance use case over HTTP.
@@ -258,14 +457,21 @@ public class AccountsController {
   public MoneyDto getBalance(@PathVariable("accountId") String accountId) {
     AccountId parsedAccountId = parseAccountId(accountId);
     requireInvestmentAccount(parsedAccountId);
-    Money balance = computeAccountBalance.compute(parsedAccountId);
+    Money balance =
+        useCases.call(
+            ComputeAccountBalance.class, () -> computeAccountBalance.compute(parsedAccountId));
     return toMoneyDto(balance);
   }
 
-  // Milestone 3: net worth is grouped by currency (no FX conversion yet).
+  // Milestone 3: net worth is grouped by currency (no FX conversion yet). Like the export, the
+  // aggregates below stream the ledgers inside a read-only transaction so the driver uses a cursor.
   @GetMapping("/net-worth")
+  @Transactional(readOnly = true)
   public Map<String, String> getNetWorth() {
-    return computeNetWorthByCurrency.compute().entrySet().stream()
+    return useCases
+        .call(ComputeNetWorthByCurrency.class, computeNetWorthByCurrency::compute)
+        .entrySet()
+        .stream()
         .sorted(
             Map.Entry.comparingByKey(
                 (left, right) -> left.getCurrencyCode().compareTo(right.getCurrencyCode())))
@@ -278,11 +484,17 @@ public class AccountsController {
   }
 
   @GetMapping("/peace/monthly-burn")
+  @Transactional(readOnly = true)
   public Map<String, String> getMonthlyBurn(
       @RequestParam(value = "asOf", required = false) String asOf) {
     LocalDate asOfDate = parseAsOfDate(asOf);
 
-    return computeMonthlyBurnByCurrency.compute(asOfDate).entrySet().stream()
+    return useCases
+        .call(
+            ComputeMonthlyBurnByCurrency.class,
+            () -> computeMonthlyBurnByCurrency.compute(asOfDate))
+        .entrySet()
+        .stream()
         .sorted(
             Map.Entry.comparingByKey(
                 (left, right) -> left.getCurrencyCode().compareTo(right.getCurrencyCode())))
@@ -295,11 +507,17 @@ public class AccountsController {
   }
 
   @GetMapping("/peace/monthly-savings")
+  @Transactional(readOnly = true)
   public Map<String, String> getMonthlySavings(
       @RequestParam(value = "asOf", required = false) String asOf) {
     LocalDate asOfDate = parseAsOfDate(asOf);
 
-    return computeMonthlySavingsByCurrency.compute(asOfDate).entrySet().stream()
+    return useCases
+        .call(
+            ComputeMonthlySavingsByCurrency.class,
+            () -> computeMonthlySavingsByCurrency.compute(asOfDate))
+        .entrySet()
+        .stream()
         .sorted(
             Map.Entry.comparingByKey(
                 (left, right) -> left.getCurrencyCode().compareTo(right.getCurrencyCode())))
@@ -329,6 +547,10 @@ public class AccountsController {
     return new AccountId(UUID.fromString(accountId));
   }
 
+  private static ImportJobId parseImportJobId(String jobId) {
+    return new ImportJobId(UUID.fromString(jobId));
+  }
+
   private static TransactionId parseTransactionId(String transactionId) {
     return new TransactionId(UUID.fromString(transactionId));
   }
@@ -355,6 +577,50 @@ public class AccountsController {
     }
   }
 
+  /** Returns {@code true} for CSV and {@code false} for NDJSON. */
+  private static boolean parseExportFormat(String format) {
+    return switch (format.trim().toLowerCase(Locale.ROOT)) {
+      case "csv" -> true;
+      case "ndjson" -> false;
+      default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+    };
+  }
+
+  private static TransactionDto toTransactionDto(Transaction tx) {
+    return new TransactionDto(
+        tx.id().value().toString(),
+        tx.occurredOn(),
+        tx.direction().name(),
+        tx.amount().amount().toPlainString(),
+        tx.amount().currency().getCurrencyCode(),
+        tx.memo());
+  }
+
+  private static ImportJobDto toImportJobDto(ImportJob job) {
+    return new ImportJobDto(
+        job.id().value().toString(),
+        job.accountId().value().toString(),
+        job.status().name(),
+        job.progress().parsedCount(),
+        job.progress().importedCount(),
+        job.progress().skippedCount(),
+        job.progress().failedCount(),
+        job.cancelRequested(),
+        job.error(),
+        job.createdAt(),
+        job.updatedAt());
+  }
+
+  // Serializes to bytes first: writing through the mapper would close the response stream.
+  private void writeNdjsonLine(OutputStream out, Object value) {
+    try {
+      out.write(objectMapper.writeValueAsBytes(value));
+      out.write('\n');
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to write NDJSON response", ex);
+    }
+  }
+
   private static MoneyDto toMoneyDto(Money money) {
     return new MoneyDto(money.amount().toPlainString(), money.currency().getCurrencyCode());
   }
@@ -385,4 +651,33 @@ public class AccountsController {
 
   public record ImportTransactionsCsvResponse(
       int receivedRows, int importedCount, int skippedDuplicates) {}
+
+  public record ValidateTransactionsCsvResponse(
+      boolean valid,
+      int receivedRows,
+      int validRows,
+      int invalidRows,
+      Map<String, Integer> errorCounts,
+      List<ImportRowErrorDto> errors,
+      boolean errorsTruncated) {}
+
+  public record ImportRowErrorDto(int line, String column, String code) {}
+
+  public record IngestResultDto(int line, String outcome, String transactionId, String error) {}
+
+  public record IngestSummaryDto(
+      int receivedCount, int importedCount, int duplicateCount, int rejectedCount) {}
+
+  public record ImportJobDto(
+      String id,
+      String accountId,
+      String status,
+      int parsedRows,
+      int importedCount,
+      int skippedDuplicates,
+      int failedRows,
+      boolean cancelRequested,
+      String error,
+      Instant createdAt,
+      Instant updatedAt) {}
 }
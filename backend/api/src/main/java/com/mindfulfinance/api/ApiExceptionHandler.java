@@ -2,6 +2,7 @@ package com.mindfulfinance.api;
 
 import static com.mindfulfinance.domain.shared.DomainErrorCode.ACCOUNT_DELETE_FORBIDDEN_HAS_TRANSACTIONS;
 
+import com.mindfulfinance.application.ports.VersionConflictException;
 import com.mindfulfinance.domain.shared.DomainException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
@@ -18,7 +19,8 @@ public class ApiExceptionHandler {
   @ExceptionHandler({
     AccountNotFoundException.class,
     TransactionNotFoundException.class,
-    PersonalFinanceCardNotFoundException.class
+    PersonalFinanceCardNotFoundException.class,
+    ImportJobNotFoundException.class
   })
   public ResponseEntity<ApiError> handleNotFound(RuntimeException ex) {
     return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -48,5 +50,11 @@ public class ApiExceptionHandler {
         .body(new ApiError("CONFLICT", ex.getMessage()));
   }
 
+  @ExceptionHandler(VersionConflictException.class)
+  public ResponseEntity<ApiError> handleVersionConflict(VersionConflictException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(new ApiError("VERSION_CONFLICT", ex.getMessage()));
+  }
+
   public record ApiError(String error, String message) {}
 }
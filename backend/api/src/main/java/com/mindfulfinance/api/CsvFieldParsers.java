@@ -0,0 +1,138 @@
+package com.mindfulfinance.api;
+
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+/**
+ * Allocation-light parsers for the CSV import columns. Each returns {@code null} for a value it
+ * cannot accept instead of throwing, so a file full of bad rows costs no stack-trace capture.
+ */
+final class CsvFieldParsers {
+  private static final int MAX_LONG_DIGITS = 18;
+  private static final int MAX_EXPONENT_DIGITS = 9;
+  private static final TransactionDirection[] DIRECTIONS = TransactionDirection.values();
+  private static final Currency[] CURRENCIES_BY_CODE = new Currency[26 * 26 * 26];
+
+  static {
+    for (Currency currency : Currency.getAvailableCurrencies()) {
+      int index = currencyIndex(currency.getCurrencyCode());
+      if (index >= 0) CURRENCIES_BY_CODE[index] = currency;
+    }
+  }
+
+  private CsvFieldParsers() {}
+
+  /** Parses a strict ISO {@code yyyy-MM-dd} date, rejecting impossible days such as 02-30. */
+  static LocalDate parseIsoDate(String value) {
+    if (value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') return null;
+
+    int year = digits(value, 0, 4);
+    int month = digits(value, 5, 7);
+    int day = digits(value, 8, 10);
+    if (year < 0 || month < 1 || month > 12 || day < 1) return null;
+    if (day > 28 && day > daysInMonth(year, month)) return null;
+
+    return LocalDate.of(year, month, day);
+  }
+
+  /**
+   * Parses {@code [+-]digits[.digits]} into an unscaled {@code long} and a scale, then builds the
+   * {@link BigDecimal} from those. Values with more than 18 digits, or in exponent notation, are
+   * validated here and handed to the {@code BigDecimal(String)} constructor, which then cannot
+   * fail.
+   */
+  static BigDecimal parseDecimal(String value) {
+    int length = value.length();
+    int index = 0;
+    boolean negative = false;
+    if (index < length && (value.charAt(index) == '+' || value.charAt(index) == '-')) {
+      negative = value.charAt(index) == '-';
+      index++;
+    }
+
+    long unscaled = 0;
+    int digitCount = 0;
+    int scale = 0;
+    boolean seenPoint = false;
+    for (; index < length; index++) {
+      char c = value.charAt(index);
+      if (c >= '0' && c <= '9') {
+        if (digitCount < MAX_LONG_DIGITS) unscaled = unscaled * 10 + (c - '0');
+        digitCount++;
+        if (seenPoint) scale++;
+      } else if (c == '.' && !seenPoint) {
+        seenPoint = true;
+      } else if (c == 'e' || c == 'E') {
+        return digitCount > 0 && isExponent(value, index + 1) ? new BigDecimal(value) : null;
+      } else {
+        return null;
+      }
+    }
+
+    if (digitCount == 0) return null;
+    if (digitCount > MAX_LONG_DIGITS) return new BigDecimal(value);
+
+    return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+  }
+
+  /** Matches a direction name ignoring case without allocating an upper-cased copy. */
+  static TransactionDirection parseDirection(String value) {
+    for (TransactionDirection direction : DIRECTIONS) {
+      String name = direction.name();
+      if (name.length() == value.length() && name.regionMatches(true, 0, value, 0, name.length())) {
+        return direction;
+      }
+    }
+    return null;
+  }
+
+  /** Looks up an ISO 4217 code, in any letter case, in a table built once from the JDK list. */
+  static Currency parseCurrency(String value) {
+    int index = currencyIndex(value);
+    return index < 0 ? null : CURRENCIES_BY_CODE[index];
+  }
+
+  private static int currencyIndex(String code) {
+    if (code.length() != 3) return -1;
+
+    int index = 0;
+    for (int i = 0; i < 3; i++) {
+      int letter = Character.toUpperCase(code.charAt(i)) - 'A';
+      if (letter < 0 || letter >= 26) return -1;
+      index = index * 26 + letter;
+    }
+    return index;
+  }
+
+  private static boolean isExponent(String value, int start) {
+    int index = start;
+    if (index < value.length() && (value.charAt(index) == '+' || value.charAt(index) == '-')) {
+      index++;
+    }
+    int exponentDigits = value.length() - index;
+    return exponentDigits > 0
+        && exponentDigits <= MAX_EXPONENT_DIGITS
+        && digits(value, index, value.length()) >= 0;
+  }
+
+  /** Returns the non-negative number written in {@code value[start, end)}, or -1. */
+  private static int digits(String value, int start, int end) {
+    int result = 0;
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') return -1;
+      result = result * 10 + (c - '0');
+    }
+    return result;
+  }
+
+  private static int daysInMonth(int year, int month) {
+    return switch (month) {
+      case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+}
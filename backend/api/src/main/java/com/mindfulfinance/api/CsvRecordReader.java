@@ -0,0 +1,197 @@
+package com.mindfulfinance.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Single-pass RFC 4180 tokenizer over a reusable char buffer. Each {@link #next()} call decodes one
+ * record (quoted fields, {@code ""} escapes, embedded line breaks, CRLF/LF/CR endings, a leading
+ * BOM) into a per-record char array and only records field offsets; a {@code String} is created
+ * solely when a caller asks for a field, so unused columns cost no allocation.
+ */
+final class CsvRecordReader implements Closeable {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private int position;
+  private int limit;
+  private boolean started;
+
+  private char[] record = new char[256];
+  private int recordLength;
+  private int[] fieldStarts = new int[16];
+  private int[] fieldEnds = new int[16];
+  private int fieldCount;
+
+  private int nextLineNumber = 1;
+  private int lineNumber;
+
+  CsvRecordReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /** Advances to the next record; returns {@code false} once the input is exhausted. */
+  boolean next() throws IOException {
+    if (!started) {
+      started = true;
+      if (peek() == '\uFEFF') position++;
+    }
+    if (peek() == EOF) return false;
+
+    lineNumber = nextLineNumber;
+    recordLength = 0;
+    fieldCount = 0;
+    int fieldStart = 0;
+    boolean quoted = false;
+
+    while (true) {
+      if (position == limit && !fill()) {
+        if (quoted) {
+          throw new IllegalArgumentException(
+              "Row " + lineNumber + " has unterminated quoted field");
+        }
+        endField(fieldStart);
+        return true;
+      }
+
+      // Copy the run of ordinary characters in one go; only delimiters, quotes and line breaks
+      // need per-character handling.
+      int runStart = position;
+      while (position < limit && !isSpecial(buffer[position], quoted)) position++;
+      appendRun(runStart, position);
+      if (position == limit) continue;
+
+      char c = buffer[position++];
+      if (quoted) {
+        if (c == '"') {
+          if (peek() == '"') {
+            position++;
+            append('"');
+          } else {
+            quoted = false;
+          }
+        } else {
+          if (c == '\n' || (c == '\r' && peek() != '\n')) nextLineNumber++;
+          append(c);
+        }
+      } else if (c == ',') {
+        endField(fieldStart);
+        fieldStart = recordLength;
+      } else if (c == '"') {
+        if (recordLength == fieldStart) {
+          quoted = true;
+        } else {
+          append(c);
+        }
+      } else {
+        if (c == '\r' && peek() == '\n') position++;
+        nextLineNumber++;
+        endField(fieldStart);
+        return true;
+      }
+    }
+  }
+
+  /** Physical line on which the current record starts (the header is line 1). */
+  int lineNumber() {
+    return lineNumber;
+  }
+
+  int fieldCount() {
+    return fieldCount;
+  }
+
+  /** Returns the decoded field, or {@code null} when the record has fewer fields. */
+  String field(int index) {
+    if (index >= fieldCount) return null;
+
+    return new String(record, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+  }
+
+  /** Returns the field without leading and trailing whitespace, as {@link String#trim()} would. */
+  String trimmedField(int index) {
+    if (index >= fieldCount) return null;
+
+    int start = fieldStarts[index];
+    int end = fieldEnds[index];
+    while (start < end && record[start] <= ' ') start++;
+    while (end > start && record[end - 1] <= ' ') end--;
+    return new String(record, start, end - start);
+  }
+
+  /** True for a record that is a single whitespace-only field, i.e. a blank line. */
+  boolean isBlank() {
+    if (fieldCount != 1) return false;
+
+    for (int i = fieldStarts[0]; i < fieldEnds[0]; i++) {
+      if (record[i] > ' ') return false;
+    }
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private int peek() throws IOException {
+    if (position == limit && !fill()) return EOF;
+
+    return buffer[position];
+  }
+
+  private boolean fill() throws IOException {
+    int read = reader.read(buffer, 0, buffer.length);
+    if (read <= 0) {
+      position = limit = 0;
+      return false;
+    }
+
+    position = 0;
+    limit = read;
+    return true;
+  }
+
+  private static boolean isSpecial(char c, boolean quoted) {
+    return c == '"' || c == '\n' || c == '\r' || (!quoted && c == ',');
+  }
+
+  private void appendRun(int from, int to) {
+    int length = to - from;
+    if (length == 0) return;
+
+    ensureRecordCapacity(recordLength + length);
+    System.arraycopy(buffer, from, record, recordLength, length);
+    recordLength += length;
+  }
+
+  private void append(char c) {
+    ensureRecordCapacity(recordLength + 1);
+    record[recordLength++] = c;
+  }
+
+  private void ensureRecordCapacity(int capacity) {
+    if (capacity <= record.length) return;
+    if (capacity > MAX_RECORD_LENGTH) {
+      throw new IllegalArgumentException("Row " + lineNumber + " is too long");
+    }
+
+    record =
+        Arrays.copyOf(record, Math.max(capacity, Math.min(record.length * 2, MAX_RECORD_LENGTH)));
+  }
+
+  private void endField(int fieldStart) {
+    if (fieldCount == fieldStarts.length) {
+      fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+      fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+    }
+    fieldStarts[fieldCount] = fieldStart;
+    fieldEnds[fieldCount] = recordLength;
+    fieldCount++;
+  }
+}
@@ -0,0 +1,44 @@
+package com.mindfulfinance.api;
+
+import com.mindfulfinance.domain.shared.DomainErrorCode;
+
+/**
+ * A CSV row that could not be turned into an import row, kept as a value so that parsing a bad row
+ * costs no exception. {@link #toException()} produces the error the import endpoint reports.
+ */
+record CsvRowError(int lineNumber, String column, Problem problem, String value)
+    implements TransactionsCsvParser.ParsedRow {
+  enum Problem {
+    MISSING_COLUMN,
+    EMPTY_VALUE,
+    INVALID_VALUE
+  }
+
+  String message() {
+    return switch (problem) {
+      case MISSING_COLUMN -> "Row " + lineNumber + " is missing required column '" + column + "'";
+      case EMPTY_VALUE -> "Row " + lineNumber + " has empty value for '" + column + "'";
+      case INVALID_VALUE -> "Row " + lineNumber + " has invalid " + column + " '" + value + "'";
+    };
+  }
+
+  /** The code the validation report uses for this problem. */
+  DomainErrorCode code() {
+    return switch (problem) {
+      case MISSING_COLUMN -> DomainErrorCode.IMPORT_ROW_COLUMN_MISSING;
+      case EMPTY_VALUE -> DomainErrorCode.IMPORT_ROW_VALUE_EMPTY;
+      case INVALID_VALUE ->
+          switch (column) {
+            case "occurred_on" -> DomainErrorCode.IMPORT_ROW_OCCURRED_ON_INVALID;
+            case "direction" -> DomainErrorCode.IMPORT_ROW_DIRECTION_INVALID;
+            case "amount" -> DomainErrorCode.IMPORT_ROW_AMOUNT_INVALID;
+            case "currency" -> DomainErrorCode.IMPORT_ROW_CURRENCY_INVALID;
+            default -> throw new IllegalStateException("Unknown CSV column: " + column);
+          };
+    };
+  }
+
+  IllegalArgumentException toException() {
+    return new IllegalArgumentException(message());
+  }
+}
@@ -0,0 +1,7 @@
+package com.mindfulfinance.api;
+
+public final class ImportJobNotFoundException extends RuntimeException {
+  public ImportJobNotFoundException(String message) {
+    super(message);
+  }
+}
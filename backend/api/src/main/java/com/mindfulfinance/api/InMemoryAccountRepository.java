@@ -3,14 +3,18 @@ package com.mindfulfinance.api;
 import com.mindfulfinance.application.ports.AccountRepository;
 import com.mindfulfinance.domain.account.Account;
 import com.mindfulfinance.domain.account.AccountId;
-import java.util.LinkedHashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** In-memory implementation of the AccountRepository for testing purposes. */
+/**
+ * In-memory implementation of the AccountRepository for testing purposes. Safe for concurrent
+ * requests; {@link #findAll} sorts like the Postgres adapter since the map keeps no order.
+ */
 public final class InMemoryAccountRepository implements AccountRepository {
-  private final Map<AccountId, Account> store = new LinkedHashMap<>();
+  private final Map<AccountId, Account> store = new ConcurrentHashMap<>();
 
   @Override
   public Optional<Account> find(AccountId id) {
@@ -24,12 +28,15 @@ public final class InMemoryAccountRepository implements AccountRepository {
 
   @Override
   public List<Account> findAll() {
-    return List.copyOf(store.values());
+    return store.values().stream()
+        .sorted(
+            Comparator.comparing(Account::createdAt).thenComparing(account -> account.id().value()))
+        .toList();
   }
 
   @Override
   public void lock(AccountId id) {
-    // In-memory adapter has no concurrent database writers to coordinate with.
+    // There is no transaction to hold a row lock until; each write here is atomic on its own.
   }
 
   @Override
@@ -3,12 +3,12 @@ package com.mindfulfinance.api;
 import com.mindfulfinance.application.ports.IncomeForecastRepository;
 import com.mindfulfinance.domain.personalfinance.IncomeForecast;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class InMemoryIncomeForecastRepository implements IncomeForecastRepository {
-  private final Map<String, IncomeForecast> store = new LinkedHashMap<>();
+  private final Map<String, IncomeForecast> store = new ConcurrentHashMap<>();
 
   @Override
   public Optional<IncomeForecast> findByCardId(PersonalFinanceCardId cardId) {
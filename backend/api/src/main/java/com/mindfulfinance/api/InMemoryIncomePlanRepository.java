@@ -3,12 +3,12 @@ package com.mindfulfinance.api;
 import com.mindfulfinance.application.ports.IncomePlanRepository;
 import com.mindfulfinance.domain.personalfinance.IncomePlan;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class InMemoryIncomePlanRepository implements IncomePlanRepository {
-  private final Map<String, IncomePlan> store = new LinkedHashMap<>();
+  private final Map<String, IncomePlan> store = new ConcurrentHashMap<>();
 
   @Override
   public Optional<IncomePlan> findByCardAndYear(PersonalFinanceCardId cardId, int year) {
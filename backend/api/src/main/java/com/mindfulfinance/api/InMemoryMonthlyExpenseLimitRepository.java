@@ -3,12 +3,12 @@ package com.mindfulfinance.api;
 import com.mindfulfinance.application.ports.MonthlyExpenseLimitRepository;
 import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class InMemoryMonthlyExpenseLimitRepository implements MonthlyExpenseLimitRepository {
-  private final Map<PersonalFinanceCardId, MonthlyExpenseLimit> store = new LinkedHashMap<>();
+  private final Map<PersonalFinanceCardId, MonthlyExpenseLimit> store = new ConcurrentHashMap<>();
 
   @Override
   public Optional<MonthlyExpenseLimit> findByCardId(PersonalFinanceCardId cardId) {
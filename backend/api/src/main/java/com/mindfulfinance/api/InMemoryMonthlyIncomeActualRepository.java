@@ -1,35 +1,107 @@
 package com.mindfulfinance.api;
 
 import com.mindfulfinance.application.ports.MonthlyIncomeActualRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
+/**
+ * Keeps a version per month like the Postgres adapter. Months of a card and year sit in their own
+ * sorted map: reads walk it without locking, and each write is an atomic {@code compute} on its
+ * month, so conditional writes behave as compare-and-set. A cleared month stays in its map empty,
+ * so its version keeps growing.
+ */
 public final class InMemoryMonthlyIncomeActualRepository implements MonthlyIncomeActualRepository {
-  private final Map<String, MonthlyIncomeActual> store = new LinkedHashMap<>();
+  private final ConcurrentMap<
+          YearKey, ConcurrentNavigableMap<Integer, Versioned<MonthlyIncomeActual>>>
+      store = new ConcurrentHashMap<>();
 
   @Override
   public List<MonthlyIncomeActual> findByCardAndYear(PersonalFinanceCardId cardId, int year) {
-    return store.values().stream()
-        .filter(summary -> summary.cardId().equals(cardId) && summary.year() == year)
-        .sorted(Comparator.comparingInt(MonthlyIncomeActual::month))
+    return findVersionedByCardAndYear(cardId, year).stream()
+        .map(Versioned::value)
+        .filter(summary -> !summary.isEmpty())
         .toList();
   }
 
   @Override
-  public void upsert(MonthlyIncomeActual summary) {
-    store.put(key(summary.cardId(), summary.year(), summary.month()), summary);
+  public List<Versioned<MonthlyIncomeActual>> findVersionedByCardAndYear(
+      PersonalFinanceCardId cardId, int year) {
+    var months = store.get(new YearKey(cardId, year));
+    return months == null ? List.of() : List.copyOf(months.values());
   }
 
   @Override
-  public void delete(PersonalFinanceCardId cardId, int year, int month) {
-    store.remove(key(cardId, year, month));
+  public long upsert(MonthlyIncomeActual summary) {
+    return months(summary)
+        .compute(
+            summary.month(),
+            (month, stored) -> new Versioned<>(summary, stored == null ? 1 : stored.version() + 1))
+        .version();
   }
 
-  private static String key(PersonalFinanceCardId cardId, int year, int month) {
-    return cardId.value() + ":" + year + ":" + month;
+  @Override
+  public long upsert(MonthlyIncomeActual summary, long expectedVersion) {
+    return months(summary)
+        .compute(
+            summary.month(),
+            (month, stored) -> {
+              requireVersion(stored, expectedVersion);
+              return new Versioned<>(summary, expectedVersion + 1);
+            })
+        .version();
+  }
+
+  @Override
+  public long delete(PersonalFinanceCardId cardId, int year, int month) {
+    var months = store.get(new YearKey(cardId, year));
+    if (months == null) return Versioned.ABSENT;
+    Versioned<MonthlyIncomeActual> cleared =
+        months.computeIfPresent(month, (key, stored) -> cleared(cardId, year, month, stored));
+    return cleared == null ? Versioned.ABSENT : cleared.version();
+  }
+
+  @Override
+  public long delete(PersonalFinanceCardId cardId, int year, int month, long expectedVersion) {
+    var months = store.get(new YearKey(cardId, year));
+    if (months == null) {
+      requireVersion(null, expectedVersion);
+      return Versioned.ABSENT;
+    }
+    Versioned<MonthlyIncomeActual> cleared =
+        months.compute(
+            month,
+            (key, stored) -> {
+              requireVersion(stored, expectedVersion);
+              return stored == null ? null : cleared(cardId, year, month, stored);
+            });
+    return cleared == null ? Versioned.ABSENT : cleared.version();
   }
+
+  private static Versioned<MonthlyIncomeActual> cleared(
+      PersonalFinanceCardId cardId, int year, int month, Versioned<MonthlyIncomeActual> stored) {
+    return new Versioned<>(MonthlyIncomeActual.empty(cardId, year, month), stored.version() + 1);
+  }
+
+  private ConcurrentNavigableMap<Integer, Versioned<MonthlyIncomeActual>> months(
+      MonthlyIncomeActual summary) {
+    return store.computeIfAbsent(
+        new YearKey(summary.cardId(), summary.year()), key -> new ConcurrentSkipListMap<>());
+  }
+
+  private static void requireVersion(Versioned<MonthlyIncomeActual> stored, long expectedVersion) {
+    long version = stored == null ? Versioned.ABSENT : stored.version();
+    if (version != expectedVersion) {
+      throw new VersionConflictException(
+          "Monthly income actual was changed concurrently, reload it and retry");
+    }
+  }
+
+  private record YearKey(PersonalFinanceCardId cardId, int year) {}
 }
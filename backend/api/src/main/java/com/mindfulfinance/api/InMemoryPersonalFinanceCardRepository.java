@@ -1,26 +1,40 @@
 package com.mindfulfinance.api;
 
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Versions every card the way the Postgres adapter does. Reads are lock-free; writes go through
+ * {@link ConcurrentMap#compute}, which locks only the card's own bin, so {@link #update} is an
+ * atomic compare-and-set.
+ */
 public final class InMemoryPersonalFinanceCardRepository implements PersonalFinanceCardRepository {
-  private final Map<PersonalFinanceCardId, PersonalFinanceCard> store = new LinkedHashMap<>();
+  private final ConcurrentMap<PersonalFinanceCardId, Versioned<PersonalFinanceCard>> store =
+      new ConcurrentHashMap<>();
 
   @Override
   public Optional<PersonalFinanceCard> find(PersonalFinanceCardId id) {
+    return findVersioned(id).map(Versioned::value);
+  }
+
+  @Override
+  public Optional<Versioned<PersonalFinanceCard>> findVersioned(PersonalFinanceCardId id) {
     return Optional.ofNullable(store.get(id));
   }
 
   @Override
   public Optional<PersonalFinanceCard> findByLinkedAccountId(AccountId linkedAccountId) {
     return store.values().stream()
+        .map(Versioned::value)
         .filter(card -> card.linkedAccountId().equals(linkedAccountId))
         .findFirst();
   }
@@ -28,6 +42,7 @@ public final class InMemoryPersonalFinanceCardRepository implements PersonalFina
   @Override
   public List<PersonalFinanceCard> findAll() {
     return store.values().stream()
+        .map(Versioned::value)
         .sorted(
             Comparator.comparing(PersonalFinanceCard::createdAt)
                 .thenComparing(card -> card.id().value()))
@@ -36,7 +51,24 @@ public final class InMemoryPersonalFinanceCardRepository implements PersonalFina
 
   @Override
   public void save(PersonalFinanceCard card) {
-    store.put(card.id(), card);
+    store.compute(
+        card.id(),
+        (id, stored) -> new Versioned<>(card, stored == null ? 1 : stored.version() + 1));
+  }
+
+  @Override
+  public long update(PersonalFinanceCard card, long expectedVersion) {
+    return store
+        .compute(
+            card.id(),
+            (id, stored) -> {
+              if (stored == null || stored.version() != expectedVersion) {
+                throw new VersionConflictException(
+                    "Personal finance card was changed concurrently, reload it and retry");
+              }
+              return new Versioned<>(card, expectedVersion + 1);
+            })
+        .version();
   }
 
   @Override
@@ -1,52 +1,186 @@
 package com.mindfulfinance.api;
 
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.transaction.Transaction;
 import com.mindfulfinance.domain.transaction.TransactionId;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
-/** In-memory implementation of the TransactionRepository for testing purposes. */
+/**
+ * In-memory implementation of the TransactionRepository for testing and load runs. Background
+ * import workers write while requests read, so each account has its own ledger: writes to one
+ * account are serialized on its lock, writes to different accounts never contend, and reads take no
+ * lock at all but see the last published snapshot of the account.
+ */
 public final class InMemoryTransactionRepository implements TransactionRepository {
-  private final Map<AccountId, List<Transaction>> byAccount = new HashMap<>();
+  private final ConcurrentMap<AccountId, Ledger> ledgers = new ConcurrentHashMap<>();
 
   @Override
   public List<Transaction> findByAccountId(AccountId accountId) {
-    return List.copyOf(byAccount.getOrDefault(accountId, List.of()));
+    Ledger ledger = ledgers.get(accountId);
+    return ledger == null ? List.of() : ledger.snapshot.transactions();
+  }
+
+  @Override
+  public Optional<Versioned<Transaction>> findVersioned(
+      AccountId accountId, TransactionId transactionId) {
+    Ledger ledger = ledgers.get(accountId);
+    if (ledger == null) return Optional.empty();
+
+    Snapshot snapshot = ledger.snapshot;
+    int index = snapshot.indexOf(transactionId);
+    return index < 0
+        ? Optional.empty()
+        : Optional.of(new Versioned<>(snapshot.items[index], snapshot.versions[index]));
   }
 
   @Override
   public void save(Transaction tx) {
-    byAccount.computeIfAbsent(tx.accountId(), e -> new ArrayList<>()).add(tx);
+    ledger(tx.accountId()).append(List.of(tx));
+  }
+
+  @Override
+  public void saveAll(List<Transaction> transactions) {
+    Map<AccountId, List<Transaction>> byAccount = new LinkedHashMap<>();
+    for (Transaction tx : transactions) {
+      byAccount.computeIfAbsent(tx.accountId(), id -> new ArrayList<>()).add(tx);
+    }
+    byAccount.forEach((accountId, batch) -> ledger(accountId).append(batch));
   }
 
   @Override
   public void update(Transaction tx) {
-    List<Transaction> transactions = byAccount.get(tx.accountId());
-    if (transactions == null) {
+    Ledger ledger = ledgers.get(tx.accountId());
+    if (ledger == null || ledger.replace(tx, Versioned.ABSENT) == Versioned.ABSENT) {
       throw new IllegalStateException("Transaction not found");
     }
+  }
 
-    for (int index = 0; index < transactions.size(); index++) {
-      if (transactions.get(index).id().equals(tx.id())) {
-        transactions.set(index, tx);
-        return;
-      }
+  @Override
+  public long update(Transaction tx, long expectedVersion) {
+    Ledger ledger = ledgers.get(tx.accountId());
+    long version = ledger == null ? Versioned.ABSENT : ledger.replace(tx, expectedVersion);
+    if (version == Versioned.ABSENT) {
+      throw new VersionConflictException(
+          "Transaction was changed concurrently, reload it and retry");
     }
-
-    throw new IllegalStateException("Transaction not found");
+    return version;
   }
 
   @Override
   public boolean delete(AccountId accountId, TransactionId transactionId) {
-    List<Transaction> transactions = byAccount.get(accountId);
-    if (transactions == null) {
-      return false;
+    Ledger ledger = ledgers.get(accountId);
+    return ledger != null && ledger.remove(transactionId);
+  }
+
+  private Ledger ledger(AccountId accountId) {
+    return ledgers.computeIfAbsent(accountId, id -> new Ledger());
+  }
+
+  /**
+   * One account's transactions in insertion order. Appends fill the spare capacity past the
+   * published size, which no reader looks at, so they stay amortized O(1); replacing or removing an
+   * entry copies the arrays, since readers may still hold the old ones.
+   */
+  private static final class Ledger {
+    // A lock rather than a monitor, so writers on virtual threads do not pin their carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    void append(List<Transaction> batch) {
+      lock.lock();
+      try {
+        Snapshot current = snapshot;
+        int size = current.size + batch.size();
+        Transaction[] items = current.items;
+        long[] versions = current.versions;
+        if (size > items.length) {
+          int capacity = Math.max(size, Math.max(8, items.length * 2));
+          items = Arrays.copyOf(items, capacity);
+          versions = Arrays.copyOf(versions, capacity);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+          items[current.size + i] = batch.get(i);
+          versions[current.size + i] = 1;
+        }
+        snapshot = new Snapshot(items, versions, size);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Replaces the transaction if it is at {@code expectedVersion}, or at any version when that is
+     * {@link Versioned#ABSENT}; returns the new version, or {@link Versioned#ABSENT} if nothing was
+     * replaced.
+     */
+    long replace(Transaction tx, long expectedVersion) {
+      lock.lock();
+      try {
+        Snapshot current = snapshot;
+        int index = current.indexOf(tx.id());
+        if (index < 0) return Versioned.ABSENT;
+        if (expectedVersion != Versioned.ABSENT && current.versions[index] != expectedVersion) {
+          return Versioned.ABSENT;
+        }
+
+        Transaction[] items = Arrays.copyOf(current.items, current.items.length);
+        long[] versions = Arrays.copyOf(current.versions, current.versions.length);
+        items[index] = tx;
+        versions[index]++;
+        snapshot = new Snapshot(items, versions, current.size);
+        return versions[index];
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    boolean remove(TransactionId transactionId) {
+      lock.lock();
+      try {
+        Snapshot current = snapshot;
+        int index = current.indexOf(transactionId);
+        if (index < 0) return false;
+
+        Transaction[] items = new Transaction[current.items.length];
+        long[] versions = new long[current.versions.length];
+        System.arraycopy(current.items, 0, items, 0, index);
+        System.arraycopy(current.versions, 0, versions, 0, index);
+        int tail = current.size - index - 1;
+        System.arraycopy(current.items, index + 1, items, index, tail);
+        System.arraycopy(current.versions, index + 1, versions, index, tail);
+        snapshot = new Snapshot(items, versions, current.size - 1);
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** Entries below {@code size} never change once published; later writes copy or append. */
+  private record Snapshot(Transaction[] items, long[] versions, int size) {
+    static final Snapshot EMPTY = new Snapshot(new Transaction[0], new long[0], 0);
+
+    List<Transaction> transactions() {
+      return Collections.unmodifiableList(Arrays.asList(items).subList(0, size));
     }
 
-    return transactions.removeIf(transaction -> transaction.id().equals(transactionId));
+    int indexOf(TransactionId transactionId) {
+      for (int i = 0; i < size; i++) {
+        if (items[i].id().equals(transactionId)) return i;
+      }
+      return -1;
+    }
   }
 }
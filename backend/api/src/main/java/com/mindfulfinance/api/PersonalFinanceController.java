@@ -1,14 +1,18 @@
 package com.mindfulfinance.api;
 
+import com.mindfulfinance.api.metrics.UseCaseMetrics;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.UnitOfWork;
 import com.mindfulfinance.application.usecases.ArchivePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.CreatePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.DeletePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.GetCardPersonalFinanceSnapshot;
 import com.mindfulfinance.application.usecases.ListPersonalFinanceCards;
+import com.mindfulfinance.application.usecases.MonthlyActualWriteCoalescer;
 import com.mindfulfinance.application.usecases.RenamePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.RestorePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.SaveIncomePlan;
+import com.mindfulfinance.application.usecases.SaveMonthlyActuals;
 import com.mindfulfinance.application.usecases.SaveMonthlyExpenseActual;
 import com.mindfulfinance.application.usecases.SaveMonthlyIncomeActual;
 import com.mindfulfinance.application.usecases.SavePersonalFinanceSettings;
@@ -26,16 +30,18 @@ import java.time.format.DateTimeParseException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -48,11 +54,13 @@ public class PersonalFinanceController {
   private final RestorePersonalFinanceCard restorePersonalFinanceCard;
   private final DeletePersonalFinanceCard deletePersonalFinanceCard;
   private final GetCardPersonalFinanceSnapshot getCardPersonalFinanceSnapshot;
-  private final SaveMonthlyExpenseActual saveMonthlyExpenseActual;
-  private final SaveMonthlyIncomeActual saveMonthlyIncomeActual;
+  private final MonthlyActualWriteCoalescer monthlyActualWriteCoalescer;
+  private final SaveMonthlyActuals saveMonthlyActuals;
   private final SaveIncomePlan saveIncomePlan;
   private final SavePersonalFinanceSettings savePersonalFinanceSettings;
   private final TransferBetweenPersonalFinanceCards transferBetweenPersonalFinanceCards;
+  private final UnitOfWork unitOfWork;
+  private final UseCaseMetrics useCases;
 
   public PersonalFinanceController(
       PersonalFinanceCardRepository cardRepository,
@@ -63,11 +71,13 @@ public class PersonalFinanceController {
       RestorePersonalFinanceCard restorePersonalFinanceCard,
       DeletePersonalFinanceCard deletePersonalFinanceCard,
       GetCardPersonalFinanceSnapshot getCardPersonalFinanceSnapshot,
-      SaveMonthlyExpenseActual saveMonthlyExpenseActual,
-      SaveMonthlyIncomeActual saveMonthlyIncomeActual,
+      MonthlyActualWriteCoalescer monthlyActualWriteCoalescer,
+      SaveMonthlyActuals saveMonthlyActuals,
       SaveIncomePlan saveIncomePlan,
       SavePersonalFinanceSettings savePersonalFinanceSettings,
-      TransferBetweenPersonalFinanceCards transferBetweenPersonalFinanceCards) {
+      TransferBetweenPersonalFinanceCards transferBetweenPersonalFinanceCards,
+      UnitOfWork unitOfWork,
+      UseCaseMetrics useCases) {
     this.cardRepository = cardRepository;
     this.listPersonalFinanceCards = listPersonalFinanceCards;
     this.createPersonalFinanceCard = createPersonalFinanceCard;
@@ -76,16 +86,18 @@ public class PersonalFinanceController {
     this.restorePersonalFinanceCard = restorePersonalFinanceCard;
     this.deletePersonalFinanceCard = deletePersonalFinanceCard;
     this.getCardPersonalFinanceSnapshot = getCardPersonalFinanceSnapshot;
-    this.saveMonthlyExpenseActual = saveMonthlyExpenseActual;
-    this.saveMonthlyIncomeActual = saveMonthlyIncomeActual;
+    this.monthlyActualWriteCoalescer = monthlyActualWriteCoalescer;
+    this.saveMonthlyActuals = saveMonthlyActuals;
     this.saveIncomePlan = saveIncomePlan;
     this.savePersonalFinanceSettings = savePersonalFinanceSettings;
     this.transferBetweenPersonalFinanceCards = transferBetweenPersonalFinanceCards;
+    this.unitOfWork = unitOfWork;
+    this.useCases = useCases;
   }
 
   @GetMapping("/personal-finance/cards")
   public List<PersonalFinanceCardDto> listCards() {
-    return listPersonalFinanceCards.list().stream()
+    return useCases.call(ListPersonalFinanceCards.class, listPersonalFinanceCards::list).stream()
         .map(PersonalFinanceController::toCardDto)
         .toList();
   }
@@ -97,46 +109,68 @@ public class PersonalFinanceController {
       throw new IllegalArgumentException("Request body must not be null");
     }
 
+    CreatePersonalFinanceCard.Command command =
+        new CreatePersonalFinanceCard.Command(request.name());
     PersonalFinanceCard card =
-        createPersonalFinanceCard.create(new CreatePersonalFinanceCard.Command(request.name()));
+        useCases.call(
+            CreatePersonalFinanceCard.class, () -> createPersonalFinanceCard.create(command));
     return new CreatePersonalFinanceCardResponse(card.id().value().toString());
   }
 
   @PutMapping("/personal-finance/cards/{cardId}")
-  @Transactional
   public ResponseEntity<Void> renameCard(
       @PathVariable("cardId") String rawCardId,
       @RequestBody UpdatePersonalFinanceCardRequest request) {
-    PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
+    PersonalFinanceCardId cardId = requireSettledCardId(rawCardId);
     if (request == null) {
       throw new IllegalArgumentException("Request body must not be null");
     }
 
-    renamePersonalFinanceCard.rename(new RenamePersonalFinanceCard.Command(cardId, request.name()));
+    RenamePersonalFinanceCard.Command command =
+        new RenamePersonalFinanceCard.Command(cardId, request.name());
+    unitOfWork.run(
+        () ->
+            useCases.call(
+                RenamePersonalFinanceCard.class, () -> renamePersonalFinanceCard.rename(command)));
     return ResponseEntity.noContent().build();
   }
 
   @PutMapping("/personal-finance/cards/{cardId}/archive")
-  @Transactional
   public ResponseEntity<Void> archiveCard(@PathVariable("cardId") String rawCardId) {
-    PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
-    archivePersonalFinanceCard.archive(new ArchivePersonalFinanceCard.Command(cardId));
+    PersonalFinanceCardId cardId = requireSettledCardId(rawCardId);
+    unitOfWork.run(
+        () ->
+            useCases.call(
+                ArchivePersonalFinanceCard.class,
+                () ->
+                    archivePersonalFinanceCard.archive(
+                        new ArchivePersonalFinanceCard.Command(cardId))));
     return ResponseEntity.noContent().build();
   }
 
   @PutMapping("/personal-finance/cards/{cardId}/restore")
-  @Transactional
   public ResponseEntity<Void> restoreCard(@PathVariable("cardId") String rawCardId) {
-    PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
-    restorePersonalFinanceCard.restore(new RestorePersonalFinanceCard.Command(cardId));
+    PersonalFinanceCardId cardId = requireSettledCardId(rawCardId);
+    unitOfWork.run(
+        () ->
+            useCases.call(
+                RestorePersonalFinanceCard.class,
+                () ->
+                    restorePersonalFinanceCard.restore(
+                        new RestorePersonalFinanceCard.Command(cardId))));
     return ResponseEntity.noContent().build();
   }
 
   @DeleteMapping("/personal-finance/cards/{cardId}")
-  @Transactional
   public ResponseEntity<Void> deleteCard(@PathVariable("cardId") String rawCardId) {
-    PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
-    deletePersonalFinanceCard.delete(new DeletePersonalFinanceCard.Command(cardId));
+    PersonalFinanceCardId cardId = requireSettledCardId(rawCardId);
+    unitOfWork.run(
+        () ->
+            useCases.run(
+                DeletePersonalFinanceCard.class,
+                () ->
+                    deletePersonalFinanceCard.delete(
+                        new DeletePersonalFinanceCard.Command(cardId))));
     return ResponseEntity.noContent().build();
   }
 
@@ -144,33 +178,53 @@ public class PersonalFinanceController {
   public PersonalFinanceSnapshotDto getSnapshot(
       @PathVariable("cardId") String rawCardId, @PathVariable("year") int year) {
     validateYear(year);
-    PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
-    return toDto(getCardPersonalFinanceSnapshot.get(cardId, year));
+    PersonalFinanceCardId cardId = requireSettledCardId(rawCardId);
+    GetCardPersonalFinanceSnapshot.Result snapshot =
+        useCases.call(
+            GetCardPersonalFinanceSnapshot.class,
+            () -> getCardPersonalFinanceSnapshot.get(cardId, year));
+
+    SnapshotSerializeEvent event = new SnapshotSerializeEvent();
+    event.begin();
+    PersonalFinanceSnapshotDto response = toDto(snapshot);
+    event.end();
+    if (event.shouldCommit()) {
+      event.cardIdHash = cardId.value().hashCode();
+      event.year = year;
+      event.commit();
+    }
+    return response;
   }
 
   @PutMapping("/personal-finance/cards/{cardId}/expenses/actual/{month}")
   public ResponseEntity<Void> updateMonthlyExpenseActual(
       @PathVariable("cardId") String rawCardId,
       @PathVariable("month") int month,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @RequestBody UpdateMonthlyExpenseRequest request) {
     PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
     validateMonth(month);
 
-    saveMonthlyExpenseActual.save(
+    SaveMonthlyExpenseActual.Command command =
         new SaveMonthlyExpenseActual.Command(
             cardId,
             validateYear(request.year()),
             month,
             toExpenseCategoryAmounts(
-                request.categoryAmounts(), "Category amounts must not be null")));
+                request.categoryAmounts(), "Category amounts must not be null"),
+            VersionHeaders.parseIfMatch(ifMatch));
+    OptionalLong version =
+        useCases.call(
+            SaveMonthlyExpenseActual.class, () -> monthlyActualWriteCoalescer.saveExpense(command));
 
-    return ResponseEntity.noContent().build();
+    return VersionHeaders.saved(version);
   }
 
   @PutMapping("/personal-finance/cards/{cardId}/income/actual/{month}")
   public ResponseEntity<Void> updateMonthlyIncomeActual(
       @PathVariable("cardId") String rawCardId,
       @PathVariable("month") int month,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @RequestBody UpdateMonthlyIncomeActualRequest request) {
     PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
     validateMonth(month);
@@ -178,15 +232,66 @@ public class PersonalFinanceController {
       throw new IllegalArgumentException("Request body must not be null");
     }
 
-    saveMonthlyIncomeActual.save(
+    SaveMonthlyIncomeActual.Command command =
         new SaveMonthlyIncomeActual.Command(
-            cardId, validateYear(request.year()), month, request.totalAmount()));
+            cardId,
+            validateYear(request.year()),
+            month,
+            request.totalAmount(),
+            VersionHeaders.parseIfMatch(ifMatch));
+    OptionalLong version =
+        useCases.call(
+            SaveMonthlyIncomeActual.class, () -> monthlyActualWriteCoalescer.saveIncome(command));
+
+    return VersionHeaders.saved(version);
+  }
 
+  // Spreadsheet paste: up to a year of expense and income actuals in one request and one
+  // transaction, instead of one request per month.
+  @PutMapping("/personal-finance/cards/{cardId}/actuals/{year}")
+  public ResponseEntity<Void> updateMonthlyActuals(
+      @PathVariable("cardId") String rawCardId,
+      @PathVariable("year") int year,
+      @RequestBody UpdateMonthlyActualsRequest request) {
+    PersonalFinanceCardId cardId = requireSettledCardId(rawCardId);
+    validateYear(year);
+    if (request == null) {
+      throw new IllegalArgumentException("Request body must not be null");
+    }
+
+    List<SaveMonthlyActuals.ExpenseMonth> expenses =
+        request.expenses() == null
+            ? List.of()
+            : request.expenses().stream()
+                .map(
+                    expense -> {
+                      validateMonth(expense.month());
+                      return new SaveMonthlyActuals.ExpenseMonth(
+                          expense.month(),
+                          toExpenseCategoryAmounts(
+                              expense.categoryAmounts(), "Category amounts must not be null"));
+                    })
+                .toList();
+    List<SaveMonthlyActuals.IncomeMonth> incomes =
+        request.income() == null
+            ? List.of()
+            : request.income().stream()
+                .map(
+                    income -> {
+                      validateMonth(income.month());
+                      return new SaveMonthlyActuals.IncomeMonth(
+                          income.month(), income.totalAmount());
+                    })
+                .toList();
+
+    SaveMonthlyActuals.Command command =
+        new SaveMonthlyActuals.Command(cardId, year, expenses, incomes);
+    unitOfWork.run(
+        () -> useCases.call(SaveMonthlyActuals.class, () -> saveMonthlyActuals.save(command)));
     return ResponseEntity.noContent().build();
   }
 
   @PostMapping("/personal-finance/transfers")
-  @Transactional
   public ResponseEntity<Void> transferBetweenCards(@RequestBody CreateCardTransferRequest request) {
     if (request == null) {
       throw new IllegalArgumentException("Request body must not be null");
@@ -194,10 +299,16 @@ public class PersonalFinanceController {
 
     PersonalFinanceCardId sourceCardId = requireExistingCardId(request.sourceCardId());
     PersonalFinanceCardId destinationCardId = requireExistingCardId(request.destinationCardId());
+    useCases.run(
+        MonthlyActualWriteCoalescer.class,
+        () -> monthlyActualWriteCoalescer.flush(sourceCardId, destinationCardId));
 
-    transferBetweenPersonalFinanceCards.transfer(
+    TransferBetweenPersonalFinanceCards.Command command =
         new TransferBetweenPersonalFinanceCards.Command(
-            sourceCardId, destinationCardId, request.occurredOn(), request.amount()));
+            sourceCardId, destinationCardId, request.occurredOn(), request.amount());
+    useCases.run(
+        TransferBetweenPersonalFinanceCards.class,
+        () -> transferBetweenPersonalFinanceCards.transfer(command));
     return ResponseEntity.noContent().build();
   }
 
@@ -206,19 +317,20 @@ public class PersonalFinanceController {
       @PathVariable("cardId") String rawCardId,
       @PathVariable("year") int year,
       @RequestBody UpdateIncomePlanRequest request) {
-    PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
+    PersonalFinanceCardId cardId = requireSettledCardId(rawCardId);
     validateYear(year);
     if (request == null) {
       throw new IllegalArgumentException("Request body must not be null");
     }
 
-    saveIncomePlan.save(
+    SaveIncomePlan.Command command =
         new SaveIncomePlan.Command(
             cardId,
             year,
             toVacationPeriods(request.vacations()),
             request.thirteenthSalaryEnabled(),
-            request.thirteenthSalaryMonth()));
+            request.thirteenthSalaryMonth());
+    useCases.call(SaveIncomePlan.class, () -> saveIncomePlan.save(command));
 
     return ResponseEntity.noContent().build();
   }
@@ -226,23 +338,36 @@ public class PersonalFinanceController {
   @PutMapping("/personal-finance/cards/{cardId}/settings")
   public ResponseEntity<Void> updateSettings(
       @PathVariable("cardId") String rawCardId, @RequestBody UpdateCardSettingsRequest request) {
-    PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
+    PersonalFinanceCardId cardId = requireSettledCardId(rawCardId);
     if (request == null) {
       throw new IllegalArgumentException("Request body must not be null");
     }
 
-    savePersonalFinanceSettings.save(
+    SavePersonalFinanceSettings.Command command =
         new SavePersonalFinanceSettings.Command(
             cardId,
             request.baselineAmount(),
             toExpenseCategoryAmounts(
                 request.limitCategoryPercents(), "Limit category percents must not be null"),
             request.salaryAmount(),
-            request.bonusPercent()));
+            request.bonusPercent());
+    useCases.run(
+        SavePersonalFinanceSettings.class, () -> savePersonalFinanceSettings.save(command));
 
     return ResponseEntity.noContent().build();
   }
 
+  // Single-month actual saves may still be waiting in the coalescer; every other read or write of
+  // the card sees them first. The flush commits on its own connection, so it runs before the
+  // handler opens its unit of work: a request holding one pooled connection while waiting for a
+  // second would deadlock a saturated pool.
+  private PersonalFinanceCardId requireSettledCardId(String rawCardId) {
+    PersonalFinanceCardId cardId = requireExistingCardId(rawCardId);
+    useCases.run(
+        MonthlyActualWriteCoalescer.class, () -> monthlyActualWriteCoalescer.flush(cardId));
+    return cardId;
+  }
+
   private PersonalFinanceCardId requireExistingCardId(String rawCardId) {
     PersonalFinanceCardId cardId = parseCardId(rawCardId);
     if (cardRepository.find(cardId).isEmpty()) {
@@ -324,7 +449,8 @@ public class PersonalFinanceController {
                             toStringAmountMap(month.actualCategoryAmounts()),
                             toStringAmountMap(month.limitCategoryAmounts()),
                             month.actualTotal().amount().toPlainString(),
-                            month.limitTotal().amount().toPlainString()))
+                            month.limitTotal().amount().toPlainString(),
+                            month.actualVersion()))
                 .toList(),
             toStringAmountMap(snapshot.expenses().actualTotalsByCategory()),
             toStringAmountMap(snapshot.expenses().limitTotalsByCategory()),
@@ -341,7 +467,8 @@ public class PersonalFinanceController {
                             month.status() == null ? null : month.status().name(),
                             month.overrideDeltaAmount() == null
                                 ? null
-                                : month.overrideDeltaAmount().amount().toPlainString()))
+                                : month.overrideDeltaAmount().amount().toPlainString(),
+                            month.actualVersion()))
                 .toList(),
             snapshot.income().annualTotal().amount().toPlainString(),
             snapshot.income().averageMonthlyTotal().amount().toPlainString()),
@@ -463,6 +590,13 @@ public class PersonalFinanceController {
 
   public record UpdateMonthlyIncomeActualRequest(int year, BigDecimal totalAmount) {}
 
+  public record UpdateMonthlyActualsRequest(
+      List<ExpenseActualMonthRequest> expenses, List<IncomeActualMonthRequest> income) {}
+
+  public record ExpenseActualMonthRequest(int month, Map<String, BigDecimal> categoryAmounts) {}
+
+  public record IncomeActualMonthRequest(int month, BigDecimal totalAmount) {}
+
   public record CreateCardTransferRequest(
       String sourceCardId, String destinationCardId, LocalDate occurredOn, BigDecimal amount) {}
 
@@ -506,7 +640,8 @@ public class PersonalFinanceController {
       Map<String, String> actualCategoryAmounts,
       Map<String, String> limitCategoryAmounts,
       String actualTotal,
-      String limitTotal) {}
+      String limitTotal,
+      long actualVersion) {}
 
   public record IncomeSectionDto(
       List<IncomeMonthDto> months, String annualTotal, String averageMonthlyTotal) {}
@@ -519,7 +654,11 @@ public class PersonalFinanceController {
   public record VacationPeriodDto(String startDate, String endDate) {}
 
   public record IncomeMonthDto(
-      int month, String totalAmount, String status, String overrideDeltaAmount) {}
+      int month,
+      String totalAmount,
+      String status,
+      String overrideDeltaAmount,
+      long actualVersion) {}
 
   public record SettingsSectionDto(
       String currentBalance,
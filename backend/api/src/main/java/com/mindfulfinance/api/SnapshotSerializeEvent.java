@@ -0,0 +1,25 @@
+package com.mindfulfinance.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The serialize phase of a snapshot request, as long as the event: mapping the {@code
+ * com.mindfulfinance.SnapshotBuild} result of the same thread to its response DTO. JSON writing
+ * happens after the controller returns and is not included.
+ */
+@Name("com.mindfulfinance.SnapshotSerialize")
+@Label("Snapshot Serialize")
+@Category({"Mindful Finance", "Personal Finance"})
+@Description("A personal finance snapshot mapped to its response")
+@StackTrace(false)
+final class SnapshotSerializeEvent extends jdk.jfr.Event {
+  @Label("Card Id Hash")
+  int cardIdHash;
+
+  @Label("Year")
+  int year;
+}
@@ -0,0 +1,56 @@
+package com.mindfulfinance.api;
+
+import com.mindfulfinance.application.usecases.ImportJobScheduler;
+import com.mindfulfinance.application.usecases.ValidateTransactionsImport;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * A CSV upload copied to a temporary file, so a background import can read it after the request
+ * that carried it has completed and the container has deleted the multipart data.
+ */
+final class SpooledCsvUpload implements ImportJobScheduler.Source {
+  private final Path file;
+
+  private SpooledCsvUpload(Path file) {
+    this.file = file;
+  }
+
+  static SpooledCsvUpload spool(MultipartFile upload) {
+    if (upload == null || upload.isEmpty()) throw new IllegalArgumentException("CSV file is empty");
+
+    Path file = null;
+    try {
+      file = Files.createTempFile("mindful-finance-import-", ".csv");
+      upload.transferTo(file);
+      return new SpooledCsvUpload(file);
+    } catch (IOException ex) {
+      deleteQuietly(file);
+      throw new UncheckedIOException("Could not store CSV file for import", ex);
+    }
+  }
+
+  @Override
+  public Stream<ValidateTransactionsImport.Candidate> open() {
+    return TransactionsCsvParser.parseForValidation(file);
+  }
+
+  @Override
+  public void discard() {
+    deleteQuietly(file);
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) return;
+
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignored) {
+      // The temporary directory is cleaned up by the OS; a leftover file affects nothing else.
+    }
+  }
+}
@@ -1,20 +1,34 @@
 package com.mindfulfinance.api;
 
 import com.mindfulfinance.application.usecases.ImportTransactions;
+import com.mindfulfinance.application.usecases.ValidateTransactionsImport;
+import com.mindfulfinance.domain.shared.DomainErrorCode;
 import com.mindfulfinance.domain.transaction.TransactionDirection;
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Currency;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.springframework.web.multipart.MultipartFile;
 
 final class TransactionsCsvParser {
@@ -23,39 +37,305 @@ final class TransactionsCsvParser {
 
   private TransactionsCsvParser() {}
 
-  static List<ImportTransactions.Row> parse(MultipartFile file) {
+  /**
+   * Reads the header eagerly and returns a lazy stream of data rows. Rows are parsed only as the
+   * stream is consumed, so memory does not grow with file size; closing the stream closes the file.
+   */
+  static Stream<ImportTransactions.Row> parse(MultipartFile file) {
+    return parse(file, null);
+  }
+
+  /**
+   * Like {@link #parse(MultipartFile)}, but converts field values on {@code pool}. The caller
+   * thread still tokenizes, so batches always end on record boundaries even inside quoted fields;
+   * while one batch is converted in parallel the next one is tokenized. Rows come out in file order
+   * and a bad row fails the stream at the same point, with the same message, as sequential parsing.
+   */
+  static Stream<ImportTransactions.Row> parseInParallel(MultipartFile file, ForkJoinPool pool) {
+    return parse(file, Objects.requireNonNull(pool, "pool"));
+  }
+
+  /**
+   * Reads the header eagerly and returns a lazy stream with one candidate per data row, for the
+   * validation report. Unlike {@link #parse(MultipartFile)} a bad row does not end the stream: it
+   * becomes a rejected candidate and parsing continues. Only a record the tokenizer cannot delimit,
+   * such as an unterminated quote, ends the stream, since the rows after it cannot be located.
+   */
+  static Stream<ValidateTransactionsImport.Candidate> parseForValidation(MultipartFile file) {
     if (file == null || file.isEmpty()) throw new IllegalArgumentException("CSV file is empty");
 
-    try (var reader =
-        new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-      String headerLine = reader.readLine();
-      if (headerLine == null || headerLine.trim().isEmpty())
-        throw new IllegalArgumentException("CSV file is empty");
+    return open(file::getInputStream, CandidateIterator::new);
+  }
 
-      Map<String, Integer> columnIndexes = parseHeader(headerLine);
-      List<ImportTransactions.Row> rows = new ArrayList<>();
+  /** Like {@link #parseForValidation(MultipartFile)}, for an upload already spooled to disk. */
+  static Stream<ValidateTransactionsImport.Candidate> parseForValidation(Path file) {
+    return open(() -> Files.newInputStream(file), CandidateIterator::new);
+  }
 
-      String line;
-      int lineNumber = 1;
-      while ((line = reader.readLine()) != null) {
-        lineNumber++;
-        if (line.trim().isEmpty()) continue;
+  private static Stream<ImportTransactions.Row> parse(MultipartFile file, ForkJoinPool pool) {
+    if (file == null || file.isEmpty()) throw new IllegalArgumentException("CSV file is empty");
 
-        rows.add(parseRow(line.split(",", -1), columnIndexes, lineNumber));
-      }
+    return open(
+        file::getInputStream,
+        (reader, columns) ->
+            pool == null
+                ? new RowIterator(reader, columns)
+                : new ParallelRowIterator(reader, columns, pool));
+  }
+
+  private static <T> Stream<T> open(
+      InputSource input, BiFunction<CsvRecordReader, Columns, Iterator<T>> iteratorFactory) {
+    CsvRecordReader reader;
+    try {
+      reader = new CsvRecordReader(new InputStreamReader(input.open(), StandardCharsets.UTF_8));
+    } catch (IOException ex) {
+      throw new IllegalArgumentException("Could not read CSV file");
+    }
 
-      return rows;
+    try {
+      if (!reader.next() || reader.isBlank())
+        throw new IllegalArgumentException("CSV file is empty");
+
+      Iterator<T> items = iteratorFactory.apply(reader, parseHeader(reader));
+      return StreamSupport.stream(
+              Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED | Spliterator.NONNULL),
+              false)
+          .onClose(() -> closeQuietly(reader));
     } catch (IOException ex) {
+      closeQuietly(reader);
       throw new IllegalArgumentException("Could not read CSV file");
+    } catch (RuntimeException ex) {
+      closeQuietly(reader);
+      throw ex;
+    }
+  }
+
+  @FunctionalInterface
+  private interface InputSource {
+    InputStream open() throws IOException;
+  }
+
+  private static void closeQuietly(CsvRecordReader reader) {
+    try {
+      reader.close();
+    } catch (IOException ignored) {
+      // Nothing left to read; a failed close does not affect the import result.
+    }
+  }
+
+  private static final class RowIterator implements Iterator<ImportTransactions.Row> {
+    private final CsvRecordReader reader;
+    private final Columns columns;
+    private ImportTransactions.Row next;
+
+    private RowIterator(CsvRecordReader reader, Columns columns) {
+      this.reader = reader;
+      this.columns = columns;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) return true;
+
+      try {
+        while (reader.next()) {
+          if (reader.isBlank()) continue;
+
+          next =
+              switch (parseRow(reader, columns)) {
+                case ValidRow valid -> valid.row();
+                case CsvRowError error -> throw error.toException();
+              };
+          return true;
+        }
+        return false;
+      } catch (IOException ex) {
+        throw new IllegalArgumentException("Could not read CSV file");
+      }
+    }
+
+    @Override
+    public ImportTransactions.Row next() {
+      if (!hasNext()) throw new NoSuchElementException();
+
+      ImportTransactions.Row row = next;
+      next = null;
+      return row;
+    }
+  }
+
+  private static final class CandidateIterator
+      implements Iterator<ValidateTransactionsImport.Candidate> {
+    private final CsvRecordReader reader;
+    private final Columns columns;
+    private boolean malformed;
+    private ValidateTransactionsImport.Candidate next;
+
+    private CandidateIterator(CsvRecordReader reader, Columns columns) {
+      this.reader = reader;
+      this.columns = columns;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) return true;
+      if (malformed) return false;
+
+      try {
+        while (reader.next()) {
+          if (reader.isBlank()) continue;
+
+          next =
+              switch (parseRow(reader, columns)) {
+                case ValidRow valid ->
+                    ValidateTransactionsImport.Candidate.parsed(reader.lineNumber(), valid.row());
+                case CsvRowError error ->
+                    ValidateTransactionsImport.Candidate.rejected(
+                        new ValidateTransactionsImport.RowError(
+                            error.lineNumber(), error.column(), error.code()));
+              };
+          return true;
+        }
+        return false;
+      } catch (IOException ex) {
+        throw new IllegalArgumentException("Could not read CSV file");
+      } catch (IllegalArgumentException ex) {
+        // The tokenizer reports its errors against the record it was reading.
+        malformed = true;
+        next =
+            ValidateTransactionsImport.Candidate.rejected(
+                new ValidateTransactionsImport.RowError(
+                    reader.lineNumber(), null, DomainErrorCode.IMPORT_ROW_MALFORMED));
+        return true;
+      }
+    }
+
+    @Override
+    public ValidateTransactionsImport.Candidate next() {
+      if (!hasNext()) throw new NoSuchElementException();
+
+      ValidateTransactionsImport.Candidate candidate = next;
+      next = null;
+      return candidate;
+    }
+  }
+
+  private static final class ParallelRowIterator implements Iterator<ImportTransactions.Row> {
+    private static final int BATCH_SIZE = 4096;
+    private static final Batch NO_ROWS = new Batch(new ParsedRow[0], null);
+
+    private final CsvRecordReader reader;
+    private final Columns columns;
+    private final ForkJoinPool pool;
+    private boolean exhausted;
+    private ForkJoinTask<Batch> pending;
+    private Batch current = NO_ROWS;
+    private int index;
+
+    private ParallelRowIterator(CsvRecordReader reader, Columns columns, ForkJoinPool pool) {
+      this.reader = reader;
+      this.columns = columns;
+      this.pool = pool;
+      this.pending = submitNextBatch();
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (index == current.rows().length && current.tokenizerError() == null) {
+        if (pending == null) return false;
+
+        current = pending.join();
+        index = 0;
+        pending = submitNextBatch();
+      }
+      return true;
+    }
+
+    @Override
+    public ImportTransactions.Row next() {
+      if (!hasNext()) throw new NoSuchElementException();
+
+      if (index < current.rows().length) {
+        return switch (current.rows()[index++]) {
+          case ValidRow valid -> valid.row();
+          case CsvRowError error -> throw stop(error.toException());
+        };
+      }
+      throw stop(current.tokenizerError());
+    }
+
+    /** Ends the stream at a bad row, as sequential parsing does, and returns its error. */
+    private RuntimeException stop(RuntimeException error) {
+      current = NO_ROWS;
+      pending = null;
+      exhausted = true;
+      return error;
+    }
+
+    private ForkJoinTask<Batch> submitNextBatch() {
+      if (exhausted) return null;
+
+      List<RawRow> batch = new ArrayList<>(BATCH_SIZE);
+      RuntimeException tokenizerError = null;
+      try {
+        while (batch.size() < BATCH_SIZE && reader.next()) {
+          if (!reader.isBlank()) batch.add(RawRow.capture(reader, columns));
+        }
+        exhausted = batch.size() < BATCH_SIZE;
+      } catch (IOException ex) {
+        tokenizerError = new IllegalArgumentException("Could not read CSV file");
+      } catch (RuntimeException ex) {
+        tokenizerError = ex;
+      }
+      if (tokenizerError != null) exhausted = true;
+      if (batch.isEmpty() && tokenizerError == null) return null;
+
+      RuntimeException trailingError = tokenizerError;
+      return pool.submit(
+          () -> {
+            ParsedRow[] parsed = new ParsedRow[batch.size()];
+            IntStream.range(0, batch.size())
+                .parallel()
+                .forEach(i -> parsed[i] = batch.get(i).parse());
+            return new Batch(parsed, trailingError);
+          });
     }
+
+    /** Converted rows in file order, then the error the tokenizer stopped at, if it did. */
+    private record Batch(ParsedRow[] rows, RuntimeException tokenizerError) {}
   }
 
-  private static Map<String, Integer> parseHeader(String headerLine) {
-    String[] columns = headerLine.split(",", -1);
+  /** Raw field values of one record, captured so conversion can run off the tokenizer thread. */
+  private record RawRow(
+      int lineNumber,
+      String occurredOn,
+      String direction,
+      String amount,
+      String currency,
+      String memo) {
+    static RawRow capture(CsvRecordReader record, Columns columns) {
+      return new RawRow(
+          record.lineNumber(),
+          record.trimmedField(columns.occurredOn()),
+          record.trimmedField(columns.direction()),
+          record.trimmedField(columns.amount()),
+          record.trimmedField(columns.currency()),
+          columns.memo() < 0 ? null : record.field(columns.memo()));
+    }
+
+    ParsedRow parse() {
+      return parseRow(lineNumber, occurredOn, direction, amount, currency, memo);
+    }
+  }
+
+  /** Field positions of the columns the import reads; other columns are never materialised. */
+  private record Columns(int occurredOn, int direction, int amount, int currency, int memo) {}
+
+  private static Columns parseHeader(CsvRecordReader header) {
     Map<String, Integer> indexes = new HashMap<>();
 
-    for (int i = 0; i < columns.length; i++) {
-      String normalized = normalize(columns[i]);
+    for (int i = 0; i < header.fieldCount(); i++) {
+      String normalized = normalize(header.field(i));
       if (!normalized.isEmpty() && !indexes.containsKey(normalized)) {
         indexes.put(normalized, i);
       }
@@ -67,82 +347,73 @@ final class TransactionsCsvParser {
       }
     }
 
-    return indexes;
+    return new Columns(
+        indexes.get("occurred_on"),
+        indexes.get("direction"),
+        indexes.get("amount"),
+        indexes.get("currency"),
+        indexes.getOrDefault("memo", -1));
   }
 
-  private static ImportTransactions.Row parseRow(
-      String[] fields, Map<String, Integer> indexes, int lineNumber) {
-    LocalDate occurredOn =
-        parseOccurredOn(requiredField(fields, indexes, "occurred_on", lineNumber), lineNumber);
-    TransactionDirection direction =
-        parseDirection(requiredField(fields, indexes, "direction", lineNumber), lineNumber);
-    BigDecimal amount =
-        parseAmount(requiredField(fields, indexes, "amount", lineNumber), lineNumber);
-    Currency currency =
-        parseCurrency(requiredField(fields, indexes, "currency", lineNumber), lineNumber);
-    String memo = optionalField(fields, indexes, "memo");
+  /** What converting one record yields: its import row, or the first problem found in it. */
+  sealed interface ParsedRow permits ValidRow, CsvRowError {}
 
-    return new ImportTransactions.Row(occurredOn, direction, amount, currency, memo);
+  private record ValidRow(ImportTransactions.Row row) implements ParsedRow {}
+
+  private static ParsedRow parseRow(CsvRecordReader record, Columns columns) {
+    return parseRow(
+        record.lineNumber(),
+        record.trimmedField(columns.occurredOn()),
+        record.trimmedField(columns.direction()),
+        record.trimmedField(columns.amount()),
+        record.trimmedField(columns.currency()),
+        columns.memo() < 0 ? null : record.field(columns.memo()));
   }
 
-  private static String requiredField(
-      String[] fields, Map<String, Integer> indexes, String column, int lineNumber) {
-    Integer index = indexes.get(column);
-    if (index == null || index >= fields.length) {
-      throw new IllegalArgumentException(
-          "Row " + lineNumber + " is missing required column '" + column + "'");
-    }
+  /**
+   * Required values are trimmed fields, or {@code null} when the record is too short. A bad column
+   * yields a {@link CsvRowError} for the first one.
+   */
+  private static ParsedRow parseRow(
+      int lineNumber,
+      String occurredOnValue,
+      String directionValue,
+      String amountValue,
+      String currencyValue,
+      String memo) {
+    if (isBlank(occurredOnValue)) return missingOrEmpty(lineNumber, "occurred_on", occurredOnValue);
+    LocalDate occurredOn = CsvFieldParsers.parseIsoDate(occurredOnValue);
+    if (occurredOn == null) return invalid(lineNumber, "occurred_on", occurredOnValue);
 
-    String value = fields[index].trim();
-    if (value.isEmpty()) {
-      throw new IllegalArgumentException(
-          "Row " + lineNumber + " has empty value for '" + column + "'");
-    }
-    return value;
-  }
+    if (isBlank(directionValue)) return missingOrEmpty(lineNumber, "direction", directionValue);
+    TransactionDirection direction = CsvFieldParsers.parseDirection(directionValue);
+    if (direction == null) return invalid(lineNumber, "direction", directionValue);
 
-  private static String optionalField(
-      String[] fields, Map<String, Integer> indexes, String column) {
-    Integer index = indexes.get(column);
-    if (index == null || index >= fields.length) return null;
+    if (isBlank(amountValue)) return missingOrEmpty(lineNumber, "amount", amountValue);
+    BigDecimal amount = CsvFieldParsers.parseDecimal(amountValue);
+    if (amount == null) return invalid(lineNumber, "amount", amountValue);
 
-    return fields[index];
-  }
+    if (isBlank(currencyValue)) return missingOrEmpty(lineNumber, "currency", currencyValue);
+    Currency currency = CsvFieldParsers.parseCurrency(currencyValue);
+    if (currency == null) return invalid(lineNumber, "currency", currencyValue);
 
-  private static LocalDate parseOccurredOn(String value, int lineNumber) {
-    try {
-      return LocalDate.parse(value);
-    } catch (DateTimeParseException ex) {
-      throw new IllegalArgumentException(
-          "Row " + lineNumber + " has invalid occurred_on '" + value + "'");
-    }
+    return new ValidRow(new ImportTransactions.Row(occurredOn, direction, amount, currency, memo));
   }
 
-  private static TransactionDirection parseDirection(String value, int lineNumber) {
-    try {
-      return TransactionDirection.valueOf(value.toUpperCase(Locale.ROOT));
-    } catch (IllegalArgumentException ex) {
-      throw new IllegalArgumentException(
-          "Row " + lineNumber + " has invalid direction '" + value + "'");
-    }
+  private static boolean isBlank(String value) {
+    return value == null || value.isEmpty();
   }
 
-  private static BigDecimal parseAmount(String value, int lineNumber) {
-    try {
-      return new BigDecimal(value);
-    } catch (NumberFormatException ex) {
-      throw new IllegalArgumentException(
-          "Row " + lineNumber + " has invalid amount '" + value + "'");
-    }
+  private static CsvRowError missingOrEmpty(int lineNumber, String column, String value) {
+    return new CsvRowError(
+        lineNumber,
+        column,
+        value == null ? CsvRowError.Problem.MISSING_COLUMN : CsvRowError.Problem.EMPTY_VALUE,
+        value);
   }
 
-  private static Currency parseCurrency(String value, int lineNumber) {
-    try {
-      return Currency.getInstance(value.toUpperCase(Locale.ROOT));
-    } catch (IllegalArgumentException ex) {
-      throw new IllegalArgumentException(
-          "Row " + lineNumber + " has invalid currency '" + value + "'");
-    }
+  private static CsvRowError invalid(int lineNumber, String column, String value) {
+    return new CsvRowError(lineNumber, column, CsvRowError.Problem.INVALID_VALUE, value);
   }
 
   private static String normalize(String value) {
@@ -0,0 +1,56 @@
+package com.mindfulfinance.api;
+
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes transactions in the layout {@link TransactionsCsvParser} reads, so an export can be
+ * imported again unchanged. Fields are quoted only when RFC 4180 requires it.
+ */
+final class TransactionsCsvWriter {
+  static final String HEADER = "occurred_on,direction,amount,currency,memo";
+
+  private TransactionsCsvWriter() {}
+
+  static void writeHeader(Writer writer) throws IOException {
+    writer.write(HEADER);
+    writer.write("\r\n");
+  }
+
+  static void writeRow(Writer writer, Transaction transaction) throws IOException {
+    writer.write(transaction.occurredOn().toString());
+    writer.write(',');
+    writer.write(transaction.direction().name());
+    writer.write(',');
+    writer.write(transaction.amount().amount().toPlainString());
+    writer.write(',');
+    writer.write(transaction.amount().currency().getCurrencyCode());
+    writer.write(',');
+    if (transaction.memo() != null) writeField(writer, transaction.memo());
+    writer.write("\r\n");
+  }
+
+  private static void writeField(Writer writer, String value) throws IOException {
+    if (!needsQuotes(value)) {
+      writer.write(value);
+      return;
+    }
+
+    writer.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') writer.write('"');
+      writer.write(c);
+    }
+    writer.write('"');
+  }
+
+  private static boolean needsQuotes(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,119 @@
+package com.mindfulfinance.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mindfulfinance.application.usecases.IngestTransactions;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads newline-delimited JSON, one transaction object per line. Like the CSV validation parser it
+ * never fails the stream for a bad line: the line becomes an unreadable item and reading goes on.
+ */
+final class TransactionsNdjsonParser {
+  private TransactionsNdjsonParser() {}
+
+  /** Returns a lazy stream of items; blank lines are skipped and line numbers start at 1. */
+  static Stream<IngestTransactions.Item> parse(InputStream input, ObjectMapper objectMapper) {
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    ItemIterator iterator = new ItemIterator(reader, objectMapper.readerFor(Line.class));
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  private static IngestTransactions.Item parseLine(
+      int lineNumber, String json, ObjectReader reader) {
+    Line line;
+    try {
+      line = reader.readValue(json);
+    } catch (JsonMappingException ex) {
+      if (ex.getPath().isEmpty()) return unreadable(lineNumber, "Malformed JSON");
+      return unreadable(lineNumber, "Invalid value for " + ex.getPath().get(0).getFieldName());
+    } catch (JsonProcessingException ex) {
+      return unreadable(lineNumber, "Malformed JSON");
+    }
+    if (line == null) return unreadable(lineNumber, "Malformed JSON");
+
+    AccountId accountId;
+    try {
+      accountId =
+          line.accountId() == null ? null : new AccountId(UUID.fromString(line.accountId()));
+    } catch (IllegalArgumentException ex) {
+      return unreadable(lineNumber, "Invalid value for accountId");
+    }
+    if (accountId == null) return unreadable(lineNumber, "accountId is required");
+
+    return IngestTransactions.Item.parsed(
+        lineNumber, accountId, line.occurredOn(), line.direction(), line.amount(), line.memo());
+  }
+
+  private static IngestTransactions.Item unreadable(int lineNumber, String error) {
+    return IngestTransactions.Item.unreadable(lineNumber, error);
+  }
+
+  record Line(
+      String accountId,
+      LocalDate occurredOn,
+      TransactionDirection direction,
+      BigDecimal amount,
+      String memo) {}
+
+  private static final class ItemIterator implements Iterator<IngestTransactions.Item> {
+    private final BufferedReader reader;
+    private final ObjectReader lineReader;
+    private int lineNumber;
+    private IngestTransactions.Item next;
+
+    private ItemIterator(BufferedReader reader, ObjectReader lineReader) {
+      this.reader = reader;
+      this.lineReader = lineReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) return true;
+
+      try {
+        String json;
+        while ((json = reader.readLine()) != null) {
+          lineNumber++;
+          if (!json.isBlank()) {
+            next = parseLine(lineNumber, json, lineReader);
+            return true;
+          }
+        }
+        return false;
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Failed to read NDJSON body", ex);
+      }
+    }
+
+    @Override
+    public IngestTransactions.Item next() {
+      if (!hasNext()) throw new NoSuchElementException();
+
+      IngestTransactions.Item item = next;
+      next = null;
+      return item;
+    }
+  }
+}
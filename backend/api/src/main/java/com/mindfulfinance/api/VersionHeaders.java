@@ -0,0 +1,42 @@
+package com.mindfulfinance.api;
+
+import java.util.OptionalLong;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Carries row versions in HTTP headers: a write answers with the new version as its {@code ETag},
+ * and a client sends it back in {@code If-Match} to make the next write conditional on it.
+ */
+final class VersionHeaders {
+  private VersionHeaders() {}
+
+  /** Returns the expected version, or null when the header is absent. */
+  static Long parseIfMatch(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank()) return null;
+
+    String tag = ifMatch.strip();
+    if (tag.startsWith("W/")) tag = tag.substring(2);
+    if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+      tag = tag.substring(1, tag.length() - 1);
+    }
+    try {
+      long version = Long.parseLong(tag);
+      if (version >= 0) return version;
+    } catch (NumberFormatException ex) {
+      // Fall through to the error below.
+    }
+    throw new IllegalArgumentException("If-Match must hold a single version number");
+  }
+
+  static ResponseEntity<Void> noContent(long version) {
+    return ResponseEntity.noContent().eTag(Long.toString(version)).build();
+  }
+
+  /**
+   * Answers a save that may still be pending: with its version once written, and with {@code 202
+   * Accepted} and no version while it waits, since the version it gets is not known yet.
+   */
+  static ResponseEntity<Void> saved(OptionalLong version) {
+    return version.isPresent() ? noContent(version.getAsLong()) : ResponseEntity.accepted().build();
+  }
+}
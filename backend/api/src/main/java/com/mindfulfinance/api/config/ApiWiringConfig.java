@@ -1,6 +1,7 @@
 package com.mindfulfinance.api.config;
 
 import com.mindfulfinance.api.InMemoryAccountRepository;
+import com.mindfulfinance.api.InMemoryImportJobRepository;
 import com.mindfulfinance.api.InMemoryIncomeForecastRepository;
 import com.mindfulfinance.api.InMemoryIncomePlanRepository;
 import com.mindfulfinance.api.InMemoryMonthlyExpenseActualRepository;
@@ -8,7 +9,13 @@ import com.mindfulfinance.api.InMemoryMonthlyExpenseLimitRepository;
 import com.mindfulfinance.api.InMemoryMonthlyIncomeActualRepository;
 import com.mindfulfinance.api.InMemoryPersonalFinanceCardRepository;
 import com.mindfulfinance.api.InMemoryTransactionRepository;
+import com.mindfulfinance.api.metrics.PortMetricsPostProcessor;
+import com.mindfulfinance.api.metrics.QueryBudgetFilter;
+import com.mindfulfinance.api.metrics.RequestQueries;
+import com.mindfulfinance.api.metrics.SqlStatisticsEndpoint;
+import com.mindfulfinance.api.metrics.UseCaseMetrics;
 import com.mindfulfinance.application.ports.AccountRepository;
+import com.mindfulfinance.application.ports.ImportJobRepository;
 import com.mindfulfinance.application.ports.IncomeForecastRepository;
 import com.mindfulfinance.application.ports.IncomePlanRepository;
 import com.mindfulfinance.application.ports.MonthlyExpenseActualRepository;
@@ -16,6 +23,7 @@ import com.mindfulfinance.application.ports.MonthlyExpenseLimitRepository;
 import com.mindfulfinance.application.ports.MonthlyIncomeActualRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.UnitOfWork;
 import com.mindfulfinance.application.usecases.ArchivePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.ComputeAccountBalance;
 import com.mindfulfinance.application.usecases.ComputeMonthlyBurnByCurrency;
@@ -26,12 +34,16 @@ import com.mindfulfinance.application.usecases.DeleteAccount;
 import com.mindfulfinance.application.usecases.DeletePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.DeleteTransaction;
 import com.mindfulfinance.application.usecases.GetCardPersonalFinanceSnapshot;
+import com.mindfulfinance.application.usecases.ImportJobScheduler;
 import com.mindfulfinance.application.usecases.ImportTransactions;
+import com.mindfulfinance.application.usecases.IngestTransactions;
 import com.mindfulfinance.application.usecases.ListPersonalFinanceCards;
+import com.mindfulfinance.application.usecases.MonthlyActualWriteCoalescer;
 import com.mindfulfinance.application.usecases.RenamePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.RestorePersonalFinanceCard;
 import com.mindfulfinance.application.usecases.SaveIncomeForecast;
 import com.mindfulfinance.application.usecases.SaveIncomePlan;
+import com.mindfulfinance.application.usecases.SaveMonthlyActuals;
 import com.mindfulfinance.application.usecases.SaveMonthlyExpenseActual;
 import com.mindfulfinance.application.usecases.SaveMonthlyExpenseLimit;
 import com.mindfulfinance.application.usecases.SaveMonthlyIncomeActual;
@@ -39,7 +51,9 @@ import com.mindfulfinance.application.usecases.SavePersonalFinanceSettings;
 import com.mindfulfinance.application.usecases.TransferBetweenPersonalFinanceCards;
 import com.mindfulfinance.application.usecases.UpdateAccount;
 import com.mindfulfinance.application.usecases.UpdateTransaction;
+import com.mindfulfinance.application.usecases.ValidateTransactionsImport;
 import com.mindfulfinance.postgres.PostgresAccountRepository;
+import com.mindfulfinance.postgres.PostgresImportJobRepository;
 import com.mindfulfinance.postgres.PostgresIncomeForecastRepository;
 import com.mindfulfinance.postgres.PostgresIncomePlanRepository;
 import com.mindfulfinance.postgres.PostgresMonthlyExpenseActualRepository;
@@ -47,17 +61,48 @@ import com.mindfulfinance.postgres.PostgresMonthlyExpenseLimitRepository;
 import com.mindfulfinance.postgres.PostgresMonthlyIncomeActualRepository;
 import com.mindfulfinance.postgres.PostgresPersonalFinanceCardRepository;
 import com.mindfulfinance.postgres.PostgresTransactionRepository;
+import com.mindfulfinance.postgres.PostgresUnitOfWork;
+import com.mindfulfinance.postgres.SqlStatistics;
+import com.mindfulfinance.postgres.SqlStatisticsDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.sql.DataSource;
 import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 public class ApiWiringConfig {
+  // Registries come from actuator; slice tests without it still get working, unexported meters.
+  @Bean
+  public UseCaseMetrics useCaseMetrics(ObjectProvider<MeterRegistry> registry) {
+    return new UseCaseMetrics(registry.getIfAvailable(SimpleMeterRegistry::new));
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "mindful-finance.metrics.ports", matchIfMissing = true)
+  public static PortMetricsPostProcessor portMetricsPostProcessor(
+      ObjectProvider<MeterRegistry> registry) {
+    return new PortMetricsPostProcessor(registry);
+  }
+
+  @Bean
+  public QueryBudgetFilter queryBudgetFilter(
+      @Value("${mindful-finance.query-budget.max-queries:20}") int maxQueries) {
+    return new QueryBudgetFilter(maxQueries);
+  }
+
   @Bean
   @Profile("!postgres")
   public AccountRepository accountRepository() {
@@ -106,13 +151,51 @@ public class ApiWiringConfig {
     return new InMemoryIncomePlanRepository();
   }
 
+  @Bean
+  @Profile("!postgres")
+  public ImportJobRepository importJobRepository(
+      @Value("${mindful-finance.import.jobs.retained-finished:1000}") int retainedFinishedJobs) {
+    return new InMemoryImportJobRepository(retainedFinishedJobs);
+  }
+
+  @Bean
+  @Profile("!postgres")
+  public UnitOfWork unitOfWork() {
+    return UnitOfWork.DIRECT;
+  }
+
+  @Bean
+  @Profile("postgres")
+  public SqlStatistics sqlStatistics() {
+    return new SqlStatistics();
+  }
+
+  @Bean
+  @Profile("postgres")
+  public SqlStatisticsEndpoint sqlStatisticsEndpoint(SqlStatistics sqlStatistics) {
+    return new SqlStatisticsEndpoint(sqlStatistics);
+  }
+
   @Bean
   @Profile("postgres")
   public DataSource postgresDataSource(
       @Value("${spring.datasource.url}") String url,
       @Value("${spring.datasource.username}") String username,
-      @Value("${spring.datasource.password}") String password) {
-    return new DriverManagerDataSource(url, username, password);
+      @Value("${spring.datasource.password}") String password,
+      @Value("${mindful-finance.datasource.maximum-pool-size:10}") int maximumPoolSize,
+      @Value("${mindful-finance.datasource.connection-timeout-ms:30000}") long connectionTimeoutMs,
+      @Value("${mindful-finance.sql.slow-threshold:500ms}") Duration slowThreshold,
+      SqlStatistics sqlStatistics) {
+    // The pool, not the servlet thread count, bounds concurrent database work: with virtual
+    // threads enabled, requests beyond the pool size wait here for a connection.
+    HikariConfig config = new HikariConfig();
+    config.setPoolName("mindful-finance");
+    config.setJdbcUrl(url);
+    config.setUsername(username);
+    config.setPassword(password);
+    config.setMaximumPoolSize(maximumPoolSize);
+    config.setConnectionTimeout(connectionTimeoutMs);
+    return new SqlStatisticsDataSource(new HikariDataSource(config), sqlStatistics, slowThreshold);
   }
 
   @Bean
@@ -123,8 +206,16 @@ public class ApiWiringConfig {
 
   @Bean(initMethod = "migrate")
   @Profile("postgres")
-  public Flyway flyway(DataSource dataSource) {
-    return Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load();
+  public Flyway flyway(
+      @Value("${spring.datasource.url}") String url,
+      @Value("${spring.datasource.username}") String username,
+      @Value("${spring.datasource.password}") String password) {
+    // Migrations open their own connections: Flyway holds two at once, more than a pool sized
+    // down to one connection could give it.
+    return Flyway.configure()
+        .dataSource(url, username, password)
+        .locations("classpath:db/migration")
+        .load();
   }
 
   @Bean
@@ -179,6 +270,18 @@ public class ApiWiringConfig {
     return new PostgresIncomePlanRepository(jdbcTemplate);
   }
 
+  @Bean
+  @Profile("postgres")
+  public ImportJobRepository postgresImportJobRepository(JdbcTemplate jdbcTemplate) {
+    return new PostgresImportJobRepository(jdbcTemplate);
+  }
+
+  @Bean
+  @Profile("postgres")
+  public UnitOfWork postgresUnitOfWork(PlatformTransactionManager transactionManager) {
+    return new PostgresUnitOfWork(transactionManager);
+  }
+
   @Bean
   public ComputeAccountBalance computeAccountBalance(
       AccountRepository accountRepository, TransactionRepository transactionRepository) {
@@ -205,8 +308,50 @@ public class ApiWiringConfig {
 
   @Bean
   public ImportTransactions importTransactions(
-      AccountRepository accountRepository, TransactionRepository transactionRepository) {
-    return new ImportTransactions(accountRepository, transactionRepository);
+      AccountRepository accountRepository,
+      TransactionRepository transactionRepository,
+      @Value("${mindful-finance.import.chunk-size:" + ImportTransactions.DEFAULT_CHUNK_SIZE + "}")
+          int chunkSize) {
+    return new ImportTransactions(accountRepository, transactionRepository, chunkSize);
+  }
+
+  @Bean
+  public IngestTransactions ingestTransactions(
+      AccountRepository accountRepository,
+      PersonalFinanceCardRepository personalFinanceCardRepository,
+      TransactionRepository transactionRepository,
+      @Value("${mindful-finance.ingest.batch-size:" + IngestTransactions.DEFAULT_BATCH_SIZE + "}")
+          int batchSize) {
+    return new IngestTransactions(
+        accountRepository, personalFinanceCardRepository, transactionRepository, batchSize);
+  }
+
+  @Bean(destroyMethod = "close")
+  public ImportJobScheduler importJobScheduler(
+      ImportJobRepository importJobRepository,
+      AccountRepository accountRepository,
+      ImportTransactions importTransactions,
+      @Value("${mindful-finance.import.jobs.workers:2}") int workers,
+      @Value("${mindful-finance.import.jobs.max-unfinished:100}") int maxUnfinishedJobs,
+      @Value("${mindful-finance.import.jobs.retry-delay:5s}") Duration retryDelay,
+      @Value("${mindful-finance.import.jobs.stale-after:5m}") Duration staleRunningJobAfter,
+      @Value("${mindful-finance.import.jobs.shutdown-timeout:30s}") Duration shutdownTimeout) {
+    // Each worker holds at most one pool connection while it imports, so the worker count also
+    // caps how much of the JDBC pool background imports can take from request handling.
+    return new ImportJobScheduler(
+        importJobRepository,
+        accountRepository,
+        importTransactions,
+        Executors.newScheduledThreadPool(
+            workers, Thread.ofPlatform().name("import-job-", 0).factory()),
+        new ImportJobScheduler.Settings(
+            maxUnfinishedJobs, retryDelay, staleRunningJobAfter, shutdownTimeout));
+  }
+
+  @Bean
+  public ValidateTransactionsImport validateTransactionsImport(
+      AccountRepository accountRepository) {
+    return new ValidateTransactionsImport(accountRepository);
   }
 
   @Bean
@@ -297,13 +442,45 @@ public class ApiWiringConfig {
         monthlyIncomeActualRepository, personalFinanceCardRepository, transactionRepository);
   }
 
+  @Bean(destroyMethod = "close")
+  public MonthlyActualWriteCoalescer monthlyActualWriteCoalescer(
+      SaveMonthlyExpenseActual saveMonthlyExpenseActual,
+      SaveMonthlyIncomeActual saveMonthlyIncomeActual,
+      PersonalFinanceCardRepository personalFinanceCardRepository,
+      ObjectProvider<PlatformTransactionManager> transactionManager,
+      @Value("${mindful-finance.personal-finance.write-coalescing.window:0ms}") Duration window) {
+    PlatformTransactionManager manager = transactionManager.getIfAvailable();
+    return new MonthlyActualWriteCoalescer(
+        saveMonthlyExpenseActual,
+        saveMonthlyIncomeActual,
+        personalFinanceCardRepository,
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("actuals-coalescer").daemon().factory()),
+        window,
+        manager == null ? UnitOfWork.DIRECT : PostgresUnitOfWork.independent(manager));
+  }
+
+  @Bean
+  public SaveMonthlyActuals saveMonthlyActuals(
+      MonthlyExpenseActualRepository monthlyExpenseActualRepository,
+      MonthlyIncomeActualRepository monthlyIncomeActualRepository,
+      PersonalFinanceCardRepository personalFinanceCardRepository,
+      TransactionRepository transactionRepository) {
+    return new SaveMonthlyActuals(
+        monthlyExpenseActualRepository,
+        monthlyIncomeActualRepository,
+        personalFinanceCardRepository,
+        transactionRepository);
+  }
+
   @Bean
   public SaveIncomePlan saveIncomePlan(
       IncomePlanRepository incomePlanRepository,
       IncomeForecastRepository incomeForecastRepository,
-      PersonalFinanceCardRepository personalFinanceCardRepository) {
+      PersonalFinanceCardRepository personalFinanceCardRepository,
+      UnitOfWork unitOfWork) {
     return new SaveIncomePlan(
-        incomePlanRepository, incomeForecastRepository, personalFinanceCardRepository);
+        incomePlanRepository, incomeForecastRepository, personalFinanceCardRepository, unitOfWork);
   }
 
   @Bean
@@ -317,21 +494,24 @@ public class ApiWiringConfig {
       IncomeForecastRepository incomeForecastRepository,
       IncomePlanRepository incomePlanRepository,
       PersonalFinanceCardRepository personalFinanceCardRepository,
-      TransactionRepository transactionRepository) {
+      TransactionRepository transactionRepository,
+      UnitOfWork unitOfWork) {
     return new SavePersonalFinanceSettings(
         monthlyExpenseLimitRepository,
         incomeForecastRepository,
         incomePlanRepository,
         personalFinanceCardRepository,
-        transactionRepository);
+        transactionRepository,
+        unitOfWork);
   }
 
   @Bean
   public TransferBetweenPersonalFinanceCards transferBetweenPersonalFinanceCards(
       PersonalFinanceCardRepository personalFinanceCardRepository,
-      TransactionRepository transactionRepository) {
+      TransactionRepository transactionRepository,
+      UnitOfWork unitOfWork) {
     return new TransferBetweenPersonalFinanceCards(
-        personalFinanceCardRepository, transactionRepository);
+        personalFinanceCardRepository, transactionRepository, unitOfWork);
   }
 
   @Bean
@@ -342,7 +522,11 @@ public class ApiWiringConfig {
       MonthlyIncomeActualRepository monthlyIncomeActualRepository,
       IncomeForecastRepository incomeForecastRepository,
       IncomePlanRepository incomePlanRepository,
-      TransactionRepository transactionRepository) {
+      TransactionRepository transactionRepository,
+      ObjectProvider<SnapshotReadExecutor> parallelReads,
+      ObjectProvider<PlatformTransactionManager> transactionManager) {
+    SnapshotReadExecutor reads = parallelReads.getIfAvailable();
+    PlatformTransactionManager manager = transactionManager.getIfAvailable();
     return new GetCardPersonalFinanceSnapshot(
         personalFinanceCardRepository,
         monthlyExpenseActualRepository,
@@ -350,6 +534,27 @@ public class ApiWiringConfig {
         monthlyIncomeActualRepository,
         incomeForecastRepository,
         incomePlanRepository,
-        transactionRepository);
+        transactionRepository,
+        reads == null
+            ? Runnable::run
+            : RequestQueries.propagating(UseCaseMetrics.propagating(reads.executor())),
+        manager == null ? UnitOfWork.DIRECT : PostgresUnitOfWork.readOnly(manager));
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = "mindful-finance.snapshot.parallel-reads", havingValue = "true")
+  public SnapshotReadExecutor snapshotReadExecutor() {
+    return new SnapshotReadExecutor(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  /**
+   * Virtual threads for parallel snapshot reads, closed with the context. Wrapped because an {@code
+   * Executor} bean would replace Spring's {@code applicationTaskExecutor}.
+   */
+  public record SnapshotReadExecutor(ExecutorService executor) implements AutoCloseable {
+    @Override
+    public void close() {
+      executor.close();
+    }
   }
 }
@@ -0,0 +1,142 @@
+package com.mindfulfinance.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Decorates repository ports with metrics. Every call is recorded in the {@value #PORT_TIMER} timer
+ * tagged with {@code port}, {@code method}, {@code adapter}, the running {@code use_case} (see
+ * {@link UseCaseMetrics}), {@code outcome} and {@code exception}. Calls that return rows, as a
+ * collection, an optional or through a {@link Consumer} argument, also record how many in the
+ * {@value #PORT_ROWS} summary. Calls are also added to the {@link RequestQueries} of the HTTP
+ * request being served.
+ *
+ * <p>The decorator is a JDK proxy over the port interfaces, so new port methods are covered without
+ * changes here and the adapters themselves stay unaware of it.
+ */
+public final class InstrumentedPorts {
+  public static final String PORT_TIMER = "mindful_finance.port";
+  public static final String PORT_ROWS = "mindful_finance.port.returned";
+
+  private InstrumentedPorts() {}
+
+  /**
+   * Returns {@code delegate} behind a proxy implementing {@code ports}, tagged with {@code
+   * adapter}.
+   */
+  public static Object instrument(
+      Object delegate, Class<?>[] ports, String adapter, MeterRegistry registry) {
+    return Proxy.newProxyInstance(
+        delegate.getClass().getClassLoader(),
+        ports,
+        (proxy, method, args) -> {
+          if (method.getDeclaringClass() == Object.class) {
+            return invoke(delegate, method, args);
+          }
+          return record(delegate, method, args, adapter, registry);
+        });
+  }
+
+  public static <T> T instrument(
+      Class<T> port, T delegate, String adapter, MeterRegistry registry) {
+    return port.cast(instrument(delegate, new Class<?>[] {port}, adapter, registry));
+  }
+
+  private static Object record(
+      Object delegate, Method method, Object[] args, String adapter, MeterRegistry registry)
+      throws Throwable {
+    String port = method.getDeclaringClass().getSimpleName();
+    String useCase = UseCaseMetrics.current();
+    LongAdder streamed = countConsumedRows(method, args);
+
+    long start = System.nanoTime();
+    Throwable failure = null;
+    Object result = null;
+    try {
+      result = invoke(delegate, method, args);
+      return result;
+    } catch (Throwable ex) {
+      failure = ex;
+      throw ex;
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      Timer.builder(PORT_TIMER)
+          .description("Repository port calls")
+          .tag("port", port)
+          .tag("method", method.getName())
+          .tag("adapter", adapter)
+          .tag("use_case", useCase)
+          .tag("outcome", UseCaseMetrics.outcome(failure))
+          .tag("exception", UseCaseMetrics.exception(failure))
+          .publishPercentileHistogram()
+          .minimumExpectedValue(Duration.ofNanos(100_000))
+          .maximumExpectedValue(Duration.ofSeconds(10))
+          .register(registry)
+          .record(elapsed, TimeUnit.NANOSECONDS);
+
+      long rows = failure != null ? -1 : streamed != null ? streamed.sum() : rows(result);
+      RequestQueries.record(port, method.getName(), rows, elapsed);
+      if (rows >= 0) {
+        DistributionSummary.builder(PORT_ROWS)
+            .description("Rows returned by repository port calls")
+            .baseUnit("rows")
+            .tag("port", port)
+            .tag("method", method.getName())
+            .tag("adapter", adapter)
+            .tag("use_case", useCase)
+            .register(registry)
+            .record(rows);
+      }
+    }
+  }
+
+  /**
+   * Replaces a {@link Consumer} argument, the way streaming reads hand out rows, with one that
+   * counts them; returns the counter, or {@code null} if the method takes no consumer.
+   */
+  @SuppressWarnings("unchecked")
+  private static LongAdder countConsumedRows(Method method, Object[] args) {
+    Class<?>[] types = method.getParameterTypes();
+    for (int i = 0; i < types.length; i++) {
+      if (types[i] == Consumer.class && args[i] != null) {
+        LongAdder count = new LongAdder();
+        Consumer<Object> action = (Consumer<Object>) args[i];
+        args[i] =
+            (Consumer<Object>)
+                row -> {
+                  count.increment();
+                  action.accept(row);
+                };
+        return count;
+      }
+    }
+    return null;
+  }
+
+  /** The number of rows in a call result, or -1 when the result is not rows. */
+  static long rows(Object result) {
+    if (result instanceof Collection<?> collection) return collection.size();
+    if (result instanceof Map<?, ?> map) return map.size();
+    if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+    return -1;
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getTargetException();
+    }
+  }
+}
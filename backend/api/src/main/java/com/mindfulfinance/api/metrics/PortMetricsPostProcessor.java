@@ -0,0 +1,48 @@
+package com.mindfulfinance.api.metrics;
+
+import com.mindfulfinance.application.ports.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Puts every bean that implements a port of the application layer behind {@link InstrumentedPorts},
+ * whichever profile created it. The {@code adapter} tag comes from the class name ({@code
+ * InMemory…} is {@code memory}, {@code Postgres…} is {@code postgres}), or the bean name for other
+ * implementations such as {@code UnitOfWork.DIRECT}.
+ */
+public final class PortMetricsPostProcessor implements BeanPostProcessor {
+  private static final String PORTS_PACKAGE = AccountRepository.class.getPackageName();
+
+  private final ObjectProvider<MeterRegistry> registry;
+
+  public PortMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    Class<?>[] ports =
+        ClassUtils.getAllInterfacesForClassAsSet(bean.getClass()).stream()
+            .filter(type -> type.getPackageName().equals(PORTS_PACKAGE))
+            .toArray(Class<?>[]::new);
+    if (ports.length == 0) return bean;
+
+    Arrays.sort(ports, (left, right) -> left.getName().compareTo(right.getName()));
+    return InstrumentedPorts.instrument(
+        bean,
+        ports,
+        adapter(bean.getClass(), beanName),
+        registry.getIfAvailable(SimpleMeterRegistry::new));
+  }
+
+  static String adapter(Class<?> type, String beanName) {
+    String name = type.getSimpleName();
+    if (name.startsWith("InMemory")) return "memory";
+    if (name.startsWith("Postgres")) return "postgres";
+    return beanName;
+  }
+}
@@ -0,0 +1,61 @@
+package com.mindfulfinance.api.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Counts the repository calls of each HTTP request (see {@link RequestQueries}), reports them in a
+ * {@code Server-Timing} response header and logs a warning for requests that make more than {@code
+ * maxQueries} of them, listing the port methods called most; a count that grows with the data
+ * behind an endpoint is usually a per-row read inside a loop.
+ *
+ * <p>Headers cannot follow a body that has been sent, so {@link ServerTimingAdvice} adds the header
+ * before a response body is written; streamed responses such as exports get no header.
+ */
+public final class QueryBudgetFilter extends OncePerRequestFilter {
+  public static final String SERVER_TIMING = "Server-Timing";
+
+  static final String ATTRIBUTE = RequestQueries.class.getName();
+
+  private static final System.Logger LOG = System.getLogger(QueryBudgetFilter.class.getName());
+
+  private final int maxQueries;
+
+  public QueryBudgetFilter(int maxQueries) {
+    this.maxQueries = maxQueries;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    RequestQueries queries = new RequestQueries();
+    request.setAttribute(ATTRIBUTE, queries);
+    try (RequestQueries.Scope scope = RequestQueries.bind(queries)) {
+      chain.doFilter(request, response);
+    } finally {
+      if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+        response.addHeader(SERVER_TIMING, queries.serverTiming());
+      }
+      if (queries.count() > maxQueries) {
+        LOG.log(
+            System.Logger.Level.WARNING,
+            "{0} {1} made {2} repository calls, over the budget of {3}: {4}",
+            request.getMethod(),
+            request.getRequestURI(),
+            queries.count(),
+            maxQueries,
+            queries.breakdown());
+      }
+    }
+  }
+
+  /** The repository calls of {@code request} so far, or {@code null} outside this filter. */
+  static RequestQueries of(HttpServletRequest request) {
+    return (RequestQueries) request.getAttribute(ATTRIBUTE);
+  }
+}
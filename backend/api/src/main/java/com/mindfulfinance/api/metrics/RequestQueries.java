@@ -0,0 +1,118 @@
+package com.mindfulfinance.api.metrics;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Repository calls made while serving one HTTP request: how many, how many rows they returned and
+ * how long they took, also per port method. {@link InstrumentedPorts} adds every repository call
+ * made on a thread that is {@link #tracking} a request; {@link QueryBudgetFilter} opens one per
+ * request and reports it.
+ *
+ * <p>A repository call is one port method call, which an adapter may serve with one or more SQL
+ * statements; calls to the {@code UnitOfWork} port are not queries and are not counted.
+ */
+public final class RequestQueries {
+  private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+  private final AtomicInteger count = new AtomicInteger();
+  private final AtomicLong rows = new AtomicLong();
+  private final AtomicLong nanos = new AtomicLong();
+  private final Map<String, LongAdder> byMethod = new ConcurrentHashMap<>();
+
+  /** Runs {@code work} with repository calls on this thread added to {@code queries}. */
+  public static <T> T tracking(RequestQueries queries, Supplier<T> work) {
+    try (Scope scope = bind(queries)) {
+      return work.get();
+    }
+  }
+
+  /** Adds repository calls on this thread to {@code queries} until the scope is closed. */
+  public static Scope bind(RequestQueries queries) {
+    RequestQueries outer = CURRENT.get();
+    CURRENT.set(queries);
+    return () -> {
+      if (outer == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(outer);
+      }
+    };
+  }
+
+  /**
+   * Wraps {@code executor} so that tasks add their repository calls to the request that submitted
+   * them; used for reads a use case forks onto other threads.
+   */
+  public static Executor propagating(Executor executor) {
+    return task -> {
+      RequestQueries queries = CURRENT.get();
+      executor.execute(
+          () ->
+              tracking(
+                  queries,
+                  () -> {
+                    task.run();
+                    return null;
+                  }));
+    };
+  }
+
+  /** Adds a call to the request tracked on this thread, if any; {@code rows} is -1 if unknown. */
+  static void record(String port, String method, long rows, long nanos) {
+    RequestQueries queries = CURRENT.get();
+    if (queries == null || !port.endsWith("Repository")) return;
+
+    queries.count.incrementAndGet();
+    if (rows > 0) queries.rows.addAndGet(rows);
+    queries.nanos.addAndGet(nanos);
+    queries.byMethod.computeIfAbsent(port + "." + method, key -> new LongAdder()).increment();
+  }
+
+  public int count() {
+    return count.get();
+  }
+
+  public long rows() {
+    return rows.get();
+  }
+
+  /**
+   * The {@code Server-Timing} entry for these calls, e.g. {@code db;dur=1.3;desc="3 queries, 40
+   * rows"}.
+   */
+  public String serverTiming() {
+    return String.format(
+        Locale.ROOT,
+        "db;dur=%.1f;desc=\"%d queries, %d rows\"",
+        nanos.get() / 1_000_000.0,
+        count(),
+        rows());
+  }
+
+  /** Port methods by call count, most called first, e.g. {@code TransactionRepository.find×12}. */
+  public String breakdown() {
+    return byMethod.entrySet().stream()
+        .sorted(
+            Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum())
+                .reversed()
+                .thenComparing(Map.Entry::getKey))
+        .map(entry -> entry.getKey() + "×" + entry.getValue().sum())
+        .collect(Collectors.joining(", "));
+  }
+
+  /** Restores the request tracked on the thread before {@link #bind}. */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,40 @@
+package com.mindfulfinance.api.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@code Server-Timing} header of {@link QueryBudgetFilter} just before a response body is
+ * written, which also sends the headers; by then the handler has made all its repository calls.
+ */
+@ControllerAdvice
+public final class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest) {
+      RequestQueries queries = QueryBudgetFilter.of(servletRequest.getServletRequest());
+      if (queries != null) {
+        response.getHeaders().set(QueryBudgetFilter.SERVER_TIMING, queries.serverTiming());
+      }
+    }
+    return body;
+  }
+}
@@ -0,0 +1,50 @@
+package com.mindfulfinance.api.metrics;
+
+import com.mindfulfinance.postgres.SqlStatistics;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * SQL statements run by this instance since start or the last reset, hottest first, for finding
+ * expensive queries where {@code pg_stat_statements} is not available. An actuator endpoint, so it
+ * is only reachable once exposed, and with the other management endpoints when they are moved to a
+ * port of their own.
+ */
+@Endpoint(id = "sqlstatistics")
+public class SqlStatisticsEndpoint {
+  private final SqlStatistics statistics;
+
+  public SqlStatisticsEndpoint(SqlStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @ReadOperation
+  public List<SqlStatementResponse> statements() {
+    return statistics.statements().stream()
+        .map(
+            statement ->
+                new SqlStatementResponse(
+                    statement.sql(),
+                    statement.calls(),
+                    millis(statement.totalTime()),
+                    millis(statement.meanTime()),
+                    millis(statement.maxTime()),
+                    statement.rows()))
+        .toList();
+  }
+
+  @DeleteOperation
+  public void reset() {
+    statistics.reset();
+  }
+
+  private static double millis(Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+
+  public record SqlStatementResponse(
+      String sql, long calls, double totalMillis, double meanMillis, double maxMillis, long rows) {}
+}
@@ -0,0 +1,111 @@
+package com.mindfulfinance.api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times the use cases the HTTP adapter calls and remembers, per thread, which use case is running,
+ * so that {@link InstrumentedPorts} can tag repository calls with it. The application layer knows
+ * nothing about this: controllers wrap their use-case calls in {@link #call} or {@link #run}.
+ *
+ * <p>Each call is recorded in the {@value #USE_CASE_TIMER} timer, tagged with {@code use_case},
+ * {@code outcome} ({@code success} or {@code error}) and {@code exception}. Port calls made outside
+ * any use case, such as background import workers or controllers reading a repository directly, are
+ * tagged {@code use_case="none"}.
+ */
+public final class UseCaseMetrics {
+  public static final String USE_CASE_TIMER = "mindful_finance.use_case";
+  public static final String NONE = "none";
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  private final MeterRegistry registry;
+
+  public UseCaseMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /** Calls {@code call} as {@code useCase} and returns its result. */
+  public <T> T call(Class<?> useCase, Supplier<T> call) {
+    String name = useCase.getSimpleName();
+    long start = System.nanoTime();
+    Throwable failure = null;
+    try {
+      return as(name, call);
+    } catch (RuntimeException | Error ex) {
+      failure = ex;
+      throw ex;
+    } finally {
+      Timer.builder(USE_CASE_TIMER)
+          .description("Use-case calls made by the HTTP adapter")
+          .tag("use_case", name)
+          .tag("outcome", outcome(failure))
+          .tag("exception", exception(failure))
+          .publishPercentileHistogram()
+          .minimumExpectedValue(Duration.ofMillis(1))
+          .maximumExpectedValue(Duration.ofSeconds(30))
+          .register(registry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Runs {@code call} as {@code useCase}. */
+  public void run(Class<?> useCase, Runnable call) {
+    call(
+        useCase,
+        () -> {
+          call.run();
+          return null;
+        });
+  }
+
+  /** The use case running on this thread, or {@value #NONE}. */
+  public static String current() {
+    String useCase = CURRENT.get();
+    return useCase == null ? NONE : useCase;
+  }
+
+  /**
+   * Wraps {@code executor} so that tasks run as the use case that submitted them; used for reads a
+   * use case forks onto other threads.
+   */
+  public static Executor propagating(Executor executor) {
+    return task -> {
+      String useCase = CURRENT.get();
+      executor.execute(
+          () ->
+              as(
+                  useCase,
+                  () -> {
+                    task.run();
+                    return null;
+                  }));
+    };
+  }
+
+  private static <T> T as(String useCase, Supplier<T> call) {
+    String outer = CURRENT.get();
+    CURRENT.set(useCase);
+    try {
+      return call.get();
+    } finally {
+      if (outer == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(outer);
+      }
+    }
+  }
+
+  static String outcome(Throwable failure) {
+    return failure == null ? "success" : "error";
+  }
+
+  static String exception(Throwable failure) {
+    return failure == null ? "none" : failure.getClass().getSimpleName();
+  }
+}
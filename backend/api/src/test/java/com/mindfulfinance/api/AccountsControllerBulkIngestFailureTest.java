@@ -0,0 +1,154 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.mindfulfinance.api.config.ApiWiringConfig;
+import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.Versioned;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** Bulk ingestion when saving one of the batches fails, as on a lost database connection. */
+@WebMvcTest(
+    controllers = AccountsController.class,
+    properties = "mindful-finance.ingest.batch-size=2")
+@Import({ApiWiringConfig.class, AccountsControllerBulkIngestFailureTest.FailingSaves.class})
+public class AccountsControllerBulkIngestFailureTest {
+  private static final String FAILING_MEMO = "fail the batch";
+
+  @Autowired MockMvc mockMvc;
+
+  @Test
+  public void ingestTransactions_rejectsTheFailedBatch_andStillStreamsTheRestAndTheSummary()
+      throws Exception {
+    String accountId =
+        JsonPath.read(
+            mockMvc
+                .perform(
+                    post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cash\",\"currency\":\"USD\",\"type\":\"CASH\"}"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            "$.accountId");
+    String body =
+        """
+        {"accountId":"%1$s","occurredOn":"2026-03-01","direction":"OUTFLOW","amount":1}
+        {"accountId":"%1$s","occurredOn":"2026-03-02","direction":"OUTFLOW","amount":2}
+        {"accountId":"%1$s","occurredOn":"2026-03-03","direction":"OUTFLOW","amount":3,"memo":"%2$s"}
+        {"accountId":"%1$s","occurredOn":"2026-03-04","direction":"OUTFLOW","amount":-4}
+        {"accountId":"%1$s","occurredOn":"2026-03-05","direction":"OUTFLOW","amount":5}
+        """
+            .formatted(accountId, FAILING_MEMO);
+
+    String[] lines =
+        mockMvc
+            .perform(
+                post("/transactions/bulk")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(body.getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .split("\n");
+
+    assertEquals(6, lines.length);
+    assertEquals("IMPORTED", JsonPath.read(lines[0], "$.outcome"));
+    assertEquals("IMPORTED", JsonPath.read(lines[1], "$.outcome"));
+    assertEquals("REJECTED", JsonPath.read(lines[2], "$.outcome"));
+    assertEquals("Batch could not be saved, retry this line", JsonPath.read(lines[2], "$.error"));
+    assertEquals("REJECTED", JsonPath.read(lines[3], "$.outcome"));
+    assertEquals("amount must be positive", JsonPath.read(lines[3], "$.error"));
+    assertEquals("IMPORTED", JsonPath.read(lines[4], "$.outcome"));
+    assertEquals(5, (int) JsonPath.read(lines[5], "$.receivedCount"));
+    assertEquals(3, (int) JsonPath.read(lines[5], "$.importedCount"));
+    assertEquals(0, (int) JsonPath.read(lines[5], "$.duplicateCount"));
+    assertEquals(2, (int) JsonPath.read(lines[5], "$.rejectedCount"));
+
+    mockMvc
+        .perform(get("/accounts/{accountId}/transactions", accountId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3));
+  }
+
+  @TestConfiguration
+  static class FailingSaves {
+    @Bean
+    @Primary
+    TransactionRepository failingTransactionRepository() {
+      return new FailingTransactionRepository(new InMemoryTransactionRepository());
+    }
+  }
+
+  /** Fails any {@link #saveAll} that holds a transaction with {@link #FAILING_MEMO}. */
+  private record FailingTransactionRepository(TransactionRepository delegate)
+      implements TransactionRepository {
+    @Override
+    public List<Transaction> findByAccountId(AccountId accountId) {
+      return delegate.findByAccountId(accountId);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdAndOccurredOnIn(
+        AccountId accountId, Collection<LocalDate> occurredOn) {
+      return delegate.findByAccountIdAndOccurredOnIn(accountId, occurredOn);
+    }
+
+    @Override
+    public Optional<Versioned<Transaction>> findVersioned(
+        AccountId accountId, TransactionId transactionId) {
+      return delegate.findVersioned(accountId, transactionId);
+    }
+
+    @Override
+    public void save(Transaction transaction) {
+      delegate.save(transaction);
+    }
+
+    @Override
+    public void saveAll(List<Transaction> transactions) {
+      if (transactions.stream().anyMatch(transaction -> FAILING_MEMO.equals(transaction.memo()))) {
+        throw new IllegalStateException("Connection lost");
+      }
+      delegate.saveAll(transactions);
+    }
+
+    @Override
+    public void update(Transaction transaction) {
+      delegate.update(transaction);
+    }
+
+    @Override
+    public long update(Transaction transaction, long expectedVersion) {
+      return delegate.update(transaction, expectedVersion);
+    }
+
+    @Override
+    public boolean delete(AccountId accountId, TransactionId transactionId) {
+      return delegate.delete(accountId, transactionId);
+    }
+  }
+}
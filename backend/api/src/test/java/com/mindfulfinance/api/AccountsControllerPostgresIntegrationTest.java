@@ -684,4 +684,58 @@ public class AccountsControllerPostgresIntegrationTest {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.RUB").value("1000.00"));
   }
+
+  @Test
+  public void
+      read_endpoints_make_as_many_queries_for_many_accounts_as_for_one_with_postgres_profile()
+          throws Exception {
+    String accountId = createAccountWithTransactions(1);
+
+    QueryBudget.assertQueriesDoNotGrow(
+        mockMvc,
+        4,
+        () -> {
+          for (int i = 0; i < 10; i++) {
+            createAccountWithTransactions(5);
+          }
+        },
+        get("/accounts"),
+        get("/accounts/{accountId}/transactions", accountId),
+        get("/accounts/{accountId}/balance", accountId),
+        get("/net-worth"),
+        get("/peace/monthly-burn").param("asOf", "2026-03-31"),
+        get("/peace/monthly-savings").param("asOf", "2026-03-31"));
+  }
+
+  @Test
+  public void sql_statistics_are_not_exposed_by_default_with_postgres_profile() throws Exception {
+    mockMvc.perform(get("/admin/sql-statistics")).andExpect(status().isNotFound());
+    mockMvc.perform(delete("/admin/sql-statistics")).andExpect(status().isNotFound());
+  }
+
+  private String createAccountWithTransactions(int transactions) throws Exception {
+    MvcResult accountResult =
+        mockMvc
+            .perform(
+                post("/accounts")
+                    .contentType("application/json")
+                    .content("{\"name\":\"Cash\",\"currency\":\"USD\",\"type\":\"CASH\"}"))
+            .andExpect(status().isCreated())
+            .andReturn();
+    String accountId =
+        JsonPath.read(accountResult.getResponse().getContentAsString(), "$.accountId");
+
+    for (int i = 0; i < transactions; i++) {
+      mockMvc
+          .perform(
+              post("/accounts/{accountId}/transactions", accountId)
+                  .contentType("application/json")
+                  .content(
+                      "{\"occurredOn\":\"2026-03-%02d\",\"direction\":\"OUTFLOW\",\"amount\":\"10.00\",\"memo\":\"Coffee\"}"
+                          .formatted(i + 1)))
+          .andExpect(status().isCreated())
+          .andExpect(QueryBudget.atMostQueries(3));
+    }
+    return accountId;
+  }
 }
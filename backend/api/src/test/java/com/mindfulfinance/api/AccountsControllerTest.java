@@ -1,12 +1,19 @@
 package com.mindfulfinance.api;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -917,6 +924,388 @@ public class AccountsControllerTest {
         .andExpect(jsonPath("$.message").value("Row 2 has invalid direction 'SIDEWAYS'"));
   }
 
+  @Test
+  public void importTransactionsCsv_withQuotedMemosBomAndCrlf_importsBankExport() throws Exception {
+    String accountId =
+        JsonPath.read(
+            mockMvc
+                .perform(
+                    post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cash\",\"currency\":\"USD\",\"type\":\"CASH\"}"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            "$.accountId");
+
+    MockMultipartFile file =
+        new MockMultipartFile(
+            "file",
+            "transactions.csv",
+            "text/csv",
+            ("\uFEFFoccurred_on,direction,amount,currency,memo,bank_reference\r\n"
+                    + "2026-03-01,OUTFLOW,12.50,USD,\"Cafe, \"\"Central\"\"\",REF-1\r\n"
+                    + "2026-03-02,OUTFLOW,3.00,USD,\"Split\r\nline\",REF-2\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+    mockMvc
+        .perform(multipart("/imports/transactions/csv").file(file).param("accountId", accountId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.receivedRows").value(2))
+        .andExpect(jsonPath("$.importedCount").value(2));
+
+    mockMvc
+        .perform(get("/accounts/{accountId}/transactions", accountId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[*].memo").value(hasItem("Cafe, \"Central\"")))
+        .andExpect(jsonPath("$[*].memo").value(hasItem("Split\r\nline")));
+  }
+
+  @Test
+  public void importTransactionsCsv_withInvalidRowAfterValidRows_reportsFileLineNumber()
+      throws Exception {
+    String accountId =
+        JsonPath.read(
+            mockMvc
+                .perform(
+                    post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cash\",\"currency\":\"USD\",\"type\":\"CASH\"}"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            "$.accountId");
+
+    MockMultipartFile file =
+        new MockMultipartFile(
+            "file",
+            "transactions.csv",
+            "text/csv",
+            """
+            occurred_on,direction,amount,currency,memo
+            2026-03-01,INFLOW,100.00,USD,Salary
+
+            2026-03-02,OUTFLOW,abc,USD,Coffee
+            """
+                .getBytes(StandardCharsets.UTF_8));
+
+    mockMvc
+        .perform(multipart("/imports/transactions/csv").file(file).param("accountId", accountId))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Row 4 has invalid amount 'abc'"));
+  }
+
+  @Test
+  public void importJob_runsInBackgroundAndReportsProgress() throws Exception {
+    String accountId =
+        JsonPath.read(
+            mockMvc
+                .perform(
+                    post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cash\",\"currency\":\"USD\",\"type\":\"CASH\"}"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            "$.accountId");
+
+    MockMultipartFile file =
+        new MockMultipartFile(
+            "file",
+            "transactions.csv",
+            "text/csv",
+            """
+            occurred_on,direction,amount,currency,memo
+            2026-03-01,INFLOW,100.00,USD,Salary
+            2026-03-01,INFLOW,100.00,USD,salary
+            2026-03-02,OUTFLOW,abc,USD,Coffee
+            2026-03-03,OUTFLOW,12.50,USD,Lunch
+            """
+                .getBytes(StandardCharsets.UTF_8));
+
+    String jobId =
+        JsonPath.read(
+            mockMvc
+                .perform(
+                    multipart("/imports/transactions/csv/jobs")
+                        .file(file)
+                        .param("accountId", accountId))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accountId").value(accountId))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            "$.id");
+
+    String jobStatus = "QUEUED";
+    for (int attempt = 0; attempt < 500 && !jobStatus.equals("SUCCEEDED"); attempt++) {
+      Thread.sleep(10);
+      jobStatus =
+          JsonPath.read(
+              mockMvc
+                  .perform(get("/imports/jobs/{jobId}", jobId))
+                  .andExpect(status().isOk())
+                  .andReturn()
+                  .getResponse()
+                  .getContentAsString(),
+              "$.status");
+    }
+
+    mockMvc
+        .perform(get("/imports/jobs/{jobId}", jobId))
+        .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+        .andExpect(jsonPath("$.parsedRows").value(4))
+        .andExpect(jsonPath("$.importedCount").value(2))
+        .andExpect(jsonPath("$.skippedDuplicates").value(1))
+        .andExpect(jsonPath("$.failedRows").value(1));
+    mockMvc
+        .perform(post("/imports/jobs/{jobId}/cancel", jobId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("SUCCEEDED"));
+    mockMvc
+        .perform(get("/accounts/{accountId}/transactions", accountId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2));
+  }
+
+  @Test
+  public void importJob_unknownJob_returns404() throws Exception {
+    String jobId = UUID.randomUUID().toString();
+
+    mockMvc
+        .perform(get("/imports/jobs/{jobId}", jobId))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error").value("NOT_FOUND"));
+    mockMvc.perform(post("/imports/jobs/{jobId}/cancel", jobId)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  public void exportTransactions_csvRoundTripsThroughTheImport() throws Exception {
+    String sourceAccountId = createUsdAccount("Cash");
+    String targetAccountId = createUsdAccount("Restore");
+    String[] memos = {"Salary", "Dinner, \"Luigi's\"", "two\nlines", null};
+    for (int i = 0; i < memos.length; i++) {
+      mockMvc
+          .perform(
+              post("/accounts/{accountId}/transactions", sourceAccountId)
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(
+                      "{\"occurredOn\":\"2026-03-0%d\",\"direction\":\"OUTFLOW\",\"amount\":%d.50,\"memo\":%s}"
+                          .formatted(
+                              i + 1,
+                              i + 1,
+                              memos[i] == null
+                                  ? "null"
+                                  : "\""
+                                      + memos[i].replace("\"", "\\\"").replace("\n", "\\n")
+                                      + "\"")))
+          .andExpect(status().isCreated());
+    }
+
+    MvcResult export =
+        mockMvc
+            .perform(get("/accounts/{accountId}/transactions/export", sourceAccountId))
+            .andExpect(status().isOk())
+            .andExpect(
+                header()
+                    .string(
+                        "Content-Disposition",
+                        "attachment; filename=\"transactions-" + sourceAccountId + ".csv\""))
+            .andReturn();
+    byte[] csv = export.getResponse().getContentAsByteArray();
+    assertTrue(
+        new String(csv, StandardCharsets.UTF_8)
+            .startsWith(
+                "occurred_on,direction,amount,currency,memo\r\n"
+                    + "2026-03-01,OUTFLOW,1.50,USD,Salary\r\n"));
+
+    mockMvc
+        .perform(
+            multipart("/imports/transactions/csv")
+                .file(new MockMultipartFile("file", "transactions.csv", "text/csv", csv))
+                .param("accountId", targetAccountId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.importedCount").value(4));
+
+    String source =
+        mockMvc
+            .perform(get("/accounts/{accountId}/transactions", sourceAccountId))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    String target =
+        mockMvc
+            .perform(get("/accounts/{accountId}/transactions", targetAccountId))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    for (String field : new String[] {"occurredOn", "direction", "amount", "currency", "memo"}) {
+      assertEquals(
+          (Object) JsonPath.read(source, "$[*]." + field),
+          JsonPath.read(target, "$[*]." + field),
+          field);
+    }
+  }
+
+  @Test
+  public void exportTransactions_ndjsonWritesOneTransactionPerLine() throws Exception {
+    String accountId = createUsdAccount("Cash");
+    mockMvc
+        .perform(
+            post("/accounts/{accountId}/transactions", accountId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"occurredOn\":\"2026-03-01\",\"direction\":\"INFLOW\",\"amount\":100.00,\"memo\":\"Salary\"}"))
+        .andExpect(status().isCreated());
+
+    String[] lines =
+        mockMvc
+            .perform(
+                get("/accounts/{accountId}/transactions/export", accountId)
+                    .param("format", "ndjson"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .split("\n");
+
+    assertEquals(1, lines.length);
+    assertEquals("100.00", JsonPath.read(lines[0], "$.amount"));
+    assertEquals("Salary", JsonPath.read(lines[0], "$.memo"));
+
+    mockMvc
+        .perform(
+            get("/accounts/{accountId}/transactions/export", accountId).param("format", "xlsx"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void ingestTransactions_streamsOneResultPerLineAndASummary() throws Exception {
+    String accountId =
+        JsonPath.read(
+            mockMvc
+                .perform(
+                    post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cash\",\"currency\":\"USD\",\"type\":\"CASH\"}"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            "$.accountId");
+    String body =
+        """
+        {"accountId":"%1$s","occurredOn":"2026-03-01","direction":"INFLOW","amount":100.00,"memo":"Salary"}
+        {"accountId":"%1$s","occurredOn":"2026-03-01","direction":"INFLOW","amount":"100","memo":"salary"}
+
+        {"accountId":"%1$s","occurredOn":"2026-03-02","direction":"SIDEWAYS","amount":5}
+        not json
+        {"accountId":"%2$s","occurredOn":"2026-03-02","direction":"OUTFLOW","amount":5}
+        """
+            .formatted(accountId, UUID.randomUUID());
+
+    String response =
+        mockMvc
+            .perform(
+                post("/transactions/bulk")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(body.getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    String[] lines = response.split("\n");
+    assertEquals(6, lines.length);
+    assertEquals("IMPORTED", JsonPath.read(lines[0], "$.outcome"));
+    assertNotNull(JsonPath.read(lines[0], "$.transactionId"));
+    assertEquals("DUPLICATE", JsonPath.read(lines[1], "$.outcome"));
+    assertEquals(4, (int) JsonPath.read(lines[2], "$.line"));
+    assertEquals("Invalid value for direction", JsonPath.read(lines[2], "$.error"));
+    assertEquals("Malformed JSON", JsonPath.read(lines[3], "$.error"));
+    assertEquals("Account not found", JsonPath.read(lines[4], "$.error"));
+    assertEquals(5, (int) JsonPath.read(lines[5], "$.receivedCount"));
+    assertEquals(1, (int) JsonPath.read(lines[5], "$.importedCount"));
+    assertEquals(1, (int) JsonPath.read(lines[5], "$.duplicateCount"));
+    assertEquals(3, (int) JsonPath.read(lines[5], "$.rejectedCount"));
+
+    mockMvc
+        .perform(get("/accounts/{accountId}/transactions", accountId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1));
+  }
+
+  @Test
+  public void validateTransactionsCsv_reportsEveryBadRowAndSavesNothing() throws Exception {
+    String accountId =
+        JsonPath.read(
+            mockMvc
+                .perform(
+                    post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cash\",\"currency\":\"USD\",\"type\":\"CASH\"}"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            "$.accountId");
+
+    MockMultipartFile file =
+        new MockMultipartFile(
+            "file",
+            "transactions.csv",
+            "text/csv",
+            """
+            occurred_on,direction,amount,currency,memo
+            2026-03-01,INFLOW,100.00,USD,Salary
+            2026-02-30,OUTFLOW,5.00,USD,Bad date
+            2026-03-02,SIDEWAYS,abc,USD,Two problems
+            2026-03-03,OUTFLOW,7.00,EUR,Wrong currency
+            2026-03-04,OUTFLOW,-1.00,USD,Negative
+            2026-03-05,OUTFLOW,,USD,Empty amount
+            2026-03-06,OUTFLOW
+            2026-03-07,INFLOW,3.00,USD,"unterminated
+            """
+                .getBytes(StandardCharsets.UTF_8));
+
+    mockMvc
+        .perform(
+            multipart("/imports/transactions/csv/validate")
+                .file(file)
+                .param("accountId", accountId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.valid").value(false))
+        .andExpect(jsonPath("$.receivedRows").value(8))
+        .andExpect(jsonPath("$.validRows").value(1))
+        .andExpect(jsonPath("$.invalidRows").value(7))
+        .andExpect(jsonPath("$.errorsTruncated").value(false))
+        .andExpect(jsonPath("$.errors.length()").value(7))
+        .andExpect(jsonPath("$.errors[0].line").value(3))
+        .andExpect(jsonPath("$.errors[0].column").value("occurred_on"))
+        .andExpect(jsonPath("$.errors[0].code").value("IMPORT_ROW_OCCURRED_ON_INVALID"))
+        .andExpect(jsonPath("$.errors[1].code").value("IMPORT_ROW_DIRECTION_INVALID"))
+        .andExpect(jsonPath("$.errors[2].code").value("IMPORT_ROW_CURRENCY_MISMATCH"))
+        .andExpect(
+            jsonPath("$.errors[3].code").value("TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO"))
+        .andExpect(jsonPath("$.errors[4].code").value("IMPORT_ROW_VALUE_EMPTY"))
+        .andExpect(jsonPath("$.errors[5].line").value(8))
+        .andExpect(jsonPath("$.errors[5].code").value("IMPORT_ROW_COLUMN_MISSING"))
+        .andExpect(jsonPath("$.errors[6].line").value(9))
+        .andExpect(jsonPath("$.errors[6].column").doesNotExist())
+        .andExpect(jsonPath("$.errors[6].code").value("IMPORT_ROW_MALFORMED"))
+        .andExpect(jsonPath("$.errorCounts.IMPORT_ROW_OCCURRED_ON_INVALID").value(1));
+
+    mockMvc
+        .perform(get("/accounts/{accountId}/transactions", accountId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+  }
+
   @Test
   public void importTransactionsCsv_forMissingAccount_returns404() throws Exception {
     MockMultipartFile file =
@@ -1191,4 +1580,59 @@ public class AccountsControllerTest {
         .andExpect(jsonPath("$.error").value("BAD_REQUEST"))
         .andExpect(jsonPath("$.message").value("Invalid asOf date. Expected format: YYYY-MM-DD"));
   }
+
+  @Test
+  public void responses_reportRepositoryCallsInServerTimingHeader() throws Exception {
+    String accountId = createUsdAccount("Cash");
+
+    mockMvc
+        .perform(get("/accounts/{accountId}/balance", accountId))
+        .andExpect(status().isOk())
+        .andExpect(
+            header()
+                .string(
+                    "Server-Timing",
+                    matchesPattern("db;dur=\\d+\\.\\d;desc=\"4 queries, 2 rows\"")));
+    mockMvc
+        .perform(
+            put("/accounts/{accountId}", accountId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Wallet\",\"type\":\"CASH\"}"))
+        .andExpect(status().isNoContent())
+        .andExpect(header().string("Server-Timing", containsString("queries")));
+  }
+
+  @Test
+  public void aggregateEndpoints_makeAsManyRepositoryCallsForManyAccountsAsForOne()
+      throws Exception {
+    createUsdAccount("Cash");
+
+    QueryBudget.assertQueriesDoNotGrow(
+        mockMvc,
+        2,
+        () -> {
+          for (int i = 0; i < 10; i++) {
+            createUsdAccount("Account " + i);
+          }
+        },
+        get("/accounts"),
+        get("/net-worth"),
+        get("/peace/monthly-burn").param("asOf", "2026-03-31"),
+        get("/peace/monthly-savings").param("asOf", "2026-03-31"));
+  }
+
+  private String createUsdAccount(String name) throws Exception {
+    return JsonPath.read(
+        mockMvc
+            .perform(
+                post("/accounts")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        "{\"name\":\"%s\",\"currency\":\"USD\",\"type\":\"CASH\"}".formatted(name)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString(),
+        "$.accountId");
+  }
 }
@@ -5,6 +5,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.mindfulfinance.application.ports.VersionConflictException;
 import com.mindfulfinance.domain.shared.DomainException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -73,6 +74,14 @@ public class ApiExceptionHandlerTest {
         .andExpect(jsonPath("$.error").value("CONFLICT"));
   }
 
+  @Test
+  public void versionConflictException_returns409VersionConflict() throws Exception {
+    mockMvc
+        .perform(get("/throw/version-conflict"))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.error").value("VERSION_CONFLICT"));
+  }
+
   @Test
   public void accountDeleteForbiddenDomainException_returns409Conflict() throws Exception {
     mockMvc
@@ -118,6 +127,11 @@ public class ApiExceptionHandlerTest {
       throw new DuplicateKeyException("duplicate transaction");
     }
 
+    @GetMapping("/throw/version-conflict")
+    public String versionConflict() {
+      throw new VersionConflictException("Monthly actual was changed concurrently");
+    }
+
     @GetMapping("/throw/account-delete-conflict")
     public String accountDeleteConflict() {
       throw new DomainException(
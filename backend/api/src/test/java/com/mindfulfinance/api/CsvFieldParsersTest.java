@@ -0,0 +1,80 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import org.junit.jupiter.api.Test;
+
+public class CsvFieldParsersTest {
+  @Test
+  public void parseIsoDate_acceptsValidDatesIncludingLeapDay() {
+    assertEquals(LocalDate.of(2026, 3, 1), CsvFieldParsers.parseIsoDate("2026-03-01"));
+    assertEquals(LocalDate.of(2024, 2, 29), CsvFieldParsers.parseIsoDate("2024-02-29"));
+    assertEquals(LocalDate.of(2000, 2, 29), CsvFieldParsers.parseIsoDate("2000-02-29"));
+  }
+
+  @Test
+  public void parseIsoDate_returnsNullForMalformedOrImpossibleDates() {
+    assertNull(CsvFieldParsers.parseIsoDate("2026-3-01"));
+    assertNull(CsvFieldParsers.parseIsoDate("2026/03/01"));
+    assertNull(CsvFieldParsers.parseIsoDate("2026-13-01"));
+    assertNull(CsvFieldParsers.parseIsoDate("2026-00-10"));
+    assertNull(CsvFieldParsers.parseIsoDate("2026-04-31"));
+    assertNull(CsvFieldParsers.parseIsoDate("2026-02-29"));
+    assertNull(CsvFieldParsers.parseIsoDate("1900-02-29"));
+    assertNull(CsvFieldParsers.parseIsoDate("2026-03-0x"));
+  }
+
+  @Test
+  public void parseDecimal_matchesBigDecimalConstructorForAcceptedInputs() {
+    for (String value :
+        new String[] {
+          "100.00",
+          "0.5",
+          "-12.345",
+          "+7",
+          "1.",
+          ".25",
+          "0",
+          "123456789012345678",
+          "1234567890123456789.99",
+          "1E+3",
+          "2.5e-2"
+        }) {
+      assertEquals(new BigDecimal(value), CsvFieldParsers.parseDecimal(value), value);
+    }
+  }
+
+  @Test
+  public void parseDecimal_returnsNullForNonNumbers() {
+    assertNull(CsvFieldParsers.parseDecimal("abc"));
+    assertNull(CsvFieldParsers.parseDecimal("1,50"));
+    assertNull(CsvFieldParsers.parseDecimal("1.2.3"));
+    assertNull(CsvFieldParsers.parseDecimal("-"));
+    assertNull(CsvFieldParsers.parseDecimal("."));
+    assertNull(CsvFieldParsers.parseDecimal("1e"));
+    assertNull(CsvFieldParsers.parseDecimal("e5"));
+    assertNull(CsvFieldParsers.parseDecimal("1e1234567890"));
+  }
+
+  @Test
+  public void parseDirection_ignoresCase() {
+    assertEquals(TransactionDirection.INFLOW, CsvFieldParsers.parseDirection("inflow"));
+    assertEquals(TransactionDirection.OUTFLOW, CsvFieldParsers.parseDirection("OutFlow"));
+    assertNull(CsvFieldParsers.parseDirection("SIDEWAYS"));
+    assertNull(CsvFieldParsers.parseDirection("IN"));
+  }
+
+  @Test
+  public void parseCurrency_looksUpIsoCodesInAnyCase() {
+    assertEquals(Currency.getInstance("USD"), CsvFieldParsers.parseCurrency("usd"));
+    assertEquals(Currency.getInstance("RUB"), CsvFieldParsers.parseCurrency("RUB"));
+    assertNull(CsvFieldParsers.parseCurrency("QQQ"));
+    assertNull(CsvFieldParsers.parseCurrency("US"));
+    assertNull(CsvFieldParsers.parseCurrency("U1D"));
+  }
+}
@@ -0,0 +1,91 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class CsvRecordReaderTest {
+  @Test
+  public void splitsPlainFieldsAndKeepsTrailingEmptyField() throws IOException {
+    List<List<String>> records = readAll("a,b,\n1,,3\n");
+
+    assertEquals(List.of(List.of("a", "b", ""), List.of("1", "", "3")), records);
+  }
+
+  @Test
+  public void decodesQuotedFieldsWithDelimitersEscapedQuotesAndLineBreaks() throws IOException {
+    List<List<String>> records =
+        readAll("memo,amount\n\"Coffee, \"\"large\"\"\",1\n\"two\nlines\",2\n");
+
+    assertEquals(
+        List.of(
+            List.of("memo", "amount"),
+            List.of("Coffee, \"large\"", "1"),
+            List.of("two\nlines", "2")),
+        records);
+  }
+
+  @Test
+  public void handlesCrlfLoneCrBomAndMissingFinalLineBreak() throws IOException {
+    List<List<String>> records = readAll("\uFEFFa,b\r\n1,2\r3,4");
+
+    assertEquals(List.of(List.of("a", "b"), List.of("1", "2"), List.of("3", "4")), records);
+  }
+
+  @Test
+  public void reportsPhysicalStartLineOfEachRecord() throws IOException {
+    CsvRecordReader reader =
+        new CsvRecordReader(new StringReader("h\n\"multi\r\nline\"\n\nlast\n"));
+    List<Integer> lineNumbers = new ArrayList<>();
+    List<Boolean> blanks = new ArrayList<>();
+    while (reader.next()) {
+      lineNumbers.add(reader.lineNumber());
+      blanks.add(reader.isBlank());
+    }
+
+    assertEquals(List.of(1, 2, 4, 5), lineNumbers);
+    assertEquals(List.of(false, false, true, false), blanks);
+  }
+
+  @Test
+  public void trimsOnlyWhenAskedAndReturnsNullForMissingField() throws IOException {
+    CsvRecordReader reader = new CsvRecordReader(new StringReader(" a , b\n"));
+
+    assertTrue(reader.next());
+    assertEquals(" a ", reader.field(0));
+    assertEquals("a", reader.trimmedField(0));
+    assertNull(reader.field(2));
+    assertFalse(reader.next());
+  }
+
+  @Test
+  public void rejectsUnterminatedQuotedField() throws IOException {
+    CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\n1,\"open\n"));
+    assertTrue(reader.next());
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, reader::next);
+
+    assertEquals("Row 2 has unterminated quoted field", exception.getMessage());
+  }
+
+  private static List<List<String>> readAll(String csv) throws IOException {
+    CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+    List<List<String>> records = new ArrayList<>();
+    while (reader.next()) {
+      List<String> fields = new ArrayList<>();
+      for (int i = 0; i < reader.fieldCount(); i++) {
+        fields.add(reader.field(i));
+      }
+      records.add(fields);
+    }
+    return records;
+  }
+}
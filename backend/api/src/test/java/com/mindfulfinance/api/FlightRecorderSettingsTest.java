@@ -0,0 +1,31 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import org.junit.jupiter.api.Test;
+
+public class FlightRecorderSettingsTest {
+  private static final Path SETTINGS = Path.of("jfr/mindful-finance.jfc");
+
+  @Test
+  public void profile_enables_every_mindful_finance_event_with_a_threshold() throws Exception {
+    Map<String, String> settings = Configuration.create(SETTINGS).getSettings();
+
+    for (String event :
+        new String[] {
+          "com.mindfulfinance.ImportRun",
+          "com.mindfulfinance.LedgerSync",
+          "com.mindfulfinance.SnapshotBuild",
+          "com.mindfulfinance.SnapshotSerialize",
+          "com.mindfulfinance.BalanceComputation"
+        }) {
+      assertEquals("true", settings.get(event + "#enabled"), event);
+      assertTrue(settings.containsKey(event + "#threshold"), event);
+    }
+    assertEquals("true", settings.get("jdk.VirtualThreadPinned#enabled"));
+  }
+}
@@ -0,0 +1,45 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
+import com.mindfulfinance.domain.importjob.ImportJobProgress;
+import com.mindfulfinance.domain.importjob.ImportJobStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class InMemoryImportJobRepositoryTest {
+  private static final Instant NOW = Instant.parse("2026-03-02T00:00:00Z");
+
+  @Test
+  public void onlyTheMostRecentlyFinishedJobsAreKept() {
+    InMemoryImportJobRepository jobs = new InMemoryImportJobRepository(2);
+    ImportJob unfinished = ImportJob.queued(ImportJobId.random(), AccountId.random(), NOW);
+    jobs.save(unfinished);
+    List<ImportJobId> finished = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      ImportJob job = ImportJob.queued(ImportJobId.random(), AccountId.random(), NOW);
+      jobs.save(job);
+      if (i % 2 == 0) {
+        jobs.requestCancel(job.id(), NOW);
+      } else {
+        assertTrue(jobs.tryStart(job.id(), NOW, NOW));
+        jobs.finish(job.id(), ImportJobStatus.SUCCEEDED, ImportJobProgress.NONE, null, NOW);
+      }
+      finished.add(job.id());
+    }
+    // Finishing a job again does not count it twice.
+    jobs.finish(finished.get(3), ImportJobStatus.FAILED, ImportJobProgress.NONE, "late", NOW);
+
+    assertTrue(jobs.find(finished.get(0)).isEmpty());
+    assertTrue(jobs.find(finished.get(1)).isEmpty());
+    assertEquals(ImportJobStatus.CANCELLED, jobs.find(finished.get(2)).orElseThrow().status());
+    assertEquals(ImportJobStatus.SUCCEEDED, jobs.find(finished.get(3)).orElseThrow().status());
+    assertEquals(ImportJobStatus.QUEUED, jobs.find(unfinished.id()).orElseThrow().status());
+  }
+}
@@ -0,0 +1,339 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.account.AccountStatus;
+import com.mindfulfinance.domain.account.AccountType;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardStatus;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Hammers the in-memory adapters from many threads and checks that the outcome is one some serial
+ * order of the same calls could have produced: no lost updates, no torn reads, one winner per
+ * conflicting write.
+ */
+public class InMemoryRepositoriesConcurrencyTest {
+  private static final int THREADS = 8;
+  private static final Currency RUB = Currency.getInstance("RUB");
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void concurrent_saves_are_all_kept_and_readers_see_growing_prefixes() throws Exception {
+    InMemoryTransactionRepository repository = new InMemoryTransactionRepository();
+    AccountId accountId = AccountId.random();
+    int perThread = 2_000;
+    AtomicBoolean writing = new AtomicBoolean(true);
+
+    Future<Void> reader =
+        executor.submit(
+            () -> {
+              int lastSize = 0;
+              while (writing.get()) {
+                List<Transaction> snapshot = repository.findByAccountId(accountId);
+                assertTrue(snapshot.size() >= lastSize, "snapshot shrank");
+                snapshot.forEach(transaction -> assertEquals(accountId, transaction.accountId()));
+                lastSize = snapshot.size();
+              }
+              return null;
+            });
+    runConcurrently(
+        thread -> {
+          for (int i = 0; i < perThread; i++) {
+            if (i % 2 == 0) {
+              repository.save(transaction(accountId));
+            } else {
+              repository.saveAll(List.of(transaction(accountId)));
+            }
+          }
+          return null;
+        });
+    writing.set(false);
+    reader.get(30, TimeUnit.SECONDS);
+
+    List<Transaction> stored = repository.findByAccountId(accountId);
+    assertEquals(THREADS * perThread, stored.size());
+    assertEquals(
+        stored.size(), new HashSet<>(stored.stream().map(Transaction::id).toList()).size());
+  }
+
+  @Test
+  public void conditional_transaction_updates_lose_no_increments() throws Exception {
+    InMemoryTransactionRepository repository = new InMemoryTransactionRepository();
+    Transaction seed = transaction(AccountId.random());
+    repository.save(seed);
+    int perThread = 200;
+
+    runConcurrently(
+        thread -> {
+          for (int i = 0; i < perThread; i++) {
+            while (true) {
+              Versioned<Transaction> current =
+                  repository.findVersioned(seed.accountId(), seed.id()).orElseThrow();
+              try {
+                repository.update(withAmountPlusOne(current.value()), current.version());
+                break;
+              } catch (VersionConflictException retry) {
+                // Someone else won this round; read again.
+              }
+            }
+          }
+          return null;
+        });
+
+    Versioned<Transaction> stored =
+        repository.findVersioned(seed.accountId(), seed.id()).orElseThrow();
+    assertEquals(
+        0, new BigDecimal(1 + THREADS * perThread).compareTo(stored.value().amount().amount()));
+    assertEquals(1 + THREADS * perThread, stored.version());
+  }
+
+  @Test
+  public void a_transaction_is_deleted_exactly_once() throws Exception {
+    InMemoryTransactionRepository repository = new InMemoryTransactionRepository();
+    AccountId accountId = AccountId.random();
+    List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      Transaction transaction = transaction(accountId);
+      transactions.add(transaction);
+      repository.save(transaction);
+    }
+
+    List<Integer> deletedPerThread =
+        runConcurrently(
+            thread -> {
+              int deleted = 0;
+              for (Transaction transaction : transactions) {
+                if (repository.delete(accountId, transaction.id())) deleted++;
+              }
+              return deleted;
+            });
+
+    assertEquals(transactions.size(), deletedPerThread.stream().mapToInt(Integer::intValue).sum());
+    assertTrue(repository.findByAccountId(accountId).isEmpty());
+  }
+
+  @Test
+  public void conditional_actual_upserts_lose_no_increments() throws Exception {
+    InMemoryMonthlyIncomeActualRepository repository = new InMemoryMonthlyIncomeActualRepository();
+    PersonalFinanceCardId cardId = PersonalFinanceCardId.random();
+    int perThread = 200;
+
+    runConcurrently(
+        thread -> {
+          for (int i = 0; i < perThread; i++) {
+            while (true) {
+              List<Versioned<MonthlyIncomeActual>> stored =
+                  repository.findVersionedByCardAndYear(cardId, 2026);
+              long version = stored.isEmpty() ? Versioned.ABSENT : stored.getFirst().version();
+              BigDecimal total =
+                  stored.isEmpty()
+                      ? BigDecimal.ZERO
+                      : stored.getFirst().value().totalAmount().amount();
+              try {
+                repository.upsert(
+                    new MonthlyIncomeActual(
+                        cardId, 2026, 3, new Money(total.add(BigDecimal.ONE), RUB)),
+                    version);
+                break;
+              } catch (VersionConflictException retry) {
+                // Someone else won this round; read again.
+              }
+            }
+          }
+          return null;
+        });
+
+    Versioned<MonthlyIncomeActual> stored =
+        repository.findVersionedByCardAndYear(cardId, 2026).getFirst();
+    assertEquals(
+        0, new BigDecimal(THREADS * perThread).compareTo(stored.value().totalAmount().amount()));
+    assertEquals(THREADS * perThread, stored.version());
+  }
+
+  @Test
+  public void conditional_clears_and_saves_never_hand_out_a_version_twice() throws Exception {
+    InMemoryMonthlyIncomeActualRepository repository = new InMemoryMonthlyIncomeActualRepository();
+    PersonalFinanceCardId cardId = PersonalFinanceCardId.random();
+    MonthlyIncomeActual filled =
+        new MonthlyIncomeActual(cardId, 2026, 3, new Money(BigDecimal.ONE, RUB));
+    repository.upsert(filled);
+    int perThread = 200;
+
+    List<Set<Long>> written =
+        runConcurrently(
+            thread -> {
+              Set<Long> versions = new HashSet<>();
+              for (int i = 0; i < perThread; i++) {
+                long version =
+                    repository.findVersionedByCardAndYear(cardId, 2026).getFirst().version();
+                try {
+                  versions.add(
+                      i % 2 == 0
+                          ? repository.delete(cardId, 2026, 3, version)
+                          : repository.upsert(filled, version));
+                } catch (VersionConflictException lost) {
+                  // Another thread wrote this version first.
+                }
+              }
+              return versions;
+            });
+
+    Set<Long> all = new HashSet<>();
+    int writes = 0;
+    for (Set<Long> versions : written) {
+      all.addAll(versions);
+      writes += versions.size();
+    }
+    assertEquals(writes, all.size());
+    assertEquals(
+        1 + writes, repository.findVersionedByCardAndYear(cardId, 2026).getFirst().version());
+  }
+
+  @Test
+  public void only_one_conditional_card_update_wins_per_version() throws Exception {
+    InMemoryPersonalFinanceCardRepository repository = new InMemoryPersonalFinanceCardRepository();
+    PersonalFinanceCard card =
+        new PersonalFinanceCard(
+            PersonalFinanceCardId.random(),
+            "Card",
+            AccountId.random(),
+            Instant.now(),
+            PersonalFinanceCardStatus.ACTIVE);
+    repository.save(card);
+
+    List<Integer> winners =
+        runConcurrently(
+            thread -> {
+              try {
+                repository.update(
+                    new PersonalFinanceCard(
+                        card.id(),
+                        "Renamed " + thread,
+                        card.linkedAccountId(),
+                        card.createdAt(),
+                        card.status()),
+                    1);
+                return 1;
+              } catch (VersionConflictException lost) {
+                return 0;
+              }
+            });
+
+    assertEquals(1, winners.stream().mapToInt(Integer::intValue).sum());
+    Versioned<PersonalFinanceCard> stored = repository.findVersioned(card.id()).orElseThrow();
+    assertEquals(2, stored.version());
+    assertTrue(stored.value().name().startsWith("Renamed "));
+  }
+
+  @Test
+  public void concurrent_account_saves_are_all_listed() throws Exception {
+    InMemoryAccountRepository repository = new InMemoryAccountRepository();
+    int perThread = 500;
+
+    List<Set<AccountId>> savedPerThread =
+        runConcurrently(
+            thread -> {
+              Set<AccountId> saved = new HashSet<>();
+              for (int i = 0; i < perThread; i++) {
+                var account =
+                    new Account(
+                        AccountId.random(),
+                        "Account " + thread + "-" + i,
+                        RUB,
+                        AccountType.CASH,
+                        AccountStatus.ACTIVE,
+                        Instant.now());
+                repository.save(account);
+                saved.add(account.id());
+              }
+              return saved;
+            });
+
+    Set<AccountId> expected = new HashSet<>();
+    savedPerThread.forEach(expected::addAll);
+    assertEquals(expected, new HashSet<>(repository.findAll().stream().map(Account::id).toList()));
+  }
+
+  /** Starts {@link #THREADS} copies of {@code task} at once and returns their results. */
+  private <T> List<T> runConcurrently(ThreadTask<T> task) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<T>> futures = new ArrayList<>();
+    for (int thread = 0; thread < THREADS; thread++) {
+      int index = thread;
+      Callable<T> call =
+          () -> {
+            start.await();
+            return task.run(index);
+          };
+      futures.add(executor.submit(call));
+    }
+    start.countDown();
+
+    List<T> results = new ArrayList<>();
+    for (Future<T> future : futures) {
+      results.add(future.get(30, TimeUnit.SECONDS));
+    }
+    return results;
+  }
+
+  private static Transaction transaction(AccountId accountId) {
+    return new Transaction(
+        TransactionId.random(),
+        accountId,
+        LocalDate.of(2026, 3, 1),
+        TransactionDirection.INFLOW,
+        new Money(BigDecimal.ONE, RUB),
+        null,
+        Instant.now());
+  }
+
+  private static Transaction withAmountPlusOne(Transaction transaction) {
+    return new Transaction(
+        transaction.id(),
+        transaction.accountId(),
+        transaction.occurredOn(),
+        transaction.direction(),
+        new Money(transaction.amount().amount().add(BigDecimal.ONE), RUB),
+        transaction.memo(),
+        transaction.createdAt());
+  }
+
+  @FunctionalInterface
+  private interface ThreadTask<T> {
+    T run(int thread) throws Exception;
+  }
+}
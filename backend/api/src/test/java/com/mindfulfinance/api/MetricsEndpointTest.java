@@ -0,0 +1,49 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+public class MetricsEndpointTest {
+  @Autowired TestRestTemplate restTemplate;
+
+  @Test
+  public void metricsEndpoint_reportsUseCasesAndThePortCallsTheyMade() {
+    restTemplate.postForEntity(
+        "/accounts", Map.of("name", "Cash", "currency", "USD", "type", "CASH"), Map.class);
+    restTemplate.getForObject("/net-worth", Map.class);
+
+    ResponseEntity<String> response = restTemplate.getForEntity("/metrics", String.class);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    String body = response.getBody();
+    assertTrue(
+        body.lines()
+            .anyMatch(
+                line ->
+                    line.startsWith("mindful_finance_use_case_seconds_count{")
+                        && line.contains("use_case=\"ComputeNetWorthByCurrency\"")
+                        && line.contains("outcome=\"success\"")),
+        body);
+    assertTrue(
+        body.lines()
+            .anyMatch(
+                line ->
+                    line.startsWith("mindful_finance_port_seconds_count{")
+                        && line.contains("port=\"AccountRepository\"")
+                        && line.contains("adapter=\"memory\"")
+                        && line.contains("use_case=\"ComputeNetWorthByCurrency\"")),
+        body);
+    assertTrue(body.contains("mindful_finance_port_returned_rows_count{"), body);
+  }
+}
@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -178,6 +179,115 @@ public class PersonalFinanceControllerPostgresIntegrationTest {
         .andExpect(jsonPath("$.settings.annualLimitTotal").value("5880.00"));
   }
 
+  @Test
+  void income_actual_with_stale_if_match_is_rejected_as_version_conflict() throws Exception {
+    String cardId = createCard("Основная карта");
+
+    mockMvc
+        .perform(get("/personal-finance/cards/{cardId}/years/2026", cardId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.income.months[2].actualVersion").value(0));
+
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/income/actual/3", cardId)
+                .header("If-Match", "\"0\"")
+                .contentType("application/json")
+                .content("{\"year\": 2026, \"totalAmount\": \"900.00\"}"))
+        .andExpect(status().isNoContent())
+        .andExpect(header().string("ETag", "\"1\""));
+
+    // A second tab still holding version 0 must not overwrite the first tab's value.
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/income/actual/3", cardId)
+                .header("If-Match", "\"0\"")
+                .contentType("application/json")
+                .content("{\"year\": 2026, \"totalAmount\": \"500.00\"}"))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.error").value("VERSION_CONFLICT"));
+
+    mockMvc
+        .perform(get("/personal-finance/cards/{cardId}/years/2026", cardId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.income.months[2].totalAmount").value("900.00"))
+        .andExpect(jsonPath("$.income.months[2].actualVersion").value(1));
+  }
+
+  @Test
+  void batch_actuals_save_several_months_and_clear_zero_months_with_linked_ledger()
+      throws Exception {
+    String cardId = createCard("Основная карта");
+
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/settings", cardId)
+                .contentType("application/json")
+                .content(
+                    """
+                {
+                  "baselineAmount": "1000.00",
+                  "limitCategoryPercents": {},
+                  "salaryAmount": "1000.00",
+                  "bonusPercent": "0.00"
+                }
+                """))
+        .andExpect(status().isNoContent());
+
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/actuals/2026", cardId)
+                .contentType("application/json")
+                .content(
+                    """
+                {
+                  "expenses": [
+                    {"month": 1, "categoryAmounts": {"RESTAURANTS": "100.00", "GROCERIES": "200.00"}},
+                    {"month": 2, "categoryAmounts": {"GROCERIES": "50.00"}}
+                  ],
+                  "income": [
+                    {"month": 1, "totalAmount": "500.00"}
+                  ]
+                }
+                """))
+        .andExpect(status().isNoContent());
+
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/actuals/2026", cardId)
+                .contentType("application/json")
+                .content(
+                    """
+                {
+                  "expenses": [{"month": 2, "categoryAmounts": {}}]
+                }
+                """))
+        .andExpect(status().isNoContent());
+
+    mockMvc
+        .perform(get("/personal-finance/cards/{cardId}/years/2026", cardId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.expenses.months[0].actualTotal").value("300.00"))
+        .andExpect(jsonPath("$.expenses.months[1].actualTotal").value("0.00"))
+        .andExpect(jsonPath("$.expenses.annualActualTotal").value("300.00"))
+        .andExpect(jsonPath("$.settings.currentBalance").value("1200.00"));
+
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/actuals/2026", cardId)
+                .contentType("application/json")
+                .content(
+                    """
+                {
+                  "income": [
+                    {"month": 3, "totalAmount": "1.00"},
+                    {"month": 3, "totalAmount": "2.00"}
+                  ]
+                }
+                """))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void investments_behave_as_annual_transfer_goal_in_snapshot_totals() throws Exception {
     String cardId = createCard("Основная карта");
@@ -904,6 +1014,70 @@ public class PersonalFinanceControllerPostgresIntegrationTest {
         .andExpect(jsonPath("$.error").value("NOT_FOUND"));
   }
 
+  @Test
+  void card_endpoints_make_as_many_queries_for_a_full_year_and_many_cards_as_for_one()
+      throws Exception {
+    String cardId = createCard("Основная карта");
+    saveSettings(cardId);
+    saveExpenseActual(cardId, 1);
+
+    QueryBudget.assertQueriesDoNotGrow(
+        mockMvc,
+        11,
+        () -> {
+          for (int month = 2; month <= 12; month++) {
+            saveExpenseActual(cardId, month);
+          }
+          for (int i = 0; i < 5; i++) {
+            String otherCardId = createCard("Карта " + i);
+            saveSettings(otherCardId);
+            saveExpenseActual(otherCardId, 1);
+          }
+        },
+        get("/personal-finance/cards"),
+        get("/personal-finance/cards/{cardId}/years/2026", cardId));
+  }
+
+  private void saveSettings(String cardId) throws Exception {
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/settings", cardId)
+                .contentType("application/json")
+                .content(
+                    """
+                {
+                  "baselineAmount": "1000.00",
+                  "limitCategoryPercents": {
+                    "RESTAURANTS": "18.00",
+                    "GROCERIES": "21.00"
+                  },
+                  "salaryAmount": "1000.00",
+                  "bonusPercent": "10.00"
+                }
+                """))
+        .andExpect(status().isNoContent())
+        .andExpect(QueryBudget.atMostQueries(11));
+  }
+
+  private void saveExpenseActual(String cardId, int month) throws Exception {
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/expenses/actual/{month}", cardId, month)
+                .contentType("application/json")
+                .content(
+                    """
+                {
+                  "year": 2026,
+                  "categoryAmounts": {
+                    "RESTAURANTS": "100.00",
+                    "GROCERIES": "200.00"
+                  }
+                }
+                """))
+        .andExpect(status().isNoContent())
+        .andExpect(QueryBudget.atMostQueries(11));
+  }
+
   private String createCard(String name) throws Exception {
     MvcResult result =
         mockMvc
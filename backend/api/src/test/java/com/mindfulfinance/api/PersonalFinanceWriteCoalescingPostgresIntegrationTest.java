@@ -0,0 +1,122 @@
+package com.mindfulfinance.api;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Coalesced single-month saves are flushed on a connection of their own. With a pool of one
+ * connection, a request that flushes them while holding the only connection would wait for a second
+ * one until the pool gives up.
+ */
+@SpringBootTest(
+    properties = {
+      "mindful-finance.datasource.maximum-pool-size=1",
+      "mindful-finance.datasource.connection-timeout-ms=2000",
+      "mindful-finance.personal-finance.write-coalescing.window=30s"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("postgres")
+@Testcontainers
+public class PersonalFinanceWriteCoalescingPostgresIntegrationTest {
+  @Container
+  static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired MockMvc mockMvc;
+
+  @Autowired ObjectMapper objectMapper;
+
+  @Test
+  void requests_flushing_pending_saves_complete_on_a_single_connection_pool() throws Exception {
+    String cardId =
+        objectMapper
+            .readTree(
+                mockMvc
+                    .perform(
+                        post("/personal-finance/cards")
+                            .contentType("application/json")
+                            .content("{\"name\": \"Основная карта\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString())
+            .get("cardId")
+            .asText();
+    mockMvc
+        .perform(
+            put("/personal-finance/cards/{cardId}/expenses/actual/2", cardId)
+                .contentType("application/json")
+                .content(
+                    """
+                {"year": 2026, "categoryAmounts": {"RESTAURANTS": "100.00"}}
+                """))
+        .andExpect(status().isAccepted())
+        .andExpect(header().doesNotExist("ETag"));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<?>> requests =
+          List.of(
+              executor.submit(
+                  () ->
+                      mockMvc
+                          .perform(
+                              put("/personal-finance/cards/{cardId}", cardId)
+                                  .contentType("application/json")
+                                  .content("{\"name\": \"Карта на каждый день\"}"))
+                          .andExpect(status().isNoContent())),
+              executor.submit(
+                  () ->
+                      mockMvc
+                          .perform(
+                              put("/personal-finance/cards/{cardId}/actuals/2026", cardId)
+                                  .contentType("application/json")
+                                  .content(
+                                      """
+                                      {"income": [{"month": 1, "totalAmount": "500.00"}]}
+                                      """))
+                          .andExpect(status().isNoContent())));
+      for (Future<?> request : requests) {
+        request.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    mockMvc
+        .perform(get("/personal-finance/cards/{cardId}/years/2026", cardId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.card.name").value("Карта на каждый день"))
+        .andExpect(
+            jsonPath("$.expenses.months[1].actualCategoryAmounts.RESTAURANTS").value("100.00"))
+        .andExpect(jsonPath("$.income.months[0].totalAmount").value("500.00"));
+  }
+}
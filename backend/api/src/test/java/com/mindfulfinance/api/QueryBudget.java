@@ -0,0 +1,81 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mindfulfinance.api.metrics.QueryBudgetFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Assertions on the number of repository calls an endpoint makes, as reported by the {@code
+ * Server-Timing} header of {@link QueryBudgetFilter}. A budget checked at one data size only says
+ * the endpoint is cheap today; {@link #assertQueriesDoNotGrow} also catches reads that repeat per
+ * account, card or row.
+ */
+final class QueryBudget {
+  private static final Pattern QUERIES = Pattern.compile("desc=\"(\\d+) queries");
+
+  private QueryBudget() {}
+
+  /** Changes the data behind the endpoints under test, typically by adding more of it. */
+  @FunctionalInterface
+  interface DataChange {
+    void apply() throws Exception;
+  }
+
+  /** The repository calls reported for {@code result}. */
+  static int queries(MvcResult result) {
+    String header = result.getResponse().getHeader(QueryBudgetFilter.SERVER_TIMING);
+    assertNotNull(header, "no " + QueryBudgetFilter.SERVER_TIMING + " header");
+    Matcher matcher = QUERIES.matcher(header);
+    assertTrue(matcher.find(), header);
+    return Integer.parseInt(matcher.group(1));
+  }
+
+  static ResultMatcher atMostQueries(int maxQueries) {
+    return result -> {
+      int queries = queries(result);
+      assertTrue(
+          queries <= maxQueries,
+          describe(result) + " made " + queries + " repository calls, budget " + maxQueries);
+    };
+  }
+
+  /**
+   * Performs each request, applies {@code growData}, and performs them again; fails unless every
+   * request stays within {@code maxQueries} both times and makes as many calls after the change as
+   * before it.
+   */
+  static void assertQueriesDoNotGrow(
+      MockMvc mockMvc, int maxQueries, DataChange growData, RequestBuilder... requests)
+      throws Exception {
+    List<Integer> before = new ArrayList<>();
+    for (RequestBuilder request : requests) {
+      before.add(
+          queries(mockMvc.perform(request).andExpect(atMostQueries(maxQueries)).andReturn()));
+    }
+
+    growData.apply();
+
+    for (int i = 0; i < requests.length; i++) {
+      MvcResult result =
+          mockMvc.perform(requests[i]).andExpect(atMostQueries(maxQueries)).andReturn();
+      assertEquals(
+          before.get(i),
+          queries(result),
+          describe(result) + " makes more repository calls as the data grows");
+    }
+  }
+
+  private static String describe(MvcResult result) {
+    return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+  }
+}
@@ -0,0 +1,26 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mindfulfinance.api.config.ApiWiringConfig.SnapshotReadExecutor;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public class SnapshotReadExecutorLifecycleTest {
+  @Test
+  public void parallelSnapshotReadExecutor_isClosedWithTheContext() {
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(ApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--mindful-finance.snapshot.parallel-reads=true", "--spring.main.banner-mode=off");
+    ExecutorService executor = context.getBean(SnapshotReadExecutor.class).executor();
+    assertTrue(context.containsBean("applicationTaskExecutor"));
+
+    context.close();
+
+    assertTrue(executor.isShutdown());
+  }
+}
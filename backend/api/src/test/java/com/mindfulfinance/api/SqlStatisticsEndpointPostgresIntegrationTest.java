@@ -0,0 +1,95 @@
+package com.mindfulfinance.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jayway.jsonpath.JsonPath;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** The SQL statistics endpoint, exposed as an operator would: on the management port only. */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "management.server.port=0",
+      "management.endpoints.web.exposure.include=prometheus,sqlstatistics"
+    })
+@ActiveProfiles("postgres")
+@Testcontainers
+public class SqlStatisticsEndpointPostgresIntegrationTest {
+  @Container
+  static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired TestRestTemplate restTemplate;
+
+  @LocalManagementPort int managementPort;
+
+  @Test
+  public void sql_statistics_report_statements_since_reset_on_the_management_port_only() {
+    String statistics = "http://localhost:" + managementPort + "/admin/sql-statistics";
+    ResponseEntity<Void> reset =
+        restTemplate.exchange(statistics, HttpMethod.DELETE, null, Void.class);
+    assertThat(reset.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    assertThat(restTemplate.getForObject(statistics, String.class)).isEqualTo("[]");
+
+    String accountId =
+        JsonPath.read(
+            restTemplate.postForObject(
+                "/accounts",
+                Map.of("name", "Cash", "currency", "USD", "type", "CASH"),
+                String.class),
+            "$.accountId");
+    for (int i = 0; i < 2; i++) {
+      restTemplate.postForEntity(
+          "/accounts/{accountId}/transactions",
+          Map.of(
+              "occurredOn",
+              "2026-03-0" + (i + 1),
+              "direction",
+              "OUTFLOW",
+              "amount",
+              "10.00",
+              "memo",
+              "Coffee"),
+          String.class,
+          accountId);
+    }
+
+    String body = restTemplate.getForObject(statistics, String.class);
+    List<Integer> accountInserts =
+        JsonPath.read(body, "$[?(@.sql =~ /INSERT INTO accounts .*/)].calls");
+    List<Integer> transactionInserts =
+        JsonPath.read(body, "$[?(@.sql =~ /INSERT INTO transactions .*/)].calls");
+    List<Integer> transactionRows =
+        JsonPath.read(body, "$[?(@.sql =~ /INSERT INTO transactions .*/)].rows");
+    assertThat(accountInserts).containsExactly(1);
+    assertThat(transactionInserts).containsExactly(2);
+    assertThat(transactionRows).containsExactly(2);
+    assertThat((Object) JsonPath.read(body, "$[0].totalMillis")).isInstanceOf(Number.class);
+    assertThat((Object) JsonPath.read(body, "$[0].meanMillis")).isInstanceOf(Number.class);
+    assertThat((Object) JsonPath.read(body, "$[0].maxMillis")).isInstanceOf(Number.class);
+
+    assertThat(restTemplate.getForEntity("/admin/sql-statistics", String.class).getStatusCode())
+        .isEqualTo(HttpStatus.NOT_FOUND);
+  }
+}
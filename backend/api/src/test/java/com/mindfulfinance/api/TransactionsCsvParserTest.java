@@ -0,0 +1,100 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mindfulfinance.application.usecases.ImportTransactions;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+public class TransactionsCsvParserTest {
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void parallelParse_returnsSameRowsInFileOrderAsSequentialParse() {
+    StringBuilder csv = new StringBuilder("occurred_on,direction,amount,currency,memo\n");
+    for (int i = 0; i < 10_000; i++) {
+      csv.append("2026-03-")
+          .append(String.format("%02d", i % 28 + 1))
+          .append(i % 2 == 0 ? ",INFLOW," : ",OUTFLOW,")
+          .append(i)
+          .append(".50,USD,")
+          .append(i % 100 == 0 ? "\"Quoted, multi\nline\"" : "Row " + i)
+          .append('\n');
+      if (i % 1000 == 0) csv.append('\n');
+    }
+    MockMultipartFile file = csvFile(csv.toString());
+
+    List<ImportTransactions.Row> sequential;
+    try (Stream<ImportTransactions.Row> rows = TransactionsCsvParser.parse(file)) {
+      sequential = rows.toList();
+    }
+    List<ImportTransactions.Row> parallel;
+    try (Stream<ImportTransactions.Row> rows = TransactionsCsvParser.parseInParallel(file, pool)) {
+      parallel = rows.toList();
+    }
+
+    assertEquals(10_000, parallel.size());
+    assertEquals(sequential, parallel);
+  }
+
+  @Test
+  public void parallelParse_yieldsRowsBeforeFirstBadRowThenReportsItsLine() {
+    StringBuilder csv = new StringBuilder("occurred_on,direction,amount,currency\n");
+    for (int i = 0; i < 6_000; i++) {
+      String amount = i == 5_000 ? "abc" : i == 5_500 ? "xyz" : "1.00";
+      csv.append("2026-03-01,OUTFLOW,").append(amount).append(",USD\n");
+    }
+
+    List<ImportTransactions.Row> yielded = new ArrayList<>();
+    IllegalArgumentException exception;
+    try (Stream<ImportTransactions.Row> rows =
+        TransactionsCsvParser.parseInParallel(csvFile(csv.toString()), pool)) {
+      Iterator<ImportTransactions.Row> iterator = rows.iterator();
+      exception =
+          assertThrows(
+              IllegalArgumentException.class, () -> iterator.forEachRemaining(yielded::add));
+    }
+
+    assertEquals(5_000, yielded.size());
+    assertEquals("Row 5002 has invalid amount 'abc'", exception.getMessage());
+  }
+
+  @Test
+  public void parallelParse_reportsUnterminatedQuoteAfterPrecedingRows() {
+    MockMultipartFile file =
+        csvFile(
+            "occurred_on,direction,amount,currency,memo\n"
+                + "2026-03-01,INFLOW,1.00,USD,ok\n"
+                + "2026-03-02,INFLOW,2.00,USD,\"open\n");
+
+    List<ImportTransactions.Row> yielded = new ArrayList<>();
+    IllegalArgumentException exception;
+    try (Stream<ImportTransactions.Row> rows = TransactionsCsvParser.parseInParallel(file, pool)) {
+      Iterator<ImportTransactions.Row> iterator = rows.iterator();
+      exception =
+          assertThrows(
+              IllegalArgumentException.class, () -> iterator.forEachRemaining(yielded::add));
+    }
+
+    assertEquals(1, yielded.size());
+    assertEquals("Row 3 has unterminated quoted field", exception.getMessage());
+  }
+
+  private static MockMultipartFile csvFile(String csv) {
+    return new MockMultipartFile(
+        "file", "transactions.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+  }
+}
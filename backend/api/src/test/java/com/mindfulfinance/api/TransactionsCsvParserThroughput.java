@@ -0,0 +1,142 @@
+package com.mindfulfinance.api;
+
+import com.mindfulfinance.application.usecases.ImportTransactions;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import org.springframework.mock.web.MockMultipartFile;
+
+/**
+ * Manual throughput check for CSV import parsing, comparing the previous {@code split(",")} line
+ * parser with {@link TransactionsCsvParser}. Not a unit test; run the {@code main} method from the
+ * IDE or with {@code java -cp} against the api test classpath. Prints MB/s for each parser.
+ */
+public final class TransactionsCsvParserThroughput {
+  private static final int ROWS = 1_000_000;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+
+  private TransactionsCsvParserThroughput() {}
+
+  public static void main(String[] args) throws IOException {
+    byte[] csv = generateCsv(args.length > 0 ? Integer.parseInt(args[0]) : ROWS);
+    double megabytes = csv.length / (1024.0 * 1024.0);
+    System.out.printf(Locale.ROOT, "Input: %.1f MB%n", megabytes);
+
+    report("split(\",\") tokenize only", megabytes, () -> tokenizeWithSplit(csv));
+    report("CsvRecordReader tokenize only", megabytes, () -> tokenizeWithReader(csv));
+    report("split(\",\") to rows", megabytes, () -> parseWithSplit(csv));
+    report("TransactionsCsvParser to rows", megabytes, () -> parseWithTokenizer(csv));
+    report("parallel parser to rows", megabytes, () -> parseInParallel(csv));
+  }
+
+  private static void report(String name, double megabytes, Round round) throws IOException {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) round.run();
+
+    long started = System.nanoTime();
+    long items = 0;
+    for (int i = 0; i < MEASURED_ROUNDS; i++) items += round.run();
+    double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+    System.out.printf(
+        Locale.ROOT,
+        "%-30s %8.1f MB/s (%d items/round)%n",
+        name,
+        megabytes * MEASURED_ROUNDS / seconds,
+        items / MEASURED_ROUNDS);
+  }
+
+  private static long tokenizeWithSplit(byte[] csv) throws IOException {
+    try (var reader = new BufferedReader(utf8Reader(csv))) {
+      long fields = 0;
+      String line;
+      while ((line = reader.readLine()) != null) fields += line.split(",", -1).length;
+      return fields;
+    }
+  }
+
+  private static long tokenizeWithReader(byte[] csv) throws IOException {
+    try (var reader = new CsvRecordReader(utf8Reader(csv))) {
+      long fields = 0;
+      while (reader.next()) fields += reader.fieldCount();
+      return fields;
+    }
+  }
+
+  private static InputStreamReader utf8Reader(byte[] csv) {
+    return new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8);
+  }
+
+  private static long parseWithTokenizer(byte[] csv) {
+    MockMultipartFile file = new MockMultipartFile("file", "transactions.csv", "text/csv", csv);
+    try (Stream<ImportTransactions.Row> rows = TransactionsCsvParser.parse(file)) {
+      return rows.count();
+    }
+  }
+
+  private static long parseInParallel(byte[] csv) {
+    MockMultipartFile file = new MockMultipartFile("file", "transactions.csv", "text/csv", csv);
+    try (Stream<ImportTransactions.Row> rows =
+        TransactionsCsvParser.parseInParallel(file, ForkJoinPool.commonPool())) {
+      return rows.count();
+    }
+  }
+
+  // Mirrors the parser this replaced: BufferedReader.readLine plus String.split per line.
+  private static long parseWithSplit(byte[] csv) throws IOException {
+    try (var reader = new BufferedReader(utf8Reader(csv))) {
+      reader.readLine();
+      long count = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.trim().isEmpty()) continue;
+
+        String[] fields = line.split(",", -1);
+        new ImportTransactions.Row(
+            LocalDate.parse(fields[0].trim()),
+            TransactionDirection.valueOf(fields[1].trim().toUpperCase(Locale.ROOT)),
+            new BigDecimal(fields[2].trim()),
+            Currency.getInstance(fields[3].trim().toUpperCase(Locale.ROOT)),
+            fields[4]);
+        count++;
+      }
+      return count;
+    }
+  }
+
+  private static byte[] generateCsv(int rows) {
+    StringBuilder csv =
+        new StringBuilder("occurred_on,direction,amount,currency,memo,bank_reference\n");
+    LocalDate start = LocalDate.of(2024, 1, 1);
+    for (int i = 0; i < rows; i++) {
+      csv.append(start.plusDays(i % 730))
+          .append(',')
+          .append(i % 3 == 0 ? "INFLOW" : "OUTFLOW")
+          .append(',')
+          .append(i % 10_000)
+          .append('.')
+          .append(i % 100 < 10 ? "0" : "")
+          .append(i % 100)
+          .append(",USD,Card payment ")
+          .append(i % 97)
+          .append(",REF-")
+          .append(i)
+          .append('\n');
+    }
+    return csv.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @FunctionalInterface
+  private interface Round {
+    long run() throws IOException;
+  }
+}
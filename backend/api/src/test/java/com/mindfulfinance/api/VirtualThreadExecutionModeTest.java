@@ -0,0 +1,44 @@
+package com.mindfulfinance.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.threads.virtual.enabled=true")
+@Import(VirtualThreadExecutionModeTest.ThreadProbeController.class)
+public class VirtualThreadExecutionModeTest {
+  @Autowired TestRestTemplate restTemplate;
+
+  @Test
+  public void requestHandling_runsOnVirtualThreads_whenExecutionModeIsEnabled() {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> response = restTemplate.getForObject("/test/thread", Map.class);
+
+    assertEquals(true, response.get("virtual"));
+  }
+
+  @Test
+  public void healthEndpoint_staysAvailable_inVirtualThreadMode() {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> response = restTemplate.getForObject("/health", Map.class);
+
+    assertEquals("ok", response.get("status"));
+  }
+
+  @RestController
+  static class ThreadProbeController {
+    @GetMapping("/test/thread")
+    Map<String, Object> thread() {
+      return Map.of("virtual", Thread.currentThread().isVirtual());
+    }
+  }
+}
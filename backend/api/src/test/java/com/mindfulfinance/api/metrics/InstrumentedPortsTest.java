@@ -0,0 +1,162 @@
+package com.mindfulfinance.api.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mindfulfinance.api.InMemoryTransactionRepository;
+import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.usecases.ComputeAccountBalance;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+public class InstrumentedPortsTest {
+  private static final Currency RUB = Currency.getInstance("RUB");
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final UseCaseMetrics useCases = new UseCaseMetrics(registry);
+  private final TransactionRepository repository =
+      InstrumentedPorts.instrument(
+          TransactionRepository.class, new InMemoryTransactionRepository(), "memory", registry);
+
+  @Test
+  public void port_calls_are_tagged_with_the_running_use_case_and_count_returned_rows() {
+    AccountId accountId = AccountId.random();
+    repository.save(transaction(accountId));
+    repository.save(transaction(accountId));
+
+    List<Transaction> found =
+        useCases.call(ComputeAccountBalance.class, () -> repository.findByAccountId(accountId));
+
+    assertEquals(2, found.size());
+    Timer reads =
+        registry
+            .get(InstrumentedPorts.PORT_TIMER)
+            .tags(
+                "port", "TransactionRepository",
+                "method", "findByAccountId",
+                "adapter", "memory",
+                "use_case", "ComputeAccountBalance",
+                "outcome", "success")
+            .timer();
+    assertEquals(1, reads.count());
+    DistributionSummary rows =
+        registry
+            .get(InstrumentedPorts.PORT_ROWS)
+            .tags("method", "findByAccountId", "use_case", "ComputeAccountBalance")
+            .summary();
+    assertEquals(2.0, rows.totalAmount());
+    assertEquals(
+        2,
+        registry
+            .get(InstrumentedPorts.PORT_TIMER)
+            .tags("method", "save", "use_case", UseCaseMetrics.NONE)
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get(UseCaseMetrics.USE_CASE_TIMER)
+            .tags("use_case", "ComputeAccountBalance", "outcome", "success")
+            .timer()
+            .count());
+  }
+
+  @Test
+  public void streamed_rows_are_counted_as_they_reach_the_consumer() {
+    AccountId accountId = AccountId.random();
+    for (int i = 0; i < 3; i++) {
+      repository.save(transaction(accountId));
+    }
+
+    List<Transaction> seen = new ArrayList<>();
+    repository.forEachByAccountId(accountId, seen::add);
+
+    assertEquals(3, seen.size());
+    assertEquals(
+        3.0,
+        registry
+            .get(InstrumentedPorts.PORT_ROWS)
+            .tags("method", "forEachByAccountId")
+            .summary()
+            .totalAmount());
+  }
+
+  @Test
+  public void failures_are_rethrown_unwrapped_and_counted_as_errors() {
+    Transaction transaction = transaction(AccountId.random());
+    repository.save(transaction);
+
+    assertThrows(
+        VersionConflictException.class,
+        () ->
+            useCases.call(ComputeAccountBalance.class, () -> repository.update(transaction, 42L)));
+
+    assertEquals(
+        1,
+        registry
+            .get(InstrumentedPorts.PORT_TIMER)
+            .tags(
+                "method", "update",
+                "outcome", "error",
+                "exception", "VersionConflictException")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get(UseCaseMetrics.USE_CASE_TIMER)
+            .tags("use_case", "ComputeAccountBalance", "outcome", "error")
+            .timer()
+            .count());
+    assertNull(registry.find(InstrumentedPorts.PORT_ROWS).tags("method", "update").summary());
+  }
+
+  @Test
+  public void forked_reads_keep_the_use_case_of_the_caller() throws Exception {
+    AccountId accountId = AccountId.random();
+    var executor = UseCaseMetrics.propagating(Executors.newVirtualThreadPerTaskExecutor());
+
+    useCases.run(
+        ComputeAccountBalance.class,
+        () ->
+            CompletableFuture.runAsync(() -> repository.findByAccountId(accountId), executor)
+                .join());
+
+    assertEquals(UseCaseMetrics.NONE, UseCaseMetrics.current());
+    assertEquals(
+        1,
+        registry
+            .get(InstrumentedPorts.PORT_TIMER)
+            .tags("method", "findByAccountId", "use_case", "ComputeAccountBalance")
+            .timer()
+            .count());
+  }
+
+  private static Transaction transaction(AccountId accountId) {
+    return new Transaction(
+        TransactionId.random(),
+        accountId,
+        LocalDate.of(2026, 3, 1),
+        TransactionDirection.INFLOW,
+        new Money(BigDecimal.ONE, RUB),
+        null,
+        Instant.now());
+  }
+}
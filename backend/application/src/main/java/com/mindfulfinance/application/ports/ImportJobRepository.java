@@ -0,0 +1,62 @@
+package com.mindfulfinance.application.ports;
+
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
+import com.mindfulfinance.domain.importjob.ImportJobProgress;
+import com.mindfulfinance.domain.importjob.ImportJobStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository interface for import jobs. State transitions are compare-and-set operations, so API
+ * replicas sharing one store agree on which job runs and whether it was cancelled.
+ */
+public interface ImportJobRepository {
+  /** Saves a new job. */
+  void save(ImportJob job);
+
+  /** Finds a job by its ID. */
+  Optional<ImportJob> find(ImportJobId id);
+
+  /**
+   * Moves a queued job to {@link ImportJobStatus#RUNNING} unless another job of the same account is
+   * running. A running job last updated before {@code staleBefore} is treated as abandoned by a
+   * stopped replica and failed first. A queued job that cannot start yet gets its update time
+   * refreshed, so it does not look abandoned while its replica waits. Returns {@code true} if the
+   * caller now owns the job.
+   */
+  boolean tryStart(ImportJobId id, Instant now, Instant staleBefore);
+
+  /**
+   * Refreshes the update time of the given jobs that are still queued. The replica that holds their
+   * uploads calls it periodically, so waiting for a free worker never makes a job look abandoned.
+   */
+  void refreshQueued(Collection<ImportJobId> ids, Instant now);
+
+  /**
+   * Fails the jobs of stopped replicas: running jobs that reported no progress, and queued jobs
+   * that their replica no longer refreshed, since {@code staleBefore}.
+   */
+  void failAbandoned(Instant now, Instant staleBefore);
+
+  /**
+   * Stores the progress of a running job and refreshes its update time. Returns {@code true} if the
+   * worker should stop: cancellation was requested or the job is no longer running.
+   */
+  boolean recordProgress(ImportJobId id, ImportJobProgress progress, Instant now);
+
+  /** Moves a queued or running job to a finished status; does nothing if it already finished. */
+  void finish(
+      ImportJobId id,
+      ImportJobStatus status,
+      ImportJobProgress progress,
+      String error,
+      Instant now);
+
+  /**
+   * Cancels a queued job at once, or asks the worker of a running one to stop. Returns the job
+   * afterwards, or empty if it does not exist.
+   */
+  Optional<ImportJob> requestCancel(ImportJobId id, Instant now);
+}
@@ -7,6 +7,7 @@ import java.util.Optional;
 public interface IncomePlanRepository {
   Optional<IncomePlan> findByCardAndYear(PersonalFinanceCardId cardId, int year);
 
+  /** Replaces the plan and its vacations; may take several writes, so call it in a unit of work. */
   void upsert(IncomePlan incomePlan);
 
   void delete(PersonalFinanceCardId cardId, int year);
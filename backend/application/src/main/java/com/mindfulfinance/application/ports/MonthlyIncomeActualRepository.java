@@ -2,12 +2,54 @@ package com.mindfulfinance.application.ports;
 
 import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import java.util.Collection;
 import java.util.List;
 
 public interface MonthlyIncomeActualRepository {
+  /** Finds the months of a card and year that hold actuals; cleared months are left out. */
   List<MonthlyIncomeActual> findByCardAndYear(PersonalFinanceCardId cardId, int year);
 
-  void upsert(MonthlyIncomeActual summary);
+  /**
+   * Finds the stored months of a card and year with their row versions, including cleared months,
+   * which come back empty at the version their clearing gave them.
+   */
+  List<Versioned<MonthlyIncomeActual>> findVersionedByCardAndYear(
+      PersonalFinanceCardId cardId, int year);
 
-  void delete(PersonalFinanceCardId cardId, int year, int month);
+  /** Inserts or overwrites a month, whatever its current version, and returns its new version. */
+  long upsert(MonthlyIncomeActual summary);
+
+  /**
+   * Writes a month only if it is still at {@code expectedVersion}, where {@link Versioned#ABSENT}
+   * means it must not be stored yet, and returns its new version.
+   *
+   * @throws VersionConflictException if the month is at another version
+   */
+  long upsert(MonthlyIncomeActual summary, long expectedVersion);
+
+  /**
+   * Clears a month and returns its new version. A stored month is kept empty rather than removed,
+   * so its version keeps growing and a version read before the clear never matches it again; a
+   * month that was never stored stays {@link Versioned#ABSENT}.
+   */
+  long delete(PersonalFinanceCardId cardId, int year, int month);
+
+  /**
+   * Clears a month like {@link #delete(PersonalFinanceCardId, int, int)}, only if it is still at
+   * {@code expectedVersion}; clearing a month that is not stored while expecting {@link
+   * Versioned#ABSENT} does nothing.
+   *
+   * @throws VersionConflictException if the month is at another version
+   */
+  long delete(PersonalFinanceCardId cardId, int year, int month, long expectedVersion);
+
+  /** Upserts several months at once; adapters may write them as one batch. */
+  default void upsertAll(List<MonthlyIncomeActual> summaries) {
+    summaries.forEach(this::upsert);
+  }
+
+  /** Clears several months of one card and year; adapters may do it in one statement. */
+  default void deleteAll(PersonalFinanceCardId cardId, int year, Collection<Integer> months) {
+    months.forEach(month -> delete(cardId, year, month));
+  }
 }
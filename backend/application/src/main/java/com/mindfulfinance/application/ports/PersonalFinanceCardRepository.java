@@ -13,7 +13,19 @@ public interface PersonalFinanceCardRepository {
 
   List<PersonalFinanceCard> findAll();
 
+  /** Finds a card with its current row version. */
+  Optional<Versioned<PersonalFinanceCard>> findVersioned(PersonalFinanceCardId id);
+
+  /** Inserts or overwrites a card; an overwrite moves it to the next version. */
   void save(PersonalFinanceCard card);
 
+  /**
+   * Overwrites a stored card only if it is still at {@code expectedVersion} and returns its new
+   * version.
+   *
+   * @throws VersionConflictException if the card was changed or deleted since that version
+   */
+  long update(PersonalFinanceCard card, long expectedVersion);
+
   void delete(PersonalFinanceCardId id);
 }
@@ -3,19 +3,65 @@ package com.mindfulfinance.application.ports;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.transaction.Transaction;
 import com.mindfulfinance.domain.transaction.TransactionId;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /** Repository interface for managing Transaction entities. */
 public interface TransactionRepository {
   /** Finds transactions associated with a specific account ID. */
   List<Transaction> findByAccountId(AccountId accountId);
 
+  /**
+   * Hands the account's transactions to {@code action} in {@link #findByAccountId} order without
+   * collecting them first, so exports of large ledgers need not fit in memory. Adapters may read
+   * from a database cursor; the default delegates to {@link #findByAccountId}.
+   */
+  default void forEachByAccountId(AccountId accountId, Consumer<Transaction> action) {
+    findByAccountId(accountId).forEach(action);
+  }
+
+  /**
+   * Hands the transactions of all the given accounts to {@code action}, each account's in {@link
+   * #findByAccountId} order, so aggregates over many accounts take one read instead of one per
+   * account. The default calls {@link #forEachByAccountId} for each account.
+   */
+  default void forEachByAccountIds(Collection<AccountId> accountIds, Consumer<Transaction> action) {
+    accountIds.forEach(accountId -> forEachByAccountId(accountId, action));
+  }
+
+  /** Finds transactions of an account that occurred on any of the given dates. */
+  default List<Transaction> findByAccountIdAndOccurredOnIn(
+      AccountId accountId, Collection<LocalDate> occurredOn) {
+    return findByAccountId(accountId).stream()
+        .filter(transaction -> occurredOn.contains(transaction.occurredOn()))
+        .toList();
+  }
+
+  /** Finds one transaction of an account with its current row version. */
+  Optional<Versioned<Transaction>> findVersioned(AccountId accountId, TransactionId transactionId);
+
   /** Saves a transaction to the repository. */
   void save(Transaction transaction);
 
-  /** Updates an existing transaction in the repository. */
+  /** Saves several transactions; adapters may write them as one batch. */
+  default void saveAll(List<Transaction> transactions) {
+    transactions.forEach(this::save);
+  }
+
+  /** Updates an existing transaction in the repository, whatever its current version. */
   void update(Transaction transaction);
 
+  /**
+   * Updates a transaction only if it is still at {@code expectedVersion} and returns its new
+   * version.
+   *
+   * @throws VersionConflictException if the transaction was changed or deleted since that version
+   */
+  long update(Transaction transaction, long expectedVersion);
+
   /** Deletes an existing transaction from the repository. */
   boolean delete(AccountId accountId, TransactionId transactionId);
 }
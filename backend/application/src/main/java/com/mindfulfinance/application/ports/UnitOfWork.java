@@ -0,0 +1,30 @@
+package com.mindfulfinance.application.ports;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the writes of one use case as a unit: adapters that can roll back store all of them or none.
+ * Work started inside another unit joins it, so a use case may be called from a caller that already
+ * opened one.
+ */
+public interface UnitOfWork {
+  /** Runs work as it comes, for stores that cannot roll back, such as the in-memory adapters. */
+  UnitOfWork DIRECT =
+      new UnitOfWork() {
+        @Override
+        public <T> T execute(Supplier<T> work) {
+          return work.get();
+        }
+      };
+
+  /** Runs {@code work} in the unit and returns its result; an exception undoes its writes. */
+  <T> T execute(Supplier<T> work);
+
+  default void run(Runnable work) {
+    execute(
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+}
@@ -0,0 +1,12 @@
+package com.mindfulfinance.application.ports;
+
+/**
+ * Thrown by a compare-and-set write when the stored row is no longer at the version the writer
+ * read, i.e. someone else changed or removed it in between. Nothing is written; the caller should
+ * read again and retry on top of the newer state.
+ */
+public final class VersionConflictException extends RuntimeException {
+  public VersionConflictException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,9 @@
+package com.mindfulfinance.application.ports;
+
+/**
+ * A stored value with the row version it was read at. Versions start at 1 and grow with every
+ * write; {@link #ABSENT} stands for a row that does not exist.
+ */
+public record Versioned<T>(T value, long version) {
+  public static final long ABSENT = 0;
+}
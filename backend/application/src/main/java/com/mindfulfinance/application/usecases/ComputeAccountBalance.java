@@ -6,6 +6,7 @@ import com.mindfulfinance.domain.account.Account;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.transaction.Transaction;
+import java.util.List;
 
 /** Use case for computing the current balance of an account by summing up all transactions. */
 public final class ComputeAccountBalance {
@@ -35,21 +36,36 @@ public final class ComputeAccountBalance {
    * @throws IllegalStateException if there is a currency mismatch between transactions and account
    */
   public Money compute(AccountId accountId) {
+    FlightEvents.BalanceComputation event = new FlightEvents.BalanceComputation();
+    event.begin();
+    long started = System.nanoTime();
     // Fetch the account details to get the currency and validate existence
     Account account =
         accounts
             .find(accountId)
             .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+    List<Transaction> ledger = transactions.findByAccountId(accountId);
+    long fetched = System.nanoTime();
     // Initialize the balance to zero in the account's currency
     Money balance = Money.zero(account.currency());
     // Iterate through all transactions for the account and sum up the signed amounts
-    for (Transaction tx : transactions.findByAccountId(accountId)) {
+    for (Transaction tx : ledger) {
       // Ensure that the transaction currency matches the account currency
       if (!tx.amount().currency().equals(account.currency()))
         throw new IllegalStateException("Currency mismatch");
       // Add the signed amount of the transaction to the balance
       balance = balance.add(tx.signedAmount());
     }
+    // Record the computation with the time split into reading the ledger and summing it up
+    long finished = System.nanoTime();
+    event.end();
+    if (event.shouldCommit()) {
+      event.accountIdHash = FlightEvents.idHash(accountId.value());
+      event.rowsRead = ledger.size();
+      event.fetchTime = fetched - started;
+      event.computeTime = finished - fetched;
+      event.commit();
+    }
     return balance;
   }
 }
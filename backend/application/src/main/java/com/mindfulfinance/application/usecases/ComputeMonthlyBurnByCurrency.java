@@ -3,8 +3,8 @@ package com.mindfulfinance.application.usecases;
 import com.mindfulfinance.application.ports.AccountRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
 import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
-import com.mindfulfinance.domain.transaction.Transaction;
 import com.mindfulfinance.domain.transaction.TransactionDirection;
 import java.time.LocalDate;
 import java.util.Currency;
@@ -25,20 +25,24 @@ public final class ComputeMonthlyBurnByCurrency {
     LocalDate windowStart = asOfDate.minusDays(30);
     var totals = new HashMap<Currency, Money>();
 
+    var active = new HashMap<AccountId, Account>();
     for (Account account : accounts.findAll()) {
-      if (!account.isActive()) continue;
+      if (account.isActive()) active.put(account.id(), account);
+    }
 
-      for (Transaction tx : transactions.findByAccountId(account.id())) {
-        if (!tx.amount().currency().equals(account.currency())) {
-          throw new IllegalStateException("Currency mismatch");
-        }
+    transactions.forEachByAccountIds(
+        active.keySet(),
+        tx -> {
+          Account account = active.get(tx.accountId());
+          if (!tx.amount().currency().equals(account.currency())) {
+            throw new IllegalStateException("Currency mismatch");
+          }
 
-        if (tx.direction() != TransactionDirection.OUTFLOW) continue;
-        if (tx.occurredOn().isBefore(windowStart) || tx.occurredOn().isAfter(asOfDate)) continue;
+          if (tx.direction() != TransactionDirection.OUTFLOW) return;
+          if (tx.occurredOn().isBefore(windowStart) || tx.occurredOn().isAfter(asOfDate)) return;
 
-        totals.merge(account.currency(), tx.amount(), Money::add);
-      }
-    }
+          totals.merge(account.currency(), tx.amount(), Money::add);
+        });
 
     return Map.copyOf(totals);
   }
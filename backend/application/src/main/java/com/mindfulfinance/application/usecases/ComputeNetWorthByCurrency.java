@@ -3,6 +3,7 @@ package com.mindfulfinance.application.usecases;
 import com.mindfulfinance.application.ports.AccountRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
 import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
 import java.util.Currency;
 import java.util.HashMap;
@@ -39,19 +40,25 @@ public final class ComputeNetWorthByCurrency {
   public Map<Currency, Money> compute() {
     // Initialize a map to hold the total net worth by currency
     var totals = new HashMap<Currency, Money>();
-    // Create an instance of ComputeAccountBalance to compute the balance for each account
-    var computeBalance = new ComputeAccountBalance(accounts, transactions);
-    // Iterate through all accounts and compute their balances, then aggregate the totals by
-    // currency
+    // Index the active accounts by id; inactive accounts should not contribute to net worth, and
+    // an active account without transactions still contributes a zero total in its currency
+    var active = new HashMap<AccountId, Account>();
     for (Account account : accounts.findAll()) {
-      // Skip inactive accounts as they should not contribute to net worth
       if (!account.isActive()) continue;
-      // Compute the balance for the current account
-      Money balance = computeBalance.compute(account.id());
-      // Merge the balance into the totals map, summing it with any existing total for the same
-      // currency
-      totals.merge(account.currency(), balance, Money::add);
+      active.put(account.id(), account);
+      totals.putIfAbsent(account.currency(), Money.zero(account.currency()));
     }
+    // Read the transactions of all active accounts at once rather than account by account, and
+    // add each signed amount to the total of its account's currency
+    transactions.forEachByAccountIds(
+        active.keySet(),
+        tx -> {
+          Account account = active.get(tx.accountId());
+          // Ensure that the transaction currency matches the account currency
+          if (!tx.amount().currency().equals(account.currency()))
+            throw new IllegalStateException("Currency mismatch");
+          totals.merge(account.currency(), tx.signedAmount(), Money::add);
+        });
     // Return an unmodifiable copy of the totals map to ensure immutability of the result
     return Map.copyOf(totals);
   }
@@ -0,0 +1,159 @@
+package com.mindfulfinance.application.usecases;
+
+import java.util.UUID;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events of the ledger-heavy use cases, so a latency spike in a recording can
+ * be laid next to the GC pauses, lock contention and pinned virtual threads around it. Account and
+ * card ids are recorded as their {@link UUID#hashCode()}: enough to group events of one account,
+ * without putting ids into recordings that leave the server.
+ *
+ * <p>Each event spans the whole operation; its phase fields split that time into reading from
+ * repositories ({@code fetchTime}), work in memory ({@code computeTime}) and writes ({@code
+ * writeTime}). Phases are measured with {@link System#nanoTime()} once per repository call or
+ * chunk, never per row. The serialize phase of a snapshot request is the API's own {@code
+ * com.mindfulfinance.SnapshotSerialize} event; {@code backend/api/jfr/mindful-finance.jfc} sets the
+ * thresholds of all of them.
+ */
+final class FlightEvents {
+  static final String CATEGORY = "Mindful Finance";
+
+  private FlightEvents() {}
+
+  static int idHash(UUID id) {
+    return id.hashCode();
+  }
+
+  @Name("com.mindfulfinance.ImportRun")
+  @Label("Import Run")
+  @Category({CATEGORY, "Ledger"})
+  @Description(
+      "Transactions imported into one account, from the first row pulled to the last chunk")
+  @StackTrace(false)
+  static final class ImportRun extends Event {
+    @Label("Account Id Hash")
+    int accountIdHash;
+
+    @Label("Rows Received")
+    int rowsReceived;
+
+    @Label("Rows Imported")
+    int rowsImported;
+
+    @Label("Chunks")
+    int chunks;
+
+    @Label("Read Time")
+    @Description("Pulling rows from the source, which parses an uploaded file as it is read")
+    @Timespan(Timespan.NANOSECONDS)
+    long readTime;
+
+    @Label("Fetch Time")
+    @Description("Reading the account and the stored transactions on each chunk's dates")
+    @Timespan(Timespan.NANOSECONDS)
+    long fetchTime;
+
+    @Label("Compute Time")
+    @Description("Checking currencies and skipping duplicates")
+    @Timespan(Timespan.NANOSECONDS)
+    long computeTime;
+
+    @Label("Write Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long writeTime;
+  }
+
+  @Name("com.mindfulfinance.SnapshotBuild")
+  @Label("Snapshot Build")
+  @Category({CATEGORY, "Personal Finance"})
+  @Description("A card's personal finance snapshot for one year")
+  @StackTrace(false)
+  static final class SnapshotBuild extends Event {
+    @Label("Card Id Hash")
+    int cardIdHash;
+
+    @Label("Year")
+    int year;
+
+    @Label("Rows Read")
+    @Description("Cards and monthly actuals; the linked account's ledger is a Balance Computation")
+    int rowsRead;
+
+    @Label("Fetch Time")
+    @Description("Waiting for the snapshot reads, which may run in parallel")
+    @Timespan(Timespan.NANOSECONDS)
+    long fetchTime;
+
+    @Label("Compute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long computeTime;
+  }
+
+  @Name("com.mindfulfinance.LedgerSync")
+  @Label("Ledger Sync")
+  @Category({CATEGORY, "Personal Finance"})
+  @Description("Managed transactions of a card's linked account brought in line with its settings")
+  @StackTrace(false)
+  static final class LedgerSync extends Event {
+    @Label("Card Id Hash")
+    int cardIdHash;
+
+    @Label("Account Id Hash")
+    int accountIdHash;
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Rows Read")
+    int rowsRead;
+
+    @Label("Created")
+    int created;
+
+    @Label("Updated")
+    int updated;
+
+    @Label("Deleted")
+    int deleted;
+
+    @Label("Fetch Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fetchTime;
+
+    @Label("Compute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long computeTime;
+
+    @Label("Write Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long writeTime;
+  }
+
+  @Name("com.mindfulfinance.BalanceComputation")
+  @Label("Balance Computation")
+  @Category({CATEGORY, "Ledger"})
+  @Description("An account balance summed from its whole ledger")
+  @StackTrace(false)
+  static final class BalanceComputation extends Event {
+    @Label("Account Id Hash")
+    int accountIdHash;
+
+    @Label("Rows Read")
+    int rowsRead;
+
+    @Label("Fetch Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fetchTime;
+
+    @Label("Compute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long computeTime;
+  }
+}
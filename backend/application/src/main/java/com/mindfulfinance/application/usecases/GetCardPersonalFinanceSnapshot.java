@@ -7,6 +7,8 @@ import com.mindfulfinance.application.ports.MonthlyExpenseLimitRepository;
 import com.mindfulfinance.application.ports.MonthlyIncomeActualRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.UnitOfWork;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.personalfinance.IncomeForecast;
 import com.mindfulfinance.domain.personalfinance.IncomePlan;
@@ -26,6 +28,11 @@ import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 public final class GetCardPersonalFinanceSnapshot {
   private static final Currency RUB = Currency.getInstance("RUB");
@@ -37,6 +44,8 @@ public final class GetCardPersonalFinanceSnapshot {
   private final IncomeForecastRepository incomeForecastRepository;
   private final IncomePlanRepository incomePlanRepository;
   private final TransactionRepository transactionRepository;
+  private final Executor readExecutor;
+  private final UnitOfWork ledgerReads;
 
   public GetCardPersonalFinanceSnapshot(
       PersonalFinanceCardRepository cardRepository,
@@ -46,6 +55,58 @@ public final class GetCardPersonalFinanceSnapshot {
       IncomeForecastRepository incomeForecastRepository,
       IncomePlanRepository incomePlanRepository,
       TransactionRepository transactionRepository) {
+    this(
+        cardRepository,
+        expenseActualRepository,
+        expenseLimitRepository,
+        incomeActualRepository,
+        incomeForecastRepository,
+        incomePlanRepository,
+        transactionRepository,
+        Runnable::run);
+  }
+
+  /**
+   * Creates the use case with an executor for the independent snapshot reads. A virtual-thread
+   * executor issues them in parallel, so snapshot latency tracks the slowest read instead of their
+   * sum; {@code Runnable::run} keeps them sequential on the caller thread.
+   */
+  public GetCardPersonalFinanceSnapshot(
+      PersonalFinanceCardRepository cardRepository,
+      MonthlyExpenseActualRepository expenseActualRepository,
+      MonthlyExpenseLimitRepository expenseLimitRepository,
+      MonthlyIncomeActualRepository incomeActualRepository,
+      IncomeForecastRepository incomeForecastRepository,
+      IncomePlanRepository incomePlanRepository,
+      TransactionRepository transactionRepository,
+      Executor readExecutor) {
+    this(
+        cardRepository,
+        expenseActualRepository,
+        expenseLimitRepository,
+        incomeActualRepository,
+        incomeForecastRepository,
+        incomePlanRepository,
+        transactionRepository,
+        readExecutor,
+        UnitOfWork.DIRECT);
+  }
+
+  /**
+   * Also takes the unit the linked account's ledger is summed in. The ledger is streamed, and an
+   * adapter may only read it through a cursor inside a transaction, so the unit should open a
+   * read-only one; it runs on whichever thread the executor gives the balance read.
+   */
+  public GetCardPersonalFinanceSnapshot(
+      PersonalFinanceCardRepository cardRepository,
+      MonthlyExpenseActualRepository expenseActualRepository,
+      MonthlyExpenseLimitRepository expenseLimitRepository,
+      MonthlyIncomeActualRepository incomeActualRepository,
+      IncomeForecastRepository incomeForecastRepository,
+      IncomePlanRepository incomePlanRepository,
+      TransactionRepository transactionRepository,
+      Executor readExecutor,
+      UnitOfWork ledgerReads) {
     this.cardRepository = cardRepository;
     this.expenseActualRepository = expenseActualRepository;
     this.expenseLimitRepository = expenseLimitRepository;
@@ -53,32 +114,60 @@ public final class GetCardPersonalFinanceSnapshot {
     this.incomeForecastRepository = incomeForecastRepository;
     this.incomePlanRepository = incomePlanRepository;
     this.transactionRepository = transactionRepository;
+    this.readExecutor = Objects.requireNonNull(readExecutor, "readExecutor");
+    this.ledgerReads = Objects.requireNonNull(ledgerReads, "ledgerReads");
   }
 
   public Result get(PersonalFinanceCardId cardId, int year) {
     validateYear(year);
 
+    FlightEvents.SnapshotBuild event = new FlightEvents.SnapshotBuild();
+    event.begin();
+    long started = System.nanoTime();
     PersonalFinanceCard selectedCard =
         cardRepository
             .find(cardId)
             .orElseThrow(() -> new IllegalArgumentException("Personal finance card not found"));
 
+    PersonalFinanceLinkedAccountLedger linkedAccountLedger =
+        new PersonalFinanceLinkedAccountLedger(cardRepository, transactionRepository);
+
+    ParallelReads reads = new ParallelReads(readExecutor);
+    Supplier<List<PersonalFinanceCard>> allCards = reads.fork(cardRepository::findAll);
+    Supplier<List<Versioned<MonthlyExpenseActual>>> expenseActuals =
+        reads.fork(() -> expenseActualRepository.findVersionedByCardAndYear(cardId, year));
+    Supplier<List<Versioned<MonthlyIncomeActual>>> incomeActuals =
+        reads.fork(() -> incomeActualRepository.findVersionedByCardAndYear(cardId, year));
+    Supplier<MonthlyExpenseLimit> storedExpenseLimit =
+        reads.fork(
+            () ->
+                expenseLimitRepository
+                    .findByCardId(cardId)
+                    .orElse(MonthlyExpenseLimit.empty(cardId)));
+    Supplier<IncomeForecast> storedForecast =
+        reads.fork(() -> incomeForecastRepository.findByCardId(cardId).orElse(null));
+    Supplier<IncomePlan> storedIncomePlan =
+        reads.fork(() -> incomePlanRepository.findByCardAndYear(cardId, year).orElse(null));
+    Supplier<Money> linkedAccountBalance =
+        reads.fork(() -> computeBalance(selectedCard.linkedAccountId()));
+    Supplier<Money> linkedAccountBaseline =
+        reads.fork(() -> linkedAccountLedger.baselineAmount(cardId));
+    reads.joinAll();
+    long fetched = System.nanoTime();
+
     List<PersonalFinanceCard> cards =
-        cardRepository.findAll().stream().filter(PersonalFinanceCard::isActive).toList();
-    Map<Integer, MonthlyExpenseActual> expenseActualsByMonth =
-        toExpenseActualMap(expenseActualRepository.findByCardAndYear(cardId, year));
-    Map<Integer, MonthlyIncomeActual> incomeActualsByMonth =
-        toIncomeActualMap(incomeActualRepository.findByCardAndYear(cardId, year));
-    MonthlyExpenseLimit expenseLimit =
-        expenseLimitRepository.findByCardId(cardId).orElse(MonthlyExpenseLimit.empty(cardId));
-    IncomeForecast forecast = incomeForecastRepository.findByCardId(cardId).orElse(null);
-    IncomePlan incomePlan = incomePlanRepository.findByCardAndYear(cardId, year).orElse(null);
+        allCards.get().stream().filter(PersonalFinanceCard::isActive).toList();
+    Map<Integer, Versioned<MonthlyExpenseActual>> expenseActualsByMonth =
+        toMonthMap(expenseActuals.get(), MonthlyExpenseActual::month);
+    Map<Integer, Versioned<MonthlyIncomeActual>> incomeActualsByMonth =
+        toMonthMap(incomeActuals.get(), MonthlyIncomeActual::month);
+    MonthlyExpenseLimit expenseLimit = storedExpenseLimit.get();
+    IncomeForecast forecast = storedForecast.get();
+    IncomePlan incomePlan = storedIncomePlan.get();
     Map<Integer, Money> incomeForecastOverrideAmountsByMonth =
         incomePlan == null || forecast == null || forecast.isEmpty()
             ? Map.of()
             : incomePlan.derivedOverrideDeltaAmounts(forecast.salaryAmount());
-    PersonalFinanceLinkedAccountLedger linkedAccountLedger =
-        new PersonalFinanceLinkedAccountLedger(cardRepository, transactionRepository);
 
     Map<PersonalExpenseCategory, BigDecimal> configuredLimitPercents =
         expenseLimit.categoryPercents();
@@ -87,8 +176,8 @@ public final class GetCardPersonalFinanceSnapshot {
     Map<PersonalExpenseCategory, Money> monthlyComparableLimitAmounts =
         expenseLimit.monthlyComparableAmounts(forecast);
     Money monthlyLimitTotal = expenseLimit.monthlyComparableExpenseTotal(forecast);
-    Money currentBalance = computeBalance(selectedCard.linkedAccountId());
-    Money baselineAmount = linkedAccountLedger.baselineAmount(cardId);
+    Money currentBalance = linkedAccountBalance.get();
+    Money baselineAmount = linkedAccountBaseline.get();
 
     List<ExpenseMonth> expenseMonths = new ArrayList<>();
     List<IncomeMonth> incomeMonths = new ArrayList<>();
@@ -103,9 +192,11 @@ public final class GetCardPersonalFinanceSnapshot {
     int filledIncomeMonths = 0;
 
     for (int month = 1; month <= 12; month++) {
-      MonthlyExpenseActual expenseActual =
+      Versioned<MonthlyExpenseActual> storedExpenseActual =
           expenseActualsByMonth.getOrDefault(
-              month, MonthlyExpenseActual.empty(cardId, year, month));
+              month,
+              new Versioned<>(MonthlyExpenseActual.empty(cardId, year, month), Versioned.ABSENT));
+      MonthlyExpenseActual expenseActual = storedExpenseActual.value();
 
       Money actualTotal = expenseActual.expenseTotal();
       if (!actualTotal.isZero()) {
@@ -128,9 +219,12 @@ public final class GetCardPersonalFinanceSnapshot {
               expenseActual.categoryAmounts(),
               monthlyComparableLimitAmounts,
               actualTotal,
-              monthlyLimitTotal));
+              monthlyLimitTotal,
+              storedExpenseActual.version()));
 
-      MonthlyIncomeActual incomeActual = incomeActualsByMonth.get(month);
+      Versioned<MonthlyIncomeActual> storedIncomeActual = incomeActualsByMonth.get(month);
+      MonthlyIncomeActual incomeActual =
+          storedIncomeActual == null ? null : storedIncomeActual.value();
       Money incomeTotal = Money.zero(RUB);
       IncomeMonthStatus status = null;
       Money overrideDeltaAmount = incomeForecastOverrideAmountsByMonth.get(month);
@@ -152,44 +246,87 @@ public final class GetCardPersonalFinanceSnapshot {
         filledIncomeMonths++;
       }
       annualIncomeTotal = annualIncomeTotal.add(incomeTotal);
-      incomeMonths.add(new IncomeMonth(month, incomeTotal, status, overrideDeltaAmount));
+      incomeMonths.add(
+          new IncomeMonth(
+              month,
+              incomeTotal,
+              status,
+              overrideDeltaAmount,
+              storedIncomeActual == null ? Versioned.ABSENT : storedIncomeActual.version()));
     }
 
-    return new Result(
-        List.copyOf(cards),
-        selectedCard,
-        year,
-        RUB,
-        List.of(PersonalExpenseCategory.values()),
-        new Expenses(
-            List.copyOf(expenseMonths),
-            toOrderedTotalsMap(actualTotalsByCategory),
-            toOrderedTotalsMap(limitTotalsByCategory),
-            annualExpenseActualTotal,
-            annualLimitTotal,
-            average(annualExpenseActualTotal, filledExpenseMonths)),
-        new Income(
-            List.copyOf(incomeMonths),
-            annualIncomeTotal,
-            average(annualIncomeTotal, filledIncomeMonths)),
-        incomePlan,
-        new Settings(
-            selectedCard.linkedAccountId(),
-            currentBalance,
-            baselineAmount,
-            configuredLimitPercents,
-            configuredLimitAmounts,
-            monthlyLimitTotal,
-            annualLimitTotal,
-            forecast));
+    Result result =
+        new Result(
+            List.copyOf(cards),
+            selectedCard,
+            year,
+            RUB,
+            List.of(PersonalExpenseCategory.values()),
+            new Expenses(
+                List.copyOf(expenseMonths),
+                toOrderedTotalsMap(actualTotalsByCategory),
+                toOrderedTotalsMap(limitTotalsByCategory),
+                annualExpenseActualTotal,
+                annualLimitTotal,
+                average(annualExpenseActualTotal, filledExpenseMonths)),
+            new Income(
+                List.copyOf(incomeMonths),
+                annualIncomeTotal,
+                average(annualIncomeTotal, filledIncomeMonths)),
+            incomePlan,
+            new Settings(
+                selectedCard.linkedAccountId(),
+                currentBalance,
+                baselineAmount,
+                configuredLimitPercents,
+                configuredLimitAmounts,
+                monthlyLimitTotal,
+                annualLimitTotal,
+                forecast));
+
+    long finished = System.nanoTime();
+    event.end();
+    if (event.shouldCommit()) {
+      event.cardIdHash = FlightEvents.idHash(cardId.value());
+      event.year = year;
+      event.rowsRead =
+          allCards.get().size() + expenseActuals.get().size() + incomeActuals.get().size();
+      event.fetchTime = fetched - started;
+      event.computeTime = finished - fetched;
+      event.commit();
+    }
+    return result;
   }
 
   private Money computeBalance(com.mindfulfinance.domain.account.AccountId accountId) {
-    Money balance = Money.zero(RUB);
-    for (Transaction transaction : transactionRepository.findByAccountId(accountId)) {
+    FlightEvents.BalanceComputation event = new FlightEvents.BalanceComputation();
+    event.begin();
+    long started = System.nanoTime();
+    LedgerTotal total = new LedgerTotal();
+    ledgerReads.run(() -> transactionRepository.forEachByAccountId(accountId, total));
+
+    long finished = System.nanoTime();
+    event.end();
+    if (event.shouldCommit()) {
+      // Rows are summed as they arrive, so reading and summing are not timed apart.
+      event.accountIdHash = FlightEvents.idHash(accountId.value());
+      event.rowsRead = total.rows;
+      event.fetchTime = finished - started;
+      event.commit();
+    }
+    return total.balance;
+  }
+
+  /** Sums a streamed ledger without holding on to its rows. */
+  private static final class LedgerTotal implements Consumer<Transaction> {
+    private Money balance = Money.zero(RUB);
+    private int rows;
+
+    @Override
+    public void accept(Transaction transaction) {
       balance = balance.add(transaction.signedAmount());
+      rows++;
     }
-    return balance;
   }
 
   private static void validateYear(int year) {
@@ -215,20 +352,11 @@ public final class GetCardPersonalFinanceSnapshot {
     return totals;
   }
 
-  private static Map<Integer, MonthlyExpenseActual> toExpenseActualMap(
-      List<MonthlyExpenseActual> summaries) {
-    Map<Integer, MonthlyExpenseActual> result = new LinkedHashMap<>();
-    for (MonthlyExpenseActual summary : summaries) {
-      result.put(summary.month(), summary);
-    }
-    return result;
-  }
-
-  private static Map<Integer, MonthlyIncomeActual> toIncomeActualMap(
-      List<MonthlyIncomeActual> summaries) {
-    Map<Integer, MonthlyIncomeActual> result = new LinkedHashMap<>();
-    for (MonthlyIncomeActual summary : summaries) {
-      result.put(summary.month(), summary);
+  private static <T> Map<Integer, Versioned<T>> toMonthMap(
+      List<Versioned<T>> summaries, ToIntFunction<T> month) {
+    Map<Integer, Versioned<T>> result = new LinkedHashMap<>();
+    for (Versioned<T> summary : summaries) {
+      result.put(month.applyAsInt(summary.value()), summary);
     }
     return result;
   }
@@ -276,17 +404,27 @@ public final class GetCardPersonalFinanceSnapshot {
       Money annualLimitTotal,
       Money averageMonthlyActualTotal) {}
 
+  /**
+   * {@code actualVersion} is the stored actual's version, to send back with a conditional save, or
+   * {@link Versioned#ABSENT} when the month has none.
+   */
   public record ExpenseMonth(
       int month,
       Map<PersonalExpenseCategory, Money> actualCategoryAmounts,
       Map<PersonalExpenseCategory, Money> limitCategoryAmounts,
       Money actualTotal,
-      Money limitTotal) {}
+      Money limitTotal,
+      long actualVersion) {}
 
   public record Income(List<IncomeMonth> months, Money annualTotal, Money averageMonthlyTotal) {}
 
+  /** {@code actualVersion} is {@link Versioned#ABSENT} when no actual is stored for the month. */
   public record IncomeMonth(
-      int month, Money totalAmount, IncomeMonthStatus status, Money overrideDeltaAmount) {}
+      int month,
+      Money totalAmount,
+      IncomeMonthStatus status,
+      Money overrideDeltaAmount,
+      long actualVersion) {}
 
   public record Settings(
       com.mindfulfinance.domain.account.AccountId linkedAccountId,
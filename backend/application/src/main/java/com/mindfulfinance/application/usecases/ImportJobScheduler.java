@@ -0,0 +1,366 @@
+package com.mindfulfinance.application.usecases;
+
+import com.mindfulfinance.application.ports.AccountRepository;
+import com.mindfulfinance.application.ports.ImportJobRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
+import com.mindfulfinance.domain.importjob.ImportJobProgress;
+import com.mindfulfinance.domain.importjob.ImportJobStatus;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Runs CSV imports in the background on a bounded worker pool. Jobs of one account run one at a
+ * time in submission order; jobs of different accounts run in parallel up to the pool size.
+ *
+ * <p>Job state lives in {@link ImportJobRepository}, so status and cancellation work from any
+ * replica that shares the store, and the store's {@code tryStart} keeps two replicas from importing
+ * into the same account at once. The rows themselves are read by the replica that accepted the
+ * upload. A sweeper thread of its own, which busy workers cannot delay, periodically refreshes the
+ * jobs still waiting here and fails jobs that a stopped replica no longer refreshes.
+ */
+public final class ImportJobScheduler implements AutoCloseable {
+  private static final int HEARTBEAT_ROWS = 1000;
+  private static final String SHUTDOWN_ERROR = "Import was interrupted by a server shutdown";
+
+  private final ImportJobRepository jobs;
+  private final AccountRepository accounts;
+  private final ImportTransactions importTransactions;
+  private final ScheduledExecutorService workers;
+  private final ScheduledExecutorService sweeper;
+  private final Clock clock;
+  private final Settings settings;
+  private final Map<AccountId, ArrayDeque<Task>> lanes = new HashMap<>();
+  private final AtomicInteger unfinishedJobs = new AtomicInteger();
+  private volatile boolean closed;
+
+  public ImportJobScheduler(
+      ImportJobRepository jobs,
+      AccountRepository accounts,
+      ImportTransactions importTransactions,
+      ScheduledExecutorService workers,
+      Settings settings) {
+    this(jobs, accounts, importTransactions, workers, settings, Clock.systemUTC());
+  }
+
+  public ImportJobScheduler(
+      ImportJobRepository jobs,
+      AccountRepository accounts,
+      ImportTransactions importTransactions,
+      ScheduledExecutorService workers,
+      Settings settings,
+      Clock clock) {
+    this.jobs = jobs;
+    this.accounts = accounts;
+    this.importTransactions = importTransactions;
+    this.workers = workers;
+    this.settings = settings;
+    this.clock = clock;
+
+    // Twice per stale window, so a refresh always lands before another replica's sweep could
+    // take a waiting job for abandoned.
+    long sweepMillis = Math.max(1, settings.staleRunningJobAfter().toMillis() / 2);
+    this.sweeper =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("import-job-sweeper").daemon().factory());
+    sweeper.scheduleWithFixedDelay(this::sweep, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Queues an import of {@code source} into the account and returns the queued job. The scheduler
+   * owns {@code source} from here on and discards it once the job finishes, even if this call
+   * fails.
+   */
+  public ImportJob submit(AccountId accountId, Source source) {
+    try {
+      if (closed) throw new IllegalStateException("Import jobs are shutting down");
+      accounts.find(accountId).orElseThrow(() -> new IllegalArgumentException("Account not found"));
+      if (unfinishedJobs.incrementAndGet() > settings.maxUnfinishedJobs()) {
+        unfinishedJobs.decrementAndGet();
+        throw new IllegalStateException("Too many import jobs are queued, try again later");
+      }
+    } catch (RuntimeException ex) {
+      source.discard();
+      throw ex;
+    }
+
+    ImportJob job = ImportJob.queued(ImportJobId.random(), accountId, clock.instant());
+    try {
+      jobs.save(job);
+    } catch (RuntimeException ex) {
+      unfinishedJobs.decrementAndGet();
+      source.discard();
+      throw ex;
+    }
+
+    Task task = new Task(job.id(), accountId, source);
+    boolean first;
+    synchronized (lanes) {
+      ArrayDeque<Task> lane = lanes.computeIfAbsent(accountId, id -> new ArrayDeque<>());
+      lane.add(task);
+      first = lane.size() == 1;
+    }
+    if (first) schedule(task, Duration.ZERO);
+    return job;
+  }
+
+  public Optional<ImportJob> find(ImportJobId id) {
+    return jobs.find(id);
+  }
+
+  /**
+   * Cancels a queued job, or asks a running one to stop after its current chunk. Finished jobs are
+   * returned unchanged.
+   */
+  public Optional<ImportJob> cancel(ImportJobId id) {
+    Optional<ImportJob> job = jobs.requestCancel(id, clock.instant());
+    return job.isPresent() ? job : jobs.find(id);
+  }
+
+  /**
+   * Stops accepting jobs, waits up to {@code shutdownTimeout} for running ones, and fails the jobs
+   * that never started so they do not stay queued forever.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    sweeper.shutdownNow();
+    workers.shutdown();
+    try {
+      workers.awaitTermination(settings.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    workers.shutdownNow();
+
+    List<Task> abandoned;
+    synchronized (lanes) {
+      abandoned = lanes.values().stream().flatMap(lane -> lane.stream()).toList();
+    }
+    abandoned.stream().filter(task -> !task.started).forEach(this::abandon);
+  }
+
+  private void sweep() {
+    List<ImportJobId> waiting;
+    synchronized (lanes) {
+      waiting =
+          lanes.values().stream()
+              .flatMap(lane -> lane.stream())
+              .filter(task -> !task.started)
+              .map(task -> task.jobId)
+              .toList();
+    }
+    try {
+      if (!waiting.isEmpty()) jobs.refreshQueued(waiting, clock.instant());
+      jobs.failAbandoned(clock.instant(), clock.instant().minus(settings.staleRunningJobAfter()));
+    } catch (RuntimeException ignored) {
+      // The store is unavailable; the next sweep tries again.
+    }
+  }
+
+  private void schedule(Task task, Duration delay) {
+    try {
+      workers.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException ex) {
+      abandon(task);
+    }
+  }
+
+  private void abandon(Task task) {
+    try {
+      jobs.finish(
+          task.jobId,
+          ImportJobStatus.FAILED,
+          ImportJobProgress.NONE,
+          SHUTDOWN_ERROR,
+          clock.instant());
+    } catch (RuntimeException ignored) {
+      // The store is unavailable; the job stays queued, which blocks no other job.
+    }
+    complete(task);
+  }
+
+  private void complete(Task task) {
+    if (!task.completed.compareAndSet(false, true)) return;
+
+    task.source.discard();
+    unfinishedJobs.decrementAndGet();
+
+    Task next;
+    synchronized (lanes) {
+      ArrayDeque<Task> lane = lanes.get(task.accountId);
+      lane.remove(task);
+      next = lane.peek();
+      if (next == null) lanes.remove(task.accountId);
+    }
+    // After close() the remaining tasks of the lane are failed there instead.
+    if (next != null && !closed) schedule(next, Duration.ZERO);
+  }
+
+  private final class Task implements Runnable {
+    private final ImportJobId jobId;
+    private final AccountId accountId;
+    private final Source source;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean started;
+
+    private Task(ImportJobId jobId, AccountId accountId, Source source) {
+      this.jobId = jobId;
+      this.accountId = accountId;
+      this.source = source;
+    }
+
+    @Override
+    public void run() {
+      if (closed) {
+        abandon(this);
+        return;
+      }
+
+      boolean owned;
+      try {
+        owned =
+            jobs.tryStart(
+                jobId, clock.instant(), clock.instant().minus(settings.staleRunningJobAfter()));
+      } catch (RuntimeException ex) {
+        schedule(this, settings.retryDelay());
+        return;
+      }
+      if (!owned) {
+        // Either the job was cancelled while queued, or another replica is importing into the
+        // same account; in the second case wait for it without blocking a worker.
+        boolean stillQueued =
+            jobs.find(jobId).map(job -> job.status() == ImportJobStatus.QUEUED).orElse(false);
+        if (stillQueued) {
+          schedule(this, settings.retryDelay());
+        } else {
+          complete(this);
+        }
+        return;
+      }
+
+      started = true;
+      try {
+        new Run(jobId, accountId).execute(source);
+      } finally {
+        complete(this);
+      }
+    }
+  }
+
+  /** One execution of a job: counts candidates and reports progress at chunk boundaries. */
+  private final class Run {
+    private final ImportJobId jobId;
+    private final AccountId accountId;
+    private int parsedCount;
+    private int failedCount;
+    private ImportTransactions.Result totals = new ImportTransactions.Result(0, 0);
+
+    private Run(ImportJobId jobId, AccountId accountId) {
+      this.jobId = jobId;
+      this.accountId = accountId;
+    }
+
+    void execute(Source source) {
+      try {
+        Account account =
+            accounts
+                .find(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+
+        try (Stream<ValidateTransactionsImport.Candidate> candidates = source.open()) {
+          Stream<ImportTransactions.Row> rows =
+              candidates
+                  .filter(candidate -> accept(account, candidate))
+                  .map(ValidateTransactionsImport.Candidate::row);
+          totals = importTransactions.importRows(accountId, rows, this::afterChunk);
+        }
+        finish(ImportJobStatus.SUCCEEDED, null);
+      } catch (CancellationException ex) {
+        finish(ImportJobStatus.CANCELLED, null);
+      } catch (RuntimeException ex) {
+        finish(ImportJobStatus.FAILED, ex.getMessage());
+      }
+    }
+
+    private boolean accept(Account account, ValidateTransactionsImport.Candidate candidate) {
+      parsedCount++;
+      boolean valid =
+          candidate.error() == null
+              && ValidateTransactionsImport.check(account, candidate.lineNumber(), candidate.row())
+                  == null;
+      if (!valid) failedCount++;
+      // Files with few valid rows rarely complete a chunk; keep the job visibly alive anyway.
+      if (parsedCount % HEARTBEAT_ROWS == 0) checkpoint();
+      return valid;
+    }
+
+    private void afterChunk(ImportTransactions.Result chunkTotals) {
+      totals = chunkTotals;
+      checkpoint();
+    }
+
+    private void checkpoint() {
+      if (jobs.recordProgress(jobId, progress(), clock.instant())) {
+        throw new CancellationException();
+      }
+    }
+
+    private ImportJobProgress progress() {
+      // Rows that passed validation but sit in the unwritten chunk are parsed but not yet counted.
+      return new ImportJobProgress(
+          parsedCount, totals.importedCount(), totals.skippedCount(), failedCount);
+    }
+
+    private void finish(ImportJobStatus status, String error) {
+      jobs.finish(jobId, status, progress(), error, clock.instant());
+    }
+  }
+
+  /** The rows of one upload; {@link #discard()} releases it once the job no longer needs it. */
+  public interface Source {
+    Stream<ValidateTransactionsImport.Candidate> open();
+
+    void discard();
+  }
+
+  /**
+   * @param maxUnfinishedJobs queued plus running jobs this instance accepts before rejecting
+   * @param retryDelay wait before retrying a job whose account is busy on another replica
+   * @param staleRunningJobAfter how long a running job may go without progress before another
+   *     replica treats it as abandoned, as is a queued job its replica stopped refreshing
+   * @param shutdownTimeout how long {@link #close()} waits for running jobs
+   */
+  public record Settings(
+      int maxUnfinishedJobs,
+      Duration retryDelay,
+      Duration staleRunningJobAfter,
+      Duration shutdownTimeout) {
+    public Settings {
+      if (maxUnfinishedJobs <= 0) {
+        throw new IllegalArgumentException("Import job limit must be positive");
+      }
+      if (retryDelay == null || staleRunningJobAfter == null || shutdownTimeout == null) {
+        throw new IllegalArgumentException("Import job durations must not be null");
+      }
+      if (!staleRunningJobAfter.isPositive()) {
+        throw new IllegalArgumentException("Import job stale-after must be positive");
+      }
+    }
+  }
+}
@@ -13,48 +13,144 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Currency;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public final class ImportTransactions {
+  public static final int DEFAULT_CHUNK_SIZE = 500;
+
   private final AccountRepository accounts;
   private final TransactionRepository transactions;
+  private final int chunkSize;
 
   public ImportTransactions(AccountRepository accounts, TransactionRepository transactions) {
+    this(accounts, transactions, DEFAULT_CHUNK_SIZE);
+  }
+
+  public ImportTransactions(
+      AccountRepository accounts, TransactionRepository transactions, int chunkSize) {
+    if (chunkSize <= 0) throw new IllegalArgumentException("Import chunk size must be positive");
+
     this.accounts = accounts;
     this.transactions = transactions;
+    this.chunkSize = chunkSize;
   }
 
   public Result importRows(AccountId accountId, List<Row> rows) {
+    return importRows(accountId, rows.stream());
+  }
+
+  /**
+   * Imports rows as they are pulled from the stream, persisting them in chunks of {@code
+   * chunkSize}. Only the current chunk and the stored transactions on its dates are held in memory,
+   * so a lazy source keeps peak heap independent of the number of rows. Chunks written before a
+   * failing row stay imported; re-importing the same rows afterwards skips them as duplicates.
+   */
+  public Result importRows(AccountId accountId, Stream<Row> rows) {
+    return importRows(accountId, rows, totals -> {});
+  }
+
+  /**
+   * Like {@link #importRows(AccountId, Stream)}, but hands the running totals to {@code afterChunk}
+   * once each chunk is persisted. An exception thrown by the listener stops the import after that
+   * chunk.
+   */
+  public Result importRows(AccountId accountId, Stream<Row> rows, Consumer<Result> afterChunk) {
+    FlightEvents.ImportRun event = new FlightEvents.ImportRun();
+    event.begin();
+    long started = System.nanoTime();
     Account account =
         accounts
             .find(accountId)
             .orElseThrow(() -> new IllegalArgumentException("Account not found"));
-    List<Transaction> existingTransactions =
-        new ArrayList<>(transactions.findByAccountId(accountId));
+    event.fetchTime = System.nanoTime() - started;
+    List<Row> chunk = new ArrayList<>(chunkSize);
+    int receivedCount = 0;
     int importedCount = 0;
 
-    for (Row row : rows) {
+    try {
+      Iterator<Row> iterator = rows.iterator();
+      long reading = System.nanoTime();
+      while (iterator.hasNext()) {
+        chunk.add(iterator.next());
+        receivedCount++;
+
+        if (chunk.size() == chunkSize) {
+          event.readTime += System.nanoTime() - reading;
+          importedCount += importChunk(account, chunk, event);
+          chunk.clear();
+          afterChunk.accept(new Result(receivedCount, importedCount));
+          reading = System.nanoTime();
+        }
+      }
+      event.readTime += System.nanoTime() - reading;
+      if (!chunk.isEmpty()) {
+        importedCount += importChunk(account, chunk, event);
+        afterChunk.accept(new Result(receivedCount, importedCount));
+      }
+
+      return new Result(receivedCount, importedCount);
+    } finally {
+      // Failed and cancelled imports are recorded too, with the rows handled until then.
+      event.end();
+      if (event.shouldCommit()) {
+        event.accountIdHash = FlightEvents.idHash(accountId.value());
+        event.rowsReceived = receivedCount;
+        event.rowsImported = importedCount;
+        event.commit();
+      }
+    }
+  }
+
+  private int importChunk(Account account, List<Row> chunk, FlightEvents.ImportRun event) {
+    long started = System.nanoTime();
+    Set<LocalDate> occurredOn = new HashSet<>();
+    for (Row row : chunk) {
       ensureCurrencyMatches(account, row);
+      occurredOn.add(row.occurredOn());
+    }
 
-      if (isDuplicate(existingTransactions, row)) continue;
+    long fetching = System.nanoTime();
+    List<Transaction> stored =
+        transactions.findByAccountIdAndOccurredOnIn(account.id(), occurredOn);
+    long fetched = System.nanoTime();
+    TransactionDedupeIndex existingTransactions = new TransactionDedupeIndex();
+    stored.forEach(existingTransactions::add);
+
+    List<Transaction> newTransactions = new ArrayList<>();
+    for (Row row : chunk) {
+      if (existingTransactions.containsDuplicateOf(
+          row.occurredOn(), row.direction(), row.amount(), row.currency(), row.memo())) {
+        continue;
+      }
 
       Transaction transaction =
           new Transaction(
               TransactionId.random(),
-              accountId,
+              account.id(),
               row.occurredOn(),
               row.direction(),
               new Money(row.amount(), account.currency()),
-              normalizeMemo(row.memo()),
+              TransactionDedupeIndex.normalizeMemo(row.memo()),
               Instant.now());
 
-      transactions.save(transaction);
+      newTransactions.add(transaction);
       existingTransactions.add(transaction);
-      importedCount++;
     }
 
-    return new Result(importedCount);
+    long writing = System.nanoTime();
+    transactions.saveAll(newTransactions);
+    long written = System.nanoTime();
+
+    event.chunks++;
+    event.fetchTime += fetched - fetching;
+    event.computeTime += (fetching - started) + (writing - fetched);
+    event.writeTime += written - writing;
+    return newTransactions.size();
   }
 
   private static void ensureCurrencyMatches(Account account, Row row) {
@@ -63,33 +159,6 @@ public final class ImportTransactions {
     }
   }
 
-  private static boolean isDuplicate(List<Transaction> existingTransactions, Row row) {
-    String normalizedMemo = normalizeMemo(row.memo());
-
-    return existingTransactions.stream()
-        .anyMatch(
-            transaction ->
-                transaction.occurredOn().equals(row.occurredOn())
-                    && transaction.direction() == row.direction()
-                    && transaction.amount().amount().compareTo(row.amount()) == 0
-                    && transaction.amount().currency().equals(row.currency())
-                    && memoEqualsIgnoreCase(transaction.memo(), normalizedMemo));
-  }
-
-  private static boolean memoEqualsIgnoreCase(String left, String right) {
-    if (Objects.equals(left, right)) return true;
-    if (left == null || right == null) return false;
-
-    return left.equalsIgnoreCase(right);
-  }
-
-  private static String normalizeMemo(String memo) {
-    if (memo == null) return null;
-
-    String trimmedMemo = memo.trim();
-    return trimmedMemo.isEmpty() ? null : trimmedMemo;
-  }
-
   public record Row(
       LocalDate occurredOn,
       TransactionDirection direction,
@@ -97,5 +166,9 @@ public final class ImportTransactions {
       Currency currency,
       String memo) {}
 
-  public record Result(int importedCount) {}
+  public record Result(int receivedCount, int importedCount) {
+    public int skippedCount() {
+      return receivedCount - importedCount;
+    }
+  }
 }
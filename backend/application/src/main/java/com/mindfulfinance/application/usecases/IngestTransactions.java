@@ -0,0 +1,290 @@
+package com.mindfulfinance.application.usecases;
+
+import com.mindfulfinance.application.ports.AccountRepository;
+import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.shared.DomainErrorCode;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Creates many transactions, possibly across accounts, in batches. Each item is validated on its
+ * own and reported as imported, duplicate or rejected; a bad item never fails its neighbours.
+ * Duplicates follow the {@link ImportTransactions} rule, both against stored transactions and
+ * within the input. A batch that cannot be read or saved has all its items rejected, and later
+ * batches still run, so every item gets a result.
+ *
+ * <p>Per batch this costs one lookup of stored transactions per account on the batch's dates and
+ * one {@link TransactionRepository#saveAll} call; each account is looked up once per call.
+ */
+public final class IngestTransactions {
+  public static final int DEFAULT_BATCH_SIZE = 500;
+  static final String BATCH_FAILED = "Batch could not be saved, retry this line";
+
+  private static final System.Logger LOG = System.getLogger(IngestTransactions.class.getName());
+
+  private final AccountRepository accounts;
+  private final PersonalFinanceCardRepository cards;
+  private final TransactionRepository transactions;
+  private final int batchSize;
+
+  public IngestTransactions(
+      AccountRepository accounts,
+      PersonalFinanceCardRepository cards,
+      TransactionRepository transactions) {
+    this(accounts, cards, transactions, DEFAULT_BATCH_SIZE);
+  }
+
+  public IngestTransactions(
+      AccountRepository accounts,
+      PersonalFinanceCardRepository cards,
+      TransactionRepository transactions,
+      int batchSize) {
+    if (batchSize <= 0) throw new IllegalArgumentException("Ingest batch size must be positive");
+
+    this.accounts = accounts;
+    this.cards = cards;
+    this.transactions = transactions;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Ingests items as they are pulled from the stream and hands one result per item to {@code
+   * results}, in input order, once the item's batch is persisted.
+   */
+  public Summary ingest(Stream<Item> items, Consumer<ItemResult> results) {
+    Map<AccountId, Optional<Account>> writableAccounts = new HashMap<>();
+    List<Item> batch = new ArrayList<>(batchSize);
+    Summary summary = Summary.EMPTY;
+
+    Iterator<Item> iterator = items.iterator();
+    while (iterator.hasNext()) {
+      batch.add(iterator.next());
+
+      if (batch.size() == batchSize) {
+        summary = summary.plus(ingestBatch(batch, writableAccounts, results));
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      summary = summary.plus(ingestBatch(batch, writableAccounts, results));
+    }
+
+    return summary;
+  }
+
+  private Summary ingestBatch(
+      List<Item> batch,
+      Map<AccountId, Optional<Account>> writableAccounts,
+      Consumer<ItemResult> results) {
+    ItemResult[] batchResults = new ItemResult[batch.size()];
+    int importedCount;
+    try {
+      importedCount = persistBatch(batch, writableAccounts, batchResults);
+    } catch (RuntimeException ex) {
+      LOG.log(
+          System.Logger.Level.ERROR,
+          "Failed to ingest batch of lines "
+              + batch.get(0).lineNumber()
+              + "-"
+              + batch.get(batch.size() - 1).lineNumber(),
+          ex);
+      importedCount = 0;
+      for (int i = 0; i < batch.size(); i++) {
+        if (batchResults[i] == null || batchResults[i].outcome() != Outcome.REJECTED) {
+          batchResults[i] = ItemResult.rejected(batch.get(i).lineNumber(), BATCH_FAILED);
+        }
+      }
+    }
+
+    int duplicateCount = 0;
+    int rejectedCount = 0;
+    for (ItemResult result : batchResults) {
+      if (result.outcome() == Outcome.DUPLICATE) duplicateCount++;
+      if (result.outcome() == Outcome.REJECTED) rejectedCount++;
+      results.accept(result);
+    }
+    return new Summary(batch.size(), importedCount, duplicateCount, rejectedCount);
+  }
+
+  /**
+   * Fills {@code batchResults} and saves the batch's new transactions; returns how many were saved.
+   * Items rejected on their own are already in {@code batchResults} if this throws.
+   */
+  private int persistBatch(
+      List<Item> batch,
+      Map<AccountId, Optional<Account>> writableAccounts,
+      ItemResult[] batchResults) {
+    Account[] itemAccounts = new Account[batch.size()];
+    Map<AccountId, Set<LocalDate>> datesByAccount = new HashMap<>();
+
+    for (int i = 0; i < batch.size(); i++) {
+      Item item = batch.get(i);
+      String error = item.error();
+      if (error == null) {
+        Optional<Account> account =
+            item.accountId() == null
+                ? Optional.empty()
+                : writableAccounts.computeIfAbsent(item.accountId(), this::findWritableAccount);
+        error = account.isPresent() ? validate(account.get(), item) : "Account not found";
+        if (error == null) {
+          itemAccounts[i] = account.get();
+          datesByAccount
+              .computeIfAbsent(item.accountId(), id -> new HashSet<>())
+              .add(item.occurredOn());
+        }
+      }
+      if (error != null) {
+        batchResults[i] = ItemResult.rejected(item.lineNumber(), error);
+      }
+    }
+
+    Map<AccountId, TransactionDedupeIndex> existingByAccount = new HashMap<>();
+    datesByAccount.forEach(
+        (accountId, dates) -> {
+          TransactionDedupeIndex index = new TransactionDedupeIndex();
+          transactions.findByAccountIdAndOccurredOnIn(accountId, dates).forEach(index::add);
+          existingByAccount.put(accountId, index);
+        });
+
+    List<Transaction> newTransactions = new ArrayList<>();
+    for (int i = 0; i < batch.size(); i++) {
+      if (batchResults[i] != null) continue;
+
+      Item item = batch.get(i);
+      Account account = itemAccounts[i];
+      String memo = TransactionDedupeIndex.normalizeMemo(item.memo());
+      TransactionDedupeIndex existing = existingByAccount.get(account.id());
+      if (existing.containsDuplicateOf(
+          item.occurredOn(), item.direction(), item.amount(), account.currency(), memo)) {
+        batchResults[i] = ItemResult.duplicate(item.lineNumber());
+        continue;
+      }
+
+      Transaction transaction =
+          new Transaction(
+              TransactionId.random(),
+              account.id(),
+              item.occurredOn(),
+              item.direction(),
+              new Money(item.amount(), account.currency()),
+              memo,
+              Instant.now());
+      newTransactions.add(transaction);
+      existing.add(transaction);
+      batchResults[i] = ItemResult.imported(item.lineNumber(), transaction.id());
+    }
+
+    transactions.saveAll(newTransactions);
+    return newTransactions.size();
+  }
+
+  // Accounts linked to a personal finance card are written only through the card ledger, exactly
+  // as the single-transaction endpoint hides them.
+  private Optional<Account> findWritableAccount(AccountId accountId) {
+    return accounts
+        .find(accountId)
+        .filter(account -> cards.findByLinkedAccountId(accountId).isEmpty());
+  }
+
+  /** Checks the {@link Transaction} invariants without throwing; returns the error or null. */
+  private static String validate(Account account, Item item) {
+    if (item.occurredOn() == null) return "occurredOn is required";
+    if (item.direction() == null) return "direction is required";
+    if (item.amount() == null) return "amount is required";
+
+    Optional<DomainErrorCode> violation = Money.violation(item.amount(), account.currency());
+    if (violation.isEmpty()) {
+      violation = Transaction.amountViolation(new Money(item.amount(), account.currency()));
+    }
+    return violation.map(code -> message(code, account)).orElse(null);
+  }
+
+  private static String message(DomainErrorCode code, Account account) {
+    return switch (code) {
+      case MONEY_TOO_MANY_DECIMALS ->
+          "amount has too many decimal places for " + account.currency().getCurrencyCode();
+      case TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO -> "amount must be positive";
+      default -> "amount is invalid: " + code;
+    };
+  }
+
+  /**
+   * One input transaction, or the {@code error} that kept it from being read. The account's
+   * currency applies, as in the single-transaction endpoint.
+   */
+  public record Item(
+      int lineNumber,
+      AccountId accountId,
+      LocalDate occurredOn,
+      TransactionDirection direction,
+      BigDecimal amount,
+      String memo,
+      String error) {
+    public static Item parsed(
+        int lineNumber,
+        AccountId accountId,
+        LocalDate occurredOn,
+        TransactionDirection direction,
+        BigDecimal amount,
+        String memo) {
+      return new Item(lineNumber, accountId, occurredOn, direction, amount, memo, null);
+    }
+
+    public static Item unreadable(int lineNumber, String error) {
+      return new Item(lineNumber, null, null, null, null, null, error);
+    }
+  }
+
+  public enum Outcome {
+    IMPORTED,
+    DUPLICATE,
+    REJECTED
+  }
+
+  /** {@code transactionId} is set for imported items and {@code error} for rejected ones. */
+  public record ItemResult(
+      int lineNumber, Outcome outcome, TransactionId transactionId, String error) {
+    static ItemResult imported(int lineNumber, TransactionId transactionId) {
+      return new ItemResult(lineNumber, Outcome.IMPORTED, transactionId, null);
+    }
+
+    static ItemResult duplicate(int lineNumber) {
+      return new ItemResult(lineNumber, Outcome.DUPLICATE, null, null);
+    }
+
+    static ItemResult rejected(int lineNumber, String error) {
+      return new ItemResult(lineNumber, Outcome.REJECTED, null, error);
+    }
+  }
+
+  public record Summary(
+      int receivedCount, int importedCount, int duplicateCount, int rejectedCount) {
+    static final Summary EMPTY = new Summary(0, 0, 0, 0);
+
+    Summary plus(Summary other) {
+      return new Summary(
+          receivedCount + other.receivedCount,
+          importedCount + other.importedCount,
+          duplicateCount + other.duplicateCount,
+          rejectedCount + other.rejectedCount);
+    }
+  }
+}
@@ -0,0 +1,262 @@
+package com.mindfulfinance.application.usecases;
+
+import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.UnitOfWork;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Collapses bursts of single-month actual saves, as produced by typing in the grid, into one write
+ * per {@code (card, year, month)}: the first save of a month starts a {@code window}, later saves
+ * within it only replace the pending value, and the last value is written when the window ends.
+ *
+ * <p>Saves are validated when they are accepted, so a caller still gets the card and amount errors
+ * of {@link SaveMonthlyExpenseActual} and {@link SaveMonthlyIncomeActual} right away. A deferred
+ * save has no version until it is written, so none is returned for it. A save with an expected
+ * version is never deferred: it is written at once, after the pending save of its month, and
+ * returns the version it produced. A zero window writes every save immediately.
+ *
+ * <p>Pending writes live in this instance only: reads and other writes of a card must call {@link
+ * #flush} first, which is what gives the snapshot read-your-writes. With several instances, all
+ * requests of a card must therefore reach the same instance, or the window must stay zero. {@link
+ * #close()} writes what is still pending.
+ *
+ * <p>A write that fails stays pending and is tried again after another window, unless a newer save
+ * of its month replaced it meanwhile; after {@value #MAX_ATTEMPTS} attempts it is logged and
+ * dropped.
+ *
+ * <p>Each write runs in its own {@code unitOfWork}, since a single-month save touches both the
+ * actual and the linked account's ledger. That unit should not join the one of whichever request
+ * flushes it: the save was accepted earlier and must not roll back with that request.
+ */
+public final class MonthlyActualWriteCoalescer implements AutoCloseable {
+  private static final System.Logger LOG =
+      System.getLogger(MonthlyActualWriteCoalescer.class.getName());
+  private static final int MAX_ATTEMPTS = 5;
+
+  private final SaveMonthlyExpenseActual saveExpenseActual;
+  private final SaveMonthlyIncomeActual saveIncomeActual;
+  private final PersonalFinanceCardRepository cardRepository;
+  private final ScheduledExecutorService timers;
+  private final Duration window;
+  private final UnitOfWork unitOfWork;
+  private final Map<Key, Pending> pending = new LinkedHashMap<>();
+  // Held while pending writes are applied, so a flush returns only after every write taken before
+  // it, including one a timer is applying right now, has been stored. A lock rather than a monitor,
+  // so request handlers on virtual threads do not pin their carrier while writes run.
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private boolean closed;
+
+  public MonthlyActualWriteCoalescer(
+      SaveMonthlyExpenseActual saveExpenseActual,
+      SaveMonthlyIncomeActual saveIncomeActual,
+      PersonalFinanceCardRepository cardRepository,
+      ScheduledExecutorService timers,
+      Duration window) {
+    this(saveExpenseActual, saveIncomeActual, cardRepository, timers, window, UnitOfWork.DIRECT);
+  }
+
+  public MonthlyActualWriteCoalescer(
+      SaveMonthlyExpenseActual saveExpenseActual,
+      SaveMonthlyIncomeActual saveIncomeActual,
+      PersonalFinanceCardRepository cardRepository,
+      ScheduledExecutorService timers,
+      Duration window,
+      UnitOfWork unitOfWork) {
+    if (window == null || window.isNegative()) {
+      throw new IllegalArgumentException("Write coalescing window must not be negative");
+    }
+
+    this.saveExpenseActual = saveExpenseActual;
+    this.saveIncomeActual = saveIncomeActual;
+    this.cardRepository = cardRepository;
+    this.timers = timers;
+    this.window = window;
+    this.unitOfWork = unitOfWork;
+  }
+
+  /**
+   * Accepts an expense save and returns the version the month got, or nothing while the save is
+   * still pending.
+   *
+   * @throws VersionConflictException if the command expects a version the month is no longer at
+   */
+  public OptionalLong saveExpense(SaveMonthlyExpenseActual.Command command) {
+    Objects.requireNonNull(command, "command");
+    PersonalFinanceCardStateGuard.requireMutableCard(cardRepository, command.cardId());
+    // Rejects now the amounts the deferred write would fail on.
+    SaveMonthlyExpenseActual.toSummary(command);
+
+    return accept(
+        new Key(Kind.EXPENSE, command.cardId(), command.year(), command.month()),
+        command.expectedVersion(),
+        () -> saveExpenseActual.save(command).version());
+  }
+
+  /** Accepts an income save; see {@link #saveExpense} for the returned version and conflicts. */
+  public OptionalLong saveIncome(SaveMonthlyIncomeActual.Command command) {
+    Objects.requireNonNull(command, "command");
+    PersonalFinanceCardStateGuard.requireMutableCard(cardRepository, command.cardId());
+    SaveMonthlyIncomeActual.toSummary(command);
+
+    return accept(
+        new Key(Kind.INCOME, command.cardId(), command.year(), command.month()),
+        command.expectedVersion(),
+        () -> saveIncomeActual.save(command).version());
+  }
+
+  /**
+   * Writes the pending saves of the given cards now. A failed write stays pending for a later
+   * attempt, and its error is rethrown after the remaining writes are applied.
+   */
+  public void flush(PersonalFinanceCardId... cardIds) {
+    // Not Set.of: a transfer flushes both of its cards, and they may be the same card.
+    Set<PersonalFinanceCardId> cards = new HashSet<>(Arrays.asList(cardIds));
+    apply(key -> cards.contains(key.cardId()));
+  }
+
+  /** Writes every pending save now. */
+  public void flushAll() {
+    apply(key -> true);
+  }
+
+  /** Stops deferring saves and writes what is still pending. */
+  @Override
+  public void close() {
+    synchronized (pending) {
+      closed = true;
+    }
+    try {
+      flushAll();
+    } finally {
+      timers.shutdownNow();
+    }
+  }
+
+  private OptionalLong accept(Key key, Long expectedVersion, LongSupplier write) {
+    if (window.isZero()) return OptionalLong.of(unitOfWork.execute(write::getAsLong));
+    if (expectedVersion == null && defer(key, write)) return OptionalLong.empty();
+
+    // Holding the flush lock keeps timers from writing the month meanwhile, so the write below
+    // comes after the pending save of its month and is checked against what that one stored.
+    flushLock.lock();
+    try {
+      apply(key::equals);
+      return OptionalLong.of(unitOfWork.execute(write::getAsLong));
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Queues the write under {@code key}, replacing one already pending; false when it has to be
+   * written right away instead.
+   */
+  private boolean defer(Key key, LongSupplier write) {
+    synchronized (pending) {
+      if (closed) return false;
+
+      Pending previous = pending.put(key, new Pending(write::getAsLong, 1));
+      // Every pending write already has a timer of its own.
+      if (previous != null || schedule(key)) return true;
+      pending.remove(key);
+      return false;
+    }
+  }
+
+  private boolean schedule(Key key) {
+    try {
+      timers.schedule(() -> flushOnTimer(key), window.toMillis(), TimeUnit.MILLISECONDS);
+      return true;
+    } catch (RejectedExecutionException ex) {
+      return false;
+    }
+  }
+
+  private void flushOnTimer(Key key) {
+    try {
+      apply(key::equals);
+    } catch (RuntimeException ex) {
+      // Nobody waits for a timer flush; the write stays pending unless it ran out of attempts.
+      LOG.log(System.Logger.Level.WARNING, "Failed to write coalesced actual for " + key, ex);
+    }
+  }
+
+  private void apply(Predicate<Key> selected) {
+    flushLock.lock();
+    try {
+      Map<Key, Pending> writes = new LinkedHashMap<>();
+      synchronized (pending) {
+        Iterator<Map.Entry<Key, Pending>> entries = pending.entrySet().iterator();
+        while (entries.hasNext()) {
+          Map.Entry<Key, Pending> entry = entries.next();
+          if (selected.test(entry.getKey())) {
+            writes.put(entry.getKey(), entry.getValue());
+            entries.remove();
+          }
+        }
+      }
+
+      RuntimeException failure = null;
+      for (Map.Entry<Key, Pending> write : writes.entrySet()) {
+        try {
+          unitOfWork.run(write.getValue().write());
+        } catch (RuntimeException ex) {
+          retry(write.getKey(), write.getValue(), ex);
+          if (failure == null) {
+            failure = ex;
+          } else {
+            failure.addSuppressed(ex);
+          }
+        }
+      }
+      if (failure != null) throw failure;
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * Queues a failed write again: its caller was told the save was accepted. A newer save of the
+   * month that is pending by now replaces it anyway.
+   */
+  private void retry(Key key, Pending failed, RuntimeException ex) {
+    synchronized (pending) {
+      if (pending.containsKey(key)) return;
+      if (!closed && failed.attempts() < MAX_ATTEMPTS) {
+        pending.put(key, new Pending(failed.write(), failed.attempts() + 1));
+        if (schedule(key)) return;
+        pending.remove(key);
+      }
+    }
+    LOG.log(
+        System.Logger.Level.ERROR,
+        "Dropped coalesced actual for " + key + " after " + failed.attempts() + " attempts",
+        ex);
+  }
+
+  private enum Kind {
+    EXPENSE,
+    INCOME
+  }
+
+  private record Key(Kind kind, PersonalFinanceCardId cardId, int year, int month) {}
+
+  /** A queued write and the number of the attempt it is waiting for. */
+  private record Pending(Runnable write, int attempts) {}
+}
@@ -0,0 +1,49 @@
+package com.mindfulfinance.application.usecases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Forks independent repository reads onto an executor and joins them as one unit: {@link
+ * #joinAll()} waits for every fork to finish before rethrowing a failure, so no read outlives the
+ * use case that started it. With a direct executor ({@code Runnable::run}) the reads run
+ * sequentially on the caller thread, which keeps tests deterministic.
+ */
+final class ParallelReads {
+  private final Executor executor;
+  private final List<CompletableFuture<?>> forks = new ArrayList<>();
+
+  ParallelReads(Executor executor) {
+    this.executor = Objects.requireNonNull(executor, "executor");
+  }
+
+  <T> Supplier<T> fork(Supplier<T> read) {
+    CompletableFuture<T> future = CompletableFuture.supplyAsync(read, executor);
+    forks.add(future);
+    return future::join;
+  }
+
+  void joinAll() {
+    try {
+      CompletableFuture.allOf(forks.toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  private static RuntimeException unwrap(CompletionException ex) {
+    Throwable cause = ex.getCause();
+    if (cause instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return ex;
+  }
+}
@@ -1,6 +1,7 @@
 package com.mindfulfinance.application.usecases;
 
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
 
@@ -16,9 +17,24 @@ final class PersonalFinanceCardStateGuard {
         repository
             .find(cardId)
             .orElseThrow(() -> new IllegalArgumentException("Personal finance card not found"));
+    requireActive(card);
+    return card;
+  }
+
+  /** Same checks as {@link #requireMutableCard}, keeping the version for a compare-and-set. */
+  static Versioned<PersonalFinanceCard> requireMutableVersionedCard(
+      PersonalFinanceCardRepository repository, PersonalFinanceCardId cardId) {
+    Versioned<PersonalFinanceCard> card =
+        repository
+            .findVersioned(cardId)
+            .orElseThrow(() -> new IllegalArgumentException("Personal finance card not found"));
+    requireActive(card.value());
+    return card;
+  }
+
+  private static void requireActive(PersonalFinanceCard card) {
     if (!card.isActive()) {
       throw new IllegalStateException(ARCHIVED_CARD_READ_ONLY_MESSAGE);
     }
-    return card;
   }
 }
@@ -14,9 +14,15 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 final class PersonalFinanceLinkedAccountLedger {
   static final String BASELINE_MEMO = "[personal-finance:baseline]";
@@ -78,50 +84,128 @@ final class PersonalFinanceLinkedAccountLedger {
         .findFirst();
   }
 
+  /**
+   * Syncs the income and expense actual entries of several months of one year with a single read of
+   * the linked account's ledger; new entries are saved as one batch.
+   */
+  void syncActuals(
+      PersonalFinanceCardId cardId,
+      int year,
+      Map<Integer, BigDecimal> incomeByMonth,
+      Map<Integer, BigDecimal> expenseByMonth) {
+    List<ManagedEntry> entries = new ArrayList<>();
+    incomeByMonth.forEach(
+        (month, amount) ->
+            entries.add(
+                new ManagedEntry(
+                    TransactionDirection.INFLOW,
+                    YearMonth.of(year, month).atEndOfMonth(),
+                    incomeActualMemo(year, month),
+                    amount)));
+    expenseByMonth.forEach(
+        (month, amount) ->
+            entries.add(
+                new ManagedEntry(
+                    TransactionDirection.OUTFLOW,
+                    YearMonth.of(year, month).atEndOfMonth(),
+                    expenseActualMemo(year, month),
+                    amount)));
+    if (!entries.isEmpty()) {
+      syncAll(cardId, entries);
+    }
+  }
+
   private void sync(
       PersonalFinanceCardId cardId,
       TransactionDirection direction,
       LocalDate occurredOn,
       String memo,
       BigDecimal rawAmount) {
-    Money amount = new Money(orZero(rawAmount), RUB);
-    Optional<Transaction> existing = findManagedTransaction(cardId, memo);
-    if (amount.isZero()) {
-      existing.ifPresent(
-          transaction -> transactionRepository.delete(transaction.accountId(), transaction.id()));
-      return;
-    }
+    syncAll(cardId, List.of(new ManagedEntry(direction, occurredOn, memo, rawAmount)));
+  }
 
+  private void syncAll(PersonalFinanceCardId cardId, List<ManagedEntry> entries) {
+    FlightEvents.LedgerSync event = new FlightEvents.LedgerSync();
+    event.begin();
+    long started = System.nanoTime();
     AccountId linkedAccountId = requireLinkedAccountId(cardId);
-    Transaction transaction =
-        existing
-            .map(
-                current ->
-                    new Transaction(
-                        current.id(),
-                        current.accountId(),
-                        occurredOn,
-                        direction,
-                        amount,
-                        memo,
-                        current.createdAt()))
-            .orElseGet(
-                () ->
-                    new Transaction(
-                        TransactionId.random(),
-                        linkedAccountId,
-                        occurredOn,
-                        direction,
-                        amount,
-                        memo,
-                        Instant.now(clock)));
-
-    if (existing.isPresent()) {
-      transactionRepository.update(transaction);
-      return;
+    List<Transaction> ledger = transactionRepository.findByAccountId(linkedAccountId);
+    long fetchTime = System.nanoTime() - started;
+    long writeTime = 0;
+    int updated = 0;
+    int deleted = 0;
+
+    Set<String> memos = new HashSet<>();
+    entries.forEach(entry -> memos.add(entry.memo()));
+    Map<String, Transaction> existingByMemo = new HashMap<>();
+    for (Transaction transaction : ledger) {
+      if (memos.contains(transaction.memo())) {
+        existingByMemo.putIfAbsent(transaction.memo(), transaction);
+      }
     }
 
-    transactionRepository.save(transaction);
+    List<Transaction> created = new ArrayList<>();
+    for (ManagedEntry entry : entries) {
+      Money amount = new Money(orZero(entry.amount()), RUB);
+      Transaction existing = existingByMemo.get(entry.memo());
+      if (amount.isZero()) {
+        if (existing != null) {
+          long writing = System.nanoTime();
+          transactionRepository.delete(existing.accountId(), existing.id());
+          writeTime += System.nanoTime() - writing;
+          deleted++;
+        }
+        continue;
+      }
+
+      if (existing != null) {
+        long writing = System.nanoTime();
+        transactionRepository.update(
+            new Transaction(
+                existing.id(),
+                existing.accountId(),
+                entry.occurredOn(),
+                entry.direction(),
+                amount,
+                entry.memo(),
+                existing.createdAt()));
+        writeTime += System.nanoTime() - writing;
+        updated++;
+        continue;
+      }
+
+      created.add(
+          new Transaction(
+              TransactionId.random(),
+              linkedAccountId,
+              entry.occurredOn(),
+              entry.direction(),
+              amount,
+              entry.memo(),
+              Instant.now(clock)));
+    }
+
+    if (!created.isEmpty()) {
+      long writing = System.nanoTime();
+      transactionRepository.saveAll(created);
+      writeTime += System.nanoTime() - writing;
+    }
+
+    long finished = System.nanoTime();
+    event.end();
+    if (event.shouldCommit()) {
+      event.cardIdHash = FlightEvents.idHash(cardId.value());
+      event.accountIdHash = FlightEvents.idHash(linkedAccountId.value());
+      event.entries = entries.size();
+      event.rowsRead = ledger.size();
+      event.created = created.size();
+      event.updated = updated;
+      event.deleted = deleted;
+      event.fetchTime = fetchTime;
+      event.writeTime = writeTime;
+      event.computeTime = finished - started - fetchTime - writeTime;
+      event.commit();
+    }
   }
 
   private AccountId requireLinkedAccountId(PersonalFinanceCardId cardId) {
@@ -132,6 +216,9 @@ final class PersonalFinanceLinkedAccountLedger {
     return card.linkedAccountId();
   }
 
+  private record ManagedEntry(
+      TransactionDirection direction, LocalDate occurredOn, String memo, BigDecimal amount) {}
+
   private static BigDecimal orZero(BigDecimal value) {
     return value == null ? BigDecimal.ZERO : value;
   }
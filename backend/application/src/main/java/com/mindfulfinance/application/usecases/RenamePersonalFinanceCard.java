@@ -2,6 +2,7 @@ package com.mindfulfinance.application.usecases;
 
 import com.mindfulfinance.application.ports.AccountRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.Account;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
@@ -20,8 +21,9 @@ public final class RenamePersonalFinanceCard {
   public PersonalFinanceCard rename(Command command) {
     Objects.requireNonNull(command, "command");
 
-    PersonalFinanceCard existingCard =
-        PersonalFinanceCardStateGuard.requireMutableCard(cardRepository, command.cardId());
+    Versioned<PersonalFinanceCard> storedCard =
+        PersonalFinanceCardStateGuard.requireMutableVersionedCard(cardRepository, command.cardId());
+    PersonalFinanceCard existingCard = storedCard.value();
     Account linkedAccount =
         accountRepository
             .find(existingCard.linkedAccountId())
@@ -46,8 +48,9 @@ public final class RenamePersonalFinanceCard {
             linkedAccount.status(),
             linkedAccount.createdAt());
 
+    // The card goes first: a concurrent change to it fails here, before the account is touched.
+    cardRepository.update(renamedCard, storedCard.version());
     accountRepository.save(renamedAccount);
-    cardRepository.save(renamedCard);
     return renamedCard;
   }
 
@@ -2,6 +2,7 @@ package com.mindfulfinance.application.usecases;
 
 import com.mindfulfinance.application.ports.AccountRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.Account;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
@@ -20,10 +21,11 @@ public final class RestorePersonalFinanceCard {
   public PersonalFinanceCard restore(Command command) {
     Objects.requireNonNull(command, "command");
 
-    PersonalFinanceCard existingCard =
+    Versioned<PersonalFinanceCard> storedCard =
         cardRepository
-            .find(command.cardId())
+            .findVersioned(command.cardId())
             .orElseThrow(() -> new IllegalArgumentException("Personal finance card not found"));
+    PersonalFinanceCard existingCard = storedCard.value();
     Account linkedAccount =
         accountRepository
             .find(existingCard.linkedAccountId())
@@ -35,8 +37,8 @@ public final class RestorePersonalFinanceCard {
     PersonalFinanceCard restoredCard = existingCard.restore();
     Account restoredAccount = linkedAccount.activate();
 
+    cardRepository.update(restoredCard, storedCard.version());
     accountRepository.save(restoredAccount);
-    cardRepository.save(restoredCard);
     return restoredCard;
   }
 
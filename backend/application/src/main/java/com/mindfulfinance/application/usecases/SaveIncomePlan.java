@@ -3,6 +3,7 @@ package com.mindfulfinance.application.usecases;
 import com.mindfulfinance.application.ports.IncomeForecastRepository;
 import com.mindfulfinance.application.ports.IncomePlanRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.UnitOfWork;
 import com.mindfulfinance.domain.personalfinance.IncomeForecast;
 import com.mindfulfinance.domain.personalfinance.IncomePlan;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
@@ -17,18 +18,33 @@ public final class SaveIncomePlan {
   private final IncomePlanRepository repository;
   private final IncomeForecastRepository incomeForecastRepository;
   private final PersonalFinanceCardRepository cardRepository;
+  private final UnitOfWork unitOfWork;
 
   public SaveIncomePlan(
       IncomePlanRepository repository,
       IncomeForecastRepository incomeForecastRepository,
       PersonalFinanceCardRepository cardRepository) {
+    this(repository, incomeForecastRepository, cardRepository, UnitOfWork.DIRECT);
+  }
+
+  public SaveIncomePlan(
+      IncomePlanRepository repository,
+      IncomeForecastRepository incomeForecastRepository,
+      PersonalFinanceCardRepository cardRepository,
+      UnitOfWork unitOfWork) {
     this.repository = repository;
     this.incomeForecastRepository = incomeForecastRepository;
     this.cardRepository = cardRepository;
+    this.unitOfWork = unitOfWork;
   }
 
+  /** The plan's header and vacations are replaced in one unit of work. */
   public IncomePlan save(Command command) {
     Objects.requireNonNull(command, "command");
+    return unitOfWork.execute(() -> saveInUnit(command));
+  }
+
+  private IncomePlan saveInUnit(Command command) {
     PersonalFinanceCardStateGuard.requireMutableCard(cardRepository, command.cardId());
 
     IncomeForecast forecast =
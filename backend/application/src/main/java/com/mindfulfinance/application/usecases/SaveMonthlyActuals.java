@@ -0,0 +1,150 @@
+package com.mindfulfinance.application.usecases;
+
+import com.mindfulfinance.application.ports.MonthlyExpenseActualRepository;
+import com.mindfulfinance.application.ports.MonthlyIncomeActualRepository;
+import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Saves up to a year of expense and income actuals of one card at once, with the same per-month
+ * semantics as {@link SaveMonthlyExpenseActual} and {@link SaveMonthlyIncomeActual}: zero months
+ * are deleted and the linked account's managed entries follow. Each table is written with one
+ * batched upsert and one delete, and the ledger is read once for all months.
+ */
+public final class SaveMonthlyActuals {
+  public static final int MAX_MONTHS = 12;
+
+  private static final Currency RUB = Currency.getInstance("RUB");
+
+  private final MonthlyExpenseActualRepository expenseActualRepository;
+  private final MonthlyIncomeActualRepository incomeActualRepository;
+  private final PersonalFinanceCardRepository cardRepository;
+  private final PersonalFinanceLinkedAccountLedger linkedAccountLedger;
+
+  public SaveMonthlyActuals(
+      MonthlyExpenseActualRepository expenseActualRepository,
+      MonthlyIncomeActualRepository incomeActualRepository,
+      PersonalFinanceCardRepository cardRepository,
+      TransactionRepository transactionRepository) {
+    this.expenseActualRepository = expenseActualRepository;
+    this.incomeActualRepository = incomeActualRepository;
+    this.cardRepository = cardRepository;
+    this.linkedAccountLedger =
+        new PersonalFinanceLinkedAccountLedger(cardRepository, transactionRepository);
+  }
+
+  public Result save(Command command) {
+    Objects.requireNonNull(command, "command");
+    List<ExpenseMonth> expenses = requireMonths(command.expenses(), "expense");
+    List<IncomeMonth> incomes = requireMonths(command.incomes(), "income");
+    requireDistinctMonths(expenses.stream().map(ExpenseMonth::month).toList(), "expense");
+    requireDistinctMonths(incomes.stream().map(IncomeMonth::month).toList(), "income");
+    PersonalFinanceCardStateGuard.requireMutableCard(cardRepository, command.cardId());
+
+    // Build every summary before writing, so an invalid month leaves the year untouched.
+    List<MonthlyExpenseActual> expenseSummaries = new ArrayList<>();
+    for (ExpenseMonth expense : expenses) {
+      expenseSummaries.add(toExpenseActual(command.cardId(), command.year(), expense));
+    }
+    List<MonthlyIncomeActual> incomeSummaries = new ArrayList<>();
+    for (IncomeMonth income : incomes) {
+      incomeSummaries.add(
+          new MonthlyIncomeActual(
+              command.cardId(),
+              command.year(),
+              income.month(),
+              new Money(orZero(income.totalAmount()), RUB)));
+    }
+
+    Map<Integer, BigDecimal> expenseTotals = new LinkedHashMap<>();
+    expenseSummaries.forEach(
+        summary -> expenseTotals.put(summary.month(), summary.total().amount()));
+    Map<Integer, BigDecimal> incomeTotals = new LinkedHashMap<>();
+    incomeSummaries.forEach(
+        summary -> incomeTotals.put(summary.month(), summary.totalAmount().amount()));
+
+    expenseActualRepository.upsertAll(
+        expenseSummaries.stream().filter(summary -> !summary.isEmpty()).toList());
+    expenseActualRepository.deleteAll(
+        command.cardId(),
+        command.year(),
+        expenseSummaries.stream()
+            .filter(MonthlyExpenseActual::isEmpty)
+            .map(MonthlyExpenseActual::month)
+            .toList());
+    incomeActualRepository.upsertAll(
+        incomeSummaries.stream().filter(summary -> !summary.isEmpty()).toList());
+    incomeActualRepository.deleteAll(
+        command.cardId(),
+        command.year(),
+        incomeSummaries.stream()
+            .filter(MonthlyIncomeActual::isEmpty)
+            .map(MonthlyIncomeActual::month)
+            .toList());
+    linkedAccountLedger.syncActuals(command.cardId(), command.year(), incomeTotals, expenseTotals);
+
+    return new Result(List.copyOf(expenseSummaries), List.copyOf(incomeSummaries));
+  }
+
+  private static MonthlyExpenseActual toExpenseActual(
+      PersonalFinanceCardId cardId, int year, ExpenseMonth expense) {
+    Objects.requireNonNull(expense.categoryAmounts(), "categoryAmounts");
+    Map<PersonalExpenseCategory, Money> amounts = new EnumMap<>(PersonalExpenseCategory.class);
+    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+      BigDecimal rawAmount = expense.categoryAmounts().getOrDefault(category, BigDecimal.ZERO);
+      amounts.put(category, new Money(rawAmount, RUB));
+    }
+    return new MonthlyExpenseActual(cardId, year, expense.month(), amounts);
+  }
+
+  private static <T> List<T> requireMonths(List<T> months, String kind) {
+    if (months == null) return List.of();
+    if (months.size() > MAX_MONTHS) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_MONTHS + " months of " + kind + " actuals can be saved at once");
+    }
+    months.forEach(month -> Objects.requireNonNull(month, kind + " month"));
+    return months;
+  }
+
+  private static void requireDistinctMonths(List<Integer> months, String kind) {
+    Set<Integer> seen = new HashSet<>();
+    for (int month : months) {
+      if (!seen.add(month)) {
+        throw new IllegalArgumentException("Duplicate " + kind + " actual month: " + month);
+      }
+    }
+  }
+
+  private static BigDecimal orZero(BigDecimal value) {
+    return value == null ? BigDecimal.ZERO : value;
+  }
+
+  /** Either list may be empty or {@code null}; a month may appear at most once per list. */
+  public record Command(
+      PersonalFinanceCardId cardId,
+      int year,
+      List<ExpenseMonth> expenses,
+      List<IncomeMonth> incomes) {}
+
+  public record ExpenseMonth(int month, Map<PersonalExpenseCategory, BigDecimal> categoryAmounts) {}
+
+  public record IncomeMonth(int month, BigDecimal totalAmount) {}
+
+  public record Result(List<MonthlyExpenseActual> expenses, List<MonthlyIncomeActual> incomes) {}
+}
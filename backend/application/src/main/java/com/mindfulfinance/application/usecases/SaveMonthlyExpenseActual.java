@@ -3,6 +3,8 @@ package com.mindfulfinance.application.usecases;
 import com.mindfulfinance.application.ports.MonthlyExpenseActualRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
 import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
@@ -30,35 +32,63 @@ public final class SaveMonthlyExpenseActual {
         new PersonalFinanceLinkedAccountLedger(cardRepository, transactionRepository);
   }
 
-  public MonthlyExpenseActual save(Command command) {
+  /**
+   * Stores the month, or clears it when every amount is zero, and returns it with its new version
+   * ({@link Versioned#ABSENT} after clearing a month that was never stored). With an expected
+   * version the write is a compare-and-set that throws {@link VersionConflictException} if the
+   * month moved on meanwhile.
+   */
+  public Versioned<MonthlyExpenseActual> save(Command command) {
     Objects.requireNonNull(command, "command");
     Objects.requireNonNull(command.categoryAmounts(), "categoryAmounts");
     PersonalFinanceCardStateGuard.requireMutableCard(cardRepository, command.cardId());
 
-    Map<PersonalExpenseCategory, Money> amounts = new EnumMap<>(PersonalExpenseCategory.class);
-    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
-      BigDecimal rawAmount = command.categoryAmounts().getOrDefault(category, BigDecimal.ZERO);
-      amounts.put(category, new Money(rawAmount, RUB));
-    }
-
-    MonthlyExpenseActual summary =
-        new MonthlyExpenseActual(command.cardId(), command.year(), command.month(), amounts);
+    MonthlyExpenseActual summary = toSummary(command);
+    Long expectedVersion = command.expectedVersion();
     if (summary.isEmpty()) {
-      repository.delete(command.cardId(), command.year(), command.month());
+      long version =
+          expectedVersion == null
+              ? repository.delete(command.cardId(), command.year(), command.month())
+              : repository.delete(
+                  command.cardId(), command.year(), command.month(), expectedVersion);
       linkedAccountLedger.syncExpenseActual(
           command.cardId(), command.year(), command.month(), BigDecimal.ZERO);
-      return summary;
+      return new Versioned<>(summary, version);
     }
 
-    repository.upsert(summary);
+    long version =
+        expectedVersion == null
+            ? repository.upsert(summary)
+            : repository.upsert(summary, expectedVersion);
     linkedAccountLedger.syncExpenseActual(
         command.cardId(), command.year(), command.month(), summary.total().amount());
-    return summary;
+    return new Versioned<>(summary, version);
+  }
+
+  /** Builds the summary {@link #save} would store; throws the same errors for invalid amounts. */
+  static MonthlyExpenseActual toSummary(Command command) {
+    Objects.requireNonNull(command.categoryAmounts(), "categoryAmounts");
+    Map<PersonalExpenseCategory, Money> amounts = new EnumMap<>(PersonalExpenseCategory.class);
+    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+      BigDecimal rawAmount = command.categoryAmounts().getOrDefault(category, BigDecimal.ZERO);
+      amounts.put(category, new Money(rawAmount, RUB));
+    }
+    return new MonthlyExpenseActual(command.cardId(), command.year(), command.month(), amounts);
   }
 
+  /** {@code expectedVersion} is the month's version the caller read, or null to overwrite it. */
   public record Command(
       PersonalFinanceCardId cardId,
       int year,
       int month,
-      Map<PersonalExpenseCategory, BigDecimal> categoryAmounts) {}
+      Map<PersonalExpenseCategory, BigDecimal> categoryAmounts,
+      Long expectedVersion) {
+    public Command(
+        PersonalFinanceCardId cardId,
+        int year,
+        int month,
+        Map<PersonalExpenseCategory, BigDecimal> categoryAmounts) {
+      this(cardId, year, month, categoryAmounts, null);
+    }
+  }
 }
@@ -3,6 +3,8 @@ package com.mindfulfinance.application.usecases;
 import com.mindfulfinance.application.ports.MonthlyIncomeActualRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
@@ -27,34 +29,60 @@ public final class SaveMonthlyIncomeActual {
         new PersonalFinanceLinkedAccountLedger(cardRepository, transactionRepository);
   }
 
-  public MonthlyIncomeActual save(Command command) {
+  /**
+   * Stores the month, or clears it when every amount is zero, and returns it with its new version
+   * ({@link Versioned#ABSENT} after clearing a month that was never stored). With an expected
+   * version the write is a compare-and-set that throws {@link VersionConflictException} if the
+   * month moved on meanwhile.
+   */
+  public Versioned<MonthlyIncomeActual> save(Command command) {
     Objects.requireNonNull(command, "command");
     PersonalFinanceCardStateGuard.requireMutableCard(cardRepository, command.cardId());
 
-    MonthlyIncomeActual summary =
-        new MonthlyIncomeActual(
-            command.cardId(),
-            command.year(),
-            command.month(),
-            new Money(orZero(command.totalAmount()), RUB));
-
+    MonthlyIncomeActual summary = toSummary(command);
+    Long expectedVersion = command.expectedVersion();
     if (summary.isEmpty()) {
-      repository.delete(command.cardId(), command.year(), command.month());
+      long version =
+          expectedVersion == null
+              ? repository.delete(command.cardId(), command.year(), command.month())
+              : repository.delete(
+                  command.cardId(), command.year(), command.month(), expectedVersion);
       linkedAccountLedger.syncIncomeActual(
           command.cardId(), command.year(), command.month(), BigDecimal.ZERO);
-      return summary;
+      return new Versioned<>(summary, version);
     }
 
-    repository.upsert(summary);
+    long version =
+        expectedVersion == null
+            ? repository.upsert(summary)
+            : repository.upsert(summary, expectedVersion);
     linkedAccountLedger.syncIncomeActual(
         command.cardId(), command.year(), command.month(), summary.totalAmount().amount());
-    return summary;
+    return new Versioned<>(summary, version);
+  }
+
+  /** Builds the summary {@link #save} would store; throws the same errors for invalid amounts. */
+  static MonthlyIncomeActual toSummary(Command command) {
+    return new MonthlyIncomeActual(
+        command.cardId(),
+        command.year(),
+        command.month(),
+        new Money(orZero(command.totalAmount()), RUB));
   }
 
   private static BigDecimal orZero(BigDecimal value) {
     return value == null ? BigDecimal.ZERO : value;
   }
 
+  /** {@code expectedVersion} is the month's version the caller read, or null to overwrite it. */
   public record Command(
-      PersonalFinanceCardId cardId, int year, int month, BigDecimal totalAmount) {}
+      PersonalFinanceCardId cardId,
+      int year,
+      int month,
+      BigDecimal totalAmount,
+      Long expectedVersion) {
+    public Command(PersonalFinanceCardId cardId, int year, int month, BigDecimal totalAmount) {
+      this(cardId, year, month, totalAmount, null);
+    }
+  }
 }
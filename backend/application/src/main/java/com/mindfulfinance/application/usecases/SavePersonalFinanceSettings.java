@@ -5,6 +5,7 @@ import com.mindfulfinance.application.ports.IncomePlanRepository;
 import com.mindfulfinance.application.ports.MonthlyExpenseLimitRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.UnitOfWork;
 import com.mindfulfinance.domain.personalfinance.IncomeForecast;
 import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
 import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
@@ -22,6 +23,7 @@ public final class SavePersonalFinanceSettings {
   private final IncomePlanRepository incomePlanRepository;
   private final PersonalFinanceCardRepository cardRepository;
   private final PersonalFinanceLinkedAccountLedger linkedAccountLedger;
+  private final UnitOfWork unitOfWork;
 
   public SavePersonalFinanceSettings(
       MonthlyExpenseLimitRepository expenseLimitRepository,
@@ -29,6 +31,23 @@ public final class SavePersonalFinanceSettings {
       IncomePlanRepository incomePlanRepository,
       PersonalFinanceCardRepository cardRepository,
       TransactionRepository transactionRepository) {
+    this(
+        expenseLimitRepository,
+        incomeForecastRepository,
+        incomePlanRepository,
+        cardRepository,
+        transactionRepository,
+        UnitOfWork.DIRECT);
+  }
+
+  public SavePersonalFinanceSettings(
+      MonthlyExpenseLimitRepository expenseLimitRepository,
+      IncomeForecastRepository incomeForecastRepository,
+      IncomePlanRepository incomePlanRepository,
+      PersonalFinanceCardRepository cardRepository,
+      TransactionRepository transactionRepository,
+      UnitOfWork unitOfWork) {
+    this.unitOfWork = unitOfWork;
     this.expenseLimitRepository = expenseLimitRepository;
     this.incomeForecastRepository = incomeForecastRepository;
     this.incomePlanRepository = incomePlanRepository;
@@ -37,9 +56,14 @@ public final class SavePersonalFinanceSettings {
         new PersonalFinanceLinkedAccountLedger(cardRepository, transactionRepository);
   }
 
+  /** Limits, forecast, plan cleanup and the baseline entry are written in one unit of work. */
   public void save(Command command) {
     Objects.requireNonNull(command, "command");
     Objects.requireNonNull(command.limitCategoryPercents(), "limitCategoryPercents");
+    unitOfWork.run(() -> saveInUnit(command));
+  }
+
+  private void saveInUnit(Command command) {
     PersonalFinanceCardStateGuard.requireMutableCard(cardRepository, command.cardId());
 
     Map<PersonalExpenseCategory, BigDecimal> limitPercents =
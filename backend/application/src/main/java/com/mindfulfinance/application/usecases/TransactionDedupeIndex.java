@@ -0,0 +1,73 @@
+package com.mindfulfinance.application.usecases;
+
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The duplicate rule shared by imports and bulk ingestion: same date, direction, amount and
+ * currency, and a memo equal ignoring case once trimmed. Transactions are grouped by everything but
+ * the memo so a check only compares memos within one bucket; amounts are keyed without trailing
+ * zeros to keep {@code compareTo} semantics.
+ */
+final class TransactionDedupeIndex {
+  private final Map<DedupeKey, List<String>> memosByKey = new HashMap<>();
+
+  void add(Transaction transaction) {
+    memosByKey
+        .computeIfAbsent(
+            new DedupeKey(
+                transaction.occurredOn(),
+                transaction.direction(),
+                transaction.amount().amount(),
+                transaction.amount().currency()),
+            key -> new ArrayList<>())
+        .add(normalizeMemo(transaction.memo()));
+  }
+
+  boolean containsDuplicateOf(
+      LocalDate occurredOn,
+      TransactionDirection direction,
+      BigDecimal amount,
+      Currency currency,
+      String memo) {
+    List<String> memos = memosByKey.get(new DedupeKey(occurredOn, direction, amount, currency));
+    if (memos == null) return false;
+
+    String normalizedMemo = normalizeMemo(memo);
+    return memos.stream().anyMatch(existing -> memoEqualsIgnoreCase(existing, normalizedMemo));
+  }
+
+  private static boolean memoEqualsIgnoreCase(String left, String right) {
+    if (Objects.equals(left, right)) return true;
+    if (left == null || right == null) return false;
+
+    return left.equalsIgnoreCase(right);
+  }
+
+  /**
+   * The memo as imported transactions store it: trimmed, and null when blank. The unique import
+   * index compares {@code LOWER(BTRIM(memo))}, so memos must be normalized before they are checked
+   * and saved.
+   */
+  static String normalizeMemo(String memo) {
+    if (memo == null) return null;
+
+    String trimmedMemo = memo.trim();
+    return trimmedMemo.isEmpty() ? null : trimmedMemo;
+  }
+
+  private record DedupeKey(
+      LocalDate occurredOn, TransactionDirection direction, BigDecimal amount, Currency currency) {
+    private DedupeKey {
+      amount = amount.stripTrailingZeros();
+    }
+  }
+}
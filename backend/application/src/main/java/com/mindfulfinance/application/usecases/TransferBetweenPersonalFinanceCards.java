@@ -2,6 +2,7 @@ package com.mindfulfinance.application.usecases;
 
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.UnitOfWork;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
@@ -14,6 +15,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Currency;
+import java.util.List;
 import java.util.Objects;
 
 public final class TransferBetweenPersonalFinanceCards {
@@ -26,24 +28,39 @@ public final class TransferBetweenPersonalFinanceCards {
 
   private final PersonalFinanceCardRepository cardRepository;
   private final TransactionRepository transactionRepository;
+  private final UnitOfWork unitOfWork;
   private final Clock clock;
 
   public TransferBetweenPersonalFinanceCards(
       PersonalFinanceCardRepository cardRepository, TransactionRepository transactionRepository) {
-    this(cardRepository, transactionRepository, Clock.systemUTC());
+    this(cardRepository, transactionRepository, UnitOfWork.DIRECT);
+  }
+
+  public TransferBetweenPersonalFinanceCards(
+      PersonalFinanceCardRepository cardRepository,
+      TransactionRepository transactionRepository,
+      UnitOfWork unitOfWork) {
+    this(cardRepository, transactionRepository, unitOfWork, Clock.systemUTC());
   }
 
   TransferBetweenPersonalFinanceCards(
       PersonalFinanceCardRepository cardRepository,
       TransactionRepository transactionRepository,
+      UnitOfWork unitOfWork,
       Clock clock) {
     this.cardRepository = cardRepository;
     this.transactionRepository = transactionRepository;
+    this.unitOfWork = unitOfWork;
     this.clock = clock;
   }
 
+  /** Both legs are written together, as one batch in one unit of work. */
   public void transfer(Command command) {
     validateCommand(command);
+    unitOfWork.run(() -> transferInUnit(command));
+  }
+
+  private void transferInUnit(Command command) {
 
     PersonalFinanceCard sourceCard = requireMutableCard(command.sourceCardId());
     PersonalFinanceCard destinationCard = requireMutableCard(command.destinationCardId());
@@ -51,22 +68,22 @@ public final class TransferBetweenPersonalFinanceCards {
     Money amount = new Money(command.amount(), RUB);
     String memo = transferMemo(sourceCard.id(), destinationCard.id());
 
-    transactionRepository.save(
-        newTransferTransaction(
-            sourceCard.linkedAccountId(),
-            command.occurredOn(),
-            TransactionDirection.OUTFLOW,
-            amount,
-            memo,
-            createdAt));
-    transactionRepository.save(
-        newTransferTransaction(
-            destinationCard.linkedAccountId(),
-            command.occurredOn(),
-            TransactionDirection.INFLOW,
-            amount,
-            memo,
-            createdAt));
+    transactionRepository.saveAll(
+        List.of(
+            newTransferTransaction(
+                sourceCard.linkedAccountId(),
+                command.occurredOn(),
+                TransactionDirection.OUTFLOW,
+                amount,
+                memo,
+                createdAt),
+            newTransferTransaction(
+                destinationCard.linkedAccountId(),
+                command.occurredOn(),
+                TransactionDirection.INFLOW,
+                amount,
+                memo,
+                createdAt)));
   }
 
   private void validateCommand(Command command) {
@@ -1,6 +1,8 @@
 package com.mindfulfinance.application.usecases;
 
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.transaction.Transaction;
@@ -23,18 +25,29 @@ public final class UpdateTransaction {
   }
 
   public Optional<Transaction> update(Command command) {
-    List<Transaction> existingTransactions = transactions.findByAccountId(command.accountId());
-
-    Transaction currentTransaction =
-        existingTransactions.stream()
-            .filter(transaction -> transaction.id().equals(command.transactionId()))
-            .findFirst()
-            .orElse(null);
+    return updateVersioned(command).map(Versioned::value);
+  }
 
-    if (currentTransaction == null) {
+  /**
+   * Updates the transaction and returns it with its new version. The stored row is replaced only if
+   * it is still at the version read here, or at {@code expectedVersion} when the command has one;
+   * otherwise {@link VersionConflictException} is thrown and nothing changes.
+   */
+  public Optional<Versioned<Transaction>> updateVersioned(Command command) {
+    Optional<Versioned<Transaction>> stored =
+        transactions.findVersioned(command.accountId(), command.transactionId());
+    if (stored.isEmpty()) {
       return Optional.empty();
     }
 
+    Transaction currentTransaction = stored.get().value();
+    long expectedVersion = stored.get().version();
+    if (command.expectedVersion() != null && command.expectedVersion() != expectedVersion) {
+      throw new VersionConflictException(
+          "Transaction was changed concurrently, reload it and retry");
+    }
+
+    List<Transaction> existingTransactions = transactions.findByAccountId(command.accountId());
     String normalizedMemo = normalizeMemo(command.memo());
 
     boolean isDuplicate =
@@ -62,8 +75,8 @@ public final class UpdateTransaction {
             normalizedMemo,
             currentTransaction.createdAt());
 
-    transactions.update(updatedTransaction);
-    return Optional.of(updatedTransaction);
+    long version = transactions.update(updatedTransaction, expectedVersion);
+    return Optional.of(new Versioned<>(updatedTransaction, version));
   }
 
   private static boolean memoEqualsIgnoreCase(String left, String right) {
@@ -80,6 +93,7 @@ public final class UpdateTransaction {
     return trimmedMemo.isEmpty() ? null : trimmedMemo;
   }
 
+  /** {@code expectedVersion} is the version the caller read, or null to take the current one. */
   public record Command(
       AccountId accountId,
       TransactionId transactionId,
@@ -87,5 +101,17 @@ public final class UpdateTransaction {
       java.time.LocalDate occurredOn,
       TransactionDirection direction,
       BigDecimal amount,
-      String memo) {}
+      String memo,
+      Long expectedVersion) {
+    public Command(
+        AccountId accountId,
+        TransactionId transactionId,
+        Currency currency,
+        java.time.LocalDate occurredOn,
+        TransactionDirection direction,
+        BigDecimal amount,
+        String memo) {
+      this(accountId, transactionId, currency, occurredOn, direction, amount, memo, null);
+    }
+  }
 }
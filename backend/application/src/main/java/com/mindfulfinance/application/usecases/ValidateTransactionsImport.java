@@ -0,0 +1,126 @@
+package com.mindfulfinance.application.usecases;
+
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_ROW_CURRENCY_MISMATCH;
+
+import com.mindfulfinance.application.ports.AccountRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.shared.DomainErrorCode;
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Checks every row of an import without saving anything and reports all problems at once, so a file
+ * can be fixed in one pass instead of one upload per error. Row checks return error codes rather
+ * than throwing, keeping the cost of a file full of bad rows linear in its size.
+ */
+public final class ValidateTransactionsImport {
+  public static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final AccountRepository accounts;
+
+  public ValidateTransactionsImport(AccountRepository accounts) {
+    this.accounts = accounts;
+  }
+
+  /**
+   * Consumes the candidates and returns a report. Every invalid row is counted, but only the first
+   * {@link #MAX_REPORTED_ERRORS} errors are listed, so the report stays small for huge files.
+   */
+  public Report validate(AccountId accountId, Stream<Candidate> candidates) {
+    Account account =
+        accounts
+            .find(accountId)
+            .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+    Map<DomainErrorCode, Integer> errorCounts = new EnumMap<>(DomainErrorCode.class);
+    List<RowError> errors = new ArrayList<>();
+    int rowCount = 0;
+    int invalidRowCount = 0;
+
+    Iterator<Candidate> iterator = candidates.iterator();
+    while (iterator.hasNext()) {
+      Candidate candidate = iterator.next();
+      rowCount++;
+
+      RowError error =
+          candidate.error() != null
+              ? candidate.error()
+              : check(account, candidate.lineNumber(), candidate.row());
+      if (error == null) continue;
+
+      invalidRowCount++;
+      errorCounts.merge(error.code(), 1, Integer::sum);
+      if (errors.size() < MAX_REPORTED_ERRORS) errors.add(error);
+    }
+
+    return new Report(
+        rowCount,
+        rowCount - invalidRowCount,
+        Collections.unmodifiableMap(errorCounts),
+        List.copyOf(errors),
+        invalidRowCount > errors.size());
+  }
+
+  /** Applies the checks {@link ImportTransactions} would fail on, without building exceptions. */
+  static RowError check(Account account, int lineNumber, ImportTransactions.Row row) {
+    if (!row.currency().equals(account.currency())) {
+      return new RowError(lineNumber, "currency", IMPORT_ROW_CURRENCY_MISMATCH);
+    }
+
+    Optional<DomainErrorCode> moneyViolation = Money.violation(row.amount(), account.currency());
+    if (moneyViolation.isPresent()) {
+      return new RowError(lineNumber, "amount", moneyViolation.get());
+    }
+
+    Optional<DomainErrorCode> amountViolation =
+        Transaction.amountViolation(new Money(row.amount(), account.currency()));
+    return amountViolation.map(code -> new RowError(lineNumber, "amount", code)).orElse(null);
+  }
+
+  /**
+   * One data row of the file: either the parsed {@code row} or the {@code error} that stopped it
+   * from being parsed.
+   */
+  public record Candidate(int lineNumber, ImportTransactions.Row row, RowError error) {
+    public Candidate {
+      if ((row == null) == (error == null)) {
+        throw new IllegalArgumentException("Candidate must have either a row or an error");
+      }
+    }
+
+    public static Candidate parsed(int lineNumber, ImportTransactions.Row row) {
+      return new Candidate(lineNumber, Objects.requireNonNull(row, "row"), null);
+    }
+
+    public static Candidate rejected(RowError error) {
+      return new Candidate(error.lineNumber(), null, Objects.requireNonNull(error, "error"));
+    }
+  }
+
+  /** A problem with one row; {@code column} is {@code null} when the whole row is malformed. */
+  public record RowError(int lineNumber, String column, DomainErrorCode code) {}
+
+  public record Report(
+      int rowCount,
+      int validRowCount,
+      Map<DomainErrorCode, Integer> errorCounts,
+      List<RowError> errors,
+      boolean truncated) {
+    public int invalidRowCount() {
+      return rowCount - validRowCount;
+    }
+
+    public boolean valid() {
+      return rowCount == validRowCount;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package com.mindfulfinance.application.ports;
+
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
+import com.mindfulfinance.domain.importjob.ImportJobProgress;
+import com.mindfulfinance.domain.importjob.ImportJobStatus;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory implementation of the ImportJobRepository for testing purposes. Workers and test
+ * threads use it at the same time, so every method holds the instance lock. Only the most recently
+ * finished jobs are kept, as in the API's in-memory adapter.
+ */
+public final class InMemoryImportJobRepository implements ImportJobRepository {
+  private static final String ABANDONED_ERROR = "Import job stopped reporting progress";
+  private static final String NEVER_STARTED_ERROR = "Import job was never started by its server";
+
+  /** How many finished jobs {@link #InMemoryImportJobRepository()} keeps. */
+  public static final int DEFAULT_RETAINED_FINISHED_JOBS = 1000;
+
+  private final Map<ImportJobId, ImportJob> store = new HashMap<>();
+  // Finished jobs, oldest first; the oldest is forgotten once there are more than retained.
+  private final Deque<ImportJobId> finished = new ArrayDeque<>();
+  private final int retainedFinishedJobs;
+
+  public InMemoryImportJobRepository() {
+    this(DEFAULT_RETAINED_FINISHED_JOBS);
+  }
+
+  public InMemoryImportJobRepository(int retainedFinishedJobs) {
+    if (retainedFinishedJobs < 0) {
+      throw new IllegalArgumentException("Retained finished jobs must not be negative");
+    }
+    this.retainedFinishedJobs = retainedFinishedJobs;
+  }
+
+  @Override
+  public synchronized void save(ImportJob job) {
+    put(job.id(), job);
+  }
+
+  @Override
+  public synchronized Optional<ImportJob> find(ImportJobId id) {
+    return Optional.ofNullable(store.get(id));
+  }
+
+  @Override
+  public synchronized boolean tryStart(ImportJobId id, Instant now, Instant staleBefore) {
+    ImportJob job = store.get(id);
+    if (job == null || job.status() != ImportJobStatus.QUEUED) return false;
+
+    for (ImportJob other : store.values().stream().toList()) {
+      if (!other.accountId().equals(job.accountId()) || other.status() != ImportJobStatus.RUNNING) {
+        continue;
+      }
+      if (!other.updatedAt().isBefore(staleBefore)) {
+        put(id, with(job, job.status(), job.progress(), null, now));
+        return false;
+      }
+      put(other.id(), with(other, ImportJobStatus.FAILED, other.progress(), ABANDONED_ERROR, now));
+    }
+
+    put(id, with(job, ImportJobStatus.RUNNING, job.progress(), null, now));
+    return true;
+  }
+
+  @Override
+  public synchronized void refreshQueued(Collection<ImportJobId> ids, Instant now) {
+    for (ImportJobId id : ids) {
+      ImportJob job = store.get(id);
+      if (job != null && job.status() == ImportJobStatus.QUEUED) {
+        put(id, with(job, job.status(), job.progress(), null, now));
+      }
+    }
+  }
+
+  @Override
+  public synchronized void failAbandoned(Instant now, Instant staleBefore) {
+    for (ImportJob job : store.values().stream().toList()) {
+      if (!job.updatedAt().isBefore(staleBefore)) continue;
+      if (job.status() == ImportJobStatus.RUNNING) {
+        put(job.id(), with(job, ImportJobStatus.FAILED, job.progress(), ABANDONED_ERROR, now));
+      } else if (job.status() == ImportJobStatus.QUEUED) {
+        put(job.id(), with(job, ImportJobStatus.FAILED, job.progress(), NEVER_STARTED_ERROR, now));
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean recordProgress(
+      ImportJobId id, ImportJobProgress progress, Instant now) {
+    ImportJob job = store.get(id);
+    if (job == null || job.status() != ImportJobStatus.RUNNING) return true;
+
+    put(id, with(job, job.status(), progress, null, now));
+    return job.cancelRequested();
+  }
+
+  @Override
+  public synchronized void finish(
+      ImportJobId id,
+      ImportJobStatus status,
+      ImportJobProgress progress,
+      String error,
+      Instant now) {
+    ImportJob job = store.get(id);
+    if (job == null || job.status().isFinished()) return;
+
+    put(id, with(job, status, progress, error, now));
+  }
+
+  @Override
+  public synchronized Optional<ImportJob> requestCancel(ImportJobId id, Instant now) {
+    ImportJob job = store.get(id);
+    if (job == null) return Optional.empty();
+
+    ImportJob updated =
+        switch (job.status()) {
+          case QUEUED -> with(job, ImportJobStatus.CANCELLED, job.progress(), null, now);
+          case RUNNING ->
+              new ImportJob(
+                  job.id(),
+                  job.accountId(),
+                  job.status(),
+                  job.progress(),
+                  true,
+                  job.error(),
+                  job.createdAt(),
+                  now);
+          default -> job;
+        };
+    put(id, updated);
+    return Optional.of(updated);
+  }
+
+  private void put(ImportJobId id, ImportJob job) {
+    ImportJob previous = store.put(id, job);
+    if (!job.status().isFinished() || (previous != null && previous.status().isFinished())) return;
+
+    finished.addLast(id);
+    while (finished.size() > retainedFinishedJobs) {
+      store.remove(finished.removeFirst());
+    }
+  }
+
+  private static ImportJob with(
+      ImportJob job,
+      ImportJobStatus status,
+      ImportJobProgress progress,
+      String error,
+      Instant now) {
+    return new ImportJob(
+        job.id(),
+        job.accountId(),
+        status,
+        progress,
+        job.cancelRequested(),
+        error,
+        job.createdAt(),
+        now);
+  }
+}
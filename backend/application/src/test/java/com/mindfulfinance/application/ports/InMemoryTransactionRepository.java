@@ -7,19 +7,31 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /** In-memory implementation of the TransactionRepository for testing purposes. */
 public final class InMemoryTransactionRepository implements TransactionRepository {
   private final Map<AccountId, List<Transaction>> byAccount = new HashMap<>();
+  private final Map<TransactionId, Long> versions = new HashMap<>();
 
   @Override
   public List<Transaction> findByAccountId(AccountId accountId) {
     return List.copyOf(byAccount.getOrDefault(accountId, List.of()));
   }
 
+  @Override
+  public Optional<Versioned<Transaction>> findVersioned(
+      AccountId accountId, TransactionId transactionId) {
+    return byAccount.getOrDefault(accountId, List.of()).stream()
+        .filter(transaction -> transaction.id().equals(transactionId))
+        .findFirst()
+        .map(transaction -> new Versioned<>(transaction, versions.get(transactionId)));
+  }
+
   @Override
   public void save(Transaction tx) {
     byAccount.computeIfAbsent(tx.accountId(), e -> new ArrayList<>()).add(tx);
+    versions.put(tx.id(), 1L);
   }
 
   @Override
@@ -32,6 +44,7 @@ public final class InMemoryTransactionRepository implements TransactionRepositor
     for (int index = 0; index < transactions.size(); index++) {
       if (transactions.get(index).id().equals(tx.id())) {
         transactions.set(index, tx);
+        versions.merge(tx.id(), 1L, Long::sum);
         return;
       }
     }
@@ -39,6 +52,17 @@ public final class InMemoryTransactionRepository implements TransactionRepositor
     throw new IllegalStateException("Transaction not found");
   }
 
+  @Override
+  public long update(Transaction tx, long expectedVersion) {
+    Optional<Versioned<Transaction>> stored = findVersioned(tx.accountId(), tx.id());
+    if (stored.isEmpty() || stored.get().version() != expectedVersion) {
+      throw new VersionConflictException("Transaction was changed concurrently");
+    }
+
+    update(tx);
+    return expectedVersion + 1;
+  }
+
   @Override
   public boolean delete(AccountId accountId, TransactionId transactionId) {
     List<Transaction> transactions = byAccount.get(accountId);
@@ -46,6 +70,8 @@ public final class InMemoryTransactionRepository implements TransactionRepositor
       return false;
     }
 
-    return transactions.removeIf(transaction -> transaction.id().equals(transactionId));
+    boolean removed = transactions.removeIf(transaction -> transaction.id().equals(transactionId));
+    if (removed) versions.remove(transactionId);
+    return removed;
   }
 }
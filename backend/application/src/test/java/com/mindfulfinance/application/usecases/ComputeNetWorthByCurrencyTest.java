@@ -152,4 +152,21 @@ public class ComputeNetWorthByCurrencyTest {
         new Money(new BigDecimal("100.00"), Currency.getInstance("USD")),
         computeNetWorth.compute().get(Currency.getInstance("USD")));
   }
+
+  @Test
+  @DisplayName("Active account without transactions contributes a zero total")
+  void testActiveAccountWithoutTransactionsContributesZero() {
+    accounts.save(
+        new Account(
+            AccountId.random(),
+            "Empty Account",
+            Currency.getInstance("EUR"),
+            CASH,
+            ACTIVE,
+            Instant.now()));
+
+    assertEquals(
+        Money.zero(Currency.getInstance("EUR")),
+        computeNetWorth.compute().get(Currency.getInstance("EUR")));
+  }
 }
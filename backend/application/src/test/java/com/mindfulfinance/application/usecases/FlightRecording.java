@@ -0,0 +1,54 @@
+package com.mindfulfinance.application.usecases;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/** Records the named {@link FlightEvents} while a piece of work runs, regardless of threshold. */
+final class FlightRecording {
+  private FlightRecording() {}
+
+  static List<RecordedEvent> events(Runnable work, String... eventNames) throws IOException {
+    Path file = Files.createTempFile("flight-events", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String eventName : eventNames) {
+        recording.enable(eventName).withThreshold(Duration.ZERO);
+      }
+      recording.start();
+      work.run();
+      recording.stop();
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  static RecordedEvent single(List<RecordedEvent> events, String eventName) {
+    List<RecordedEvent> named =
+        events.stream().filter(event -> event.getEventType().getName().equals(eventName)).toList();
+    assertEquals(1, named.size(), eventName + " events: " + named);
+    return named.get(0);
+  }
+
+  /** Asserts that the phase fields of {@code event} add up to no more than its duration. */
+  static void assertPhasesWithinDuration(RecordedEvent event, String... phaseFields) {
+    long phases = 0;
+    for (String field : phaseFields) {
+      long phase = event.getLong(field);
+      assertTrue(phase >= 0, field + " of " + event);
+      phases += phase;
+    }
+    assertTrue(
+        phases <= event.getDuration().toNanos() + Duration.ofMillis(1).toNanos(),
+        "phases " + phases + " ns exceed " + event);
+  }
+}
@@ -0,0 +1,338 @@
+package com.mindfulfinance.application.usecases;
+
+import static com.mindfulfinance.domain.account.AccountStatus.ACTIVE;
+import static com.mindfulfinance.domain.account.AccountType.CASH;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_ROW_AMOUNT_INVALID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mindfulfinance.application.ports.InMemoryAccountRepository;
+import com.mindfulfinance.application.ports.InMemoryImportJobRepository;
+import com.mindfulfinance.application.ports.InMemoryTransactionRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
+import com.mindfulfinance.domain.importjob.ImportJobProgress;
+import com.mindfulfinance.domain.importjob.ImportJobStatus;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ImportJobSchedulerTest {
+  InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+  InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+  InMemoryImportJobRepository jobs = new InMemoryImportJobRepository();
+  ScheduledExecutorService workers = Executors.newScheduledThreadPool(2);
+  ImportJobScheduler scheduler =
+      new ImportJobScheduler(
+          jobs,
+          accounts,
+          new ImportTransactions(accounts, transactions, 2),
+          workers,
+          new ImportJobScheduler.Settings(
+              3, Duration.ofMillis(10), Duration.ofMinutes(5), Duration.ofSeconds(5)));
+
+  @AfterEach
+  void tearDown() {
+    scheduler.close();
+  }
+
+  @Test
+  @DisplayName("Should import valid rows in the background and count duplicates and failures")
+  void shouldImportInBackgroundAndReportCounts() {
+    AccountId accountId = saveUsdAccount();
+    TestSource source =
+        new TestSource(
+            () ->
+                Stream.of(
+                    parsed(2, "10.00"),
+                    parsed(3, "10.00"),
+                    ValidateTransactionsImport.Candidate.rejected(
+                        new ValidateTransactionsImport.RowError(
+                            4, "amount", IMPORT_ROW_AMOUNT_INVALID)),
+                    parsed(5, "-1.00"),
+                    parsed(6, "20.00")));
+
+    ImportJob queued = scheduler.submit(accountId, source);
+    ImportJob finished = awaitFinished(queued.id());
+
+    assertEquals(ImportJobStatus.SUCCEEDED, finished.status());
+    assertEquals(new ImportJobProgress(5, 2, 1, 2), finished.progress());
+    assertEquals(2, transactions.findByAccountId(accountId).size());
+    awaitDiscarded(source);
+  }
+
+  @Test
+  @DisplayName("Should run jobs of one account one at a time in submission order")
+  void shouldSerializeJobsOfOneAccount() throws InterruptedException {
+    AccountId accountId = saveUsdAccount();
+    CountDownLatch firstOpened = new CountDownLatch(1);
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    TestSource first =
+        new TestSource(
+            () -> {
+              firstOpened.countDown();
+              await(releaseFirst);
+              return Stream.of(parsed(2, "10.00"));
+            });
+    TestSource second = new TestSource(() -> Stream.of(parsed(2, "10.00")));
+
+    ImportJob firstJob = scheduler.submit(accountId, first);
+    assertTrue(firstOpened.await(5, TimeUnit.SECONDS));
+    ImportJob secondJob = scheduler.submit(accountId, second);
+    Thread.sleep(50);
+
+    assertEquals(ImportJobStatus.RUNNING, status(firstJob.id()));
+    assertEquals(ImportJobStatus.QUEUED, status(secondJob.id()));
+    assertFalse(second.opened.get());
+
+    releaseFirst.countDown();
+
+    assertEquals(new ImportJobProgress(1, 1, 0, 0), awaitFinished(firstJob.id()).progress());
+    assertEquals(new ImportJobProgress(1, 0, 1, 0), awaitFinished(secondJob.id()).progress());
+  }
+
+  @Test
+  @DisplayName("Should stop a running job at the next chunk when it is cancelled")
+  void shouldCancelRunningJobAtChunkBoundary() {
+    AccountId accountId = saveUsdAccount();
+    TestSource endless =
+        new TestSource(
+            () -> IntStream.iterate(1, i -> i + 1).mapToObj(i -> parsed(i + 1, i + ".00")));
+
+    ImportJob job = scheduler.submit(accountId, endless);
+    awaitStatus(job.id(), ImportJobStatus.RUNNING);
+    assertTrue(scheduler.cancel(job.id()).orElseThrow().cancelRequested());
+    ImportJob finished = awaitFinished(job.id());
+
+    assertEquals(ImportJobStatus.CANCELLED, finished.status());
+    assertEquals(
+        finished.progress().importedCount(), transactions.findByAccountId(accountId).size());
+    awaitDiscarded(endless);
+  }
+
+  @Test
+  @DisplayName("Should cancel a queued job without ever reading its rows")
+  void shouldCancelQueuedJob() {
+    AccountId accountId = saveUsdAccount();
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    ImportJob firstJob =
+        scheduler.submit(
+            accountId,
+            new TestSource(
+                () -> {
+                  await(releaseFirst);
+                  return Stream.of(parsed(2, "10.00"));
+                }));
+    TestSource second = new TestSource(() -> Stream.of(parsed(2, "30.00")));
+    ImportJob secondJob = scheduler.submit(accountId, second);
+
+    assertEquals(
+        ImportJobStatus.CANCELLED, scheduler.cancel(secondJob.id()).orElseThrow().status());
+    releaseFirst.countDown();
+    awaitFinished(firstJob.id());
+    awaitDiscarded(second);
+
+    assertFalse(second.opened.get());
+    assertEquals(1, transactions.findByAccountId(accountId).size());
+  }
+
+  @Test
+  @DisplayName("Should wait while another replica runs a job for the same account")
+  void shouldWaitForJobRunningOnAnotherReplica() throws InterruptedException {
+    AccountId accountId = saveUsdAccount();
+    ImportJob otherReplicaJob =
+        ImportJob.queued(ImportJobId.random(), accountId, Instant.now().minusSeconds(1));
+    jobs.save(otherReplicaJob);
+    jobs.tryStart(otherReplicaJob.id(), Instant.now(), Instant.EPOCH);
+
+    ImportJob job = scheduler.submit(accountId, new TestSource(() -> Stream.of(parsed(2, "1.00"))));
+    Thread.sleep(100);
+    assertEquals(ImportJobStatus.QUEUED, status(job.id()));
+
+    jobs.finish(
+        otherReplicaJob.id(),
+        ImportJobStatus.SUCCEEDED,
+        ImportJobProgress.NONE,
+        null,
+        Instant.now());
+
+    assertEquals(ImportJobStatus.SUCCEEDED, awaitFinished(job.id()).status());
+  }
+
+  @Test
+  @DisplayName("Should fail a job left queued by a replica that stopped")
+  void shouldFailJobLeftQueuedByStoppedReplica() {
+    AccountId accountId = saveUsdAccount();
+    ImportJob orphaned =
+        ImportJob.queued(ImportJobId.random(), accountId, Instant.now().minusSeconds(60));
+    jobs.save(orphaned);
+
+    try (ImportJobScheduler sweeping =
+        new ImportJobScheduler(
+            jobs,
+            accounts,
+            new ImportTransactions(accounts, transactions, 2),
+            Executors.newScheduledThreadPool(1),
+            new ImportJobScheduler.Settings(
+                3, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(5)))) {
+      ImportJob failed = awaitFinished(orphaned.id());
+
+      assertEquals(ImportJobStatus.FAILED, failed.status());
+      assertEquals("Import job was never started by its server", failed.error());
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep jobs waiting for a worker queued for longer than the stale window")
+  void shouldKeepJobsWaitingForWorkerQueued() {
+    try (ImportJobScheduler busy =
+        new ImportJobScheduler(
+            jobs,
+            accounts,
+            new ImportTransactions(accounts, transactions, 2),
+            Executors.newScheduledThreadPool(1),
+            new ImportJobScheduler.Settings(
+                3, Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofSeconds(5)))) {
+      // Each import takes about 300ms, and reports progress every other row.
+      Supplier<Stream<ValidateTransactionsImport.Candidate>> slow =
+          () ->
+              IntStream.rangeClosed(1, 12)
+                  .mapToObj(line -> parsed(line + 1, line + ".00"))
+                  .peek(candidate -> sleep(25));
+      ImportJob first = busy.submit(saveUsdAccount(), new TestSource(slow));
+      ImportJob second = busy.submit(saveUsdAccount(), new TestSource(slow));
+      ImportJob third = busy.submit(saveUsdAccount(), new TestSource(slow));
+
+      assertEquals(ImportJobStatus.SUCCEEDED, awaitFinished(first.id()).status());
+      assertEquals(ImportJobStatus.SUCCEEDED, awaitFinished(second.id()).status());
+      assertEquals(ImportJobStatus.SUCCEEDED, awaitFinished(third.id()).status());
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject submissions above the unfinished job limit")
+  void shouldRejectSubmissionsAboveLimit() {
+    AccountId accountId = saveUsdAccount();
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<Stream<ValidateTransactionsImport.Candidate>> blocked =
+        () -> {
+          await(release);
+          return Stream.empty();
+        };
+    for (int i = 0; i < 3; i++) scheduler.submit(accountId, new TestSource(blocked));
+    TestSource rejected = new TestSource(Stream::empty);
+
+    assertThrows(IllegalStateException.class, () -> scheduler.submit(accountId, rejected));
+    assertTrue(rejected.discarded.get());
+    release.countDown();
+  }
+
+  private AccountId saveUsdAccount() {
+    AccountId accountId = AccountId.random();
+    accounts.save(
+        new Account(
+            accountId,
+            "Cash",
+            Currency.getInstance("USD"),
+            CASH,
+            ACTIVE,
+            Instant.parse("2026-03-03T00:00:00Z")));
+    return accountId;
+  }
+
+  private ImportJobStatus status(ImportJobId id) {
+    return jobs.find(id).orElseThrow().status();
+  }
+
+  private ImportJob awaitFinished(ImportJobId id) {
+    return awaitJob(id, job -> job.status().isFinished());
+  }
+
+  private void awaitStatus(ImportJobId id, ImportJobStatus status) {
+    awaitJob(id, job -> job.status() == status);
+  }
+
+  private ImportJob awaitJob(ImportJobId id, Predicate<ImportJob> condition) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      ImportJob job = jobs.find(id).orElseThrow();
+      if (condition.test(job)) return job;
+      sleep(5);
+    }
+    throw new AssertionError("Import job did not reach the expected state: " + jobs.find(id));
+  }
+
+  private static void awaitDiscarded(TestSource source) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!source.discarded.get() && System.nanoTime() < deadline) sleep(5);
+    assertTrue(source.discarded.get());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new AssertionError(ex);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ValidateTransactionsImport.Candidate parsed(int lineNumber, String amount) {
+    return ValidateTransactionsImport.Candidate.parsed(
+        lineNumber,
+        new ImportTransactions.Row(
+            LocalDate.of(2026, 3, 1),
+            TransactionDirection.OUTFLOW,
+            new BigDecimal(amount),
+            Currency.getInstance("USD"),
+            null));
+  }
+
+  private static final class TestSource implements ImportJobScheduler.Source {
+    private final Supplier<Stream<ValidateTransactionsImport.Candidate>> rows;
+    private final AtomicBoolean opened = new AtomicBoolean();
+    private final AtomicBoolean discarded = new AtomicBoolean();
+
+    private TestSource(Supplier<Stream<ValidateTransactionsImport.Candidate>> rows) {
+      this.rows = rows;
+    }
+
+    @Override
+    public Stream<ValidateTransactionsImport.Candidate> open() {
+      opened.set(true);
+      return rows.get();
+    }
+
+    @Override
+    public void discard() {
+      discarded.set(true);
+    }
+  }
+}
@@ -15,6 +15,9 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Currency;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import jdk.jfr.consumer.RecordedEvent;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -161,4 +164,106 @@ public class ImportTransactionsTest {
     assertEquals(0, second.importedCount());
     assertEquals(1, transactions.findByAccountId(accountId).size());
   }
+
+  @Test
+  @DisplayName("Should import a lazy row stream in chunks and skip duplicates across chunks")
+  void shouldImportLazyRowStreamInChunksAndSkipDuplicatesAcrossChunks() {
+    AccountId accountId = AccountId.random();
+    accounts.save(usdAccount(accountId));
+
+    ImportTransactions useCase = new ImportTransactions(accounts, transactions, 2);
+
+    ImportTransactions.Result result =
+        useCase.importRows(
+            accountId,
+            Stream.of(
+                usdRow(LocalDate.of(2026, 3, 1), "100.00", "Salary"),
+                usdRow(LocalDate.of(2026, 3, 2), "15.50", "Coffee"),
+                usdRow(LocalDate.of(2026, 3, 1), "100", "SALARY"),
+                usdRow(LocalDate.of(2026, 3, 3), "42.00", null),
+                usdRow(LocalDate.of(2026, 3, 3), "42.00", " ")));
+
+    assertEquals(5, result.receivedCount());
+    assertEquals(3, result.importedCount());
+    assertEquals(2, result.skippedCount());
+    assertEquals(3, transactions.findByAccountId(accountId).size());
+  }
+
+  @Test
+  @DisplayName("Should keep chunks written before a failing row of a stream")
+  void shouldKeepChunksWrittenBeforeFailingRowOfStream() {
+    AccountId accountId = AccountId.random();
+    accounts.save(usdAccount(accountId));
+
+    ImportTransactions useCase = new ImportTransactions(accounts, transactions, 2);
+    Stream<ImportTransactions.Row> rows =
+        Stream.<Supplier<ImportTransactions.Row>>of(
+                () -> usdRow(LocalDate.of(2026, 3, 1), "10.00", "First"),
+                () -> usdRow(LocalDate.of(2026, 3, 2), "20.00", "Second"),
+                () -> usdRow(LocalDate.of(2026, 3, 3), "30.00", "Third"),
+                () -> {
+                  throw new IllegalArgumentException("Row 5 has invalid amount 'x'");
+                })
+            .map(Supplier::get);
+
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> useCase.importRows(accountId, rows));
+
+    assertEquals("Row 5 has invalid amount 'x'", exception.getMessage());
+    assertEquals(2, transactions.findByAccountId(accountId).size());
+  }
+
+  @Test
+  @DisplayName("Should reject a non-positive import chunk size")
+  void shouldRejectNonPositiveImportChunkSize() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new ImportTransactions(accounts, transactions, 0));
+  }
+
+  @Test
+  @DisplayName("Should record an import run with its rows, chunks and phase timings")
+  void shouldRecordImportRunFlightEvent() throws Exception {
+    AccountId accountId = AccountId.random();
+    accounts.save(usdAccount(accountId));
+    ImportTransactions useCase = new ImportTransactions(accounts, transactions, 2);
+    useCase.importRows(accountId, List.of(usdRow(LocalDate.of(2026, 3, 1), "10.00", "Coffee")));
+
+    List<RecordedEvent> events =
+        FlightRecording.events(
+            () ->
+                useCase.importRows(
+                    accountId,
+                    List.of(
+                        usdRow(LocalDate.of(2026, 3, 1), "10.00", "Coffee"),
+                        usdRow(LocalDate.of(2026, 3, 2), "20.00", "Taxi"),
+                        usdRow(LocalDate.of(2026, 3, 3), "30.00", "Books"))),
+            "com.mindfulfinance.ImportRun");
+
+    RecordedEvent importRun = FlightRecording.single(events, "com.mindfulfinance.ImportRun");
+    assertEquals(accountId.value().hashCode(), importRun.getInt("accountIdHash"));
+    assertEquals(3, importRun.getInt("rowsReceived"));
+    assertEquals(2, importRun.getInt("rowsImported"));
+    assertEquals(2, importRun.getInt("chunks"));
+    FlightRecording.assertPhasesWithinDuration(
+        importRun, "readTime", "fetchTime", "computeTime", "writeTime");
+  }
+
+  private static Account usdAccount(AccountId accountId) {
+    return new Account(
+        accountId,
+        "Cash",
+        Currency.getInstance("USD"),
+        CASH,
+        ACTIVE,
+        Instant.parse("2026-03-03T00:00:00Z"));
+  }
+
+  private static ImportTransactions.Row usdRow(LocalDate occurredOn, String amount, String memo) {
+    return new ImportTransactions.Row(
+        occurredOn,
+        TransactionDirection.OUTFLOW,
+        new BigDecimal(amount),
+        Currency.getInstance("USD"),
+        memo);
+  }
 }
@@ -0,0 +1,317 @@
+package com.mindfulfinance.application.usecases;
+
+import static com.mindfulfinance.domain.account.AccountStatus.ACTIVE;
+import static com.mindfulfinance.domain.account.AccountType.CASH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.mindfulfinance.application.ports.InMemoryAccountRepository;
+import com.mindfulfinance.application.ports.InMemoryTransactionRepository;
+import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.Versioned;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardStatus;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class IngestTransactionsTest {
+  InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+  CountingTransactionRepository transactions = new CountingTransactionRepository();
+  LinkedCardRepository cards = new LinkedCardRepository();
+
+  @Test
+  @DisplayName("Should import items of several accounts with one save per batch")
+  void shouldImportItemsOfSeveralAccountsInBatches() {
+    AccountId cash = saveAccount("USD");
+    AccountId broker = saveAccount("EUR");
+    IngestTransactions useCase = new IngestTransactions(accounts, cards, transactions, 2);
+    List<IngestTransactions.ItemResult> results = new ArrayList<>();
+
+    IngestTransactions.Summary summary =
+        useCase.ingest(
+            Stream.of(
+                item(1, cash, "10.00", "Coffee"),
+                item(2, broker, "20.00", null),
+                item(3, cash, "30.00", null)),
+            results::add);
+
+    assertEquals(new IngestTransactions.Summary(3, 3, 0, 0), summary);
+    assertEquals(
+        List.of(1, 2, 3), results.stream().map(IngestTransactions.ItemResult::lineNumber).toList());
+    results.forEach(result -> assertNotNull(result.transactionId()));
+    assertEquals(2, transactions.delegate.findByAccountId(cash).size());
+    assertEquals(
+        Currency.getInstance("EUR"),
+        transactions.delegate.findByAccountId(broker).get(0).amount().currency());
+    assertEquals(2, transactions.saveAllCalls);
+  }
+
+  @Test
+  @DisplayName("Should report duplicates of stored transactions and of earlier items")
+  void shouldReportDuplicates() {
+    AccountId cash = saveAccount("USD");
+    IngestTransactions useCase = new IngestTransactions(accounts, cards, transactions);
+    useCase.ingest(Stream.of(item(1, cash, "10.00", "Coffee")), result -> {});
+    List<IngestTransactions.ItemResult> results = new ArrayList<>();
+
+    IngestTransactions.Summary summary =
+        useCase.ingest(
+            Stream.of(
+                item(1, cash, "10", "  coffee "),
+                item(2, cash, "12.00", "Lunch"),
+                item(3, cash, "12.00", "lunch")),
+            results::add);
+
+    assertEquals(new IngestTransactions.Summary(3, 1, 2, 0), summary);
+    assertEquals(
+        List.of(
+            IngestTransactions.Outcome.DUPLICATE,
+            IngestTransactions.Outcome.IMPORTED,
+            IngestTransactions.Outcome.DUPLICATE),
+        results.stream().map(IngestTransactions.ItemResult::outcome).toList());
+    assertEquals(2, transactions.delegate.findByAccountId(cash).size());
+  }
+
+  @Test
+  @DisplayName("Should store memos trimmed and blank as null, and dedupe within a batch on them")
+  void shouldNormalizeMemosBeforeDedupeAndSave() {
+    AccountId cash = saveAccount("USD");
+    IngestTransactions useCase = new IngestTransactions(accounts, cards, transactions);
+    List<IngestTransactions.ItemResult> results = new ArrayList<>();
+
+    IngestTransactions.Summary summary =
+        useCase.ingest(
+            Stream.of(
+                item(1, cash, "10.00", " Coffee "),
+                item(2, cash, "10.00", "coffee"),
+                item(3, cash, "12.00", ""),
+                item(4, cash, "12.00", null),
+                item(5, cash, "12.00", "   ")),
+            results::add);
+
+    assertEquals(new IngestTransactions.Summary(5, 2, 3, 0), summary);
+    assertEquals(
+        List.of(
+            IngestTransactions.Outcome.IMPORTED,
+            IngestTransactions.Outcome.DUPLICATE,
+            IngestTransactions.Outcome.IMPORTED,
+            IngestTransactions.Outcome.DUPLICATE,
+            IngestTransactions.Outcome.DUPLICATE),
+        results.stream().map(IngestTransactions.ItemResult::outcome).toList());
+    assertEquals(
+        Arrays.asList("Coffee", null),
+        transactions.delegate.findByAccountId(cash).stream()
+            .sorted(Comparator.comparing(transaction -> transaction.amount().amount()))
+            .map(Transaction::memo)
+            .toList());
+  }
+
+  @Test
+  @DisplayName("Should reject bad items without failing the rest of the batch")
+  void shouldRejectBadItemsIndividually() {
+    AccountId cash = saveAccount("USD");
+    AccountId linked = saveAccount("USD");
+    cards.card =
+        new PersonalFinanceCard(
+            PersonalFinanceCardId.random(),
+            "Card",
+            linked,
+            Instant.parse("2026-03-03T00:00:00Z"),
+            PersonalFinanceCardStatus.ACTIVE);
+    IngestTransactions useCase = new IngestTransactions(accounts, cards, transactions);
+    List<IngestTransactions.ItemResult> results = new ArrayList<>();
+
+    IngestTransactions.Summary summary =
+        useCase.ingest(
+            Stream.of(
+                IngestTransactions.Item.unreadable(1, "Malformed JSON"),
+                item(2, AccountId.random(), "1.00", null),
+                item(3, linked, "1.00", null),
+                item(4, cash, "-1.00", null),
+                item(5, cash, "1.001", null),
+                IngestTransactions.Item.parsed(
+                    6, cash, null, TransactionDirection.OUTFLOW, BigDecimal.ONE, null),
+                item(7, cash, "1.00", null)),
+            results::add);
+
+    assertEquals(new IngestTransactions.Summary(7, 1, 0, 6), summary);
+    assertEquals(
+        List.of(
+            "Malformed JSON",
+            "Account not found",
+            "Account not found",
+            "amount must be positive",
+            "amount has too many decimal places for USD",
+            "occurredOn is required"),
+        results.subList(0, 6).stream().map(IngestTransactions.ItemResult::error).toList());
+    assertEquals(IngestTransactions.Outcome.IMPORTED, results.get(6).outcome());
+    assertEquals(1, transactions.delegate.findByAccountId(cash).size());
+  }
+
+  @Test
+  @DisplayName("Should reject the items of a batch that fails to save and go on with the next")
+  void shouldRejectItemsOfFailedBatchAndContinue() {
+    AccountId cash = saveAccount("USD");
+    transactions.failingSaveAllCall = 2;
+    IngestTransactions useCase = new IngestTransactions(accounts, cards, transactions, 2);
+    List<IngestTransactions.ItemResult> results = new ArrayList<>();
+
+    IngestTransactions.Summary summary =
+        useCase.ingest(
+            Stream.of(
+                item(1, cash, "1.00", null),
+                item(2, cash, "2.00", null),
+                item(3, cash, "3.00", null),
+                item(4, cash, "-4.00", null),
+                item(5, cash, "5.00", null)),
+            results::add);
+
+    assertEquals(new IngestTransactions.Summary(5, 3, 0, 2), summary);
+    assertEquals(
+        List.of(
+            IngestTransactions.Outcome.IMPORTED,
+            IngestTransactions.Outcome.IMPORTED,
+            IngestTransactions.Outcome.REJECTED,
+            IngestTransactions.Outcome.REJECTED,
+            IngestTransactions.Outcome.IMPORTED),
+        results.stream().map(IngestTransactions.ItemResult::outcome).toList());
+    assertEquals(IngestTransactions.BATCH_FAILED, results.get(2).error());
+    assertEquals("amount must be positive", results.get(3).error());
+    assertEquals(3, transactions.delegate.findByAccountId(cash).size());
+  }
+
+  private AccountId saveAccount(String currency) {
+    AccountId accountId = AccountId.random();
+    accounts.save(
+        new Account(
+            accountId,
+            "Cash",
+            Currency.getInstance(currency),
+            CASH,
+            ACTIVE,
+            Instant.parse("2026-03-03T00:00:00Z")));
+    return accountId;
+  }
+
+  private static IngestTransactions.Item item(
+      int lineNumber, AccountId accountId, String amount, String memo) {
+    return IngestTransactions.Item.parsed(
+        lineNumber,
+        accountId,
+        LocalDate.of(2026, 3, 1),
+        TransactionDirection.OUTFLOW,
+        new BigDecimal(amount),
+        memo);
+  }
+
+  private static final class CountingTransactionRepository implements TransactionRepository {
+    private final InMemoryTransactionRepository delegate = new InMemoryTransactionRepository();
+    private int saveAllCalls;
+    private int failingSaveAllCall;
+
+    @Override
+    public List<Transaction> findByAccountId(AccountId accountId) {
+      return delegate.findByAccountId(accountId);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdAndOccurredOnIn(
+        AccountId accountId, Collection<LocalDate> occurredOn) {
+      return delegate.findByAccountIdAndOccurredOnIn(accountId, occurredOn);
+    }
+
+    @Override
+    public Optional<Versioned<Transaction>> findVersioned(
+        AccountId accountId, TransactionId transactionId) {
+      return delegate.findVersioned(accountId, transactionId);
+    }
+
+    @Override
+    public void save(Transaction transaction) {
+      delegate.save(transaction);
+    }
+
+    @Override
+    public void saveAll(List<Transaction> transactions) {
+      saveAllCalls++;
+      if (saveAllCalls == failingSaveAllCall) {
+        throw new IllegalStateException("Connection lost");
+      }
+      delegate.saveAll(transactions);
+    }
+
+    @Override
+    public void update(Transaction transaction) {
+      delegate.update(transaction);
+    }
+
+    @Override
+    public long update(Transaction transaction, long expectedVersion) {
+      return delegate.update(transaction, expectedVersion);
+    }
+
+    @Override
+    public boolean delete(AccountId accountId, TransactionId transactionId) {
+      return delegate.delete(accountId, transactionId);
+    }
+  }
+
+  private static final class LinkedCardRepository implements PersonalFinanceCardRepository {
+    private PersonalFinanceCard card;
+
+    @Override
+    public Optional<PersonalFinanceCard> find(PersonalFinanceCardId id) {
+      return Optional.ofNullable(card).filter(found -> found.id().equals(id));
+    }
+
+    @Override
+    public Optional<PersonalFinanceCard> findByLinkedAccountId(AccountId linkedAccountId) {
+      return Optional.ofNullable(card)
+          .filter(found -> found.linkedAccountId().equals(linkedAccountId));
+    }
+
+    @Override
+    public List<PersonalFinanceCard> findAll() {
+      return card == null ? List.of() : List.of(card);
+    }
+
+    @Override
+    public Optional<Versioned<PersonalFinanceCard>> findVersioned(PersonalFinanceCardId id) {
+      return find(id).map(found -> new Versioned<>(found, 1));
+    }
+
+    @Override
+    public void save(PersonalFinanceCard card) {
+      this.card = card;
+    }
+
+    @Override
+    public long update(PersonalFinanceCard card, long expectedVersion) {
+      this.card = card;
+      return expectedVersion + 1;
+    }
+
+    @Override
+    public void delete(PersonalFinanceCardId id) {
+      card = null;
+    }
+  }
+}
@@ -4,6 +4,7 @@ import static com.mindfulfinance.domain.account.AccountStatus.ACTIVE;
 import static com.mindfulfinance.domain.account.AccountStatus.ARCHIVED;
 import static com.mindfulfinance.domain.account.AccountType.CASH;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -16,6 +17,9 @@ import com.mindfulfinance.application.ports.MonthlyExpenseLimitRepository;
 import com.mindfulfinance.application.ports.MonthlyIncomeActualRepository;
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.UnitOfWork;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.Account;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
@@ -29,10 +33,12 @@ import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardStatus;
 import com.mindfulfinance.domain.personalfinance.VacationPeriod;
+import com.mindfulfinance.domain.shared.DomainException;
 import com.mindfulfinance.domain.transaction.Transaction;
 import com.mindfulfinance.domain.transaction.TransactionDirection;
 import com.mindfulfinance.domain.transaction.TransactionId;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Comparator;
@@ -40,7 +46,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import jdk.jfr.consumer.RecordedEvent;
 import org.junit.jupiter.api.Test;
 
 public class PersonalFinanceUseCasesTest {
@@ -218,6 +230,106 @@ public class PersonalFinanceUseCasesTest {
     assertEquals(3, transactions.findByAccountId(LINKED_ACCOUNT_ID).size());
   }
 
+  @Test
+  void snapshot_reads_on_parallel_executor_match_sequential_snapshot() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryExpenseActualRepository expenseActuals = new InMemoryExpenseActualRepository();
+    InMemoryExpenseLimitRepository expenseLimits = new InMemoryExpenseLimitRepository();
+    InMemoryIncomeActualRepository incomeActuals = new InMemoryIncomeActualRepository();
+    InMemoryIncomeForecastRepository incomeForecasts = new InMemoryIncomeForecastRepository();
+    InMemoryIncomePlanRepository incomePlans = new InMemoryIncomePlanRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card("Основная карта"));
+
+    new SavePersonalFinanceSettings(
+            expenseLimits, incomeForecasts, incomePlans, cards, transactions)
+        .save(
+            new SavePersonalFinanceSettings.Command(
+                CARD_ID,
+                new BigDecimal("1000.00"),
+                Map.of(PersonalExpenseCategory.GROCERIES, new BigDecimal("20.00")),
+                new BigDecimal("200.00"),
+                new BigDecimal("25.00")));
+    new SaveMonthlyExpenseActual(expenseActuals, cards, transactions)
+        .save(
+            new SaveMonthlyExpenseActual.Command(
+                CARD_ID,
+                2026,
+                3,
+                Map.of(PersonalExpenseCategory.GROCERIES, new BigDecimal("120.00"))));
+    new SaveMonthlyIncomeActual(incomeActuals, cards, transactions)
+        .save(new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, new BigDecimal("900.00")));
+
+    GetCardPersonalFinanceSnapshot.Result sequential =
+        new GetCardPersonalFinanceSnapshot(
+                cards,
+                expenseActuals,
+                expenseLimits,
+                incomeActuals,
+                incomeForecasts,
+                incomePlans,
+                transactions)
+            .get(CARD_ID, 2026);
+
+    AtomicInteger forkedReads = new AtomicInteger();
+    GetCardPersonalFinanceSnapshot.Result parallel;
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      parallel =
+          new GetCardPersonalFinanceSnapshot(
+                  cards,
+                  expenseActuals,
+                  expenseLimits,
+                  incomeActuals,
+                  incomeForecasts,
+                  incomePlans,
+                  transactions,
+                  task -> {
+                    forkedReads.incrementAndGet();
+                    executor.execute(task);
+                  })
+              .get(CARD_ID, 2026);
+    }
+
+    assertEquals(sequential, parallel);
+    assertEquals(8, forkedReads.get());
+  }
+
+  @Test
+  void failed_parallel_snapshot_read_propagates_original_exception() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    cards.save(card("Основная карта"));
+    MonthlyExpenseLimitRepository unavailableLimits =
+        new MonthlyExpenseLimitRepository() {
+          @Override
+          public Optional<MonthlyExpenseLimit> findByCardId(PersonalFinanceCardId cardId) {
+            throw new IllegalStateException("Expense limits unavailable");
+          }
+
+          @Override
+          public void upsert(MonthlyExpenseLimit summary) {}
+
+          @Override
+          public void delete(PersonalFinanceCardId cardId) {}
+        };
+
+    IllegalStateException error;
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      GetCardPersonalFinanceSnapshot getSnapshot =
+          new GetCardPersonalFinanceSnapshot(
+              cards,
+              new InMemoryExpenseActualRepository(),
+              unavailableLimits,
+              new InMemoryIncomeActualRepository(),
+              new InMemoryIncomeForecastRepository(),
+              new InMemoryIncomePlanRepository(),
+              new InMemoryTransactionRepository(),
+              executor);
+      error = assertThrows(IllegalStateException.class, () -> getSnapshot.get(CARD_ID, 2026));
+    }
+
+    assertEquals("Expense limits unavailable", error.getMessage());
+  }
+
   @Test
   void transfer_between_active_cards_creates_paired_transactions_and_keeps_expense_totals_clean() {
     InMemoryCardRepository cards = new InMemoryCardRepository();
@@ -537,6 +649,394 @@ public class PersonalFinanceUseCasesTest {
     assertTrue(transactions.findByAccountId(LINKED_ACCOUNT_ID).isEmpty());
   }
 
+  @Test
+  void batch_actuals_match_month_by_month_saves_and_read_the_ledger_once() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryExpenseActualRepository expenseActuals = new InMemoryExpenseActualRepository();
+    InMemoryIncomeActualRepository incomeActuals = new InMemoryIncomeActualRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card("Основная карта"));
+    SaveMonthlyActuals saveActuals =
+        new SaveMonthlyActuals(expenseActuals, incomeActuals, cards, transactions);
+
+    new SaveMonthlyExpenseActual(expenseActuals, cards, transactions)
+        .save(
+            new SaveMonthlyExpenseActual.Command(
+                CARD_ID,
+                2026,
+                3,
+                Map.of(PersonalExpenseCategory.GROCERIES, new BigDecimal("70.00"))));
+    transactions.findByAccountIdCalls = 0;
+
+    List<SaveMonthlyActuals.ExpenseMonth> expenses = new java.util.ArrayList<>();
+    List<SaveMonthlyActuals.IncomeMonth> incomes = new java.util.ArrayList<>();
+    for (int month = 1; month <= 12; month++) {
+      expenses.add(
+          new SaveMonthlyActuals.ExpenseMonth(
+              month,
+              month == 3
+                  ? Map.of()
+                  : Map.of(PersonalExpenseCategory.RESTAURANTS, new BigDecimal(month + ".00"))));
+      incomes.add(new SaveMonthlyActuals.IncomeMonth(month, new BigDecimal("100.00")));
+    }
+    saveActuals.save(new SaveMonthlyActuals.Command(CARD_ID, 2026, expenses, incomes));
+
+    assertEquals(1, transactions.findByAccountIdCalls);
+    assertEquals(11, expenseActuals.findByCardAndYear(CARD_ID, 2026).size());
+    assertEquals(12, incomeActuals.findByCardAndYear(CARD_ID, 2026).size());
+    // 12 income entries plus 11 expense entries; the cleared March expense entry is gone.
+    assertEquals(23, transactions.findByAccountId(LINKED_ACCOUNT_ID).size());
+    assertEquals(
+        0,
+        transactions.findByAccountId(LINKED_ACCOUNT_ID).stream()
+            .map(
+                transaction ->
+                    transaction.direction() == TransactionDirection.INFLOW
+                        ? transaction.amount().amount()
+                        : transaction.amount().amount().negate())
+            .reduce(BigDecimal.ZERO, BigDecimal::add)
+            .compareTo(new BigDecimal("1125.00")));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            saveActuals.save(
+                new SaveMonthlyActuals.Command(
+                    CARD_ID,
+                    2026,
+                    List.of(),
+                    List.of(
+                        new SaveMonthlyActuals.IncomeMonth(1, BigDecimal.ONE),
+                        new SaveMonthlyActuals.IncomeMonth(1, BigDecimal.TEN)))));
+  }
+
+  @Test
+  void coalesced_actual_saves_write_the_last_value_once_on_flush_and_on_close() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryExpenseActualRepository expenseActuals = new InMemoryExpenseActualRepository();
+    InMemoryIncomeActualRepository incomeActuals = new InMemoryIncomeActualRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card("Основная карта"));
+    MonthlyActualWriteCoalescer coalescer =
+        new MonthlyActualWriteCoalescer(
+            new SaveMonthlyExpenseActual(expenseActuals, cards, transactions),
+            new SaveMonthlyIncomeActual(incomeActuals, cards, transactions),
+            cards,
+            Executors.newSingleThreadScheduledExecutor(),
+            Duration.ofHours(1));
+
+    for (String amount : List.of("10.00", "120.00", "125.50")) {
+      coalescer.saveExpense(
+          new SaveMonthlyExpenseActual.Command(
+              CARD_ID, 2026, 3, Map.of(PersonalExpenseCategory.GROCERIES, new BigDecimal(amount))));
+    }
+    assertEquals(0, expenseActuals.upsertCalls);
+    assertTrue(transactions.findByAccountId(LINKED_ACCOUNT_ID).isEmpty());
+
+    coalescer.flush(SECOND_CARD_ID);
+    assertEquals(0, expenseActuals.upsertCalls);
+    coalescer.flush(SECOND_CARD_ID, SECOND_CARD_ID);
+    assertEquals(0, expenseActuals.upsertCalls);
+
+    coalescer.flush(CARD_ID);
+    assertEquals(1, expenseActuals.upsertCalls);
+    assertEquals(
+        0,
+        expenseActuals
+            .findByCardAndYear(CARD_ID, 2026)
+            .get(0)
+            .total()
+            .amount()
+            .compareTo(new BigDecimal("125.50")));
+    assertEquals(1, transactions.findByAccountId(LINKED_ACCOUNT_ID).size());
+
+    coalescer.saveIncome(
+        new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, new BigDecimal("900.00")));
+    assertTrue(incomeActuals.findByCardAndYear(CARD_ID, 2026).isEmpty());
+    coalescer.close();
+    assertEquals(1, incomeActuals.findByCardAndYear(CARD_ID, 2026).size());
+
+    // After close saves are written right away.
+    coalescer.saveIncome(new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, BigDecimal.ZERO));
+    assertTrue(incomeActuals.findByCardAndYear(CARD_ID, 2026).isEmpty());
+  }
+
+  @Test
+  void coalesced_actual_save_that_fails_to_write_stays_pending_until_it_is_written() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryIncomeActualRepository incomeActuals = new InMemoryIncomeActualRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card("Основная карта"));
+    try (MonthlyActualWriteCoalescer coalescer =
+        new MonthlyActualWriteCoalescer(
+            new SaveMonthlyExpenseActual(
+                new InMemoryExpenseActualRepository(), cards, transactions),
+            new SaveMonthlyIncomeActual(incomeActuals, cards, transactions),
+            cards,
+            Executors.newSingleThreadScheduledExecutor(),
+            Duration.ofHours(1))) {
+      incomeActuals.failingUpserts = 2;
+      assertEquals(
+          OptionalLong.empty(),
+          coalescer.saveIncome(
+              new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, new BigDecimal("900.00"))));
+      assertThrows(IllegalStateException.class, () -> coalescer.flush(CARD_ID));
+      assertThrows(IllegalStateException.class, () -> coalescer.flush(CARD_ID));
+      assertTrue(incomeActuals.findByCardAndYear(CARD_ID, 2026).isEmpty());
+
+      coalescer.flush(CARD_ID);
+      assertEquals(1, incomeActuals.findVersionedByCardAndYear(CARD_ID, 2026).get(0).version());
+
+      // A save accepted while the earlier one waits to be retried replaces it.
+      incomeActuals.failingUpserts = 1;
+      coalescer.saveIncome(
+          new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 4, new BigDecimal("10.00")));
+      assertThrows(IllegalStateException.class, () -> coalescer.flush(CARD_ID));
+      coalescer.saveIncome(
+          new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 4, new BigDecimal("20.00")));
+    }
+    List<Versioned<MonthlyIncomeActual>> stored =
+        incomeActuals.findVersionedByCardAndYear(CARD_ID, 2026);
+    assertEquals(2, stored.size());
+    assertEquals(1, stored.get(1).version());
+    assertEquals(
+        0, stored.get(1).value().totalAmount().amount().compareTo(new BigDecimal("20.00")));
+  }
+
+  @Test
+  void coalesced_actual_saves_are_validated_when_accepted() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryExpenseActualRepository expenseActuals = new InMemoryExpenseActualRepository();
+    InMemoryIncomeActualRepository incomeActuals = new InMemoryIncomeActualRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card("Основная карта"));
+    try (MonthlyActualWriteCoalescer coalescer =
+        new MonthlyActualWriteCoalescer(
+            new SaveMonthlyExpenseActual(expenseActuals, cards, transactions),
+            new SaveMonthlyIncomeActual(incomeActuals, cards, transactions),
+            cards,
+            Executors.newSingleThreadScheduledExecutor(),
+            Duration.ofHours(1))) {
+      assertThrows(
+          DomainException.class,
+          () ->
+              coalescer.saveIncome(
+                  new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, new BigDecimal("1.001"))));
+
+      cards.save(archivedCard("Архив"));
+      assertThrows(
+          IllegalStateException.class,
+          () ->
+              coalescer.saveExpense(
+                  new SaveMonthlyExpenseActual.Command(CARD_ID, 2026, 3, Map.of())));
+    }
+    assertEquals(0, expenseActuals.upsertCalls);
+    assertTrue(incomeActuals.findByCardAndYear(CARD_ID, 2026).isEmpty());
+  }
+
+  @Test
+  void conditional_actual_saves_reject_stale_versions() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryIncomeActualRepository incomeActuals = new InMemoryIncomeActualRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card("Основная карта"));
+    SaveMonthlyIncomeActual saveIncomeActual =
+        new SaveMonthlyIncomeActual(incomeActuals, cards, transactions);
+
+    assertEquals(
+        1,
+        saveIncomeActual
+            .save(
+                new SaveMonthlyIncomeActual.Command(
+                    CARD_ID, 2026, 3, new BigDecimal("900.00"), Versioned.ABSENT))
+            .version());
+    // A second tab that also read the empty month must not overwrite the first one.
+    assertThrows(
+        VersionConflictException.class,
+        () ->
+            saveIncomeActual.save(
+                new SaveMonthlyIncomeActual.Command(
+                    CARD_ID, 2026, 3, new BigDecimal("500.00"), Versioned.ABSENT)));
+    assertEquals(
+        0,
+        incomeActuals
+            .findByCardAndYear(CARD_ID, 2026)
+            .get(0)
+            .totalAmount()
+            .amount()
+            .compareTo(new BigDecimal("900.00")));
+
+    try (MonthlyActualWriteCoalescer coalescer =
+        new MonthlyActualWriteCoalescer(
+            new SaveMonthlyExpenseActual(
+                new InMemoryExpenseActualRepository(), cards, transactions),
+            saveIncomeActual,
+            cards,
+            Executors.newSingleThreadScheduledExecutor(),
+            Duration.ofHours(1))) {
+      // Conditional saves are written at once, so the versions they return are stored ones.
+      assertEquals(
+          OptionalLong.of(2),
+          coalescer.saveIncome(
+              new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, new BigDecimal("910.00"), 1L)));
+      assertEquals(
+          OptionalLong.of(3),
+          coalescer.saveIncome(
+              new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, new BigDecimal("920.00"), 2L)));
+      assertThrows(
+          VersionConflictException.class,
+          () ->
+              coalescer.saveIncome(
+                  new SaveMonthlyIncomeActual.Command(
+                      CARD_ID, 2026, 3, new BigDecimal("930.00"), 1L)));
+      assertEquals(
+          OptionalLong.empty(),
+          coalescer.saveIncome(
+              new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 4, new BigDecimal("10.00"))));
+      assertEquals(1, incomeActuals.findByCardAndYear(CARD_ID, 2026).size());
+      // A conditional save writes the pending save of its month first and is checked against it.
+      assertThrows(
+          VersionConflictException.class,
+          () ->
+              coalescer.saveIncome(
+                  new SaveMonthlyIncomeActual.Command(
+                      CARD_ID, 2026, 4, new BigDecimal("20.00"), 0L)));
+      assertEquals(
+          OptionalLong.of(2),
+          coalescer.saveIncome(
+              new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 4, new BigDecimal("20.00"), 1L)));
+    }
+    List<Versioned<MonthlyIncomeActual>> stored =
+        incomeActuals.findVersionedByCardAndYear(CARD_ID, 2026);
+    assertEquals(3, stored.get(0).version());
+    assertEquals(
+        0, stored.get(0).value().totalAmount().amount().compareTo(new BigDecimal("920.00")));
+    assertEquals(2, stored.get(1).version());
+  }
+
+  @Test
+  void clearing_an_actual_keeps_its_version_so_stale_saves_still_conflict() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryIncomeActualRepository incomeActuals = new InMemoryIncomeActualRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card("Основная карта"));
+    SaveMonthlyIncomeActual saveIncomeActual =
+        new SaveMonthlyIncomeActual(incomeActuals, cards, transactions);
+
+    saveIncomeActual.save(
+        new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, new BigDecimal("900.00"), 0L));
+    assertEquals(
+        2,
+        saveIncomeActual
+            .save(new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, BigDecimal.ZERO, 1L))
+            .version());
+    assertEquals(
+        3,
+        saveIncomeActual
+            .save(new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, new BigDecimal("500.00")))
+            .version());
+    // A tab that read the month before it was cleared still holds version 1.
+    assertThrows(
+        VersionConflictException.class,
+        () ->
+            saveIncomeActual.save(
+                new SaveMonthlyIncomeActual.Command(
+                    CARD_ID, 2026, 3, new BigDecimal("100.00"), 1L)));
+
+    try (MonthlyActualWriteCoalescer coalescer =
+        new MonthlyActualWriteCoalescer(
+            new SaveMonthlyExpenseActual(
+                new InMemoryExpenseActualRepository(), cards, transactions),
+            saveIncomeActual,
+            cards,
+            Executors.newSingleThreadScheduledExecutor(),
+            Duration.ofHours(1))) {
+      assertEquals(
+          OptionalLong.of(4),
+          coalescer.saveIncome(
+              new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 3, BigDecimal.ZERO, 3L)));
+      assertEquals(
+          OptionalLong.of(Versioned.ABSENT),
+          coalescer.saveIncome(
+              new SaveMonthlyIncomeActual.Command(CARD_ID, 2026, 4, BigDecimal.ZERO, 0L)));
+      coalescer.flush(CARD_ID);
+    }
+    assertTrue(incomeActuals.findByCardAndYear(CARD_ID, 2026).isEmpty());
+    assertEquals(4, incomeActuals.findVersionedByCardAndYear(CARD_ID, 2026).get(0).version());
+  }
+
+  @Test
+  void rename_does_not_overwrite_a_card_archived_concurrently() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+    cards.save(card("Основная карта"));
+    accounts.save(
+        new Account(
+            LINKED_ACCOUNT_ID,
+            "Основная карта",
+            java.util.Currency.getInstance("RUB"),
+            CASH,
+            ACTIVE,
+            Instant.parse("2026-01-01T00:00:00Z")));
+    cards.beforeUpdate = () -> cards.save(archivedCard("Основная карта"));
+
+    assertThrows(
+        VersionConflictException.class,
+        () ->
+            new RenamePersonalFinanceCard(cards, accounts)
+                .rename(new RenamePersonalFinanceCard.Command(CARD_ID, "Зарплатная карта")));
+
+    PersonalFinanceCard stored = cards.find(CARD_ID).orElseThrow();
+    assertEquals("Основная карта", stored.name());
+    assertFalse(stored.isActive());
+    assertEquals("Основная карта", accounts.find(LINKED_ACCOUNT_ID).orElseThrow().name());
+  }
+
+  @Test
+  void transfer_settings_and_income_plan_write_inside_one_unit_of_work_each() {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryExpenseLimitRepository expenseLimits = new InMemoryExpenseLimitRepository();
+    InMemoryIncomeForecastRepository incomeForecasts = new InMemoryIncomeForecastRepository();
+    InMemoryIncomePlanRepository incomePlans = new InMemoryIncomePlanRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card(CARD_ID, LINKED_ACCOUNT_ID, "Основная карта"));
+    cards.save(card(SECOND_CARD_ID, SECOND_LINKED_ACCOUNT_ID, "Резервная карта"));
+    RecordingUnitOfWork unitOfWork = new RecordingUnitOfWork();
+    transactions.requiredUnit = unitOfWork;
+
+    new TransferBetweenPersonalFinanceCards(cards, transactions, unitOfWork)
+        .transfer(
+            new TransferBetweenPersonalFinanceCards.Command(
+                CARD_ID, SECOND_CARD_ID, LocalDate.of(2026, 3, 14), new BigDecimal("450.00")));
+    assertEquals(1, unitOfWork.units);
+    assertEquals(1, transactions.findByAccountId(SECOND_LINKED_ACCOUNT_ID).size());
+
+    new SavePersonalFinanceSettings(
+            expenseLimits, incomeForecasts, incomePlans, cards, transactions, unitOfWork)
+        .save(
+            new SavePersonalFinanceSettings.Command(
+                CARD_ID,
+                new BigDecimal("1000.00"),
+                Map.of(PersonalExpenseCategory.GROCERIES, new BigDecimal("10.00")),
+                new BigDecimal("100000.00"),
+                BigDecimal.ZERO));
+    assertEquals(2, unitOfWork.units);
+
+    new SaveIncomePlan(incomePlans, incomeForecasts, cards, unitOfWork)
+        .save(new SaveIncomePlan.Command(CARD_ID, 2026, List.of(), true, 12));
+    assertEquals(3, unitOfWork.units);
+    assertTrue(incomePlans.findByCardAndYear(CARD_ID, 2026).isPresent());
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new TransferBetweenPersonalFinanceCards(cards, transactions, unitOfWork)
+                .transfer(
+                    new TransferBetweenPersonalFinanceCards.Command(
+                        CARD_ID, CARD_ID, LocalDate.of(2026, 3, 14), BigDecimal.ONE)));
+    assertEquals(3, unitOfWork.units);
+  }
+
   @Test
   void income_plan_is_used_without_touching_linked_balance_and_actual_keeps_priority() {
     InMemoryCardRepository cards = new InMemoryCardRepository();
@@ -847,6 +1347,61 @@ public class PersonalFinanceUseCasesTest {
     assertEquals("Linked account not found for personal finance card", error.getMessage());
   }
 
+  @Test
+  void ledger_syncs_snapshots_and_balances_are_recorded_as_flight_events() throws Exception {
+    InMemoryCardRepository cards = new InMemoryCardRepository();
+    InMemoryExpenseActualRepository expenseActuals = new InMemoryExpenseActualRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    cards.save(card("Основная карта"));
+    SaveMonthlyExpenseActual saveExpenseActual =
+        new SaveMonthlyExpenseActual(expenseActuals, cards, transactions);
+    GetCardPersonalFinanceSnapshot getSnapshot =
+        new GetCardPersonalFinanceSnapshot(
+            cards,
+            expenseActuals,
+            new InMemoryExpenseLimitRepository(),
+            new InMemoryIncomeActualRepository(),
+            new InMemoryIncomeForecastRepository(),
+            new InMemoryIncomePlanRepository(),
+            transactions);
+
+    List<RecordedEvent> events =
+        FlightRecording.events(
+            () -> {
+              saveExpenseActual.save(
+                  new SaveMonthlyExpenseActual.Command(
+                      CARD_ID,
+                      2026,
+                      1,
+                      Map.of(PersonalExpenseCategory.GROCERIES, new BigDecimal("200.00"))));
+              getSnapshot.get(CARD_ID, 2026);
+            },
+            "com.mindfulfinance.LedgerSync",
+            "com.mindfulfinance.SnapshotBuild",
+            "com.mindfulfinance.BalanceComputation");
+
+    RecordedEvent sync = FlightRecording.single(events, "com.mindfulfinance.LedgerSync");
+    assertEquals(CARD_ID.value().hashCode(), sync.getInt("cardIdHash"));
+    assertEquals(LINKED_ACCOUNT_ID.value().hashCode(), sync.getInt("accountIdHash"));
+    assertEquals(1, sync.getInt("entries"));
+    assertEquals(0, sync.getInt("rowsRead"));
+    assertEquals(1, sync.getInt("created"));
+    assertEquals(0, sync.getInt("updated"));
+    assertEquals(0, sync.getInt("deleted"));
+    FlightRecording.assertPhasesWithinDuration(sync, "fetchTime", "computeTime", "writeTime");
+
+    RecordedEvent snapshot = FlightRecording.single(events, "com.mindfulfinance.SnapshotBuild");
+    assertEquals(CARD_ID.value().hashCode(), snapshot.getInt("cardIdHash"));
+    assertEquals(2026, snapshot.getInt("year"));
+    assertEquals(2, snapshot.getInt("rowsRead"));
+    FlightRecording.assertPhasesWithinDuration(snapshot, "fetchTime", "computeTime");
+
+    RecordedEvent balance = FlightRecording.single(events, "com.mindfulfinance.BalanceComputation");
+    assertEquals(LINKED_ACCOUNT_ID.value().hashCode(), balance.getInt("accountIdHash"));
+    assertEquals(1, balance.getInt("rowsRead"));
+    FlightRecording.assertPhasesWithinDuration(balance, "fetchTime", "computeTime");
+  }
+
   private static PersonalFinanceCard card(String name) {
     return card(CARD_ID, LINKED_ACCOUNT_ID, name);
   }
@@ -880,8 +1435,26 @@ public class PersonalFinanceUseCasesTest {
         Instant.parse("2026-01-01T00:00:00Z"));
   }
 
+  private static final class RecordingUnitOfWork implements UnitOfWork {
+    private int units;
+    private boolean active;
+
+    @Override
+    public <T> T execute(Supplier<T> work) {
+      units++;
+      active = true;
+      try {
+        return work.get();
+      } finally {
+        active = false;
+      }
+    }
+  }
+
   private static final class InMemoryCardRepository implements PersonalFinanceCardRepository {
     private final Map<PersonalFinanceCardId, PersonalFinanceCard> store = new LinkedHashMap<>();
+    private final Map<PersonalFinanceCardId, Long> versions = new LinkedHashMap<>();
+    private Runnable beforeUpdate = () -> {};
 
     @Override
     public Optional<PersonalFinanceCard> find(PersonalFinanceCardId id) {
@@ -904,14 +1477,32 @@ public class PersonalFinanceUseCasesTest {
           .toList();
     }
 
+    @Override
+    public Optional<Versioned<PersonalFinanceCard>> findVersioned(PersonalFinanceCardId id) {
+      return find(id).map(card -> new Versioned<>(card, versions.get(id)));
+    }
+
     @Override
     public void save(PersonalFinanceCard card) {
       store.put(card.id(), card);
+      versions.merge(card.id(), 1L, Long::sum);
+    }
+
+    @Override
+    public long update(PersonalFinanceCard card, long expectedVersion) {
+      beforeUpdate.run();
+      if (versions.getOrDefault(card.id(), Versioned.ABSENT) != expectedVersion
+          || expectedVersion == Versioned.ABSENT) {
+        throw new VersionConflictException("Personal finance card was changed concurrently");
+      }
+      save(card);
+      return expectedVersion + 1;
     }
 
     @Override
     public void delete(PersonalFinanceCardId id) {
       store.remove(id);
+      versions.remove(id);
     }
   }
 
@@ -946,17 +1537,34 @@ public class PersonalFinanceUseCasesTest {
 
   private static final class InMemoryTransactionRepository implements TransactionRepository {
     private final Map<AccountId, List<Transaction>> byAccount = new LinkedHashMap<>();
+    private final Map<TransactionId, Long> versions = new LinkedHashMap<>();
+    private int findByAccountIdCalls;
+    private RecordingUnitOfWork requiredUnit;
 
     @Override
     public List<Transaction> findByAccountId(AccountId accountId) {
+      findByAccountIdCalls++;
       return List.copyOf(byAccount.getOrDefault(accountId, List.of()));
     }
 
     @Override
     public void save(Transaction transaction) {
+      if (requiredUnit != null) {
+        assertTrue(requiredUnit.active, "Ledger write outside the unit of work");
+      }
       byAccount
           .computeIfAbsent(transaction.accountId(), ignored -> new java.util.ArrayList<>())
           .add(transaction);
+      versions.put(transaction.id(), 1L);
+    }
+
+    @Override
+    public Optional<Versioned<Transaction>> findVersioned(
+        AccountId accountId, TransactionId transactionId) {
+      return byAccount.getOrDefault(accountId, List.of()).stream()
+          .filter(transaction -> transaction.id().equals(transactionId))
+          .findFirst()
+          .map(transaction -> new Versioned<>(transaction, versions.get(transactionId)));
     }
 
     @Override
@@ -969,6 +1577,7 @@ public class PersonalFinanceUseCasesTest {
       for (int index = 0; index < existing.size(); index++) {
         if (existing.get(index).id().equals(transaction.id())) {
           existing.set(index, transaction);
+          versions.merge(transaction.id(), 1L, Long::sum);
           return;
         }
       }
@@ -976,6 +1585,17 @@ public class PersonalFinanceUseCasesTest {
       throw new IllegalStateException("Transaction not found");
     }
 
+    @Override
+    public long update(Transaction transaction, long expectedVersion) {
+      Optional<Versioned<Transaction>> stored =
+          findVersioned(transaction.accountId(), transaction.id());
+      if (stored.isEmpty() || stored.get().version() != expectedVersion) {
+        throw new VersionConflictException("Transaction was changed concurrently");
+      }
+      update(transaction);
+      return expectedVersion + 1;
+    }
+
     @Override
     public boolean delete(AccountId accountId, TransactionId transactionId) {
       return byAccount
@@ -986,24 +1606,65 @@ public class PersonalFinanceUseCasesTest {
 
   private static final class InMemoryExpenseActualRepository
       implements MonthlyExpenseActualRepository {
-    private final Map<String, MonthlyExpenseActual> store = new LinkedHashMap<>();
+    private final Map<String, Versioned<MonthlyExpenseActual>> store = new LinkedHashMap<>();
+    private int upsertCalls;
 
     @Override
     public List<MonthlyExpenseActual> findByCardAndYear(PersonalFinanceCardId cardId, int year) {
+      return findVersionedByCardAndYear(cardId, year).stream()
+          .map(Versioned::value)
+          .filter(summary -> !summary.isEmpty())
+          .toList();
+    }
+
+    @Override
+    public List<Versioned<MonthlyExpenseActual>> findVersionedByCardAndYear(
+        PersonalFinanceCardId cardId, int year) {
       return store.values().stream()
-          .filter(summary -> summary.cardId().equals(cardId) && summary.year() == year)
-          .sorted(Comparator.comparingInt(MonthlyExpenseActual::month))
+          .filter(stored -> stored.value().cardId().equals(cardId) && stored.value().year() == year)
+          .sorted(Comparator.comparingInt(stored -> stored.value().month()))
           .toList();
     }
 
     @Override
-    public void upsert(MonthlyExpenseActual summary) {
-      store.put(key(summary.cardId(), summary.year(), summary.month()), summary);
+    public long upsert(MonthlyExpenseActual summary) {
+      upsertCalls++;
+      String key = key(summary.cardId(), summary.year(), summary.month());
+      long version = versionOf(key) + 1;
+      store.put(key, new Versioned<>(summary, version));
+      return version;
+    }
+
+    @Override
+    public long upsert(MonthlyExpenseActual summary, long expectedVersion) {
+      requireVersion(key(summary.cardId(), summary.year(), summary.month()), expectedVersion);
+      return upsert(summary);
+    }
+
+    @Override
+    public long delete(PersonalFinanceCardId cardId, int year, int month) {
+      String key = key(cardId, year, month);
+      if (!store.containsKey(key)) return Versioned.ABSENT;
+      long version = versionOf(key) + 1;
+      store.put(key, new Versioned<>(MonthlyExpenseActual.empty(cardId, year, month), version));
+      return version;
     }
 
     @Override
-    public void delete(PersonalFinanceCardId cardId, int year, int month) {
-      store.remove(key(cardId, year, month));
+    public long delete(PersonalFinanceCardId cardId, int year, int month, long expectedVersion) {
+      requireVersion(key(cardId, year, month), expectedVersion);
+      return delete(cardId, year, month);
+    }
+
+    private long versionOf(String key) {
+      Versioned<MonthlyExpenseActual> stored = store.get(key);
+      return stored == null ? Versioned.ABSENT : stored.version();
+    }
+
+    private void requireVersion(String key, long expectedVersion) {
+      if (versionOf(key) != expectedVersion) {
+        throw new VersionConflictException("Monthly actual was changed concurrently");
+      }
     }
   }
 
@@ -1029,24 +1690,68 @@ public class PersonalFinanceUseCasesTest {
 
   private static final class InMemoryIncomeActualRepository
       implements MonthlyIncomeActualRepository {
-    private final Map<String, MonthlyIncomeActual> store = new LinkedHashMap<>();
+    private final Map<String, Versioned<MonthlyIncomeActual>> store = new LinkedHashMap<>();
+    private int failingUpserts;
 
     @Override
     public List<MonthlyIncomeActual> findByCardAndYear(PersonalFinanceCardId cardId, int year) {
+      return findVersionedByCardAndYear(cardId, year).stream()
+          .map(Versioned::value)
+          .filter(summary -> !summary.isEmpty())
+          .toList();
+    }
+
+    @Override
+    public List<Versioned<MonthlyIncomeActual>> findVersionedByCardAndYear(
+        PersonalFinanceCardId cardId, int year) {
       return store.values().stream()
-          .filter(summary -> summary.cardId().equals(cardId) && summary.year() == year)
-          .sorted(Comparator.comparingInt(MonthlyIncomeActual::month))
+          .filter(stored -> stored.value().cardId().equals(cardId) && stored.value().year() == year)
+          .sorted(Comparator.comparingInt(stored -> stored.value().month()))
           .toList();
     }
 
     @Override
-    public void upsert(MonthlyIncomeActual summary) {
-      store.put(key(summary.cardId(), summary.year(), summary.month()), summary);
+    public long upsert(MonthlyIncomeActual summary) {
+      if (failingUpserts > 0) {
+        failingUpserts--;
+        throw new IllegalStateException("Connection lost");
+      }
+      String key = key(summary.cardId(), summary.year(), summary.month());
+      long version = versionOf(key) + 1;
+      store.put(key, new Versioned<>(summary, version));
+      return version;
+    }
+
+    @Override
+    public long upsert(MonthlyIncomeActual summary, long expectedVersion) {
+      requireVersion(key(summary.cardId(), summary.year(), summary.month()), expectedVersion);
+      return upsert(summary);
+    }
+
+    @Override
+    public long delete(PersonalFinanceCardId cardId, int year, int month) {
+      String key = key(cardId, year, month);
+      if (!store.containsKey(key)) return Versioned.ABSENT;
+      long version = versionOf(key) + 1;
+      store.put(key, new Versioned<>(MonthlyIncomeActual.empty(cardId, year, month), version));
+      return version;
     }
 
     @Override
-    public void delete(PersonalFinanceCardId cardId, int year, int month) {
-      store.remove(key(cardId, year, month));
+    public long delete(PersonalFinanceCardId cardId, int year, int month, long expectedVersion) {
+      requireVersion(key(cardId, year, month), expectedVersion);
+      return delete(cardId, year, month);
+    }
+
+    private long versionOf(String key) {
+      Versioned<MonthlyIncomeActual> stored = store.get(key);
+      return stored == null ? Versioned.ABSENT : stored.version();
+    }
+
+    private void requireVersion(String key, long expectedVersion) {
+      if (versionOf(key) != expectedVersion) {
+        throw new VersionConflictException("Monthly actual was changed concurrently");
+      }
     }
   }
 
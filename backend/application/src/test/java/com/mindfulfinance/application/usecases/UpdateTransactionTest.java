@@ -9,6 +9,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.mindfulfinance.application.ports.InMemoryTransactionRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.transaction.Transaction;
@@ -136,6 +138,47 @@ public class UpdateTransactionTest {
     assertEquals(second, transactions.findByAccountId(accountId).get(1));
   }
 
+  @Test
+  @DisplayName("Should reject an update made against a stale version")
+  void shouldRejectUpdateAgainstStaleVersion() {
+    AccountId accountId = AccountId.random();
+    TransactionId transactionId = TransactionId.random();
+    Transaction original =
+        transaction(
+            transactionId,
+            accountId,
+            "2026-03-01",
+            OUTFLOW,
+            "25.00",
+            "USD",
+            "Groceries",
+            Instant.parse("2026-03-01T10:15:30Z"));
+    transactions.save(original);
+
+    Versioned<Transaction> updated =
+        useCase.updateVersioned(command(accountId, transactionId, "30.00", 1L)).orElseThrow();
+    assertEquals(2, updated.version());
+
+    assertThrows(
+        VersionConflictException.class,
+        () -> useCase.update(command(accountId, transactionId, "40.00", 1L)));
+    assertEquals(
+        updated.value(), transactions.findVersioned(accountId, transactionId).get().value());
+  }
+
+  private static UpdateTransaction.Command command(
+      AccountId accountId, TransactionId transactionId, String amount, Long expectedVersion) {
+    return new UpdateTransaction.Command(
+        accountId,
+        transactionId,
+        Currency.getInstance("USD"),
+        LocalDate.parse("2026-03-01"),
+        OUTFLOW,
+        new BigDecimal(amount),
+        "Groceries",
+        expectedVersion);
+  }
+
   private static Transaction transaction(
       TransactionId id,
       AccountId accountId,
@@ -0,0 +1,115 @@
+package com.mindfulfinance.application.usecases;
+
+import static com.mindfulfinance.domain.account.AccountStatus.ACTIVE;
+import static com.mindfulfinance.domain.account.AccountType.CASH;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_ROW_AMOUNT_INVALID;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_ROW_CURRENCY_MISMATCH;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.MONEY_TOO_MANY_DECIMALS;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mindfulfinance.application.ports.InMemoryAccountRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ValidateTransactionsImportTest {
+  InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+
+  @Test
+  @DisplayName("Should report every invalid row instead of stopping at the first one")
+  void shouldReportEveryInvalidRow() {
+    AccountId accountId = saveUsdAccount();
+    ValidateTransactionsImport useCase = new ValidateTransactionsImport(accounts);
+
+    ValidateTransactionsImport.Report report =
+        useCase.validate(
+            accountId,
+            Stream.of(
+                parsed(2, "10.00", "USD"),
+                parsed(3, "10.00", "EUR"),
+                ValidateTransactionsImport.Candidate.rejected(
+                    new ValidateTransactionsImport.RowError(
+                        4, "amount", IMPORT_ROW_AMOUNT_INVALID)),
+                parsed(5, "10.001", "USD"),
+                parsed(6, "-3.00", "USD"),
+                parsed(7, "0", "USD")));
+
+    assertEquals(6, report.rowCount());
+    assertEquals(1, report.validRowCount());
+    assertEquals(5, report.invalidRowCount());
+    assertFalse(report.valid());
+    assertFalse(report.truncated());
+    assertEquals(
+        List.of(
+            new ValidateTransactionsImport.RowError(3, "currency", IMPORT_ROW_CURRENCY_MISMATCH),
+            new ValidateTransactionsImport.RowError(4, "amount", IMPORT_ROW_AMOUNT_INVALID),
+            new ValidateTransactionsImport.RowError(5, "amount", MONEY_TOO_MANY_DECIMALS),
+            new ValidateTransactionsImport.RowError(
+                6, "amount", TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO),
+            new ValidateTransactionsImport.RowError(
+                7, "amount", TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO)),
+        report.errors());
+    assertEquals(
+        Map.of(
+            IMPORT_ROW_CURRENCY_MISMATCH, 1,
+            IMPORT_ROW_AMOUNT_INVALID, 1,
+            MONEY_TOO_MANY_DECIMALS, 1,
+            TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO, 2),
+        report.errorCounts());
+  }
+
+  @Test
+  @DisplayName("Should count all invalid rows but list only the first errors")
+  void shouldCapListedErrorsButKeepCounting() {
+    AccountId accountId = saveUsdAccount();
+    ValidateTransactionsImport useCase = new ValidateTransactionsImport(accounts);
+    int rows = ValidateTransactionsImport.MAX_REPORTED_ERRORS + 50;
+
+    ValidateTransactionsImport.Report report =
+        useCase.validate(
+            accountId, IntStream.range(0, rows).mapToObj(i -> parsed(i + 2, "1.00", "EUR")));
+
+    assertEquals(rows, report.invalidRowCount());
+    assertEquals(ValidateTransactionsImport.MAX_REPORTED_ERRORS, report.errors().size());
+    assertEquals(rows, report.errorCounts().get(IMPORT_ROW_CURRENCY_MISMATCH));
+    assertTrue(report.truncated());
+  }
+
+  private AccountId saveUsdAccount() {
+    AccountId accountId = AccountId.random();
+    accounts.save(
+        new Account(
+            accountId,
+            "Cash",
+            Currency.getInstance("USD"),
+            CASH,
+            ACTIVE,
+            Instant.parse("2026-03-03T00:00:00Z")));
+    return accountId;
+  }
+
+  private static ValidateTransactionsImport.Candidate parsed(
+      int lineNumber, String amount, String currency) {
+    return ValidateTransactionsImport.Candidate.parsed(
+        lineNumber,
+        new ImportTransactions.Row(
+            LocalDate.of(2026, 3, 1),
+            TransactionDirection.OUTFLOW,
+            new BigDecimal(amount),
+            Currency.getInstance(currency),
+            null));
+  }
+}
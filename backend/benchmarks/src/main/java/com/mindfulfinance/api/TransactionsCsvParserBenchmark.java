@@ -0,0 +1,142 @@
+package com.mindfulfinance.api;
+
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Parsing an import file to rows, sequentially and with the field conversion on a pool. Lives in
+ * the api package because the parser is package-private; the file is written with {@link
+ * TransactionsCsvWriter}, so it has the layout an export produces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionsCsvParserBenchmark {
+  @Param({"10000", "100000"})
+  int rows;
+
+  private MultipartFile file;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() throws IOException {
+    SplittableRandom random = new SplittableRandom(20260101L);
+    Currency rub = Currency.getInstance("RUB");
+    AccountId accountId = new AccountId(new UUID(0, 0));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+      TransactionsCsvWriter.writeHeader(writer);
+      for (int i = 0; i < rows; i++) {
+        TransactionsCsvWriter.writeRow(
+            writer,
+            new Transaction(
+                TransactionId.random(),
+                accountId,
+                LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365)),
+                random.nextBoolean() ? TransactionDirection.INFLOW : TransactionDirection.OUTFLOW,
+                new Money(BigDecimal.valueOf(1 + random.nextLong(999_999), 2), rub),
+                // Every tenth memo needs quoting, so the quoted path is measured too.
+                i % 10 == 0 ? "Shop, \"Central\" " + i : "Payment " + i,
+                Instant.EPOCH));
+      }
+    }
+    file = new InMemoryFile(bytes.toByteArray());
+    pool = new ForkJoinPool();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public long parse() {
+    try (var parsed = TransactionsCsvParser.parse(file)) {
+      return parsed.count();
+    }
+  }
+
+  @Benchmark
+  public long parseInParallel() {
+    try (var parsed = TransactionsCsvParser.parseInParallel(file, pool)) {
+      return parsed.count();
+    }
+  }
+
+  private record InMemoryFile(byte[] content) implements MultipartFile {
+    @Override
+    public String getName() {
+      return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+      return "transactions.csv";
+    }
+
+    @Override
+    public String getContentType() {
+      return "text/csv";
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return content.length == 0;
+    }
+
+    @Override
+    public long getSize() {
+      return content.length;
+    }
+
+    @Override
+    public byte[] getBytes() {
+      return content.clone();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public void transferTo(File dest) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.mindfulfinance.benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Takes the usual JMH command line, e.g. a benchmark regex
+ * and {@code -p accountCount=10}, and always adds the GC profiler, so every result comes with its
+ * allocation rate ({@code gc.alloc.rate.norm} is bytes per operation).
+ */
+public final class BenchmarkRunner {
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args)
+      throws IOException, RunnerException, CommandLineOptionException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    if (commandLine.shouldHelp()) {
+      commandLine.showHelp();
+      return;
+    }
+    if (commandLine.shouldList()) {
+      new Runner(commandLine).list();
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (commandLine.getProfilers().stream()
+        .noneMatch(profiler -> profiler.getKlass().equals(GCProfiler.class.getName()))) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+}
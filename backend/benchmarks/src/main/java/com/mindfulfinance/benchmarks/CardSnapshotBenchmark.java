@@ -0,0 +1,144 @@
+package com.mindfulfinance.benchmarks;
+
+import com.mindfulfinance.api.InMemoryIncomeForecastRepository;
+import com.mindfulfinance.api.InMemoryIncomePlanRepository;
+import com.mindfulfinance.api.InMemoryMonthlyExpenseActualRepository;
+import com.mindfulfinance.api.InMemoryMonthlyExpenseLimitRepository;
+import com.mindfulfinance.api.InMemoryMonthlyIncomeActualRepository;
+import com.mindfulfinance.api.InMemoryPersonalFinanceCardRepository;
+import com.mindfulfinance.application.usecases.GetCardPersonalFinanceSnapshot;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardStatus;
+import com.mindfulfinance.domain.personalfinance.VacationPeriod;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The personal finance year view of one card with a full year of actuals, a limit, a forecast and
+ * an income plan. Reads run sequentially on the caller, so the numbers are the computation alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardSnapshotBenchmark {
+  private static final Currency RUB = Currency.getInstance("RUB");
+  private static final int YEAR = 2026;
+
+  /** Cards in the repository; the snapshot lists every active one. */
+  @Param({"1", "20"})
+  int cardCount;
+
+  /** Transactions in each card's linked account, which the balance reads in full. */
+  @Param({"100", "10000"})
+  int linkedTransactions;
+
+  private GetCardPersonalFinanceSnapshot snapshot;
+  private PersonalFinanceCardId cardId;
+
+  @Setup
+  public void setUp() {
+    SyntheticLedger ledger = SyntheticLedger.generate(cardCount * 3, 0);
+    InMemoryPersonalFinanceCardRepository cards = new InMemoryPersonalFinanceCardRepository();
+    InMemoryMonthlyExpenseActualRepository expenseActuals =
+        new InMemoryMonthlyExpenseActualRepository();
+    InMemoryMonthlyIncomeActualRepository incomeActuals =
+        new InMemoryMonthlyIncomeActualRepository();
+    InMemoryMonthlyExpenseLimitRepository limits = new InMemoryMonthlyExpenseLimitRepository();
+    InMemoryIncomeForecastRepository forecasts = new InMemoryIncomeForecastRepository();
+    InMemoryIncomePlanRepository plans = new InMemoryIncomePlanRepository();
+
+    for (int i = 0; i < cardCount; i++) {
+      // Every third synthetic account is in roubles, the currency cards are kept in.
+      Account linkedAccount = ledger.accountList.get(i * 3);
+      ledger.transactions.saveAll(ledger.transactionsOf(linkedAccount, linkedTransactions));
+      PersonalFinanceCard card =
+          new PersonalFinanceCard(
+              new PersonalFinanceCardId(new UUID(SyntheticLedger.SEED, i)),
+              "Card " + i,
+              linkedAccount.id(),
+              Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i),
+              PersonalFinanceCardStatus.ACTIVE);
+      cards.save(card);
+      seedYear(ledger, card.id(), expenseActuals, incomeActuals);
+      limits.upsert(limit(card.id()));
+      forecasts.upsert(
+          new IncomeForecast(card.id(), rub(new BigDecimal("250000.00")), new BigDecimal("15.00")));
+      plans.upsert(
+          new IncomePlan(
+              card.id(),
+              YEAR,
+              List.of(new VacationPeriod(LocalDate.of(YEAR, 7, 6), LocalDate.of(YEAR, 7, 19))),
+              true,
+              12));
+    }
+
+    cardId = new PersonalFinanceCardId(new UUID(SyntheticLedger.SEED, 0));
+    snapshot =
+        new GetCardPersonalFinanceSnapshot(
+            cards, expenseActuals, limits, incomeActuals, forecasts, plans, ledger.transactions);
+  }
+
+  @Benchmark
+  public GetCardPersonalFinanceSnapshot.Result yearSnapshot() {
+    return snapshot.get(cardId, YEAR);
+  }
+
+  private static void seedYear(
+      SyntheticLedger ledger,
+      PersonalFinanceCardId cardId,
+      InMemoryMonthlyExpenseActualRepository expenseActuals,
+      InMemoryMonthlyIncomeActualRepository incomeActuals) {
+    for (int month = 1; month <= 12; month++) {
+      Map<PersonalExpenseCategory, Money> amounts = new EnumMap<>(PersonalExpenseCategory.class);
+      for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+        amounts.put(category, rub(ledger.randomAmount()));
+      }
+      expenseActuals.upsert(new MonthlyExpenseActual(cardId, YEAR, month, amounts));
+      incomeActuals.upsert(
+          new MonthlyIncomeActual(cardId, YEAR, month, rub(new BigDecimal("250000.00"))));
+    }
+  }
+
+  private static MonthlyExpenseLimit limit(PersonalFinanceCardId cardId) {
+    Map<PersonalExpenseCategory, BigDecimal> percents =
+        new EnumMap<>(PersonalExpenseCategory.class);
+    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+      percents.put(category, new BigDecimal("10.00"));
+    }
+    return new MonthlyExpenseLimit(cardId, percents);
+  }
+
+  private static Money rub(BigDecimal amount) {
+    return new Money(amount, RUB);
+  }
+}
@@ -0,0 +1,116 @@
+package com.mindfulfinance.benchmarks;
+
+import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.Versioned;
+import com.mindfulfinance.application.usecases.ImportTransactions;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Importing a file into an account that already holds {@code storedTransactions}, where every other
+ * row repeats a stored transaction and is skipped as a duplicate. Writes are discarded, so each
+ * invocation imports into the same ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImportTransactionsBenchmark {
+  @Param({"1000", "100000"})
+  int storedTransactions;
+
+  @Param({"1000", "10000"})
+  int importedRows;
+
+  private ImportTransactions importTransactions;
+  private AccountId accountId;
+  private List<ImportTransactions.Row> rows;
+
+  @Setup
+  public void setUp() {
+    SyntheticLedger ledger = SyntheticLedger.generate(1, storedTransactions);
+    Account account = ledger.accountList.getFirst();
+    accountId = account.id();
+    importTransactions =
+        new ImportTransactions(ledger.accounts, new DiscardingWrites(ledger.transactions));
+
+    List<Transaction> stored = ledger.transactions.findByAccountId(accountId);
+    List<Transaction> fresh = ledger.transactionsOf(account, importedRows);
+    rows = new ArrayList<>(importedRows);
+    for (int i = 0; i < importedRows; i++) {
+      Transaction source = i % 2 == 0 ? stored.get(i % stored.size()) : fresh.get(i);
+      rows.add(
+          new ImportTransactions.Row(
+              source.occurredOn(),
+              source.direction(),
+              source.amount().amount(),
+              source.amount().currency(),
+              i % 2 == 0 ? source.memo() : source.memo() + " " + i));
+    }
+  }
+
+  @Benchmark
+  public ImportTransactions.Result importWithDuplicates() {
+    return importTransactions.importRows(accountId, rows);
+  }
+
+  /** Reads from the synthetic ledger and drops every write. */
+  private record DiscardingWrites(TransactionRepository delegate) implements TransactionRepository {
+    @Override
+    public List<Transaction> findByAccountId(AccountId accountId) {
+      return delegate.findByAccountId(accountId);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdAndOccurredOnIn(
+        AccountId accountId, Collection<LocalDate> occurredOn) {
+      return delegate.findByAccountIdAndOccurredOnIn(accountId, occurredOn);
+    }
+
+    @Override
+    public Optional<Versioned<Transaction>> findVersioned(
+        AccountId accountId, TransactionId transactionId) {
+      return delegate.findVersioned(accountId, transactionId);
+    }
+
+    @Override
+    public void save(Transaction transaction) {}
+
+    @Override
+    public void saveAll(List<Transaction> transactions) {}
+
+    @Override
+    public void update(Transaction transaction) {}
+
+    @Override
+    public long update(Transaction transaction, long expectedVersion) {
+      return expectedVersion + 1;
+    }
+
+    @Override
+    public boolean delete(AccountId accountId, TransactionId transactionId) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.mindfulfinance.benchmarks;
+
+import com.mindfulfinance.application.usecases.ComputeAccountBalance;
+import com.mindfulfinance.application.usecases.ComputeMonthlyBurnByCurrency;
+import com.mindfulfinance.application.usecases.ComputeNetWorthByCurrency;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.money.Money;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dashboard aggregates that read every transaction of every active account, and the balance of one
+ * account, which reads only that account's ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerAggregationBenchmark {
+  @Param({"1", "10", "100"})
+  int accountCount;
+
+  @Param({"100", "10000"})
+  int transactionsPerAccount;
+
+  private ComputeNetWorthByCurrency netWorth;
+  private ComputeMonthlyBurnByCurrency monthlyBurn;
+  private ComputeAccountBalance accountBalance;
+  private AccountId firstAccountId;
+
+  @Setup
+  public void setUp() {
+    SyntheticLedger ledger = SyntheticLedger.generate(accountCount, transactionsPerAccount);
+    netWorth = new ComputeNetWorthByCurrency(ledger.accounts, ledger.transactions);
+    monthlyBurn = new ComputeMonthlyBurnByCurrency(ledger.accounts, ledger.transactions);
+    accountBalance = new ComputeAccountBalance(ledger.accounts, ledger.transactions);
+    firstAccountId = ledger.accountList.getFirst().id();
+  }
+
+  @Benchmark
+  public Map<Currency, Money> netWorthByCurrency() {
+    return netWorth.compute();
+  }
+
+  @Benchmark
+  public Map<Currency, Money> monthlyBurnByCurrency() {
+    return monthlyBurn.compute(SyntheticLedger.AS_OF);
+  }
+
+  @Benchmark
+  public Money accountBalance() {
+    return accountBalance.compute(firstAccountId);
+  }
+}
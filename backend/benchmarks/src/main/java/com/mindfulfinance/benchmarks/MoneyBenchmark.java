@@ -0,0 +1,70 @@
+package com.mindfulfinance.benchmarks;
+
+import com.mindfulfinance.domain.money.Money;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** {@link Money} construction and the arithmetic every balance and total is folded with. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+  @Param({"RUB", "JPY"})
+  String currencyCode;
+
+  private Currency currency;
+  private BigDecimal rawAmount;
+  private Money[] amounts;
+
+  @Setup
+  public void setUp() {
+    currency = Currency.getInstance(currencyCode);
+    int digits = currency.getDefaultFractionDigits();
+    rawAmount = new BigDecimal("1234.56").setScale(digits, RoundingMode.DOWN);
+    SyntheticLedger ledger = SyntheticLedger.generate(0, 0);
+    amounts = new Money[1024];
+    for (int i = 0; i < amounts.length; i++) {
+      amounts[i] = new Money(ledger.randomAmount().setScale(digits, RoundingMode.DOWN), currency);
+    }
+  }
+
+  @Benchmark
+  public Money construct() {
+    return new Money(rawAmount, currency);
+  }
+
+  /** Sums 1024 amounts, the way a balance folds a ledger. */
+  @Benchmark
+  public Money sum() {
+    Money total = Money.zero(currency);
+    for (Money amount : amounts) total = total.add(amount);
+    return total;
+  }
+
+  /** Alternates add and subtract with a sign check, as a net flow computation does. */
+  @Benchmark
+  public Money netFlow() {
+    Money total = Money.zero(currency);
+    for (int i = 0; i < amounts.length; i++) {
+      total = (i & 1) == 0 ? total.add(amounts[i]) : total.subtract(amounts[i]);
+      if (total.isNegative()) total = total.negated();
+    }
+    return total;
+  }
+}
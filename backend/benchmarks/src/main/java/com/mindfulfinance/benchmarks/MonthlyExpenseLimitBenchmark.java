@@ -0,0 +1,75 @@
+package com.mindfulfinance.benchmarks;
+
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Amounts derived from limit percents and the income forecast. The snapshot computes each of them
+ * on every read, for all categories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonthlyExpenseLimitBenchmark {
+  private MonthlyExpenseLimit limit;
+  private IncomeForecast forecast;
+
+  @Setup
+  public void setUp() {
+    PersonalFinanceCardId cardId = new PersonalFinanceCardId(new UUID(SyntheticLedger.SEED, 0));
+    Map<PersonalExpenseCategory, BigDecimal> percents =
+        new EnumMap<>(PersonalExpenseCategory.class);
+    PersonalExpenseCategory[] categories = PersonalExpenseCategory.values();
+    for (int i = 0; i < categories.length; i++) {
+      percents.put(categories[i], BigDecimal.valueOf(500 + 125L * i, 2));
+    }
+    limit = new MonthlyExpenseLimit(cardId, percents);
+    forecast =
+        new IncomeForecast(
+            cardId,
+            new Money(new BigDecimal("250000.00"), Currency.getInstance("RUB")),
+            new BigDecimal("15.00"));
+  }
+
+  @Benchmark
+  public Map<PersonalExpenseCategory, Money> configuredAmounts() {
+    return limit.configuredAmounts(forecast);
+  }
+
+  @Benchmark
+  public Map<PersonalExpenseCategory, Money> monthlyComparableAmounts() {
+    return limit.monthlyComparableAmounts(forecast);
+  }
+
+  @Benchmark
+  public Map<PersonalExpenseCategory, Money> annualTotals() {
+    return limit.annualTotals(forecast);
+  }
+
+  @Benchmark
+  public Money annualExpenseTotal() {
+    return limit.annualExpenseTotal(forecast);
+  }
+}
@@ -0,0 +1,91 @@
+package com.mindfulfinance.benchmarks;
+
+import com.mindfulfinance.api.InMemoryAccountRepository;
+import com.mindfulfinance.api.InMemoryTransactionRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.account.AccountStatus;
+import com.mindfulfinance.domain.account.AccountType;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Accounts and transactions for benchmarks, generated from a seed so every run of a benchmark sees
+ * the same ledger. Transactions fall within the year before {@link #AS_OF}.
+ */
+final class SyntheticLedger {
+  static final LocalDate AS_OF = LocalDate.of(2026, 1, 1);
+  static final long SEED = 20260101L;
+
+  private static final List<Currency> CURRENCIES =
+      List.of(
+          Currency.getInstance("RUB"), Currency.getInstance("USD"), Currency.getInstance("EUR"));
+  private static final List<String> MEMOS =
+      List.of("Groceries", "Salary", "Rent", "Coffee", "Transfer", "Taxi", "Pharmacy", "Books");
+  private static final Instant CREATED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+  final InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+  final InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+  final List<Account> accountList = new ArrayList<>();
+
+  private final SplittableRandom random;
+
+  private SyntheticLedger(long seed) {
+    this.random = new SplittableRandom(seed);
+  }
+
+  /** Creates {@code accountCount} active accounts with {@code transactionsPerAccount} each. */
+  static SyntheticLedger generate(int accountCount, int transactionsPerAccount) {
+    SyntheticLedger ledger = new SyntheticLedger(SEED);
+    for (int i = 0; i < accountCount; i++) {
+      Account account =
+          new Account(
+              new AccountId(new UUID(SEED, i)),
+              "Account " + i,
+              CURRENCIES.get(i % CURRENCIES.size()),
+              AccountType.CASH,
+              AccountStatus.ACTIVE,
+              CREATED_AT.plusSeconds(i));
+      ledger.accounts.save(account);
+      ledger.accountList.add(account);
+      ledger.transactions.saveAll(ledger.transactionsOf(account, transactionsPerAccount));
+    }
+    return ledger;
+  }
+
+  /** Generates transactions for {@code account} without storing them. */
+  List<Transaction> transactionsOf(Account account, int count) {
+    List<Transaction> generated = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      generated.add(
+          new Transaction(
+              TransactionId.random(),
+              account.id(),
+              AS_OF.minusDays(random.nextInt(365)),
+              random.nextInt(3) == 0 ? TransactionDirection.INFLOW : TransactionDirection.OUTFLOW,
+              new Money(randomAmount(), account.currency()),
+              MEMOS.get(random.nextInt(MEMOS.size())),
+              CREATED_AT));
+    }
+    return generated;
+  }
+
+  /** A positive amount with two decimals, below 10 000. */
+  BigDecimal randomAmount() {
+    return BigDecimal.valueOf(1 + random.nextLong(999_999), 2);
+  }
+
+  String randomMemo() {
+    return MEMOS.get(random.nextInt(MEMOS.size()));
+  }
+}
@@ -0,0 +1,73 @@
+package com.mindfulfinance.benchmarks;
+
+import com.mindfulfinance.api.InMemoryTransactionRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The in-memory ledger adapter: reading an account's ledger, appending an import batch to an empty
+ * ledger, and replacing one transaction in a full one, which copies the ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionRepositoryBenchmark {
+  @Param({"1000", "100000"})
+  int transactionsPerAccount;
+
+  private InMemoryTransactionRepository repository;
+  private Account account;
+  private List<Transaction> batch;
+  private Transaction edited;
+
+  @Setup
+  public void setUp() {
+    SyntheticLedger ledger = SyntheticLedger.generate(1, transactionsPerAccount);
+    repository = ledger.transactions;
+    account = ledger.accountList.getFirst();
+    batch = ledger.transactionsOf(account, 1_000);
+    Transaction middle = repository.findByAccountId(account.id()).get(transactionsPerAccount / 2);
+    edited =
+        new Transaction(
+            middle.id(),
+            middle.accountId(),
+            middle.occurredOn(),
+            middle.direction(),
+            middle.amount(),
+            "Edited",
+            middle.createdAt());
+  }
+
+  @Benchmark
+  public List<Transaction> readLedger() {
+    return repository.findByAccountId(account.id());
+  }
+
+  @Benchmark
+  public InMemoryTransactionRepository appendBatch() {
+    InMemoryTransactionRepository empty = new InMemoryTransactionRepository();
+    empty.saveAll(batch);
+    return empty;
+  }
+
+  @Benchmark
+  public void replaceOne() {
+    repository.update(edited);
+  }
+}
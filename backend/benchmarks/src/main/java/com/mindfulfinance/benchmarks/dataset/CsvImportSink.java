@@ -0,0 +1,121 @@
+package com.mindfulfinance.benchmarks.dataset;
+
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes what the HTTP API can take in: {@code accounts.csv} with one {@code POST /accounts} body
+ * per line, and for every account with transactions a file under {@code transactions/} in the
+ * layout of {@code POST /imports/transactions/csv}. Accounts get their ids from the server, so
+ * {@code accounts.csv} names each account's file instead. Card data has no import format and is
+ * skipped; linked accounts have no transactions to import anyway.
+ */
+public final class CsvImportSink implements DatasetSink {
+  static final String ACCOUNTS_HEADER = "file,name,currency,type";
+  static final String TRANSACTIONS_HEADER = "occurred_on,direction,amount,currency,memo";
+
+  private final Path transactionsDirectory;
+  private final Writer accounts;
+  private final Map<AccountId, String> fileNames = new HashMap<>();
+  private AccountId currentAccount;
+  private Writer currentFile;
+
+  public CsvImportSink(Path directory) throws IOException {
+    this.transactionsDirectory = Files.createDirectories(directory.resolve("transactions"));
+    this.accounts =
+        Files.newBufferedWriter(directory.resolve("accounts.csv"), StandardCharsets.UTF_8);
+    accounts.write(ACCOUNTS_HEADER);
+    accounts.write("\r\n");
+  }
+
+  @Override
+  public void account(Account account) throws IOException {
+    String fileName = String.format(Locale.ROOT, "account-%06d.csv", fileNames.size() + 1);
+    fileNames.put(account.id(), fileName);
+    accounts.write(
+        String.join(
+            ",",
+            fileName,
+            field(account.name()),
+            account.currency().getCurrencyCode(),
+            account.type().name()));
+    accounts.write("\r\n");
+  }
+
+  @Override
+  public void transactions(List<Transaction> batch) throws IOException {
+    for (Transaction transaction : batch) {
+      if (!transaction.accountId().equals(currentAccount)) openFileOf(transaction.accountId());
+
+      currentFile.write(transaction.occurredOn().toString());
+      currentFile.write(',');
+      currentFile.write(transaction.direction().name());
+      currentFile.write(',');
+      currentFile.write(transaction.amount().amount().toPlainString());
+      currentFile.write(',');
+      currentFile.write(transaction.amount().currency().getCurrencyCode());
+      currentFile.write(',');
+      if (transaction.memo() != null) currentFile.write(field(transaction.memo()));
+      currentFile.write("\r\n");
+    }
+  }
+
+  @Override
+  public void card(PersonalFinanceCard card) {}
+
+  @Override
+  public void expenseLimit(MonthlyExpenseLimit limit) {}
+
+  @Override
+  public void incomeForecast(IncomeForecast forecast) {}
+
+  @Override
+  public void incomePlan(IncomePlan plan) {}
+
+  @Override
+  public void expenseActual(MonthlyExpenseActual actual) {}
+
+  @Override
+  public void incomeActual(MonthlyIncomeActual actual) {}
+
+  @Override
+  public void close() throws IOException {
+    try (accounts) {
+      if (currentFile != null) currentFile.close();
+    }
+  }
+
+  // Transactions arrive account by account, so only one file is ever open.
+  private void openFileOf(AccountId accountId) throws IOException {
+    if (currentFile != null) currentFile.close();
+    currentAccount = accountId;
+    currentFile =
+        Files.newBufferedWriter(
+            transactionsDirectory.resolve(fileNames.get(accountId)), StandardCharsets.UTF_8);
+    currentFile.write(TRANSACTIONS_HEADER);
+    currentFile.write("\r\n");
+  }
+
+  private static String field(String value) {
+    if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
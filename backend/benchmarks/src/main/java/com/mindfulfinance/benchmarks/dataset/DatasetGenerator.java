@@ -0,0 +1,357 @@
+package com.mindfulfinance.benchmarks.dataset;
+
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.account.AccountStatus;
+import com.mindfulfinance.domain.account.AccountType;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.personalfinance.ExpenseLimitPeriod;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardStatus;
+import com.mindfulfinance.domain.personalfinance.VacationPeriod;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates a ledger that looks like real usage: accounts of every {@link AccountType} in roubles,
+ * dollars and euros; years of transactions where each half month opens with an income entry and
+ * spending peaks in summer and December; and cards with limits, forecasts, vacation plans and a
+ * year of monthly actuals for every year of the range.
+ *
+ * <p>Every value is derived from the seed and the position of the item, never from what was
+ * generated before it, so a dataset is identical across runs and sinks and any entity can be
+ * regenerated on its own. Transactions stream out in batches of {@value #BATCH_SIZE}; memory does
+ * not grow with the transaction count. Memos carry a per-account sequence number, so no two
+ * transactions collide on the import dedupe key.
+ */
+public final class DatasetGenerator {
+  static final int BATCH_SIZE = 10_000;
+
+  private static final Currency RUB = Currency.getInstance("RUB");
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final long RUB_PER_FOREIGN_UNIT = 90;
+
+  // Half of the accounts are cash, a fifth are deposits, the rest are split among investments.
+  private static final AccountType[] ACCOUNT_TYPES = {
+    AccountType.CASH,
+    AccountType.CASH,
+    AccountType.CASH,
+    AccountType.CASH,
+    AccountType.CASH,
+    AccountType.DEPOSIT,
+    AccountType.DEPOSIT,
+    AccountType.BROKERAGE,
+    AccountType.IIS,
+    AccountType.FUND
+  };
+  // Spending relative to an ordinary month, January first: summer holidays and December gifts.
+  private static final double[] SEASONALITY = {
+    0.85, 0.9, 1.0, 1.0, 1.05, 1.1, 1.3, 1.25, 1.0, 1.0, 1.1, 1.6
+  };
+  private static final String[] EXPENSE_MEMOS = {
+    "Groceries",
+    "Restaurant",
+    "Taxi",
+    "Pharmacy",
+    "Utilities",
+    "Clothes",
+    "Books",
+    "Cinema",
+    "Gift",
+    "Fuel"
+  };
+  private static final Map<PersonalExpenseCategory, Integer> LIMIT_PERCENTS =
+      Map.of(
+          PersonalExpenseCategory.RESTAURANTS, 8,
+          PersonalExpenseCategory.GROCERIES, 15,
+          PersonalExpenseCategory.PERSONAL, 7,
+          PersonalExpenseCategory.UTILITIES, 8,
+          PersonalExpenseCategory.TRANSPORT, 5,
+          PersonalExpenseCategory.GIFTS, 3,
+          PersonalExpenseCategory.INVESTMENTS, 15,
+          PersonalExpenseCategory.ENTERTAINMENT, 5,
+          PersonalExpenseCategory.EDUCATION, 4);
+
+  // Streams keep the random sequences of different kinds of items apart.
+  private static final long ACCOUNTS = 1;
+  private static final long TRANSACTIONS = 2;
+  private static final long CARDS = 3;
+  private static final long FORECASTS = 4;
+  private static final long LIMITS = 5;
+  private static final long PLANS = 6;
+  private static final long EXPENSES = 7;
+  private static final long INCOMES = 8;
+
+  private final DatasetSpec spec;
+  private final LocalDate firstDay;
+  private final long days;
+
+  public DatasetGenerator(DatasetSpec spec) {
+    this.spec = spec;
+    this.firstDay = LocalDate.of(spec.firstYear(), 1, 1);
+    this.days = ChronoUnit.DAYS.between(firstDay, firstDay.plusYears(spec.years()));
+  }
+
+  public void generate(DatasetSink sink) throws IOException {
+    List<Account> accounts = new ArrayList<>(spec.accounts());
+    for (int index = 0; index < spec.accounts(); index++) {
+      Account account = account(index);
+      accounts.add(account);
+      sink.account(account);
+    }
+
+    long perAccount = spec.transactions() / spec.freeAccounts();
+    long remainder = spec.transactions() % spec.freeAccounts();
+    for (int index = spec.cards(); index < spec.accounts(); index++) {
+      long count = perAccount + (index - spec.cards() < remainder ? 1 : 0);
+      transactions(index, accounts.get(index), count, sink);
+    }
+
+    for (int card = 0; card < spec.cards(); card++) {
+      sink.card(card(card, accounts.get(card)));
+    }
+    for (int card = 0; card < spec.cards(); card++) sink.expenseLimit(limit(card));
+    for (int card = 0; card < spec.cards(); card++) sink.incomeForecast(forecast(card));
+    for (int card = 0; card < spec.cards(); card++) {
+      for (int year = spec.firstYear(); year < spec.firstYear() + spec.years(); year++) {
+        sink.incomePlan(plan(card, year));
+      }
+    }
+    for (int card = 0; card < spec.cards(); card++) {
+      for (int year = spec.firstYear(); year < spec.firstYear() + spec.years(); year++) {
+        for (int month = 1; month <= 12; month++)
+          sink.expenseActual(expenseActual(card, year, month));
+      }
+    }
+    for (int card = 0; card < spec.cards(); card++) {
+      for (int year = spec.firstYear(); year < spec.firstYear() + spec.years(); year++) {
+        for (int month = 1; month <= 12; month++)
+          sink.incomeActual(incomeActual(card, year, month));
+      }
+    }
+  }
+
+  /** Accounts below {@link DatasetSpec#cards()} are the rouble cash accounts cards link to. */
+  Account account(int index) {
+    SplittableRandom random = random(ACCOUNTS, index);
+    UUID id = uuid(random);
+    if (index < spec.cards()) {
+      return new Account(
+          new AccountId(id),
+          "Card account " + (index + 1),
+          RUB,
+          AccountType.CASH,
+          AccountStatus.ACTIVE,
+          createdAt(index));
+    }
+
+    AccountType type = ACCOUNT_TYPES[random.nextInt(ACCOUNT_TYPES.length)];
+    int currencyRoll = random.nextInt(10);
+    // An individual investment account is rouble-only by law.
+    Currency currency =
+        type == AccountType.IIS || currencyRoll < 7 ? RUB : currencyRoll < 9 ? USD : EUR;
+    return new Account(
+        new AccountId(id),
+        type.name().charAt(0)
+            + type.name().substring(1).toLowerCase(Locale.ROOT)
+            + " "
+            + (index + 1),
+        currency,
+        type,
+        AccountStatus.ACTIVE,
+        createdAt(index));
+  }
+
+  private void transactions(int index, Account account, long count, DatasetSink sink)
+      throws IOException {
+    SplittableRandom random = random(TRANSACTIONS, index);
+    long salaryCents = random.nextLong(60_000, 300_000) * 100;
+    List<Transaction> batch = new ArrayList<>((int) Math.min(count, BATCH_SIZE));
+    int previousHalfMonth = -1;
+
+    for (long sequence = 0; sequence < count; sequence++) {
+      LocalDate occurredOn = firstDay.plusDays(sequence * days / count);
+      int halfMonth =
+          occurredOn.getYear() * 24
+              + (occurredOn.getMonthValue() - 1) * 2
+              + (occurredOn.getDayOfMonth() > 15 ? 1 : 0);
+
+      TransactionDirection direction;
+      long rubCents;
+      String memo;
+      if (halfMonth != previousHalfMonth) {
+        direction = TransactionDirection.INFLOW;
+        rubCents = salaryCents / 2 + random.nextLong(-500_000, 500_000);
+        memo = incomeMemo(account.type(), occurredOn.getDayOfMonth() > 15);
+      } else if (random.nextInt(25) == 0) {
+        direction = TransactionDirection.INFLOW;
+        rubCents = random.nextLong(100_000, 3_000_000);
+        memo = "Transfer in";
+      } else {
+        direction = TransactionDirection.OUTFLOW;
+        double season = SEASONALITY[occurredOn.getMonthValue() - 1];
+        rubCents = (long) (random.nextLong(10_000, 500_000) * season);
+        memo = EXPENSE_MEMOS[random.nextInt(EXPENSE_MEMOS.length)];
+      }
+      previousHalfMonth = halfMonth;
+
+      long cents = account.currency().equals(RUB) ? rubCents : rubCents / RUB_PER_FOREIGN_UNIT;
+      batch.add(
+          new Transaction(
+              new TransactionId(uuid(random)),
+              account.id(),
+              occurredOn,
+              direction,
+              new Money(BigDecimal.valueOf(Math.max(1, cents), 2), account.currency()),
+              memo + " #" + (sequence + 1),
+              occurredOn.atTime(12, 0).toInstant(ZoneOffset.UTC).plusSeconds(sequence % 3_600)));
+
+      if (batch.size() == BATCH_SIZE) {
+        sink.transactions(List.copyOf(batch));
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) sink.transactions(List.copyOf(batch));
+  }
+
+  private static String incomeMemo(AccountType type, boolean secondHalf) {
+    return switch (type) {
+      case CASH -> secondHalf ? "Salary" : "Advance";
+      case DEPOSIT -> secondHalf ? "Interest" : "Top-up";
+      case BROKERAGE, IIS, FUND -> secondHalf ? "Coupon" : "Contribution";
+    };
+  }
+
+  PersonalFinanceCard card(int card, Account linkedAccount) {
+    return new PersonalFinanceCard(
+        new PersonalFinanceCardId(uuid(random(CARDS, card))),
+        "Card " + (card + 1),
+        linkedAccount.id(),
+        createdAt(card),
+        PersonalFinanceCardStatus.ACTIVE);
+  }
+
+  MonthlyExpenseLimit limit(int card) {
+    SplittableRandom random = random(LIMITS, card);
+    Map<PersonalExpenseCategory, BigDecimal> percents =
+        new EnumMap<>(PersonalExpenseCategory.class);
+    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+      int percent = Math.max(0, LIMIT_PERCENTS.get(category) + random.nextInt(-2, 3));
+      percents.put(category, BigDecimal.valueOf(percent));
+    }
+    return new MonthlyExpenseLimit(cardId(card), percents);
+  }
+
+  IncomeForecast forecast(int card) {
+    SplittableRandom random = random(FORECASTS, card);
+    BigDecimal salary = BigDecimal.valueOf(random.nextLong(60, 400) * 1_000);
+    int[] bonuses = {0, 10, 15, 20};
+    return new IncomeForecast(
+        cardId(card), rub(salary), BigDecimal.valueOf(bonuses[random.nextInt(bonuses.length)]));
+  }
+
+  /** A two-week summer vacation every year; every other card gets a thirteenth salary. */
+  IncomePlan plan(int card, int year) {
+    SplittableRandom random = random(PLANS, (long) card * 10_000 + year);
+    LocalDate vacationStart = LocalDate.of(year, 6, 1).plusDays(random.nextInt(75));
+    boolean thirteenthSalary = card % 2 == 0;
+    return new IncomePlan(
+        cardId(card),
+        year,
+        List.of(new VacationPeriod(vacationStart, vacationStart.plusDays(13))),
+        thirteenthSalary,
+        thirteenthSalary ? 12 : null);
+  }
+
+  MonthlyExpenseActual expenseActual(int card, int year, int month) {
+    SplittableRandom random = random(EXPENSES, monthKey(card, year, month));
+    BigDecimal salary = forecast(card).salaryAmount().amount();
+    BigDecimal season = BigDecimal.valueOf(SEASONALITY[month - 1]);
+    Map<PersonalExpenseCategory, Money> amounts = new EnumMap<>(PersonalExpenseCategory.class);
+    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+      // Annual categories are paid in a few months of the year, not spread evenly.
+      boolean spent =
+          category.limitPeriod() == ExpenseLimitPeriod.MONTHLY || random.nextInt(3) == 0;
+      BigDecimal amount =
+          spent
+              ? salary
+                  .multiply(BigDecimal.valueOf(LIMIT_PERCENTS.get(category)))
+                  .multiply(season)
+                  .multiply(BigDecimal.valueOf(70 + random.nextInt(61)))
+                  .movePointLeft(4)
+                  .setScale(2, RoundingMode.HALF_UP)
+              : BigDecimal.ZERO;
+      amounts.put(category, rub(amount));
+    }
+    return new MonthlyExpenseActual(cardId(card), year, month, amounts);
+  }
+
+  /**
+   * The forecast salary with a little noise, plus the plan's thirteenth salary and vacation pay.
+   */
+  MonthlyIncomeActual incomeActual(int card, int year, int month) {
+    SplittableRandom random = random(INCOMES, monthKey(card, year, month));
+    IncomeForecast forecast = forecast(card);
+    Money total =
+        rub(
+            forecast
+                .salaryAmount()
+                .amount()
+                .multiply(BigDecimal.valueOf(95 + random.nextInt(11)))
+                .movePointLeft(2)
+                .setScale(2, RoundingMode.HALF_UP));
+    Money delta = plan(card, year).derivedOverrideDeltaAmounts(forecast.salaryAmount()).get(month);
+    if (delta != null) total = total.add(delta);
+    if (month == 12) total = total.add(forecast.bonusAmount());
+    return new MonthlyIncomeActual(cardId(card), year, month, total);
+  }
+
+  private PersonalFinanceCardId cardId(int card) {
+    return new PersonalFinanceCardId(uuid(random(CARDS, card)));
+  }
+
+  private Instant createdAt(int index) {
+    return firstDay.minusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC).plusSeconds(index);
+  }
+
+  private static long monthKey(int card, int year, int month) {
+    return ((long) card * 10_000 + year) * 12 + month;
+  }
+
+  private SplittableRandom random(long stream, long index) {
+    return new SplittableRandom(
+        spec.seed() * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+  }
+
+  private static UUID uuid(SplittableRandom random) {
+    return new UUID(random.nextLong(), random.nextLong());
+  }
+
+  private static Money rub(BigDecimal amount) {
+    return new Money(amount, RUB);
+  }
+}
@@ -0,0 +1,40 @@
+package com.mindfulfinance.benchmarks.dataset;
+
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives a generated dataset. {@link DatasetGenerator} emits one kind at a time, in this order:
+ * accounts, transactions (account by account, chronologically, in bounded batches), cards, limits,
+ * forecasts, income plans, expense actuals, income actuals. Parents thus always arrive before the
+ * rows that reference them.
+ */
+public interface DatasetSink extends AutoCloseable {
+  void account(Account account) throws IOException;
+
+  void transactions(List<Transaction> batch) throws IOException;
+
+  void card(PersonalFinanceCard card) throws IOException;
+
+  void expenseLimit(MonthlyExpenseLimit limit) throws IOException;
+
+  void incomeForecast(IncomeForecast forecast) throws IOException;
+
+  void incomePlan(IncomePlan plan) throws IOException;
+
+  void expenseActual(MonthlyExpenseActual actual) throws IOException;
+
+  void incomeActual(MonthlyIncomeActual actual) throws IOException;
+
+  /** Flushes what the sink buffers; called once after the last item. */
+  @Override
+  default void close() throws IOException {}
+}
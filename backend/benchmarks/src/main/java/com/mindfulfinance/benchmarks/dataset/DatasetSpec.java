@@ -0,0 +1,50 @@
+package com.mindfulfinance.benchmarks.dataset;
+
+/**
+ * Size and shape of a generated dataset. {@code transactions} counts free-form ledger entries; the
+ * accounts linked to the {@code cards} get none, since only the card ledger writes to them.
+ */
+public record DatasetSpec(
+    long seed, long transactions, int accounts, int cards, int firstYear, int years) {
+  public static final long MIN_TRANSACTIONS = 1_000;
+  public static final long MAX_TRANSACTIONS = 100_000_000;
+
+  private static final int TRANSACTIONS_PER_ACCOUNT = 2_000;
+  private static final int MAX_ACCOUNTS = 100_000;
+  private static final int MAX_CARDS = 10_000;
+
+  public DatasetSpec {
+    if (transactions < MIN_TRANSACTIONS || transactions > MAX_TRANSACTIONS) {
+      throw new IllegalArgumentException(
+          "Transactions must be between " + MIN_TRANSACTIONS + " and " + MAX_TRANSACTIONS);
+    }
+    if (cards < 0 || cards > MAX_CARDS) {
+      throw new IllegalArgumentException("Cards must be between 0 and " + MAX_CARDS);
+    }
+    if (accounts <= cards || accounts > MAX_ACCOUNTS) {
+      throw new IllegalArgumentException(
+          "Accounts must exceed the card count and be at most " + MAX_ACCOUNTS);
+    }
+    if (years < 1 || years > 20) {
+      throw new IllegalArgumentException("Years must be between 1 and 20");
+    }
+    if (firstYear < 1 || firstYear + years - 1 > 9999) {
+      throw new IllegalArgumentException("Years must stay between 1 and 9999");
+    }
+  }
+
+  /**
+   * Three years up to {@code 2025} with about {@value #TRANSACTIONS_PER_ACCOUNT} transactions per
+   * account and a card for every tenth account.
+   */
+  public static DatasetSpec ofTransactions(long seed, long transactions) {
+    int free = (int) Math.clamp(transactions / TRANSACTIONS_PER_ACCOUNT, 9, MAX_ACCOUNTS * 9L / 10);
+    int cards = Math.min(Math.max(1, free / 9), MAX_CARDS);
+    return new DatasetSpec(seed, transactions, free + cards, cards, 2023, 3);
+  }
+
+  /** Accounts that receive free-form transactions. */
+  public int freeAccounts() {
+    return accounts - cards;
+  }
+}
@@ -0,0 +1,85 @@
+package com.mindfulfinance.benchmarks.dataset;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line entry point of the generator, run from {@code benchmarks.jar}:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.mindfulfinance.benchmarks.dataset.GenerateDataset \
+ *     --transactions 1000000 --format sql --out dataset.sql.gz
+ * </pre>
+ *
+ * {@code --format csv} writes an import directory instead. {@code --seed}, {@code --accounts},
+ * {@code --cards}, {@code --first-year} and {@code --years} override the defaults of {@link
+ * DatasetSpec#ofTransactions}.
+ */
+public final class GenerateDataset {
+  static final long DEFAULT_SEED = 20260101L;
+
+  private static final Set<String> OPTIONS =
+      Set.of("transactions", "seed", "format", "out", "accounts", "cards", "first-year", "years");
+
+  private GenerateDataset() {}
+
+  public static void main(String[] args) throws IOException {
+    Map<String, String> options = parse(args);
+    long seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(DEFAULT_SEED)));
+    long transactions = Long.parseLong(required(options, "transactions"));
+    String format = options.getOrDefault("format", "sql");
+    Path out = Path.of(required(options, "out"));
+
+    DatasetSpec defaults = DatasetSpec.ofTransactions(seed, transactions);
+    DatasetSpec spec =
+        new DatasetSpec(
+            seed,
+            transactions,
+            intOption(options, "accounts", defaults.accounts()),
+            intOption(options, "cards", defaults.cards()),
+            intOption(options, "first-year", defaults.firstYear()),
+            intOption(options, "years", defaults.years()));
+
+    long started = System.nanoTime();
+    try (DatasetSink sink = sink(format, out)) {
+      new DatasetGenerator(spec).generate(sink);
+    }
+    System.out.printf(
+        "Wrote %s to %s in %d ms%n", spec, out, (System.nanoTime() - started) / 1_000_000);
+  }
+
+  private static DatasetSink sink(String format, Path out) throws IOException {
+    return switch (format) {
+      case "sql" -> PostgresCopySink.toFile(out);
+      case "csv" -> new CsvImportSink(out);
+      default -> throw new IllegalArgumentException("Unknown format: " + format);
+    };
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (int i = 0; i < args.length; i += 2) {
+      String name = args[i].startsWith("--") ? args[i].substring(2) : "";
+      if (!OPTIONS.contains(name) || i + 1 >= args.length) {
+        throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+      }
+      options.put(name, args[i + 1]);
+    }
+    return options;
+  }
+
+  private static String required(Map<String, String> options, String name) {
+    String value = options.get(name);
+    if (value == null) throw new IllegalArgumentException("Missing --" + name);
+    return value;
+  }
+
+  private static int intOption(Map<String, String> options, String name, int defaultValue) {
+    String value = options.get(name);
+    return value == null ? defaultValue : Integer.parseInt(value);
+  }
+}
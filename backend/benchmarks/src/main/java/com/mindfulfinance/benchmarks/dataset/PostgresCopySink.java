@@ -0,0 +1,230 @@
+package com.mindfulfinance.benchmarks.dataset;
+
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.personalfinance.VacationPeriod;
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a psql script that loads the dataset into a migrated, empty schema with one {@code COPY
+ * ... FROM stdin} block per table, inside one transaction, and analyzes the tables afterwards. Run
+ * it with {@code psql -v ON_ERROR_STOP=1 -f dataset.sql}, or pipe it through {@code gunzip} when
+ * the file name ends in {@code .gz}. Version columns keep their defaults.
+ */
+public final class PostgresCopySink implements DatasetSink {
+  static final String ACCOUNTS =
+      "COPY accounts (id, name, currency, type, status, created_at) FROM stdin;";
+  static final String TRANSACTIONS =
+      "COPY transactions (id, account_id, occurred_on, direction, amount, currency, memo,"
+          + " created_at) FROM stdin;";
+  static final String CARDS =
+      "COPY personal_finance_cards (id, name, linked_account_id, created_at, status) FROM stdin;";
+  static final String LIMITS =
+      "COPY personal_finance_monthly_expense_limits (card_id, restaurants, groceries, personal,"
+          + " utilities, transport, gifts, investments, entertainment, education) FROM stdin;";
+  static final String FORECASTS =
+      "COPY personal_finance_income_forecasts (card_id, salary_amount, bonus_percent) FROM stdin;";
+  static final String PLANS =
+      "COPY personal_finance_income_plans (card_id, year, thirteenth_salary_enabled,"
+          + " thirteenth_salary_month) FROM stdin;";
+  static final String VACATIONS =
+      "COPY personal_finance_income_plan_vacations (card_id, year, start_date, end_date) FROM"
+          + " stdin;";
+  static final String EXPENSE_ACTUALS =
+      "COPY personal_finance_monthly_expense_actuals (card_id, year, month, restaurants,"
+          + " groceries, personal, utilities, transport, gifts, investments, entertainment,"
+          + " education) FROM stdin;";
+  static final String INCOME_ACTUALS =
+      "COPY personal_finance_monthly_income_actuals (card_id, year, month, total_amount) FROM"
+          + " stdin;";
+
+  private final Writer out;
+  // Vacations reference their plan, so they are held back until the plans block is complete.
+  private final List<String> vacationRows = new ArrayList<>();
+  private String currentBlock;
+
+  public PostgresCopySink(Writer out) throws IOException {
+    this.out = out;
+    out.write("-- Generated by com.mindfulfinance.benchmarks.dataset.GenerateDataset\n");
+    out.write("BEGIN;\n");
+  }
+
+  /** Opens {@code file} for writing, gzip-compressed when its name ends in {@code .gz}. */
+  public static PostgresCopySink toFile(Path file) throws IOException {
+    OutputStream stream = Files.newOutputStream(file);
+    if (file.getFileName().toString().endsWith(".gz")) {
+      stream = new GZIPOutputStream(stream, 1 << 16);
+    }
+    return new PostgresCopySink(
+        new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16));
+  }
+
+  @Override
+  public void account(Account account) throws IOException {
+    row(
+        ACCOUNTS,
+        account.id().value(),
+        account.name(),
+        account.currency().getCurrencyCode(),
+        account.type().name(),
+        account.status().name(),
+        account.createdAt());
+  }
+
+  @Override
+  public void transactions(List<Transaction> batch) throws IOException {
+    for (Transaction transaction : batch) {
+      row(
+          TRANSACTIONS,
+          transaction.id().value(),
+          transaction.accountId().value(),
+          transaction.occurredOn(),
+          transaction.direction().name(),
+          transaction.amount().amount().toPlainString(),
+          transaction.amount().currency().getCurrencyCode(),
+          transaction.memo(),
+          transaction.createdAt());
+    }
+  }
+
+  @Override
+  public void card(PersonalFinanceCard card) throws IOException {
+    row(
+        CARDS,
+        card.id().value(),
+        card.name(),
+        card.linkedAccountId().value(),
+        card.createdAt(),
+        card.status().name());
+  }
+
+  @Override
+  public void expenseLimit(MonthlyExpenseLimit limit) throws IOException {
+    Object[] values = new Object[1 + PersonalExpenseCategory.values().length];
+    values[0] = limit.cardId().value();
+    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+      values[1 + category.ordinal()] = limit.configuredPercent(category).toPlainString();
+    }
+    row(LIMITS, values);
+  }
+
+  @Override
+  public void incomeForecast(IncomeForecast forecast) throws IOException {
+    row(
+        FORECASTS,
+        forecast.cardId().value(),
+        forecast.salaryAmount().amount().toPlainString(),
+        forecast.bonusPercent().toPlainString());
+  }
+
+  @Override
+  public void incomePlan(IncomePlan plan) throws IOException {
+    row(
+        PLANS,
+        plan.cardId().value(),
+        plan.year(),
+        plan.thirteenthSalaryEnabled(),
+        plan.thirteenthSalaryMonth());
+    for (VacationPeriod vacation : plan.vacations()) {
+      vacationRows.add(
+          line(plan.cardId().value(), plan.year(), vacation.startDate(), vacation.endDate()));
+    }
+  }
+
+  @Override
+  public void expenseActual(MonthlyExpenseActual actual) throws IOException {
+    Object[] values = new Object[3 + PersonalExpenseCategory.values().length];
+    values[0] = actual.cardId().value();
+    values[1] = actual.year();
+    values[2] = actual.month();
+    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+      values[3 + category.ordinal()] =
+          actual.categoryAmounts().get(category).amount().toPlainString();
+    }
+    row(EXPENSE_ACTUALS, values);
+  }
+
+  @Override
+  public void incomeActual(MonthlyIncomeActual actual) throws IOException {
+    row(
+        INCOME_ACTUALS,
+        actual.cardId().value(),
+        actual.year(),
+        actual.month(),
+        actual.totalAmount().amount().toPlainString());
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (out) {
+      block(null);
+      out.write("COMMIT;\n");
+      out.write("ANALYZE;\n");
+    }
+  }
+
+  private void row(String block, Object... values) throws IOException {
+    block(block);
+    out.write(line(values));
+  }
+
+  private void block(String block) throws IOException {
+    if (block != null && block.equals(currentBlock)) return;
+
+    if (currentBlock != null) out.write("\\.\n");
+    if (PLANS.equals(currentBlock) && !vacationRows.isEmpty()) {
+      out.write(VACATIONS);
+      out.write('\n');
+      for (String vacation : vacationRows) out.write(vacation);
+      out.write("\\.\n");
+      vacationRows.clear();
+    }
+    currentBlock = block;
+    if (block != null) {
+      out.write(block);
+      out.write('\n');
+    }
+  }
+
+  /** One row in COPY text format: tab-separated, {@code \N} for null, special bytes escaped. */
+  private static String line(Object... values) {
+    StringBuilder line = new StringBuilder(128);
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) line.append('\t');
+      Object value = values[i];
+      if (value == null) {
+        line.append("\\N");
+        continue;
+      }
+      String text = value.toString();
+      for (int j = 0; j < text.length(); j++) {
+        char c = text.charAt(j);
+        switch (c) {
+          case '\\' -> line.append("\\\\");
+          case '\t' -> line.append("\\t");
+          case '\n' -> line.append("\\n");
+          case '\r' -> line.append("\\r");
+          default -> line.append(c);
+        }
+      }
+    }
+    return line.append('\n').toString();
+  }
+}
@@ -0,0 +1,117 @@
+package com.mindfulfinance.benchmarks.dataset;
+
+import com.mindfulfinance.application.ports.AccountRepository;
+import com.mindfulfinance.application.ports.IncomeForecastRepository;
+import com.mindfulfinance.application.ports.IncomePlanRepository;
+import com.mindfulfinance.application.ports.MonthlyExpenseActualRepository;
+import com.mindfulfinance.application.ports.MonthlyExpenseLimitRepository;
+import com.mindfulfinance.application.ports.MonthlyIncomeActualRepository;
+import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a dataset through the repository ports, so any adapter can be filled: the in-memory ones
+ * for benchmarks, the Postgres ones for a quick seed. Transactions and actuals go through the batch
+ * methods. Linked accounts get no managed card entries, exactly as in the CSV and SQL output.
+ */
+public final class RepositorySink implements DatasetSink {
+  private static final int ACTUALS_BATCH_SIZE = 500;
+
+  private final AccountRepository accounts;
+  private final TransactionRepository transactions;
+  private final PersonalFinanceCardRepository cards;
+  private final MonthlyExpenseLimitRepository expenseLimits;
+  private final IncomeForecastRepository incomeForecasts;
+  private final IncomePlanRepository incomePlans;
+  private final MonthlyExpenseActualRepository expenseActuals;
+  private final MonthlyIncomeActualRepository incomeActuals;
+  private final List<MonthlyExpenseActual> pendingExpenses = new ArrayList<>();
+  private final List<MonthlyIncomeActual> pendingIncomes = new ArrayList<>();
+
+  public RepositorySink(
+      AccountRepository accounts,
+      TransactionRepository transactions,
+      PersonalFinanceCardRepository cards,
+      MonthlyExpenseLimitRepository expenseLimits,
+      IncomeForecastRepository incomeForecasts,
+      IncomePlanRepository incomePlans,
+      MonthlyExpenseActualRepository expenseActuals,
+      MonthlyIncomeActualRepository incomeActuals) {
+    this.accounts = accounts;
+    this.transactions = transactions;
+    this.cards = cards;
+    this.expenseLimits = expenseLimits;
+    this.incomeForecasts = incomeForecasts;
+    this.incomePlans = incomePlans;
+    this.expenseActuals = expenseActuals;
+    this.incomeActuals = incomeActuals;
+  }
+
+  @Override
+  public void account(Account account) {
+    accounts.save(account);
+  }
+
+  @Override
+  public void transactions(List<Transaction> batch) {
+    transactions.saveAll(batch);
+  }
+
+  @Override
+  public void card(PersonalFinanceCard card) {
+    cards.save(card);
+  }
+
+  @Override
+  public void expenseLimit(MonthlyExpenseLimit limit) {
+    expenseLimits.upsert(limit);
+  }
+
+  @Override
+  public void incomeForecast(IncomeForecast forecast) {
+    incomeForecasts.upsert(forecast);
+  }
+
+  @Override
+  public void incomePlan(IncomePlan plan) {
+    incomePlans.upsert(plan);
+  }
+
+  @Override
+  public void expenseActual(MonthlyExpenseActual actual) {
+    pendingExpenses.add(actual);
+    if (pendingExpenses.size() == ACTUALS_BATCH_SIZE) flushExpenses();
+  }
+
+  @Override
+  public void incomeActual(MonthlyIncomeActual actual) {
+    pendingIncomes.add(actual);
+    if (pendingIncomes.size() == ACTUALS_BATCH_SIZE) flushIncomes();
+  }
+
+  @Override
+  public void close() {
+    flushExpenses();
+    flushIncomes();
+  }
+
+  private void flushExpenses() {
+    expenseActuals.upsertAll(List.copyOf(pendingExpenses));
+    pendingExpenses.clear();
+  }
+
+  private void flushIncomes() {
+    incomeActuals.upsertAll(List.copyOf(pendingIncomes));
+    pendingIncomes.clear();
+  }
+}
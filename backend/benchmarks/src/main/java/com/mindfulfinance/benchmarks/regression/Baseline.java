@@ -0,0 +1,57 @@
+package com.mindfulfinance.benchmarks.regression;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A suite and the results it last produced on the reference machine, kept as JSON under {@code
+ * backend/benchmarks/baselines}. The suite part ({@code include}, {@code params}, {@code
+ * tolerance}) is edited by hand; {@code environment} and {@code measurements} are rewritten by
+ * {@code --update}.
+ *
+ * @param kind {@code jmh} for a suite the gate runs itself, {@code load} for {@code loadtest.jar}
+ *     results passed in with {@code --results}
+ * @param include JMH benchmark regexes
+ * @param params JMH parameters that narrow the suite, as for {@code -p}
+ * @param tolerance relative change below which a difference is not reported, e.g. {@code 0.1}
+ */
+public record Baseline(
+    String suite,
+    String kind,
+    List<String> include,
+    Map<String, List<String>> params,
+    double tolerance,
+    String environment,
+    List<Measurement> measurements) {
+  private static final ObjectMapper JSON =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  public Baseline {
+    include = include == null ? List.of() : List.copyOf(include);
+    params = params == null ? Map.of() : Map.copyOf(params);
+    measurements = measurements == null ? List.of() : List.copyOf(measurements);
+    if (!"jmh".equals(kind) && !"load".equals(kind)) {
+      throw new IllegalArgumentException("Baseline kind must be jmh or load, got: " + kind);
+    }
+    if (!(tolerance >= 0 && tolerance < 1)) {
+      throw new IllegalArgumentException("Tolerance must be in [0, 1), got: " + tolerance);
+    }
+  }
+
+  public static Baseline read(Path file) throws IOException {
+    return JSON.readValue(file.toFile(), Baseline.class);
+  }
+
+  public void write(Path file) throws IOException {
+    Files.writeString(file, JSON.writeValueAsString(this) + "\n");
+  }
+
+  public Baseline withResults(String environment, List<Measurement> measurements) {
+    return new Baseline(suite, kind, include, params, tolerance, environment, measurements);
+  }
+}
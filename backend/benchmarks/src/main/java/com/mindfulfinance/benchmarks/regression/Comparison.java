@@ -0,0 +1,144 @@
+package com.mindfulfinance.benchmarks.regression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares a run with its baseline. A difference is a regression or an improvement only when it is
+ * both larger than the tolerance and larger than the noise: the two confidence intervals must not
+ * overlap. JMH intervals from a handful of iterations are wide, so a flagged change is real; a
+ * change hidden in the noise needs more forks or iterations to show, not a looser gate.
+ */
+public final class Comparison {
+  /** Allocation differences below this many bytes per operation are rounding, not regressions. */
+  static final double ALLOCATION_NOISE_FLOOR = 16;
+
+  public enum Verdict {
+    REGRESSION,
+    IMPROVEMENT,
+    UNCHANGED,
+    NEW,
+    MISSING
+  }
+
+  /**
+   * @param change relative difference from the baseline, positive when the current run is worse
+   */
+  public record Row(Measurement baseline, Measurement current, double change, Verdict verdict) {
+    public Measurement either() {
+      return current != null ? current : baseline;
+    }
+  }
+
+  private final double tolerance;
+  private final List<Row> rows;
+
+  private Comparison(double tolerance, List<Row> rows) {
+    this.tolerance = tolerance;
+    this.rows = List.copyOf(rows);
+  }
+
+  public static Comparison of(
+      List<Measurement> baseline, List<Measurement> current, double tolerance) {
+    Map<String, Measurement> remaining = new LinkedHashMap<>();
+    baseline.forEach(measurement -> remaining.put(measurement.key(), measurement));
+
+    List<Row> rows = new ArrayList<>();
+    for (Measurement now : current) {
+      Measurement before = remaining.remove(now.key());
+      rows.add(before == null ? new Row(null, now, 0, Verdict.NEW) : row(before, now, tolerance));
+    }
+    remaining.values().forEach(before -> rows.add(new Row(before, null, 0, Verdict.MISSING)));
+    return new Comparison(tolerance, rows);
+  }
+
+  private static Row row(Measurement before, Measurement now, double tolerance) {
+    double worse =
+        now.higherIsBetter() ? before.score() - now.score() : now.score() - before.score();
+    double change =
+        before.score() == 0 ? (worse == 0 ? 0 : Math.signum(worse)) : worse / before.score();
+    double noise = before.error() + now.error();
+    if (now.unit().equals("B/op")) noise = Math.max(noise, ALLOCATION_NOISE_FLOOR);
+
+    Verdict verdict = Verdict.UNCHANGED;
+    if (Math.abs(change) > tolerance && Math.abs(worse) > noise) {
+      verdict = worse > 0 ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+    }
+    return new Row(before, now, change, verdict);
+  }
+
+  public List<Row> rows() {
+    return rows;
+  }
+
+  public boolean hasRegressions() {
+    return count(Verdict.REGRESSION) > 0;
+  }
+
+  public long count(Verdict verdict) {
+    return rows.stream().filter(row -> row.verdict() == verdict).count();
+  }
+
+  /** A Markdown report: regressions first, then improvements, then the rest. */
+  public String report(String suite, String baselineEnvironment, String currentEnvironment) {
+    StringBuilder report = new StringBuilder();
+    report.append("# Performance gate: ").append(suite).append("\n\n");
+    report
+        .append(
+            String.format(
+                Locale.ROOT,
+                "Tolerance %.0f%%; a change is reported when it exceeds the tolerance and the"
+                    + " confidence intervals do not overlap.%n%n",
+                tolerance * 100))
+        .append("- Baseline: ")
+        .append(baselineEnvironment)
+        .append("\n- Current: ")
+        .append(currentEnvironment)
+        .append("\n\n");
+    report.append(
+        String.format(
+            Locale.ROOT,
+            "%d regressions, %d improvements, %d unchanged, %d new, %d missing.%n%n",
+            count(Verdict.REGRESSION),
+            count(Verdict.IMPROVEMENT),
+            count(Verdict.UNCHANGED),
+            count(Verdict.NEW),
+            count(Verdict.MISSING)));
+    report.append("| Benchmark | Metric | Baseline | Current | Worse by | Verdict |\n");
+    report.append("|---|---|---:|---:|---:|---|\n");
+    rows.stream()
+        .sorted((left, right) -> left.verdict().compareTo(right.verdict()))
+        .forEach(
+            row ->
+                report
+                    .append("| ")
+                    .append(row.either().label())
+                    .append(" | ")
+                    .append(row.either().metric())
+                    .append(" (")
+                    .append(row.either().unit())
+                    .append(") | ")
+                    .append(format(row.baseline()))
+                    .append(" | ")
+                    .append(format(row.current()))
+                    .append(" | ")
+                    .append(
+                        row.baseline() == null || row.current() == null
+                            ? ""
+                            : String.format(Locale.ROOT, "%+.1f%%", row.change() * 100))
+                    .append(" | ")
+                    .append(row.verdict())
+                    .append(" |\n"));
+    return report.toString();
+  }
+
+  private static String format(Measurement measurement) {
+    if (measurement == null) return "";
+    return measurement.error() == 0
+        ? String.format(Locale.ROOT, "%.3f", measurement.score())
+        : String.format(Locale.ROOT, "%.3f +/- %.3f", measurement.score(), measurement.error());
+  }
+}
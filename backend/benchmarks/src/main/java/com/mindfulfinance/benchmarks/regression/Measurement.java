@@ -0,0 +1,45 @@
+package com.mindfulfinance.benchmarks.regression;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * One number from a benchmark run, e.g. the average time of a JMH benchmark with given parameters
+ * or its allocation per operation.
+ *
+ * @param error half-width of the score's confidence interval as the harness reported it (JMH uses
+ *     99.9%), or 0 when the harness reports none
+ */
+public record Measurement(
+    String benchmark,
+    Map<String, String> params,
+    String metric,
+    String unit,
+    boolean higherIsBetter,
+    double score,
+    double error) {
+  public static final String SCORE = "score";
+
+  public Measurement {
+    params = new TreeMap<>(params);
+    if (Double.isNaN(error)) error = 0;
+  }
+
+  /** Identifies the measurement across runs. */
+  public String key() {
+    return label() + " " + metric;
+  }
+
+  /** The benchmark without its package, followed by its parameters. */
+  public String label() {
+    String simpleName =
+        benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+    if (params.isEmpty()) return simpleName;
+    return simpleName
+        + " "
+        + params.entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.joining(","));
+  }
+}
@@ -0,0 +1,101 @@
+package com.mindfulfinance.benchmarks.regression;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs a baseline's suite, or reads results passed in, compares them with the baseline and exits
+ * with status 1 when something regressed. The {@code performance-gate} Maven profile runs it in
+ * {@code verify}, so a regression fails the build.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.mindfulfinance.benchmarks.regression.PerformanceGate \
+ *     --baseline benchmarks/baselines/core.json [--results run.json] [--update]
+ * </pre>
+ *
+ * {@code --update} records the run as the new baseline instead of comparing; {@code --tolerance}
+ * overrides the baseline's, {@code --forks} the benchmarks' fork count, and {@code --report} writes
+ * the Markdown report to a file as well as to standard output.
+ */
+public final class PerformanceGate {
+  private PerformanceGate() {}
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    Path baselineFile = null;
+    Path results = null;
+    Path reportFile = null;
+    Double tolerance = null;
+    Integer forks = null;
+    boolean update = false;
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--baseline" -> baselineFile = Path.of(value(args, ++i));
+        case "--results" -> results = Path.of(value(args, ++i));
+        case "--report" -> reportFile = Path.of(value(args, ++i));
+        case "--tolerance" -> tolerance = Double.valueOf(value(args, ++i));
+        case "--forks" -> forks = Integer.valueOf(value(args, ++i));
+        case "--update" -> update = true;
+        default -> throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+      }
+    }
+    if (baselineFile == null) throw new IllegalArgumentException("Missing --baseline");
+
+    Baseline baseline = Baseline.read(baselineFile);
+    List<Measurement> current;
+    if (results != null) {
+      current = Results.read(results);
+    } else if (baseline.kind().equals("jmh")) {
+      current = run(baseline, forks);
+    } else {
+      throw new IllegalArgumentException(
+          "A load baseline compares loadtest.jar --json output; pass it with --results");
+    }
+    String environment = Results.environment();
+
+    if (update) {
+      baseline.withResults(environment, current).write(baselineFile);
+      System.out.printf("Recorded %d measurements in %s%n", current.size(), baselineFile);
+      return;
+    }
+
+    Comparison comparison =
+        Comparison.of(
+            baseline.measurements(), current, tolerance == null ? baseline.tolerance() : tolerance);
+    String report = comparison.report(baseline.suite(), baseline.environment(), environment);
+    System.out.println(report);
+    if (reportFile != null) Files.writeString(reportFile, report);
+    if (comparison.hasRegressions()) {
+      System.err.printf(
+          "%d performance regressions against %s%n",
+          comparison.count(Comparison.Verdict.REGRESSION), baselineFile);
+      System.exit(1);
+    }
+  }
+
+  private static List<Measurement> run(Baseline baseline, Integer forks) throws RunnerException {
+    if (baseline.include().isEmpty()) {
+      throw new IllegalArgumentException("Baseline " + baseline.suite() + " includes nothing");
+    }
+    ChainedOptionsBuilder options =
+        new OptionsBuilder().addProfiler(GCProfiler.class).shouldFailOnError(true);
+    baseline.include().forEach(options::include);
+    baseline.params().forEach((name, values) -> options.param(name, values.toArray(String[]::new)));
+    if (forks != null) options.forks(forks);
+    return Results.fromJmh(new Runner(options.build()).run());
+  }
+
+  private static String value(String[] args, int index) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException("Missing value of " + args[index - 1]);
+    }
+    return args[index];
+  }
+}
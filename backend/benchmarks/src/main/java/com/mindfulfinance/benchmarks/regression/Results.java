@@ -0,0 +1,147 @@
+package com.mindfulfinance.benchmarks.regression;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+/** Turns JMH and load-test output into {@link Measurement}s. */
+final class Results {
+  /** The GC profiler's allocation per operation, compared alongside the primary score. */
+  static final String ALLOCATION = "gc.alloc.rate.norm";
+
+  private Results() {}
+
+  static List<Measurement> fromJmh(Collection<RunResult> runs) {
+    List<Measurement> measurements = new ArrayList<>();
+    for (RunResult run : runs) {
+      BenchmarkParams params = run.getParams();
+      Map<String, String> values = new LinkedHashMap<>();
+      params.getParamsKeys().forEach(key -> values.put(key, params.getParam(key)));
+      boolean higherIsBetter = params.getMode() == Mode.Throughput;
+
+      Result<?> primary = run.getPrimaryResult();
+      measurements.add(
+          new Measurement(
+              params.getBenchmark(),
+              values,
+              Measurement.SCORE,
+              primary.getScoreUnit(),
+              higherIsBetter,
+              primary.getScore(),
+              primary.getScoreError()));
+      Result<?> allocation = run.getSecondaryResults().get(ALLOCATION);
+      if (allocation != null) {
+        measurements.add(
+            new Measurement(
+                params.getBenchmark(),
+                values,
+                ALLOCATION,
+                allocation.getScoreUnit(),
+                false,
+                allocation.getScore(),
+                allocation.getScoreError()));
+      }
+    }
+    return measurements;
+  }
+
+  /**
+   * Reads either a JMH JSON result file ({@code -rf json}) or a {@code loadtest.jar --json} report.
+   * From a load test, every operation of every step contributes its p99 latency and every step its
+   * sustained rate; they carry no confidence interval, so only the tolerance filters their noise.
+   */
+  static List<Measurement> read(Path file) throws IOException {
+    JsonNode root = new ObjectMapper().readTree(file.toFile());
+    return root.isArray() ? fromJmhJson(root) : fromLoadTestJson(root);
+  }
+
+  private static List<Measurement> fromJmhJson(JsonNode root) {
+    List<Measurement> measurements = new ArrayList<>();
+    for (JsonNode run : root) {
+      Map<String, String> params = new LinkedHashMap<>();
+      run.path("params")
+          .fields()
+          .forEachRemaining(e -> params.put(e.getKey(), e.getValue().asText()));
+      boolean higherIsBetter = Mode.deepValueOf(run.get("mode").asText()) == Mode.Throughput;
+      JsonNode primary = run.get("primaryMetric");
+      measurements.add(
+          new Measurement(
+              run.get("benchmark").asText(),
+              params,
+              Measurement.SCORE,
+              primary.get("scoreUnit").asText(),
+              higherIsBetter,
+              primary.get("score").asDouble(),
+              primary.path("scoreError").asDouble(0)));
+      JsonNode allocation = run.path("secondaryMetrics").get(ALLOCATION);
+      if (allocation != null) {
+        measurements.add(
+            new Measurement(
+                run.get("benchmark").asText(),
+                params,
+                ALLOCATION,
+                allocation.get("scoreUnit").asText(),
+                false,
+                allocation.get("score").asDouble(),
+                allocation.path("scoreError").asDouble(0)));
+      }
+    }
+    return measurements;
+  }
+
+  private static List<Measurement> fromLoadTestJson(JsonNode root) {
+    List<Measurement> measurements = new ArrayList<>();
+    for (JsonNode step : root.path("steps")) {
+      String benchmark = "loadtest." + step.get("workload").asText();
+      String rate = step.get("targetRate").asText();
+      measurements.add(
+          new Measurement(
+              benchmark,
+              Map.of("rate", rate),
+              "sustained",
+              "req/s",
+              true,
+              step.get("achievedRate").asDouble(),
+              0));
+      step.path("operations")
+          .fields()
+          .forEachRemaining(
+              operation ->
+                  measurements.add(
+                      new Measurement(
+                          benchmark,
+                          Map.of("rate", rate, "operation", operation.getKey()),
+                          "p99",
+                          "ms",
+                          false,
+                          operation.getValue().get("p99Ms").asDouble(),
+                          0)));
+    }
+    return measurements;
+  }
+
+  /** Where the numbers came from, so a baseline from other hardware is recognisable. */
+  static String environment() {
+    Runtime runtime = Runtime.getRuntime();
+    return String.format(
+        Locale.ROOT,
+        "Java %s (%s), %s %s, %d CPUs, %d MB max heap",
+        System.getProperty("java.version"),
+        System.getProperty("java.vm.name"),
+        System.getProperty("os.name"),
+        System.getProperty("os.arch"),
+        runtime.availableProcessors(),
+        runtime.maxMemory() / (1024 * 1024));
+  }
+}
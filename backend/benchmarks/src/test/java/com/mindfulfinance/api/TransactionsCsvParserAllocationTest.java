@@ -0,0 +1,22 @@
+package com.mindfulfinance.api;
+
+import com.mindfulfinance.benchmarks.Allocations;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Allocation budget of the sequential CSV parser; see {@code AllocationBudgetTest}. */
+@Tag("allocation-budget")
+public class TransactionsCsvParserAllocationTest {
+  @Test
+  public void parse_of_10000_rows() throws Exception {
+    TransactionsCsvParserBenchmark fixture = new TransactionsCsvParserBenchmark();
+    fixture.rows = 10_000;
+    fixture.setUp();
+    try {
+      // ~271 bytes per row: the line, its fields and the parsed Row.
+      Allocations.assertAtMost(3_100_000, "TransactionsCsvParser.parse", fixture::parse);
+    } finally {
+      fixture.tearDown();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.mindfulfinance.benchmarks;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Bytes allocated per call of the hot use cases at the dataset sizes of their JMH benchmarks. The
+ * budgets sit about 15% above what the operations allocated when they were set, so a change that
+ * copies the ledger once more or boxes every row fails here instead of showing up as GC pressure in
+ * production.
+ *
+ * <p>The numbers move with the JDK, the collector and JIT flags, so the budgets are not part of the
+ * regular build; they run with {@code -Pallocation-budgets} on the machine that set them.
+ */
+@Tag("allocation-budget")
+public class AllocationBudgetTest {
+  @Test
+  public void account_balance_of_10000_transactions() {
+    LedgerAggregationBenchmark fixture = new LedgerAggregationBenchmark();
+    fixture.accountCount = 1;
+    fixture.transactionsPerAccount = 10_000;
+    fixture.setUp();
+
+    // ~107 bytes per transaction: the ledger copy and a Money per running sum.
+    Allocations.assertAtMost(1_250_000, "ComputeAccountBalance.compute", fixture::accountBalance);
+  }
+
+  @Test
+  public void card_snapshot_of_20_cards_with_10000_linked_transactions() {
+    CardSnapshotBenchmark fixture = new CardSnapshotBenchmark();
+    fixture.cardCount = 20;
+    fixture.linkedTransactions = 10_000;
+    fixture.setUp();
+
+    // Dominated by the linked account's ledger, which the balance and the baseline both read.
+    Allocations.assertAtMost(
+        1_300_000, "GetCardPersonalFinanceSnapshot.get", fixture::yearSnapshot);
+  }
+
+  @Test
+  public void import_of_1000_rows_half_duplicates_into_1000_stored() {
+    ImportTransactionsBenchmark fixture = new ImportTransactionsBenchmark();
+    fixture.storedTransactions = 1_000;
+    fixture.importedRows = 1_000;
+    fixture.setUp();
+
+    Allocations.assertAtMost(
+        850_000, "ImportTransactions.importRows", fixture::importWithDuplicates);
+  }
+}
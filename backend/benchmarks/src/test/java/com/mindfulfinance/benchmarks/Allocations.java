@@ -0,0 +1,68 @@
+package com.mindfulfinance.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Bytes an operation allocates on the calling thread, read from {@link
+ * com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} around it. The operation is
+ * warmed up first so that the JIT has compiled it, and escape analysis removed what it can, as in a
+ * long-running server; the result is the lowest average of several batches, which drops one-off
+ * allocations such as class initialisation or a resized collection in a shared fixture.
+ *
+ * <p>Only allocations of the calling thread are counted, so operations must not hand work to other
+ * threads. The numbers match the {@code gc.alloc.rate.norm} column of the JMH benchmark for the
+ * same fixture, without the fork and the minutes it takes.
+ */
+public final class Allocations {
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  /** Keeps results reachable so the JIT cannot drop the work that produced them. */
+  private static volatile Object sink;
+
+  private static final int WARMUPS = 50;
+
+  private Allocations() {}
+
+  /**
+   * Fails if {@code operation} allocates more than {@code budgetBytes} per call once warmed up. A
+   * budget is raised in the same change that makes the operation allocate more, with the reason.
+   */
+  public static void assertAtMost(long budgetBytes, String name, Supplier<?> operation) {
+    long allocated = perOperation(WARMUPS, operation);
+    assertTrue(
+        allocated <= budgetBytes,
+        String.format(
+            "%s allocates %,d bytes per call, budget %,d (%+.1f%%)",
+            name, allocated, budgetBytes, 100.0 * (allocated - budgetBytes) / budgetBytes));
+  }
+
+  /** Bytes per call of {@code operation} after {@code warmups} calls, over 5 batches of 10. */
+  public static long perOperation(int warmups, Supplier<?> operation) {
+    return perOperation(warmups, 5, 10, operation);
+  }
+
+  public static long perOperation(int warmups, int batches, int batchSize, Supplier<?> operation) {
+    if (!THREADS.isThreadAllocatedMemorySupported() || !THREADS.isThreadAllocatedMemoryEnabled()) {
+      throw new IllegalStateException("Thread allocation accounting is not available in this JVM");
+    }
+
+    for (int i = 0; i < warmups; i++) {
+      sink = operation.get();
+    }
+    long lowest = Long.MAX_VALUE;
+    for (int batch = 0; batch < batches; batch++) {
+      long before = THREADS.getCurrentThreadAllocatedBytes();
+      for (int i = 0; i < batchSize; i++) {
+        sink = operation.get();
+      }
+      long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+      lowest = Math.min(lowest, allocated / batchSize);
+    }
+    sink = null;
+    return lowest;
+  }
+}
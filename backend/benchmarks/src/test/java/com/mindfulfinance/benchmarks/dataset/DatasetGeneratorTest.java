@@ -0,0 +1,177 @@
+package com.mindfulfinance.benchmarks.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mindfulfinance.api.InMemoryAccountRepository;
+import com.mindfulfinance.api.InMemoryIncomeForecastRepository;
+import com.mindfulfinance.api.InMemoryIncomePlanRepository;
+import com.mindfulfinance.api.InMemoryMonthlyExpenseActualRepository;
+import com.mindfulfinance.api.InMemoryMonthlyExpenseLimitRepository;
+import com.mindfulfinance.api.InMemoryMonthlyIncomeActualRepository;
+import com.mindfulfinance.api.InMemoryPersonalFinanceCardRepository;
+import com.mindfulfinance.api.InMemoryTransactionRepository;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DatasetGeneratorTest {
+  private static final DatasetSpec SPEC = new DatasetSpec(42, 5_000, 6, 2, 2024, 2);
+
+  @Test
+  public void writes_the_requested_counts_through_the_repository_ports() throws IOException {
+    InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+    InMemoryTransactionRepository transactions = new InMemoryTransactionRepository();
+    InMemoryPersonalFinanceCardRepository cards = new InMemoryPersonalFinanceCardRepository();
+    InMemoryMonthlyExpenseLimitRepository limits = new InMemoryMonthlyExpenseLimitRepository();
+    InMemoryIncomeForecastRepository forecasts = new InMemoryIncomeForecastRepository();
+    InMemoryIncomePlanRepository plans = new InMemoryIncomePlanRepository();
+    InMemoryMonthlyExpenseActualRepository expenses = new InMemoryMonthlyExpenseActualRepository();
+    InMemoryMonthlyIncomeActualRepository incomes = new InMemoryMonthlyIncomeActualRepository();
+
+    try (RepositorySink sink =
+        new RepositorySink(
+            accounts, transactions, cards, limits, forecasts, plans, expenses, incomes)) {
+      new DatasetGenerator(SPEC).generate(sink);
+    }
+
+    List<Account> storedAccounts = accounts.findAll();
+    assertEquals(SPEC.accounts(), storedAccounts.size());
+    long stored = 0;
+    for (Account account : storedAccounts) {
+      stored += transactions.findByAccountId(account.id()).size();
+    }
+    assertEquals(SPEC.transactions(), stored);
+
+    List<PersonalFinanceCard> storedCards = cards.findAll();
+    assertEquals(SPEC.cards(), storedCards.size());
+    for (PersonalFinanceCard card : storedCards) {
+      assertTrue(transactions.findByAccountId(card.linkedAccountId()).isEmpty());
+      assertTrue(limits.findByCardId(card.id()).isPresent());
+      assertTrue(forecasts.findByCardId(card.id()).isPresent());
+      for (int year = SPEC.firstYear(); year < SPEC.firstYear() + SPEC.years(); year++) {
+        assertTrue(plans.findByCardAndYear(card.id(), year).isPresent());
+        assertEquals(12, expenses.findByCardAndYear(card.id(), year).size());
+        assertEquals(12, incomes.findByCardAndYear(card.id(), year).size());
+      }
+    }
+  }
+
+  @Test
+  public void transactions_are_unique_on_the_import_dedupe_key() throws IOException {
+    Set<List<Object>> keys = new HashSet<>();
+    long[] count = {0};
+    new DatasetGenerator(SPEC)
+        .generate(
+            new DiscardingSink() {
+              @Override
+              public void transactions(List<Transaction> batch) {
+                for (Transaction transaction : batch) {
+                  count[0]++;
+                  keys.add(
+                      List.of(
+                          transaction.accountId(),
+                          transaction.occurredOn(),
+                          transaction.direction(),
+                          transaction.amount(),
+                          transaction.memo().trim().toLowerCase(Locale.ROOT)));
+                }
+              }
+            });
+
+    assertEquals(SPEC.transactions(), count[0]);
+    assertEquals(count[0], keys.size());
+  }
+
+  @Test
+  public void the_same_seed_produces_the_same_script() throws IOException {
+    String first = sql(SPEC);
+
+    assertEquals(first, sql(SPEC));
+    assertNotEquals(first, sql(new DatasetSpec(43, 5_000, 6, 2, 2024, 2)));
+    assertTrue(first.startsWith("-- "));
+    assertTrue(first.contains(PostgresCopySink.VACATIONS));
+    assertTrue(first.endsWith("COMMIT;\nANALYZE;\n"));
+  }
+
+  @Test
+  public void csv_output_lists_every_account_and_holds_every_transaction(@TempDir Path directory)
+      throws IOException {
+    try (CsvImportSink sink = new CsvImportSink(directory)) {
+      new DatasetGenerator(SPEC).generate(sink);
+    }
+
+    List<String> index = Files.readAllLines(directory.resolve("accounts.csv"));
+    assertEquals(1 + SPEC.accounts(), index.size());
+    long rows = 0;
+    try (var files = Files.list(directory.resolve("transactions"))) {
+      List<Path> imports = files.toList();
+      assertEquals(SPEC.freeAccounts(), imports.size());
+      for (Path file : imports) {
+        rows += Files.readAllLines(file, StandardCharsets.UTF_8).size() - 1;
+      }
+    }
+    assertEquals(SPEC.transactions(), rows);
+  }
+
+  @Test
+  public void rejects_sizes_outside_the_supported_range() {
+    assertThrows(IllegalArgumentException.class, () -> DatasetSpec.ofTransactions(1, 999));
+    assertThrows(IllegalArgumentException.class, () -> DatasetSpec.ofTransactions(1, 100_000_001));
+    DatasetSpec largest = DatasetSpec.ofTransactions(1, DatasetSpec.MAX_TRANSACTIONS);
+    assertEquals(DatasetSpec.MAX_TRANSACTIONS, largest.transactions());
+    assertTrue(largest.accounts() > largest.cards());
+  }
+
+  private static String sql(DatasetSpec spec) throws IOException {
+    StringWriter out = new StringWriter();
+    try (PostgresCopySink sink = new PostgresCopySink(out)) {
+      new DatasetGenerator(spec).generate(sink);
+    }
+    return out.toString();
+  }
+
+  private static class DiscardingSink implements DatasetSink {
+    @Override
+    public void account(Account account) {}
+
+    @Override
+    public void transactions(List<Transaction> batch) {}
+
+    @Override
+    public void card(PersonalFinanceCard card) {}
+
+    @Override
+    public void expenseLimit(MonthlyExpenseLimit limit) {}
+
+    @Override
+    public void incomeForecast(IncomeForecast forecast) {}
+
+    @Override
+    public void incomePlan(IncomePlan plan) {}
+
+    @Override
+    public void expenseActual(MonthlyExpenseActual actual) {}
+
+    @Override
+    public void incomeActual(MonthlyIncomeActual actual) {}
+  }
+}
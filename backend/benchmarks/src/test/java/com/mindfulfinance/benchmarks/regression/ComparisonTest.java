@@ -0,0 +1,118 @@
+package com.mindfulfinance.benchmarks.regression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ComparisonTest {
+  private static final String BENCHMARK = "com.mindfulfinance.benchmarks.MoneyBenchmark.sum";
+
+  @Test
+  public void a_slowdown_beyond_tolerance_and_noise_is_a_regression() {
+    Comparison comparison = Comparison.of(List.of(time(100, 2)), List.of(time(120, 3)), 0.1);
+
+    assertTrue(comparison.hasRegressions());
+    assertEquals(0.2, comparison.rows().getFirst().change(), 1e-9);
+    assertTrue(comparison.report("core", "a", "b").contains("| REGRESSION |"));
+  }
+
+  @Test
+  public void a_slowdown_within_overlapping_intervals_is_noise() {
+    Comparison comparison = Comparison.of(List.of(time(100, 15)), List.of(time(125, 15)), 0.1);
+
+    assertFalse(comparison.hasRegressions());
+    assertEquals(Comparison.Verdict.UNCHANGED, comparison.rows().getFirst().verdict());
+  }
+
+  @Test
+  public void a_slowdown_within_tolerance_is_not_reported() {
+    Comparison comparison = Comparison.of(List.of(time(100, 0)), List.of(time(105, 0)), 0.1);
+
+    assertEquals(Comparison.Verdict.UNCHANGED, comparison.rows().getFirst().verdict());
+  }
+
+  @Test
+  public void lower_throughput_and_more_allocation_are_regressions() {
+    Measurement throughput =
+        new Measurement(BENCHMARK, Map.of(), Measurement.SCORE, "ops/ms", true, 100, 1);
+    Measurement allocation =
+        new Measurement(BENCHMARK, Map.of(), Results.ALLOCATION, "B/op", false, 1_000, 0);
+
+    Comparison comparison =
+        Comparison.of(
+            List.of(throughput, allocation),
+            List.of(
+                new Measurement(BENCHMARK, Map.of(), Measurement.SCORE, "ops/ms", true, 80, 1),
+                new Measurement(BENCHMARK, Map.of(), Results.ALLOCATION, "B/op", false, 1_200, 0)),
+            0.1);
+
+    assertEquals(2, comparison.count(Comparison.Verdict.REGRESSION));
+  }
+
+  @Test
+  public void tiny_allocation_changes_are_below_the_noise_floor() {
+    Comparison comparison =
+        Comparison.of(
+            List.of(new Measurement(BENCHMARK, Map.of(), Results.ALLOCATION, "B/op", false, 24, 0)),
+            List.of(new Measurement(BENCHMARK, Map.of(), Results.ALLOCATION, "B/op", false, 32, 0)),
+            0.1);
+
+    assertFalse(comparison.hasRegressions());
+  }
+
+  @Test
+  public void new_and_missing_measurements_are_listed_but_do_not_fail() {
+    Measurement other =
+        new Measurement(BENCHMARK, Map.of("currencyCode", "JPY"), "score", "ns/op", false, 1, 0);
+
+    Comparison comparison = Comparison.of(List.of(time(100, 1)), List.of(other), 0.1);
+
+    assertFalse(comparison.hasRegressions());
+    assertEquals(1, comparison.count(Comparison.Verdict.NEW));
+    assertEquals(1, comparison.count(Comparison.Verdict.MISSING));
+  }
+
+  @Test
+  public void reads_jmh_json_results_and_round_trips_baselines(@TempDir Path directory)
+      throws IOException {
+    Path results = directory.resolve("jmh.json");
+    Files.writeString(
+        results,
+        """
+        [ {
+          "benchmark" : "%s",
+          "mode" : "avgt",
+          "params" : { "currencyCode" : "RUB" },
+          "primaryMetric" : { "score" : 12.5, "scoreError" : "NaN", "scoreUnit" : "ns/op" },
+          "secondaryMetrics" : {
+            "gc.alloc.rate.norm" : { "score" : 24.0, "scoreError" : 0.1, "scoreUnit" : "B/op" }
+          }
+        } ]
+        """
+            .formatted(BENCHMARK));
+
+    List<Measurement> measurements = Results.read(results);
+    assertEquals(2, measurements.size());
+    assertEquals("MoneyBenchmark.sum currencyCode=RUB score", measurements.getFirst().key());
+    assertEquals(0, measurements.getFirst().error());
+
+    Path file = directory.resolve("baseline.json");
+    new Baseline("core", "jmh", List.of("Money"), Map.of(), 0.1, null, List.of())
+        .withResults("here", measurements)
+        .write(file);
+    assertEquals(measurements, Baseline.read(file).measurements());
+  }
+
+  private static Measurement time(double score, double error) {
+    return new Measurement(
+        BENCHMARK, Map.of("currencyCode", "RUB"), Measurement.SCORE, "ns/op", false, score, error);
+  }
+}
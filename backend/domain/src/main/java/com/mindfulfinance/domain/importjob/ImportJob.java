@@ -0,0 +1,62 @@
+package com.mindfulfinance.domain.importjob;
+
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_JOB_ACCOUNT_ID_INVALID;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_JOB_ID_INVALID;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_JOB_PROGRESS_INVALID;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_JOB_STATUS_INVALID;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_JOB_TIMESTAMPS_INVALID;
+
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.shared.DomainException;
+import java.time.Instant;
+
+/**
+ * A background import of transactions into one account. {@code cancelRequested} is set while the
+ * job runs and is honoured by the worker at the next chunk boundary; {@code error} explains a
+ * {@link ImportJobStatus#FAILED} job and is {@code null} otherwise.
+ */
+public record ImportJob(
+    ImportJobId id,
+    AccountId accountId,
+    ImportJobStatus status,
+    ImportJobProgress progress,
+    boolean cancelRequested,
+    String error,
+    Instant createdAt,
+    Instant updatedAt) {
+  public ImportJob {
+    if (id == null) {
+      throw new DomainException(IMPORT_JOB_ID_INVALID, "Import job id must not be null", null);
+    }
+    if (accountId == null) {
+      throw new DomainException(
+          IMPORT_JOB_ACCOUNT_ID_INVALID, "Import job account id must not be null", null);
+    }
+    if (status == null) {
+      throw new DomainException(
+          IMPORT_JOB_STATUS_INVALID, "Import job status must not be null", null);
+    }
+    if (progress == null) {
+      throw new DomainException(
+          IMPORT_JOB_PROGRESS_INVALID, "Import job progress must not be null", null);
+    }
+    if (createdAt == null || updatedAt == null || updatedAt.isBefore(createdAt)) {
+      throw new DomainException(
+          IMPORT_JOB_TIMESTAMPS_INVALID,
+          "Import job timestamps must be set and updatedAt must not precede createdAt",
+          null);
+    }
+  }
+
+  public static ImportJob queued(ImportJobId id, AccountId accountId, Instant createdAt) {
+    return new ImportJob(
+        id,
+        accountId,
+        ImportJobStatus.QUEUED,
+        ImportJobProgress.NONE,
+        false,
+        null,
+        createdAt,
+        createdAt);
+  }
+}
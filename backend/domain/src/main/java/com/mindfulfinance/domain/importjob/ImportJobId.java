@@ -0,0 +1,15 @@
+package com.mindfulfinance.domain.importjob;
+
+import java.util.UUID;
+
+public record ImportJobId(UUID value) {
+  public ImportJobId {
+    if (value == null) {
+      throw new IllegalArgumentException("ImportJobId value cannot be null");
+    }
+  }
+
+  public static ImportJobId random() {
+    return new ImportJobId(UUID.randomUUID());
+  }
+}
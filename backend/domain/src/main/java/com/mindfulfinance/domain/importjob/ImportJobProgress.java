@@ -0,0 +1,32 @@
+package com.mindfulfinance.domain.importjob;
+
+import static com.mindfulfinance.domain.shared.DomainErrorCode.IMPORT_JOB_PROGRESS_INVALID;
+
+import com.mindfulfinance.domain.shared.DomainException;
+import java.util.Map;
+
+/**
+ * Row counters of an import job. Parsed rows end up imported, skipped as duplicates, or failed;
+ * rows that are parsed but not yet persisted are counted in none of the other three.
+ */
+public record ImportJobProgress(
+    int parsedCount, int importedCount, int skippedCount, int failedCount) {
+  public static final ImportJobProgress NONE = new ImportJobProgress(0, 0, 0, 0);
+
+  public ImportJobProgress {
+    if (parsedCount < 0
+        || importedCount < 0
+        || skippedCount < 0
+        || failedCount < 0
+        || importedCount + skippedCount + failedCount > parsedCount) {
+      throw new DomainException(
+          IMPORT_JOB_PROGRESS_INVALID,
+          "Import job counts must be non-negative and not exceed the parsed count",
+          Map.of(
+              "parsedCount", parsedCount,
+              "importedCount", importedCount,
+              "skippedCount", skippedCount,
+              "failedCount", failedCount));
+    }
+  }
+}
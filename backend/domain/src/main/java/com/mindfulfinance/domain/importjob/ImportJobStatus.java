@@ -0,0 +1,22 @@
+package com.mindfulfinance.domain.importjob;
+
+public enum ImportJobStatus {
+  /** The job is waiting for a worker, or for an earlier job of the same account to finish. */
+  QUEUED,
+
+  /** A worker is importing the job's rows. */
+  RUNNING,
+
+  /** Every row was read; valid rows were imported and the rest counted as skipped or failed. */
+  SUCCEEDED,
+
+  /** The job stopped on an error that affects the whole file, such as a missing CSV column. */
+  FAILED,
+
+  /** The job was cancelled; chunks persisted before the cancellation stay imported. */
+  CANCELLED;
+
+  public boolean isFinished() {
+    return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+  }
+}
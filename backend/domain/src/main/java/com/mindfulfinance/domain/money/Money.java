@@ -5,34 +5,58 @@ import static com.mindfulfinance.domain.shared.DomainErrorCode.MONEY_INVALID_CUR
 import static com.mindfulfinance.domain.shared.DomainErrorCode.MONEY_NULL_AMOUNT_OR_CURRENCY;
 import static com.mindfulfinance.domain.shared.DomainErrorCode.MONEY_TOO_MANY_DECIMALS;
 
+import com.mindfulfinance.domain.shared.DomainErrorCode;
 import com.mindfulfinance.domain.shared.DomainException;
 import java.math.BigDecimal;
 import java.util.Currency;
 import java.util.Map;
+import java.util.Optional;
 
 /** Represents a monetary amount in a specific currency. This class is immutable and thread-safe. */
 public record Money(BigDecimal amount, Currency currency) {
   public Money {
-    if (amount == null || currency == null) {
-      throw new DomainException(
-          MONEY_NULL_AMOUNT_OR_CURRENCY, "Amount and Currency must not be null", null);
+    Optional<DomainErrorCode> violation = violation(amount, currency);
+    if (violation.isPresent()) {
+      throw invalid(violation.get(), currency);
     }
 
+    amount = amount.setScale(currency.getDefaultFractionDigits());
+  }
+
+  /**
+   * Returns the invariant that {@code new Money(amount, currency)} would violate, or empty if the
+   * pair is valid. Use it to check many values without the cost of throwing exceptions.
+   *
+   * @param amount the amount to check
+   * @param currency the currency to check the amount against
+   * @return the violated invariant's error code, or empty
+   */
+  public static Optional<DomainErrorCode> violation(BigDecimal amount, Currency currency) {
+    if (amount == null || currency == null) return Optional.of(MONEY_NULL_AMOUNT_OR_CURRENCY);
+
     int scale = currency.getDefaultFractionDigits();
-    if (scale < 0) {
-      throw new DomainException(
-          MONEY_INVALID_CURRENCY_FRACTION_DIGITS,
-          "Currency must have a valid number of fraction digits",
-          Map.of("currency", currency, "scale", scale));
-    }
-    if (amount.scale() > scale) {
-      throw new DomainException(
-          MONEY_TOO_MANY_DECIMALS,
-          "Amount cannot have more decimal places than the currency allows",
-          Map.of("currency", currency, "scale", scale));
-    }
+    if (scale < 0) return Optional.of(MONEY_INVALID_CURRENCY_FRACTION_DIGITS);
+    if (amount.scale() > scale) return Optional.of(MONEY_TOO_MANY_DECIMALS);
+
+    return Optional.empty();
+  }
 
-    amount = amount.setScale(scale);
+  private static DomainException invalid(DomainErrorCode code, Currency currency) {
+    return switch (code) {
+      case MONEY_NULL_AMOUNT_OR_CURRENCY ->
+          new DomainException(code, "Amount and Currency must not be null", null);
+      case MONEY_INVALID_CURRENCY_FRACTION_DIGITS ->
+          new DomainException(
+              code,
+              "Currency must have a valid number of fraction digits",
+              Map.of("currency", currency, "scale", currency.getDefaultFractionDigits()));
+      case MONEY_TOO_MANY_DECIMALS ->
+          new DomainException(
+              code,
+              "Amount cannot have more decimal places than the currency allows",
+              Map.of("currency", currency, "scale", currency.getDefaultFractionDigits()));
+      default -> throw new IllegalStateException("Unexpected money violation: " + code);
+    };
   }
 
   /**
@@ -63,6 +63,30 @@ public enum DomainErrorCode {
   /** Indicates that a Transaction was created with a null createdAt timestamp. */
   TRANSACTION_CREATED_AT_NULL,
 
+  /** Indicates that an imported row lacks a required column. */
+  IMPORT_ROW_COLUMN_MISSING,
+
+  /** Indicates that an imported row has an empty value in a required column. */
+  IMPORT_ROW_VALUE_EMPTY,
+
+  /** Indicates that an imported row has an occurred_on value that is not an ISO date. */
+  IMPORT_ROW_OCCURRED_ON_INVALID,
+
+  /** Indicates that an imported row has a direction other than INFLOW or OUTFLOW. */
+  IMPORT_ROW_DIRECTION_INVALID,
+
+  /** Indicates that an imported row has an amount that is not a decimal number. */
+  IMPORT_ROW_AMOUNT_INVALID,
+
+  /** Indicates that an imported row has a currency that is not an ISO 4217 code. */
+  IMPORT_ROW_CURRENCY_INVALID,
+
+  /** Indicates that an imported row's currency differs from the target account currency. */
+  IMPORT_ROW_CURRENCY_MISMATCH,
+
+  /** Indicates that an imported row cannot be tokenized, e.g. an unterminated quoted field. */
+  IMPORT_ROW_MALFORMED,
+
   /** Indicates that a LifeGoal was created with a null id. */
   LIFEGOAL_ID_NULL,
 
@@ -116,5 +140,11 @@ public enum DomainErrorCode {
   INCOME_FORECAST_BONUS_PERCENT_INVALID,
   INCOME_FORECAST_RESOLVED_AMOUNT_INVALID,
 
-  PERSONAL_FINANCE_CARD_LINKED_ACCOUNT_ID_INVALID
+  PERSONAL_FINANCE_CARD_LINKED_ACCOUNT_ID_INVALID,
+
+  IMPORT_JOB_ID_INVALID,
+  IMPORT_JOB_ACCOUNT_ID_INVALID,
+  IMPORT_JOB_STATUS_INVALID,
+  IMPORT_JOB_PROGRESS_INVALID,
+  IMPORT_JOB_TIMESTAMPS_INVALID
 }
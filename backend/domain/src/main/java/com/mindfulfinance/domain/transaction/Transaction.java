@@ -9,9 +9,11 @@ import static com.mindfulfinance.domain.shared.DomainErrorCode.TRANSACTION_OCCUR
 
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.shared.DomainErrorCode;
 import com.mindfulfinance.domain.shared.DomainException;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Optional;
 
 /**
  * Represents a financial transaction associated with an account. This class is immutable and
@@ -61,7 +63,7 @@ public record Transaction(
       throw new DomainException(
           TRANSACTION_DIRECTION_NULL, "Transaction direction cannot be null", null);
     }
-    if (amount == null || amount.isNegative() || amount.isZero()) {
+    if (amountViolation(amount).isPresent()) {
       throw new DomainException(
           TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO,
           "Transaction amount cannot be null or negative/zero",
@@ -73,6 +75,20 @@ public record Transaction(
     }
   }
 
+  /**
+   * Returns the invariant a Transaction amount would violate, or empty if it is acceptable. Use it
+   * to check many values without the cost of throwing exceptions.
+   *
+   * @param amount the amount to check
+   * @return the violated invariant's error code, or empty
+   */
+  public static Optional<DomainErrorCode> amountViolation(Money amount) {
+    if (amount == null || amount.isNegative() || amount.isZero()) {
+      return Optional.of(TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO);
+    }
+    return Optional.empty();
+  }
+
   /**
    * Returns the signed amount of the Transaction, where inflows are positive and outflows are
    * negative.
@@ -1,6 +1,7 @@
 package com.mindfulfinance.domain.money;
 
 import static com.mindfulfinance.domain.shared.DomainErrorCode.MONEY_CURRENCY_MISMATCH;
+import static com.mindfulfinance.domain.shared.DomainErrorCode.MONEY_INVALID_CURRENCY_FRACTION_DIGITS;
 import static com.mindfulfinance.domain.shared.DomainErrorCode.MONEY_NULL_AMOUNT_OR_CURRENCY;
 import static com.mindfulfinance.domain.shared.DomainErrorCode.MONEY_TOO_MANY_DECIMALS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -12,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.mindfulfinance.domain.shared.DomainException;
 import java.math.BigDecimal;
 import java.util.Currency;
+import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -154,4 +156,17 @@ public class MoneyTest {
     assertFalse(zero.isNegative());
     assertTrue(negative.isNegative());
   }
+
+  @Test
+  @DisplayName("Should report the invariant a Money would violate without throwing")
+  void testViolationMatchesConstructor() {
+    Currency usd = Currency.getInstance("USD");
+    assertEquals(Optional.empty(), Money.violation(new BigDecimal("1.5"), usd));
+    assertEquals(
+        Optional.of(MONEY_TOO_MANY_DECIMALS), Money.violation(new BigDecimal("1.505"), usd));
+    assertEquals(Optional.of(MONEY_NULL_AMOUNT_OR_CURRENCY), Money.violation(null, usd));
+    assertEquals(
+        Optional.of(MONEY_INVALID_CURRENCY_FRACTION_DIGITS),
+        Money.violation(BigDecimal.ONE, Currency.getInstance("XXX")));
+  }
 }
@@ -18,6 +18,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Currency;
+import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -259,4 +260,18 @@ public class TransactionTest {
     assertNotNull(transaction);
     assertNull(transaction.memo()); // Memo should be null
   }
+
+  @Test
+  @DisplayName("Should report a non-positive amount without throwing")
+  void shouldReportAmountViolationWithoutThrowing() {
+    Currency usd = Currency.getInstance("USD");
+    assertEquals(
+        Optional.empty(), Transaction.amountViolation(new Money(new BigDecimal("0.01"), usd)));
+    assertEquals(
+        Optional.of(TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO),
+        Transaction.amountViolation(new Money(new BigDecimal("-1.00"), usd)));
+    assertEquals(
+        Optional.of(TRANSACTION_AMOUNT_NULL_OR_NEGATIVE_OR_ZERO),
+        Transaction.amountViolation(null));
+  }
 }
@@ -0,0 +1,96 @@
+package com.mindfulfinance.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/** Builds and sends requests to the API; one HTTP/1.1 client shared by every caller. */
+final class ApiClient {
+  private static final String BOUNDARY = "mindful-finance-loadtest";
+  private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+  private final URI baseUri;
+  private final ObjectMapper objectMapper;
+  private final HttpClient httpClient;
+
+  ApiClient(URI baseUri, ObjectMapper objectMapper) {
+    this.baseUri = baseUri;
+    this.objectMapper = objectMapper;
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+  }
+
+  HttpRequest get(String path) {
+    return request(path).GET().build();
+  }
+
+  HttpRequest json(String method, String path, Object body) {
+    try {
+      return request(path)
+          .header("Content-Type", "application/json")
+          .method(
+              method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+          .build();
+    } catch (IOException ex) {
+      throw new IllegalArgumentException("Request body is not serializable", ex);
+    }
+  }
+
+  /** A {@code POST /imports/transactions/csv} of {@code csv} into {@code accountId}. */
+  HttpRequest importCsv(String accountId, String csv) {
+    String body =
+        "--"
+            + BOUNDARY
+            + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"transactions.csv\""
+            + "\r\nContent-Type: text/csv\r\n\r\n"
+            + csv
+            + "\r\n--"
+            + BOUNDARY
+            + "--\r\n";
+    return request("/imports/transactions/csv?accountId=" + accountId)
+        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+        .build();
+  }
+
+  HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+    return httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+  }
+
+  /** Sends a seeding request and returns its JSON body; any status but 2xx is an error. */
+  JsonNode exchange(HttpRequest request) throws IOException {
+    HttpResponse<String> response;
+    try {
+      response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while calling " + request.uri(), ex);
+    }
+    if (response.statusCode() / 100 != 2) {
+      throw new IOException(
+          request.method()
+              + " "
+              + request.uri()
+              + " returned "
+              + response.statusCode()
+              + ": "
+              + response.body());
+    }
+    return response.body().isEmpty() ? null : objectMapper.readTree(response.body());
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(TIMEOUT);
+  }
+}
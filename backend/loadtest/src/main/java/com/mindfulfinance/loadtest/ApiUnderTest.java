@@ -0,0 +1,74 @@
+package com.mindfulfinance.loadtest;
+
+import com.mindfulfinance.api.ApiApplication;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * The API started in this JVM on a free port: with in-memory adapters, or with the {@code postgres}
+ * profile against a throwaway Postgres container. Migrations run on startup as in production.
+ */
+final class ApiUnderTest implements AutoCloseable {
+  static final String POSTGRES_IMAGE = "postgres:16-alpine";
+
+  private final PostgreSQLContainer<?> postgres;
+  private final ConfigurableApplicationContext context;
+
+  private ApiUnderTest(PostgreSQLContainer<?> postgres, ConfigurableApplicationContext context) {
+    this.postgres = postgres;
+    this.context = context;
+  }
+
+  /**
+   * @param profile {@code memory} or {@code postgres}
+   * @param properties extra {@code key=value} application properties, e.g. to enable virtual
+   *     threads
+   */
+  static ApiUnderTest start(String profile, List<String> properties) {
+    List<String> all = new ArrayList<>(properties);
+    all.add("server.port=0");
+    all.add("spring.main.banner-mode=off");
+    all.add("logging.level.root=WARN");
+
+    PostgreSQLContainer<?> postgres = null;
+    SpringApplicationBuilder builder = new SpringApplicationBuilder(ApiApplication.class);
+    switch (profile) {
+      case "memory" -> {}
+      case "postgres" -> {
+        postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+        postgres.start();
+        all.add("spring.datasource.url=" + postgres.getJdbcUrl());
+        all.add("spring.datasource.username=" + postgres.getUsername());
+        all.add("spring.datasource.password=" + postgres.getPassword());
+        builder.profiles("postgres");
+      }
+      default -> throw new IllegalArgumentException("Unknown profile: " + profile);
+    }
+
+    try {
+      return new ApiUnderTest(postgres, builder.properties(all.toArray(String[]::new)).run());
+    } catch (RuntimeException ex) {
+      if (postgres != null) postgres.stop();
+      throw ex;
+    }
+  }
+
+  URI baseUri() {
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    return URI.create("http://localhost:" + port);
+  }
+
+  @Override
+  public void close() {
+    try {
+      context.close();
+    } finally {
+      if (postgres != null) postgres.stop();
+    }
+  }
+}
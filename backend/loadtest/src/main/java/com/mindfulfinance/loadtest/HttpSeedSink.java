@@ -0,0 +1,182 @@
+package com.mindfulfinance.loadtest;
+
+import com.mindfulfinance.benchmarks.dataset.DatasetSink;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import com.mindfulfinance.domain.transaction.Transaction;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads a generated dataset through the public endpoints, so both profiles are seeded the same way
+ * and ids are the ones the server assigned. An account is created with its first transactions; the
+ * accounts the generator links to cards are skipped, since creating a card creates its own.
+ */
+final class HttpSeedSink implements DatasetSink {
+  private final ApiClient client;
+  private final Map<AccountId, Account> pendingAccounts = new HashMap<>();
+  private final Map<AccountId, SeededData.Account> seededAccounts = new LinkedHashMap<>();
+  private final Map<PersonalFinanceCardId, String> cardIds = new LinkedHashMap<>();
+  private final Map<PersonalFinanceCardId, MonthlyExpenseLimit> limits = new HashMap<>();
+  private final Map<YearOfCard, List<Map<String, Object>>> expenses = new LinkedHashMap<>();
+  private final Map<YearOfCard, List<Map<String, Object>>> incomes = new LinkedHashMap<>();
+
+  HttpSeedSink(ApiClient client) {
+    this.client = client;
+  }
+
+  /** Server ids of the accounts with transactions and of the cards, in generation order. */
+  SeededData seeded(int firstYear, int lastYear) {
+    return new SeededData(
+        List.copyOf(seededAccounts.values()), List.copyOf(cardIds.values()), firstYear, lastYear);
+  }
+
+  @Override
+  public void account(Account account) {
+    pendingAccounts.put(account.id(), account);
+  }
+
+  @Override
+  public void transactions(List<Transaction> batch) throws IOException {
+    AccountId generatedId = batch.getFirst().accountId();
+    SeededData.Account seeded = seededAccounts.get(generatedId);
+    if (seeded == null) {
+      Account account = pendingAccounts.remove(generatedId);
+      String accountId =
+          client
+              .exchange(
+                  client.json(
+                      "POST",
+                      "/accounts",
+                      Map.of(
+                          "name",
+                          account.name(),
+                          "currency",
+                          account.currency().getCurrencyCode(),
+                          "type",
+                          account.type().name())))
+              .get("accountId")
+              .asText();
+      seeded = new SeededData.Account(accountId, account.currency().getCurrencyCode());
+      seededAccounts.put(generatedId, seeded);
+    }
+
+    StringBuilder csv = new StringBuilder(batch.size() * 64);
+    csv.append("occurred_on,direction,amount,currency,memo\r\n");
+    for (Transaction transaction : batch) {
+      csv.append(transaction.occurredOn())
+          .append(',')
+          .append(transaction.direction().name())
+          .append(',')
+          .append(transaction.amount().amount().toPlainString())
+          .append(',')
+          .append(transaction.amount().currency().getCurrencyCode())
+          .append(',')
+          .append(transaction.memo())
+          .append("\r\n");
+    }
+    client.exchange(client.importCsv(seeded.id(), csv.toString()));
+  }
+
+  @Override
+  public void card(PersonalFinanceCard card) throws IOException {
+    String cardId =
+        client
+            .exchange(client.json("POST", "/personal-finance/cards", Map.of("name", card.name())))
+            .get("cardId")
+            .asText();
+    cardIds.put(card.id(), cardId);
+  }
+
+  @Override
+  public void expenseLimit(MonthlyExpenseLimit limit) {
+    limits.put(limit.cardId(), limit);
+  }
+
+  /** Limits and forecast share one settings request, sent once both are known. */
+  @Override
+  public void incomeForecast(IncomeForecast forecast) throws IOException {
+    Map<String, BigDecimal> percents = new LinkedHashMap<>();
+    MonthlyExpenseLimit limit = limits.remove(forecast.cardId());
+    for (PersonalExpenseCategory category : PersonalExpenseCategory.values()) {
+      percents.put(
+          category.name(), limit == null ? BigDecimal.ZERO : limit.configuredPercent(category));
+    }
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("baselineAmount", BigDecimal.ZERO);
+    body.put("limitCategoryPercents", percents);
+    body.put("salaryAmount", forecast.salaryAmount().amount());
+    body.put("bonusPercent", forecast.bonusPercent());
+    client.exchange(client.json("PUT", cardPath(forecast.cardId()) + "/settings", body));
+  }
+
+  @Override
+  public void incomePlan(IncomePlan plan) throws IOException {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put(
+        "vacations",
+        plan.vacations().stream()
+            .map(
+                vacation ->
+                    Map.of(
+                        "startDate", vacation.startDate().toString(),
+                        "endDate", vacation.endDate().toString()))
+            .toList());
+    body.put("thirteenthSalaryEnabled", plan.thirteenthSalaryEnabled());
+    body.put("thirteenthSalaryMonth", plan.thirteenthSalaryMonth());
+    client.exchange(
+        client.json("PUT", cardPath(plan.cardId()) + "/income/plan/" + plan.year(), body));
+  }
+
+  @Override
+  public void expenseActual(MonthlyExpenseActual actual) {
+    Map<String, BigDecimal> amounts = new LinkedHashMap<>();
+    for (Map.Entry<PersonalExpenseCategory, Money> entry : actual.categoryAmounts().entrySet()) {
+      amounts.put(entry.getKey().name(), entry.getValue().amount());
+    }
+    expenses
+        .computeIfAbsent(new YearOfCard(actual.cardId(), actual.year()), key -> new ArrayList<>())
+        .add(Map.of("month", actual.month(), "categoryAmounts", amounts));
+  }
+
+  @Override
+  public void incomeActual(MonthlyIncomeActual actual) {
+    incomes
+        .computeIfAbsent(new YearOfCard(actual.cardId(), actual.year()), key -> new ArrayList<>())
+        .add(Map.of("month", actual.month(), "totalAmount", actual.totalAmount().amount()));
+  }
+
+  /** Sends the buffered actuals, one grid paste per card and year. */
+  @Override
+  public void close() throws IOException {
+    for (Map.Entry<YearOfCard, List<Map<String, Object>>> entry : expenses.entrySet()) {
+      YearOfCard key = entry.getKey();
+      client.exchange(
+          client.json(
+              "PUT",
+              cardPath(key.cardId()) + "/actuals/" + key.year(),
+              Map.of(
+                  "expenses", entry.getValue(), "income", incomes.getOrDefault(key, List.of()))));
+    }
+  }
+
+  private String cardPath(PersonalFinanceCardId generatedId) {
+    return "/personal-finance/cards/" + cardIds.get(generatedId);
+  }
+
+  private record YearOfCard(PersonalFinanceCardId cardId, int year) {}
+}
@@ -0,0 +1,134 @@
+package com.mindfulfinance.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfulfinance.benchmarks.dataset.DatasetGenerator;
+import com.mindfulfinance.benchmarks.dataset.DatasetSpec;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Entry point of {@code loadtest.jar}. Starts the API, seeds it with a generated dataset through
+ * its endpoints, then steps every workload through increasing request rates until the server stops
+ * keeping up, printing latency percentiles and throughput per operation for each step. The last
+ * rate that held and the first that did not bracket the knee of the latency curve.
+ *
+ * <p>Runs are repeatable: the dataset, the operation sequence and the request parameters all come
+ * from {@code --seed}. Compare runs on the same machine only.
+ */
+public final class LoadTest {
+  private LoadTest() {}
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    LoadTestOptions options = LoadTestOptions.parse(args);
+    Report report = run(options, System.out);
+    if (options.json() != null) {
+      new ObjectMapper()
+          .writerWithDefaultPrettyPrinter()
+          .writeValue(options.json().toFile(), report);
+    }
+  }
+
+  static Report run(LoadTestOptions options, PrintStream out)
+      throws IOException, InterruptedException {
+    try (ApiUnderTest api = ApiUnderTest.start(options.profile(), options.properties())) {
+      ApiClient client = new ApiClient(api.baseUri(), new ObjectMapper());
+
+      long started = System.nanoTime();
+      DatasetSpec spec = DatasetSpec.ofTransactions(options.seed(), options.transactions());
+      HttpSeedSink sink = new HttpSeedSink(client);
+      try (sink) {
+        new DatasetGenerator(spec).generate(sink);
+      }
+      SeededData data = sink.seeded(spec.firstYear(), spec.firstYear() + spec.years() - 1);
+      out.printf(
+          Locale.ROOT,
+          "Seeded %s on %s in %d ms%n",
+          spec,
+          options.profile(),
+          (System.nanoTime() - started) / 1_000_000);
+
+      OpenLoopDriver driver =
+          new OpenLoopDriver(client, data, options.maxInFlight(), options.maxP99());
+      List<StepResult> steps = new ArrayList<>();
+      Map<String, String> knees = new LinkedHashMap<>();
+      long stepSeed = options.seed();
+      for (Workload workload : options.workloads()) {
+        Double lastHeld = null;
+        String knee = null;
+        for (double rate : options.rates()) {
+          StepResult step =
+              driver.run(workload, rate, options.warmup(), options.duration(), ++stepSeed);
+          steps.add(step);
+          print(out, step);
+          if (step.saturated()) {
+            knee =
+                lastHeld == null
+                    ? "below " + format(rate) + " req/s"
+                    : "between " + format(lastHeld) + " and " + format(rate) + " req/s";
+            break;
+          }
+          lastHeld = rate;
+        }
+        if (knee == null) knee = "above " + format(lastHeld) + " req/s";
+        knees.put(workload.name(), knee);
+      }
+
+      out.println();
+      knees.forEach(
+          (workload, knee) -> out.printf(Locale.ROOT, "Knee of %s: %s%n", workload, knee));
+      return new Report(options.profile(), spec.transactions(), options.seed(), steps, knees);
+    }
+  }
+
+  private static void print(PrintStream out, StepResult step) {
+    out.printf(
+        Locale.ROOT,
+        "%n%s at %s req/s: sustained %.1f req/s%s%n",
+        step.workload(),
+        format(step.targetRate()),
+        step.achievedRate(),
+        step.saturated() ? ", SATURATED" : "");
+    out.printf(
+        Locale.ROOT,
+        "  %-14s %9s %7s %9s %9s %9s %9s %9s%n",
+        "operation",
+        "count",
+        "errors",
+        "req/s",
+        "p50 ms",
+        "p99 ms",
+        "p999 ms",
+        "max ms");
+    step.operations()
+        .forEach(
+            (operation, stats) ->
+                out.printf(
+                    Locale.ROOT,
+                    "  %-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation,
+                    stats.count(),
+                    stats.errors(),
+                    stats.throughput(),
+                    stats.p50Ms(),
+                    stats.p99Ms(),
+                    stats.p999Ms(),
+                    stats.maxMs()));
+  }
+
+  private static String format(double rate) {
+    return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.valueOf(rate);
+  }
+
+  /** What {@code --json} writes: every step, and where each workload's knee lies. */
+  record Report(
+      String profile,
+      long transactions,
+      long seed,
+      List<StepResult> steps,
+      Map<String, String> knees) {}
+}
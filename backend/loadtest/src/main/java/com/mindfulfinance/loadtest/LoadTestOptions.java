@@ -0,0 +1,110 @@
+package com.mindfulfinance.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Command line of {@link LoadTest}; every option has a default, see {@link #parse}.
+ *
+ * @param workloads run one after another, each through the whole rate ramp
+ * @param properties application properties for the API, e.g. {@code
+ *     spring.threads.virtual.enabled=true}
+ * @param json where to write the results as JSON, or null
+ */
+record LoadTestOptions(
+    String profile,
+    long transactions,
+    long seed,
+    List<Double> rates,
+    Duration warmup,
+    Duration duration,
+    List<Workload> workloads,
+    int maxInFlight,
+    Duration maxP99,
+    List<String> properties,
+    Path json) {
+  static final long DEFAULT_SEED = 20260101L;
+
+  LoadTestOptions {
+    if (rates.isEmpty() || rates.stream().anyMatch(rate -> rate <= 0)) {
+      throw new IllegalArgumentException("Rates must be positive");
+    }
+    if (duration.isZero() || duration.isNegative() || warmup.isNegative()) {
+      throw new IllegalArgumentException("Duration must be positive and warmup not negative");
+    }
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("Max in-flight must be positive");
+    }
+    rates = List.copyOf(rates);
+    workloads = List.copyOf(workloads);
+    properties = List.copyOf(properties);
+  }
+
+  /**
+   * Options:
+   *
+   * <ul>
+   *   <li>{@code --profile memory|postgres}, default {@code memory}
+   *   <li>{@code --transactions 100000} in the seeded dataset, and its {@code --seed}
+   *   <li>{@code --rates 25,50,100,200,400,800,1600} requests per second, stepped through in order
+   *   <li>{@code --warmup 5s} and {@code --duration 20s} per step
+   *   <li>{@code --mix snapshot=30,...}, or {@code each} to ramp every operation on its own
+   *   <li>{@code --max-in-flight 512} and {@code --max-p99 1s}, past which a step is saturated
+   *   <li>{@code --property key=value}, repeatable, passed to the API
+   *   <li>{@code --json results.json}
+   * </ul>
+   */
+  static LoadTestOptions parse(String[] args) {
+    String profile = "memory";
+    long transactions = 100_000;
+    long seed = DEFAULT_SEED;
+    List<Double> rates = List.of(25.0, 50.0, 100.0, 200.0, 400.0, 800.0, 1600.0);
+    Duration warmup = Duration.ofSeconds(5);
+    Duration duration = Duration.ofSeconds(20);
+    List<Workload> workloads = List.of(Workload.mix(Workload.DEFAULT_MIX));
+    int maxInFlight = 512;
+    Duration maxP99 = Duration.ofSeconds(1);
+    List<String> properties = new ArrayList<>();
+    Path json = null;
+
+    for (int i = 0; i < args.length; i += 2) {
+      if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value of " + args[i]);
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--profile" -> profile = value;
+        case "--transactions" -> transactions = Long.parseLong(value);
+        case "--seed" -> seed = Long.parseLong(value);
+        case "--rates" ->
+            rates = Arrays.stream(value.split(",")).map(String::trim).map(Double::valueOf).toList();
+        case "--warmup" -> warmup = DurationStyle.detectAndParse(value);
+        case "--duration" -> duration = DurationStyle.detectAndParse(value);
+        case "--mix" ->
+            workloads =
+                value.equals("each")
+                    ? Arrays.stream(Operation.values()).map(Workload::only).toList()
+                    : List.of(Workload.mix(value));
+        case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+        case "--max-p99" -> maxP99 = DurationStyle.detectAndParse(value);
+        case "--property" -> properties.add(value);
+        case "--json" -> json = Path.of(value);
+        default -> throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+      }
+    }
+    return new LoadTestOptions(
+        profile,
+        transactions,
+        seed,
+        rates,
+        warmup,
+        duration,
+        workloads,
+        maxInFlight,
+        maxP99,
+        properties,
+        json);
+  }
+}
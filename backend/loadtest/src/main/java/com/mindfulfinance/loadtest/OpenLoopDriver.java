@@ -0,0 +1,159 @@
+package com.mindfulfinance.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends requests at a fixed arrival rate regardless of how fast responses come back (an open loop),
+ * the way independent users do. A closed loop would slow down with the server and hide the knee;
+ * here a slow server shows up as growing latency instead, since each request is timed from its
+ * scheduled start.
+ */
+final class OpenLoopDriver {
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+  // Below this share of the target rate, or above this error ratio, a step counts as saturated.
+  private static final double MIN_ACHIEVED_SHARE = 0.9;
+  private static final double MAX_ERROR_RATIO = 0.01;
+
+  private final ApiClient client;
+  private final SeededData data;
+  private final int maxInFlight;
+  private final Duration maxP99;
+  private long sequence;
+
+  OpenLoopDriver(ApiClient client, SeededData data, int maxInFlight, Duration maxP99) {
+    this.client = client;
+    this.data = data;
+    this.maxInFlight = maxInFlight;
+    this.maxP99 = maxP99;
+  }
+
+  /**
+   * Runs {@code workload} at {@code rate} requests per second: {@code warmup} unrecorded, then
+   * {@code duration} recorded. Waits for every request sent before returning.
+   */
+  StepResult run(Workload workload, double rate, Duration warmup, Duration duration, long seed)
+      throws InterruptedException {
+    Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    for (Operation operation : workload.weights().keySet()) {
+      histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+      errors.put(operation, new LongAdder());
+    }
+
+    // Responses that arrive within the recorded window; this, not the number sent, is what the
+    // server sustained.
+    LongAdder completed = new LongAdder();
+    SplittableRandom random = new SplittableRandom(seed);
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    double interval = TimeUnit.SECONDS.toNanos(1) / rate;
+    long start = System.nanoTime();
+    long measureFrom = start + warmup.toNanos();
+    long end = measureFrom + duration.toNanos();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long index = 0; ; index++) {
+        long intendedStart = start + (long) (index * interval);
+        if (intendedStart >= end) break;
+        for (long wait = intendedStart - System.nanoTime(); wait > 0; ) {
+          LockSupport.parkNanos(wait);
+          wait = intendedStart - System.nanoTime();
+        }
+
+        Operation operation = workload.next(random);
+        HttpRequest request = operation.request(client, data, random, sequence++);
+        boolean measured = intendedStart >= measureFrom;
+        // Past the in-flight cap the schedule slips, but latency still counts from the due time.
+        inFlight.acquire();
+        executor.execute(
+            () -> {
+              try {
+                boolean ok = send(request);
+                long finished = System.nanoTime();
+                if (finished >= measureFrom && finished < end) completed.increment();
+                if (!measured) return;
+                if (ok) {
+                  long micros = (finished - intendedStart) / 1_000;
+                  histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                } else {
+                  errors.get(operation).increment();
+                }
+              } finally {
+                inFlight.release();
+              }
+            });
+      }
+    }
+
+    return result(workload, rate, duration, histograms, errors, completed.sum());
+  }
+
+  private boolean send(HttpRequest request) {
+    try {
+      HttpResponse<Void> response = client.send(request);
+      return response.statusCode() < 400;
+    } catch (IOException ex) {
+      return false;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private StepResult result(
+      Workload workload,
+      double rate,
+      Duration duration,
+      Map<Operation, Histogram> histograms,
+      Map<Operation, LongAdder> errors,
+      long completed) {
+    double seconds = duration.toNanos() / 1e9;
+    Map<String, StepResult.OperationStats> operations = new LinkedHashMap<>();
+    Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    long allErrors = 0;
+    for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+      long operationErrors = errors.get(entry.getKey()).sum();
+      operations.put(entry.getKey().label, stats(entry.getValue(), operationErrors, seconds));
+      all.add(entry.getValue());
+      allErrors += operationErrors;
+    }
+    StepResult.OperationStats total = stats(all, allErrors, seconds);
+    operations.put(StepResult.ALL, total);
+
+    double achievedRate = completed / seconds;
+    boolean saturated =
+        achievedRate < rate * MIN_ACHIEVED_SHARE
+            || allErrors > (total.count() + allErrors) * MAX_ERROR_RATIO
+            || total.p99Ms() > maxP99.toMillis();
+    return new StepResult(workload.name(), rate, achievedRate, operations, saturated);
+  }
+
+  private static StepResult.OperationStats stats(Histogram histogram, long errors, double seconds) {
+    return new StepResult.OperationStats(
+        histogram.getTotalCount(),
+        errors,
+        histogram.getTotalCount() / seconds,
+        millis(histogram.getValueAtPercentile(50)),
+        millis(histogram.getValueAtPercentile(99)),
+        millis(histogram.getValueAtPercentile(99.9)),
+        millis(histogram.getMaxValue()));
+  }
+
+  private static double millis(long micros) {
+    return micros / 1_000.0;
+  }
+}
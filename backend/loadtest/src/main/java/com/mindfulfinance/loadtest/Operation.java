@@ -0,0 +1,109 @@
+package com.mindfulfinance.loadtest;
+
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/** One kind of request the load test sends, named as on the command line. */
+enum Operation {
+  /** The card screen: {@code GET /personal-finance/cards/{id}/years/{year}}. */
+  SNAPSHOT("snapshot") {
+    @Override
+    HttpRequest request(ApiClient client, SeededData data, SplittableRandom random, long sequence) {
+      return client.get(
+          "/personal-finance/cards/"
+              + pick(data.cardIds(), random)
+              + "/years/"
+              + year(data, random));
+    }
+  },
+  NET_WORTH("net-worth") {
+    @Override
+    HttpRequest request(ApiClient client, SeededData data, SplittableRandom random, long sequence) {
+      return client.get("/net-worth");
+    }
+  },
+  BURN("burn") {
+    @Override
+    HttpRequest request(ApiClient client, SeededData data, SplittableRandom random, long sequence) {
+      return client.get("/peace/monthly-burn?asOf=" + LocalDate.of(data.lastYear(), 12, 31));
+    }
+  },
+  /** The whole ledger of one account: {@code GET /accounts/{id}/transactions}. */
+  TRANSACTIONS("transactions") {
+    @Override
+    HttpRequest request(ApiClient client, SeededData data, SplittableRandom random, long sequence) {
+      return client.get("/accounts/" + pick(data.accounts(), random).id() + "/transactions");
+    }
+  },
+  /** A small bank statement of {@value #IMPORT_ROWS} new rows. */
+  IMPORT("import") {
+    @Override
+    HttpRequest request(ApiClient client, SeededData data, SplittableRandom random, long sequence) {
+      SeededData.Account account = pick(data.accounts(), random);
+      StringBuilder csv = new StringBuilder("occurred_on,direction,amount,currency,memo\r\n");
+      LocalDate day = LocalDate.of(year(data, random), 1, 1).plusDays(random.nextInt(365));
+      for (int row = 0; row < IMPORT_ROWS; row++) {
+        csv.append(day)
+            .append(",OUTFLOW,")
+            .append(BigDecimal.valueOf(random.nextLong(100, 500_000), 2).toPlainString())
+            .append(',')
+            .append(account.currency())
+            .append(",Load test ")
+            .append(sequence)
+            .append('-')
+            .append(row)
+            .append("\r\n");
+      }
+      return client.importCsv(account.id(), csv.toString());
+    }
+  },
+  /** One cell typed into the actuals grid, expense or income. */
+  GRID_SAVE("grid-save") {
+    @Override
+    HttpRequest request(ApiClient client, SeededData data, SplittableRandom random, long sequence) {
+      String card = "/personal-finance/cards/" + pick(data.cardIds(), random);
+      int month = 1 + random.nextInt(12);
+      BigDecimal amount = BigDecimal.valueOf(random.nextLong(100_000, 30_000_000), 2);
+      if (random.nextBoolean()) {
+        return client.json(
+            "PUT",
+            card + "/expenses/actual/" + month,
+            Map.of("year", year(data, random), "categoryAmounts", Map.of("GROCERIES", amount)));
+      }
+      return client.json(
+          "PUT",
+          card + "/income/actual/" + month,
+          Map.of("year", year(data, random), "totalAmount", amount));
+    }
+  };
+
+  static final int IMPORT_ROWS = 20;
+
+  final String label;
+
+  Operation(String label) {
+    this.label = label;
+  }
+
+  abstract HttpRequest request(
+      ApiClient client, SeededData data, SplittableRandom random, long sequence);
+
+  static Operation fromLabel(String label) {
+    for (Operation operation : values()) {
+      if (operation.label.equals(label)) return operation;
+    }
+    throw new IllegalArgumentException("Unknown operation: " + label);
+  }
+
+  private static <T> T pick(List<T> items, SplittableRandom random) {
+    return items.get(random.nextInt(items.size()));
+  }
+
+  private static int year(SeededData data, SplittableRandom random) {
+    return data.firstYear() + random.nextInt(data.lastYear() - data.firstYear() + 1);
+  }
+}
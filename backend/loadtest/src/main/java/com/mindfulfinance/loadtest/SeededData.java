@@ -0,0 +1,14 @@
+package com.mindfulfinance.loadtest;
+
+import java.util.List;
+
+/** What the load test can address after seeding: server ids and the years that hold data. */
+record SeededData(List<Account> accounts, List<String> cardIds, int firstYear, int lastYear) {
+  SeededData {
+    if (accounts.isEmpty() || cardIds.isEmpty()) {
+      throw new IllegalArgumentException("The dataset needs at least one account and one card");
+    }
+  }
+
+  record Account(String id, String currency) {}
+}
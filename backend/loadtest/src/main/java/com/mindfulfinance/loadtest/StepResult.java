@@ -0,0 +1,28 @@
+package com.mindfulfinance.loadtest;
+
+import java.util.Map;
+
+/**
+ * One rate step of one workload. Latencies are in milliseconds and measured from when a request was
+ * due to start, not from when it was sent, so a server that falls behind shows its queueing.
+ *
+ * @param operations per operation, plus {@value #ALL} for the whole step
+ * @param saturated whether the server no longer kept up at this rate
+ */
+record StepResult(
+    String workload,
+    double targetRate,
+    double achievedRate,
+    Map<String, OperationStats> operations,
+    boolean saturated) {
+  static final String ALL = "all";
+
+  record OperationStats(
+      long count,
+      long errors,
+      double throughput,
+      double p50Ms,
+      double p99Ms,
+      double p999Ms,
+      double maxMs) {}
+}
@@ -0,0 +1,51 @@
+package com.mindfulfinance.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/** A named mix of operations, each drawn with probability proportional to its weight. */
+record Workload(String name, Map<Operation, Integer> weights) {
+  /** Mostly reads, as the UI produces them, with some grid typing and statement imports. */
+  static final String DEFAULT_MIX =
+      "snapshot=30,net-worth=10,burn=10,transactions=25,import=5,grid-save=20";
+
+  Workload {
+    weights = Map.copyOf(weights);
+    if (weights.isEmpty() || weights.values().stream().anyMatch(weight -> weight <= 0)) {
+      throw new IllegalArgumentException("Workload weights must be positive");
+    }
+  }
+
+  /** Parses {@code snapshot=30,burn=10}. */
+  static Workload mix(String spec) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String part : spec.split(",")) {
+      String[] labelAndWeight = part.trim().split("=", 2);
+      if (labelAndWeight.length != 2) {
+        throw new IllegalArgumentException("Expected operation=weight, got: " + part);
+      }
+      weights.put(
+          Operation.fromLabel(labelAndWeight[0].trim()),
+          Integer.parseInt(labelAndWeight[1].trim()));
+    }
+    return new Workload("mixed", weights);
+  }
+
+  static Workload only(Operation operation) {
+    return new Workload(operation.label, Map.of(operation, 1));
+  }
+
+  Operation next(SplittableRandom random) {
+    int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+    int roll = random.nextInt(total);
+    // Iterate in declaration order, so the same seed draws the same sequence.
+    for (Operation operation : Operation.values()) {
+      Integer weight = weights.get(operation);
+      if (weight == null) continue;
+      if (roll < weight) return operation;
+      roll -= weight;
+    }
+    throw new IllegalStateException("Unreachable");
+  }
+}
@@ -0,0 +1,66 @@
+package com.mindfulfinance.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class LoadTestTest {
+  @Test
+  public void a_short_in_memory_run_exercises_every_operation_without_errors() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    LoadTest.Report report =
+        LoadTest.run(
+            LoadTestOptions.parse(
+                new String[] {
+                  "--transactions",
+                  "2000",
+                  "--rates",
+                  "100",
+                  "--warmup",
+                  "500ms",
+                  "--duration",
+                  "2s"
+                }),
+            new PrintStream(output, true, StandardCharsets.UTF_8));
+
+    assertEquals(1, report.steps().size());
+    StepResult step = report.steps().getFirst();
+    assertFalse(step.saturated(), output.toString(StandardCharsets.UTF_8));
+    for (Operation operation : Operation.values()) {
+      StepResult.OperationStats stats = step.operations().get(operation.label);
+      assertTrue(stats.count() > 0, operation.label);
+      assertEquals(0, stats.errors(), operation.label);
+    }
+    assertEquals(200, step.operations().get(StepResult.ALL).count());
+    assertEquals("above 100 req/s", report.knees().get("mixed"));
+  }
+
+  @Test
+  public void the_same_seed_draws_the_same_operations() {
+    Workload workload = Workload.mix(Workload.DEFAULT_MIX);
+    SplittableRandom first = new SplittableRandom(7);
+    SplittableRandom second = new SplittableRandom(7);
+
+    for (int i = 0; i < 1_000; i++) {
+      assertEquals(workload.next(first), workload.next(second));
+    }
+  }
+
+  @Test
+  public void rejects_unknown_operations_and_options() {
+    assertThrows(IllegalArgumentException.class, () -> Workload.mix("snapshot=1,refund=2"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LoadTestOptions.parse(new String[] {"--threads", "8"}));
+    assertEquals(
+        Operation.values().length,
+        LoadTestOptions.parse(new String[] {"--mix", "each"}).workloads().size());
+  }
+}
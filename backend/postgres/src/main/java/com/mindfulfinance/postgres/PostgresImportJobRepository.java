@@ -0,0 +1,212 @@
+package com.mindfulfinance.postgres;
+
+import com.mindfulfinance.application.ports.ImportJobRepository;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
+import com.mindfulfinance.domain.importjob.ImportJobProgress;
+import com.mindfulfinance.domain.importjob.ImportJobStatus;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Import jobs shared by every API replica. Each transition is a single conditional UPDATE, and the
+ * partial unique index on running jobs makes a second replica's start fail instead of racing.
+ */
+public final class PostgresImportJobRepository implements ImportJobRepository {
+  private static final String ABANDONED_ERROR = "Import job stopped reporting progress";
+  private static final String NEVER_STARTED_ERROR = "Import job was never started by its server";
+  private static final String SELECT_SQL =
+      """
+      SELECT id, account_id, status, parsed_count, imported_count, skipped_count, failed_count,
+             cancel_requested, error, created_at, updated_at
+      FROM import_jobs
+      """;
+  private static final RowMapper<ImportJob> IMPORT_JOB_ROW_MAPPER =
+      (rs, rowNum) ->
+          new ImportJob(
+              new ImportJobId(rs.getObject("id", UUID.class)),
+              new AccountId(rs.getObject("account_id", UUID.class)),
+              ImportJobStatus.valueOf(rs.getString("status")),
+              new ImportJobProgress(
+                  rs.getInt("parsed_count"),
+                  rs.getInt("imported_count"),
+                  rs.getInt("skipped_count"),
+                  rs.getInt("failed_count")),
+              rs.getBoolean("cancel_requested"),
+              rs.getString("error"),
+              rs.getTimestamp("created_at").toInstant(),
+              rs.getTimestamp("updated_at").toInstant());
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PostgresImportJobRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void save(ImportJob job) {
+    jdbcTemplate.update(
+        """
+        INSERT INTO import_jobs (
+            id, account_id, status, parsed_count, imported_count, skipped_count, failed_count,
+            cancel_requested, error, created_at, updated_at
+        )
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """,
+        job.id().value(),
+        job.accountId().value(),
+        job.status().name(),
+        job.progress().parsedCount(),
+        job.progress().importedCount(),
+        job.progress().skippedCount(),
+        job.progress().failedCount(),
+        job.cancelRequested(),
+        job.error(),
+        Timestamp.from(job.createdAt()),
+        Timestamp.from(job.updatedAt()));
+  }
+
+  @Override
+  public Optional<ImportJob> find(ImportJobId id) {
+    return jdbcTemplate
+        .query(SELECT_SQL + "WHERE id = ?", IMPORT_JOB_ROW_MAPPER, id.value())
+        .stream()
+        .findFirst();
+  }
+
+  @Override
+  public boolean tryStart(ImportJobId id, Instant now, Instant staleBefore) {
+    jdbcTemplate.update(
+        """
+        UPDATE import_jobs
+        SET status = 'FAILED', error = ?, updated_at = ?
+        WHERE account_id = (SELECT account_id FROM import_jobs WHERE id = ?)
+          AND status = 'RUNNING'
+          AND updated_at < ?
+        """,
+        ABANDONED_ERROR,
+        Timestamp.from(now),
+        id.value(),
+        Timestamp.from(staleBefore));
+
+    try {
+      return jdbcTemplate.update(
+              """
+              UPDATE import_jobs
+              SET status = 'RUNNING', updated_at = ?
+              WHERE id = ? AND status = 'QUEUED'
+              """,
+              Timestamp.from(now),
+              id.value())
+          == 1;
+    } catch (DuplicateKeyException ex) {
+      // ux_import_jobs_running_account: another job of this account is running somewhere.
+      jdbcTemplate.update(
+          "UPDATE import_jobs SET updated_at = ? WHERE id = ? AND status = 'QUEUED'",
+          Timestamp.from(now),
+          id.value());
+      return false;
+    }
+  }
+
+  @Override
+  public void refreshQueued(Collection<ImportJobId> ids, Instant now) {
+    jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  "UPDATE import_jobs SET updated_at = ? WHERE id = ANY(?) AND status = 'QUEUED'");
+          statement.setTimestamp(1, Timestamp.from(now));
+          statement.setArray(
+              2, connection.createArrayOf("uuid", ids.stream().map(ImportJobId::value).toArray()));
+          return statement;
+        });
+  }
+
+  @Override
+  public void failAbandoned(Instant now, Instant staleBefore) {
+    jdbcTemplate.update(
+        """
+        UPDATE import_jobs
+        SET status = 'FAILED',
+            error = CASE status WHEN 'QUEUED' THEN ? ELSE ? END,
+            updated_at = ?
+        WHERE status IN ('QUEUED', 'RUNNING') AND updated_at < ?
+        """,
+        NEVER_STARTED_ERROR,
+        ABANDONED_ERROR,
+        Timestamp.from(now),
+        Timestamp.from(staleBefore));
+  }
+
+  @Override
+  public boolean recordProgress(ImportJobId id, ImportJobProgress progress, Instant now) {
+    List<Boolean> cancelRequested =
+        jdbcTemplate.queryForList(
+            """
+            UPDATE import_jobs
+            SET parsed_count = ?, imported_count = ?, skipped_count = ?, failed_count = ?,
+                updated_at = ?
+            WHERE id = ? AND status = 'RUNNING'
+            RETURNING cancel_requested
+            """,
+            Boolean.class,
+            progress.parsedCount(),
+            progress.importedCount(),
+            progress.skippedCount(),
+            progress.failedCount(),
+            Timestamp.from(now),
+            id.value());
+    return cancelRequested.isEmpty() || cancelRequested.get(0);
+  }
+
+  @Override
+  public void finish(
+      ImportJobId id,
+      ImportJobStatus status,
+      ImportJobProgress progress,
+      String error,
+      Instant now) {
+    jdbcTemplate.update(
+        """
+        UPDATE import_jobs
+        SET status = ?, parsed_count = ?, imported_count = ?, skipped_count = ?,
+            failed_count = ?, error = ?, updated_at = ?
+        WHERE id = ? AND status IN ('QUEUED', 'RUNNING')
+        """,
+        status.name(),
+        progress.parsedCount(),
+        progress.importedCount(),
+        progress.skippedCount(),
+        progress.failedCount(),
+        error,
+        Timestamp.from(now),
+        id.value());
+  }
+
+  @Override
+  public Optional<ImportJob> requestCancel(ImportJobId id, Instant now) {
+    int cancelled =
+        jdbcTemplate.update(
+            "UPDATE import_jobs SET status = 'CANCELLED', updated_at = ? WHERE id = ? AND status = 'QUEUED'",
+            Timestamp.from(now),
+            id.value());
+    if (cancelled == 0) {
+      // The job may have started in between; then the worker stops at its next chunk.
+      jdbcTemplate.update(
+          "UPDATE import_jobs SET cancel_requested = TRUE, updated_at = ? WHERE id = ? AND status = 'RUNNING'",
+          Timestamp.from(now),
+          id.value());
+    }
+    return find(id);
+  }
+}
@@ -65,6 +65,8 @@ public final class PostgresIncomePlanRepository implements IncomePlanRepository
             header.thirteenthSalaryMonth()));
   }
 
+  // Header, vacation delete and vacation inserts are separate statements; callers run them in one
+  // unit of work so a reader never sees the header without its vacations.
   @Override
   public void upsert(IncomePlan incomePlan) {
     jdbcTemplate.update(
@@ -92,21 +94,27 @@ public final class PostgresIncomePlanRepository implements IncomePlanRepository
         incomePlan.cardId().value(),
         incomePlan.year());
 
-    for (VacationPeriod vacation : incomePlan.vacations()) {
-      jdbcTemplate.update(
-          """
-                    INSERT INTO personal_finance_income_plan_vacations (
-                        card_id,
-                        year,
-                        start_date,
-                        end_date
-                    ) VALUES (?, ?, ?, ?)
-                    """,
-          incomePlan.cardId().value(),
-          incomePlan.year(),
-          Date.valueOf(vacation.startDate()),
-          Date.valueOf(vacation.endDate()));
-    }
+    if (incomePlan.vacations().isEmpty()) return;
+
+    jdbcTemplate.batchUpdate(
+        """
+                INSERT INTO personal_finance_income_plan_vacations (
+                    card_id,
+                    year,
+                    start_date,
+                    end_date
+                ) VALUES (?, ?, ?, ?)
+                """,
+        incomePlan.vacations().stream()
+            .map(
+                vacation ->
+                    new Object[] {
+                      incomePlan.cardId().value(),
+                      incomePlan.year(),
+                      Date.valueOf(vacation.startDate()),
+                      Date.valueOf(vacation.endDate())
+                    })
+            .toList());
   }
 
   @Override
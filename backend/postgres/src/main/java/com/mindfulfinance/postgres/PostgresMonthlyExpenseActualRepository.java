@@ -1,11 +1,14 @@
 package com.mindfulfinance.postgres;
 
 import com.mindfulfinance.application.ports.MonthlyExpenseActualRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
 import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Currency;
 import java.util.EnumMap;
 import java.util.List;
@@ -45,6 +48,59 @@ public final class PostgresMonthlyExpenseActualRepository
             amounts);
       };
 
+  private static final String UPSERT_SQL =
+      """
+          INSERT INTO personal_finance_monthly_expense_actuals (
+              card_id, year, month, restaurants, groceries, personal, utilities, transport,
+              gifts, investments, entertainment, education
+          )
+          VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+          ON CONFLICT (card_id, year, month) DO UPDATE SET
+              restaurants = EXCLUDED.restaurants,
+              groceries = EXCLUDED.groceries,
+              personal = EXCLUDED.personal,
+              utilities = EXCLUDED.utilities,
+              transport = EXCLUDED.transport,
+              gifts = EXCLUDED.gifts,
+              investments = EXCLUDED.investments,
+              entertainment = EXCLUDED.entertainment,
+              education = EXCLUDED.education,
+              version = personal_finance_monthly_expense_actuals.version + 1
+          """;
+
+  private static final RowMapper<Versioned<MonthlyExpenseActual>> VERSIONED_ROW_MAPPER =
+      (rs, rowNum) -> new Versioned<>(ROW_MAPPER.mapRow(rs, rowNum), rs.getLong("version"));
+
+  private static final String INSERT_IF_ABSENT_SQL =
+      """
+          INSERT INTO personal_finance_monthly_expense_actuals (
+              card_id, year, month, restaurants, groceries, personal, utilities, transport,
+              gifts, investments, entertainment, education
+          )
+          VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+          ON CONFLICT (card_id, year, month) DO NOTHING
+          RETURNING version
+          """;
+
+  private static final String UPDATE_IF_VERSION_SQL =
+      """
+          UPDATE personal_finance_monthly_expense_actuals
+          SET restaurants = ?, groceries = ?, personal = ?, utilities = ?, transport = ?,
+              gifts = ?, investments = ?, entertainment = ?, education = ?,
+              version = version + 1
+          WHERE card_id = ? AND year = ? AND month = ? AND version = ?
+          RETURNING version
+          """;
+
+  // Clearing keeps the row with zero amounts, so the month's version never starts over.
+  private static final String CLEAR_SQL =
+      """
+          UPDATE personal_finance_monthly_expense_actuals
+          SET restaurants = 0, groceries = 0, personal = 0, utilities = 0, transport = 0,
+              gifts = 0, investments = 0, entertainment = 0, education = 0,
+              version = version + 1
+          """;
+
   private final JdbcTemplate jdbcTemplate;
 
   public PostgresMonthlyExpenseActualRepository(JdbcTemplate jdbcTemplate) {
@@ -53,66 +109,163 @@ public final class PostgresMonthlyExpenseActualRepository
 
   @Override
   public List<MonthlyExpenseActual> findByCardAndYear(PersonalFinanceCardId cardId, int year) {
+    return jdbcTemplate
+        .query(
+            """
+                SELECT card_id, year, month, restaurants, groceries, personal, utilities, transport,
+                       gifts, investments, entertainment, education
+                FROM personal_finance_monthly_expense_actuals
+                WHERE card_id = ? AND year = ?
+                ORDER BY month
+                """,
+            ROW_MAPPER,
+            cardId.value(),
+            year)
+        .stream()
+        .filter(summary -> !summary.isEmpty())
+        .toList();
+  }
+
+  @Override
+  public List<Versioned<MonthlyExpenseActual>> findVersionedByCardAndYear(
+      PersonalFinanceCardId cardId, int year) {
     return jdbcTemplate.query(
         """
                 SELECT card_id, year, month, restaurants, groceries, personal, utilities, transport,
-                       gifts, investments, entertainment, education
+                       gifts, investments, entertainment, education, version
                 FROM personal_finance_monthly_expense_actuals
                 WHERE card_id = ? AND year = ?
                 ORDER BY month
                 """,
-        ROW_MAPPER,
+        VERSIONED_ROW_MAPPER,
         cardId.value(),
         year);
   }
 
   @Override
-  public void upsert(MonthlyExpenseActual summary) {
-    jdbcTemplate.update(
-        """
-                INSERT INTO personal_finance_monthly_expense_actuals (
-                    card_id, year, month, restaurants, groceries, personal, utilities, transport,
-                    gifts, investments, entertainment, education
-                )
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                ON CONFLICT (card_id, year, month) DO UPDATE SET
-                    restaurants = EXCLUDED.restaurants,
-                    groceries = EXCLUDED.groceries,
-                    personal = EXCLUDED.personal,
-                    utilities = EXCLUDED.utilities,
-                    transport = EXCLUDED.transport,
-                    gifts = EXCLUDED.gifts,
-                    investments = EXCLUDED.investments,
-                    entertainment = EXCLUDED.entertainment,
-                    education = EXCLUDED.education
-                """,
-        summary.cardId().value(),
-        summary.year(),
-        summary.month(),
-        amount(summary, PersonalExpenseCategory.RESTAURANTS),
-        amount(summary, PersonalExpenseCategory.GROCERIES),
-        amount(summary, PersonalExpenseCategory.PERSONAL),
-        amount(summary, PersonalExpenseCategory.UTILITIES),
-        amount(summary, PersonalExpenseCategory.TRANSPORT),
-        amount(summary, PersonalExpenseCategory.GIFTS),
-        amount(summary, PersonalExpenseCategory.INVESTMENTS),
-        amount(summary, PersonalExpenseCategory.ENTERTAINMENT),
-        amount(summary, PersonalExpenseCategory.EDUCATION));
+  public long upsert(MonthlyExpenseActual summary) {
+    return jdbcTemplate.queryForObject(
+        UPSERT_SQL + " RETURNING version", Long.class, upsertArgs(summary));
+  }
+
+  @Override
+  public long upsert(MonthlyExpenseActual summary, long expectedVersion) {
+    List<Long> versions =
+        expectedVersion == Versioned.ABSENT
+            ? jdbcTemplate.queryForList(INSERT_IF_ABSENT_SQL, Long.class, upsertArgs(summary))
+            : jdbcTemplate.queryForList(
+                UPDATE_IF_VERSION_SQL, Long.class, updateArgs(summary, expectedVersion));
+    if (versions.isEmpty()) throw conflict();
+    return versions.getFirst();
   }
 
   @Override
-  public void delete(PersonalFinanceCardId cardId, int year, int month) {
+  public void upsertAll(List<MonthlyExpenseActual> summaries) {
+    if (summaries.isEmpty()) return;
+
+    jdbcTemplate.batchUpdate(
+        UPSERT_SQL,
+        summaries.stream().map(PostgresMonthlyExpenseActualRepository::upsertArgs).toList());
+  }
+
+  @Override
+  public long delete(PersonalFinanceCardId cardId, int year, int month) {
+    List<Long> versions =
+        jdbcTemplate.queryForList(
+            CLEAR_SQL + " WHERE card_id = ? AND year = ? AND month = ? RETURNING version",
+            Long.class,
+            cardId.value(),
+            year,
+            month);
+    return versions.isEmpty() ? Versioned.ABSENT : versions.getFirst();
+  }
+
+  @Override
+  public long delete(PersonalFinanceCardId cardId, int year, int month, long expectedVersion) {
+    if (expectedVersion == Versioned.ABSENT) {
+      Boolean stored =
+          jdbcTemplate.queryForObject(
+              """
+                  SELECT EXISTS (
+                      SELECT 1 FROM personal_finance_monthly_expense_actuals
+                      WHERE card_id = ? AND year = ? AND month = ?
+                  )
+                  """,
+              Boolean.class,
+              cardId.value(),
+              year,
+              month);
+      if (Boolean.TRUE.equals(stored)) throw conflict();
+      return Versioned.ABSENT;
+    }
+
+    List<Long> versions =
+        jdbcTemplate.queryForList(
+            CLEAR_SQL
+                + " WHERE card_id = ? AND year = ? AND month = ? AND version = ? RETURNING version",
+            Long.class,
+            cardId.value(),
+            year,
+            month,
+            expectedVersion);
+    if (versions.isEmpty()) throw conflict();
+    return versions.getFirst();
+  }
+
+  @Override
+  public void deleteAll(PersonalFinanceCardId cardId, int year, Collection<Integer> months) {
+    if (months.isEmpty()) return;
+
     jdbcTemplate.update(
-        """
-                DELETE FROM personal_finance_monthly_expense_actuals
-                WHERE card_id = ? AND year = ? AND month = ?
-                """,
-        cardId.value(),
-        year,
-        month);
+        CLEAR_SQL + " WHERE card_id = ? AND year = ? AND month = ANY (?)",
+        ps -> {
+          ps.setObject(1, cardId.value());
+          ps.setInt(2, year);
+          ps.setArray(3, ps.getConnection().createArrayOf("integer", months.toArray()));
+        });
+  }
+
+  private static Object[] upsertArgs(MonthlyExpenseActual summary) {
+    return new Object[] {
+      summary.cardId().value(),
+      summary.year(),
+      summary.month(),
+      amount(summary, PersonalExpenseCategory.RESTAURANTS),
+      amount(summary, PersonalExpenseCategory.GROCERIES),
+      amount(summary, PersonalExpenseCategory.PERSONAL),
+      amount(summary, PersonalExpenseCategory.UTILITIES),
+      amount(summary, PersonalExpenseCategory.TRANSPORT),
+      amount(summary, PersonalExpenseCategory.GIFTS),
+      amount(summary, PersonalExpenseCategory.INVESTMENTS),
+      amount(summary, PersonalExpenseCategory.ENTERTAINMENT),
+      amount(summary, PersonalExpenseCategory.EDUCATION)
+    };
   }
 
   private static BigDecimal amount(MonthlyExpenseActual summary, PersonalExpenseCategory category) {
     return summary.categoryAmounts().get(category).amount();
   }
+
+  private static Object[] updateArgs(MonthlyExpenseActual summary, long expectedVersion) {
+    return new Object[] {
+      amount(summary, PersonalExpenseCategory.RESTAURANTS),
+      amount(summary, PersonalExpenseCategory.GROCERIES),
+      amount(summary, PersonalExpenseCategory.PERSONAL),
+      amount(summary, PersonalExpenseCategory.UTILITIES),
+      amount(summary, PersonalExpenseCategory.TRANSPORT),
+      amount(summary, PersonalExpenseCategory.GIFTS),
+      amount(summary, PersonalExpenseCategory.INVESTMENTS),
+      amount(summary, PersonalExpenseCategory.ENTERTAINMENT),
+      amount(summary, PersonalExpenseCategory.EDUCATION),
+      summary.cardId().value(),
+      summary.year(),
+      summary.month(),
+      expectedVersion
+    };
+  }
+
+  private static VersionConflictException conflict() {
+    return new VersionConflictException(
+        "Monthly expense actual was changed concurrently, reload it and retry");
+  }
 }
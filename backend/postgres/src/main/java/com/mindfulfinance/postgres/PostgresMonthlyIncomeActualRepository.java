@@ -1,9 +1,12 @@
 package com.mindfulfinance.postgres;
 
 import com.mindfulfinance.application.ports.MonthlyIncomeActualRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import java.util.Collection;
 import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +24,41 @@ public final class PostgresMonthlyIncomeActualRepository implements MonthlyIncom
               rs.getInt("month"),
               new Money(rs.getBigDecimal("total_amount"), RUB));
 
+  private static final String UPSERT_SQL =
+      """
+          INSERT INTO personal_finance_monthly_income_actuals (card_id, year, month, total_amount)
+          VALUES (?, ?, ?, ?)
+          ON CONFLICT (card_id, year, month) DO UPDATE SET
+              total_amount = EXCLUDED.total_amount,
+              version = personal_finance_monthly_income_actuals.version + 1
+          """;
+
+  private static final RowMapper<Versioned<MonthlyIncomeActual>> VERSIONED_ROW_MAPPER =
+      (rs, rowNum) -> new Versioned<>(ROW_MAPPER.mapRow(rs, rowNum), rs.getLong("version"));
+
+  private static final String INSERT_IF_ABSENT_SQL =
+      """
+          INSERT INTO personal_finance_monthly_income_actuals (card_id, year, month, total_amount)
+          VALUES (?, ?, ?, ?)
+          ON CONFLICT (card_id, year, month) DO NOTHING
+          RETURNING version
+          """;
+
+  private static final String UPDATE_IF_VERSION_SQL =
+      """
+          UPDATE personal_finance_monthly_income_actuals
+          SET total_amount = ?, version = version + 1
+          WHERE card_id = ? AND year = ? AND month = ? AND version = ?
+          RETURNING version
+          """;
+
+  // Clearing keeps the row with a zero amount, so the month's version never starts over.
+  private static final String CLEAR_SQL =
+      """
+          UPDATE personal_finance_monthly_income_actuals
+          SET total_amount = 0, version = version + 1
+          """;
+
   private final JdbcTemplate jdbcTemplate;
 
   public PostgresMonthlyIncomeActualRepository(JdbcTemplate jdbcTemplate) {
@@ -29,42 +67,138 @@ public final class PostgresMonthlyIncomeActualRepository implements MonthlyIncom
 
   @Override
   public List<MonthlyIncomeActual> findByCardAndYear(PersonalFinanceCardId cardId, int year) {
+    return jdbcTemplate
+        .query(
+            """
+                SELECT card_id, year, month, total_amount
+                FROM personal_finance_monthly_income_actuals
+                WHERE card_id = ? AND year = ?
+                ORDER BY month
+                """,
+            ROW_MAPPER,
+            cardId.value(),
+            year)
+        .stream()
+        .filter(summary -> !summary.isEmpty())
+        .toList();
+  }
+
+  @Override
+  public List<Versioned<MonthlyIncomeActual>> findVersionedByCardAndYear(
+      PersonalFinanceCardId cardId, int year) {
     return jdbcTemplate.query(
         """
-                SELECT card_id, year, month, total_amount
+                SELECT card_id, year, month, total_amount, version
                 FROM personal_finance_monthly_income_actuals
                 WHERE card_id = ? AND year = ?
                 ORDER BY month
                 """,
-        ROW_MAPPER,
+        VERSIONED_ROW_MAPPER,
         cardId.value(),
         year);
   }
 
   @Override
-  public void upsert(MonthlyIncomeActual summary) {
-    jdbcTemplate.update(
-        """
-                INSERT INTO personal_finance_monthly_income_actuals (card_id, year, month, total_amount)
-                VALUES (?, ?, ?, ?)
-                ON CONFLICT (card_id, year, month) DO UPDATE SET
-                    total_amount = EXCLUDED.total_amount
-                """,
-        summary.cardId().value(),
-        summary.year(),
-        summary.month(),
-        summary.totalAmount().amount());
+  public long upsert(MonthlyIncomeActual summary) {
+    return jdbcTemplate.queryForObject(
+        UPSERT_SQL + " RETURNING version", Long.class, upsertArgs(summary));
   }
 
   @Override
-  public void delete(PersonalFinanceCardId cardId, int year, int month) {
+  public long upsert(MonthlyIncomeActual summary, long expectedVersion) {
+    List<Long> versions =
+        expectedVersion == Versioned.ABSENT
+            ? jdbcTemplate.queryForList(INSERT_IF_ABSENT_SQL, Long.class, upsertArgs(summary))
+            : jdbcTemplate.queryForList(
+                UPDATE_IF_VERSION_SQL, Long.class, updateArgs(summary, expectedVersion));
+    if (versions.isEmpty()) throw conflict();
+    return versions.getFirst();
+  }
+
+  @Override
+  public void upsertAll(List<MonthlyIncomeActual> summaries) {
+    if (summaries.isEmpty()) return;
+
+    jdbcTemplate.batchUpdate(
+        UPSERT_SQL,
+        summaries.stream().map(PostgresMonthlyIncomeActualRepository::upsertArgs).toList());
+  }
+
+  @Override
+  public long delete(PersonalFinanceCardId cardId, int year, int month) {
+    List<Long> versions =
+        jdbcTemplate.queryForList(
+            CLEAR_SQL + " WHERE card_id = ? AND year = ? AND month = ? RETURNING version",
+            Long.class,
+            cardId.value(),
+            year,
+            month);
+    return versions.isEmpty() ? Versioned.ABSENT : versions.getFirst();
+  }
+
+  @Override
+  public long delete(PersonalFinanceCardId cardId, int year, int month, long expectedVersion) {
+    if (expectedVersion == Versioned.ABSENT) {
+      Boolean stored =
+          jdbcTemplate.queryForObject(
+              """
+                  SELECT EXISTS (
+                      SELECT 1 FROM personal_finance_monthly_income_actuals
+                      WHERE card_id = ? AND year = ? AND month = ?
+                  )
+                  """,
+              Boolean.class,
+              cardId.value(),
+              year,
+              month);
+      if (Boolean.TRUE.equals(stored)) throw conflict();
+      return Versioned.ABSENT;
+    }
+
+    List<Long> versions =
+        jdbcTemplate.queryForList(
+            CLEAR_SQL
+                + " WHERE card_id = ? AND year = ? AND month = ? AND version = ? RETURNING version",
+            Long.class,
+            cardId.value(),
+            year,
+            month,
+            expectedVersion);
+    if (versions.isEmpty()) throw conflict();
+    return versions.getFirst();
+  }
+
+  @Override
+  public void deleteAll(PersonalFinanceCardId cardId, int year, Collection<Integer> months) {
+    if (months.isEmpty()) return;
+
     jdbcTemplate.update(
-        """
-                DELETE FROM personal_finance_monthly_income_actuals
-                WHERE card_id = ? AND year = ? AND month = ?
-                """,
-        cardId.value(),
-        year,
-        month);
+        CLEAR_SQL + " WHERE card_id = ? AND year = ? AND month = ANY (?)",
+        ps -> {
+          ps.setObject(1, cardId.value());
+          ps.setInt(2, year);
+          ps.setArray(3, ps.getConnection().createArrayOf("integer", months.toArray()));
+        });
+  }
+
+  private static Object[] upsertArgs(MonthlyIncomeActual summary) {
+    return new Object[] {
+      summary.cardId().value(), summary.year(), summary.month(), summary.totalAmount().amount()
+    };
+  }
+
+  private static Object[] updateArgs(MonthlyIncomeActual summary, long expectedVersion) {
+    return new Object[] {
+      summary.totalAmount().amount(),
+      summary.cardId().value(),
+      summary.year(),
+      summary.month(),
+      expectedVersion
+    };
+  }
+
+  private static VersionConflictException conflict() {
+    return new VersionConflictException(
+        "Monthly income actual was changed concurrently, reload it and retry");
   }
 }
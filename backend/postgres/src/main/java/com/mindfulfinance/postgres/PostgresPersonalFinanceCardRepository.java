@@ -1,6 +1,8 @@
 package com.mindfulfinance.postgres;
 
 import com.mindfulfinance.application.ports.PersonalFinanceCardRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
 import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
@@ -22,6 +24,9 @@ public final class PostgresPersonalFinanceCardRepository implements PersonalFina
               rs.getTimestamp("created_at").toInstant(),
               PersonalFinanceCardStatus.valueOf(rs.getString("status")));
 
+  private static final RowMapper<Versioned<PersonalFinanceCard>> VERSIONED_CARD_ROW_MAPPER =
+      (rs, rowNum) -> new Versioned<>(CARD_ROW_MAPPER.mapRow(rs, rowNum), rs.getLong("version"));
+
   private final JdbcTemplate jdbcTemplate;
 
   public PostgresPersonalFinanceCardRepository(JdbcTemplate jdbcTemplate) {
@@ -39,6 +44,17 @@ public final class PostgresPersonalFinanceCardRepository implements PersonalFina
         .findFirst();
   }
 
+  @Override
+  public Optional<Versioned<PersonalFinanceCard>> findVersioned(PersonalFinanceCardId id) {
+    return jdbcTemplate
+        .query(
+            "SELECT id, name, linked_account_id, created_at, status, version FROM personal_finance_cards WHERE id = ?",
+            VERSIONED_CARD_ROW_MAPPER,
+            id.value())
+        .stream()
+        .findFirst();
+  }
+
   @Override
   public Optional<PersonalFinanceCard> findByLinkedAccountId(AccountId linkedAccountId) {
     return jdbcTemplate
@@ -67,7 +83,8 @@ public final class PostgresPersonalFinanceCardRepository implements PersonalFina
                     name = EXCLUDED.name,
                     linked_account_id = EXCLUDED.linked_account_id,
                     created_at = EXCLUDED.created_at,
-                    status = EXCLUDED.status
+                    status = EXCLUDED.status,
+                    version = personal_finance_cards.version + 1
                 """,
         card.id().value(),
         card.name(),
@@ -76,6 +93,33 @@ public final class PostgresPersonalFinanceCardRepository implements PersonalFina
         card.status().name());
   }
 
+  @Override
+  public long update(PersonalFinanceCard card, long expectedVersion) {
+    // Compare-and-set instead of SELECT ... FOR UPDATE: a concurrent writer is detected when it
+    // commits, and nobody waits on a row lock in between.
+    List<Long> versions =
+        jdbcTemplate.queryForList(
+            """
+                UPDATE personal_finance_cards
+                SET name = ?, linked_account_id = ?, created_at = ?, status = ?,
+                    version = version + 1
+                WHERE id = ? AND version = ?
+                RETURNING version
+                """,
+            Long.class,
+            card.name(),
+            card.linkedAccountId().value(),
+            Timestamp.from(card.createdAt()),
+            card.status().name(),
+            card.id().value(),
+            expectedVersion);
+    if (versions.isEmpty()) {
+      throw new VersionConflictException(
+          "Personal finance card was changed concurrently, reload it and retry");
+    }
+    return versions.getFirst();
+  }
+
   @Override
   public void delete(PersonalFinanceCardId id) {
     jdbcTemplate.update("DELETE FROM personal_finance_cards WHERE id = ?", id.value());
@@ -1,17 +1,26 @@
 package com.mindfulfinance.postgres;
 
 import com.mindfulfinance.application.ports.TransactionRepository;
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.transaction.Transaction;
 import com.mindfulfinance.domain.transaction.TransactionDirection;
 import com.mindfulfinance.domain.transaction.TransactionId;
 import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Currency;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 
 public final class PostgresTransactionRepository implements TransactionRepository {
@@ -26,6 +35,39 @@ public final class PostgresTransactionRepository implements TransactionRepositor
               rs.getString("memo"),
               rs.getTimestamp("created_at").toInstant());
 
+  private static final String FIND_BY_ACCOUNT_ID_SQL =
+      """
+          SELECT id, account_id, occurred_on, direction, amount, currency, memo, created_at
+          FROM transactions
+          WHERE account_id = ?
+          ORDER BY occurred_on, created_at, id
+          """;
+
+  private static final String FIND_BY_ACCOUNT_IDS_SQL =
+      """
+          SELECT id, account_id, occurred_on, direction, amount, currency, memo, created_at
+          FROM transactions
+          WHERE account_id = ANY (?)
+          ORDER BY account_id, occurred_on, created_at, id
+          """;
+
+  /** Rows the driver fetches per round trip when streaming a ledger from a cursor. */
+  private static final int STREAM_FETCH_SIZE = 1000;
+
+  private static final String INSERT_SQL =
+      """
+          INSERT INTO transactions (
+              id,
+              account_id,
+              occurred_on,
+              direction,
+              amount,
+              currency,
+              memo,
+              created_at
+          ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+          """;
+
   private final JdbcTemplate jdbcTemplate;
 
   public PostgresTransactionRepository(JdbcTemplate jdbcTemplate) {
@@ -34,40 +76,100 @@ public final class PostgresTransactionRepository implements TransactionRepositor
 
   @Override
   public List<Transaction> findByAccountId(AccountId accountId) {
+    return jdbcTemplate.query(FIND_BY_ACCOUNT_ID_SQL, TRANSACTION_ROW_MAPPER, accountId.value());
+  }
+
+  /**
+   * Reads through a forward-only cursor, {@value #STREAM_FETCH_SIZE} rows at a time. PostgreSQL
+   * only honours the fetch size with auto-commit off, so call this inside a transaction; outside
+   * one the driver buffers the whole result before the first row is handed over.
+   */
+  @Override
+  public void forEachByAccountId(AccountId accountId, Consumer<Transaction> action) {
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  FIND_BY_ACCOUNT_ID_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          statement.setFetchSize(STREAM_FETCH_SIZE);
+          statement.setObject(1, accountId.value());
+          return statement;
+        },
+        (RowCallbackHandler) rs -> action.accept(TRANSACTION_ROW_MAPPER.mapRow(rs, rs.getRow())));
+  }
+
+  /** One query for all the accounts, read through a cursor like {@link #forEachByAccountId}. */
+  @Override
+  public void forEachByAccountIds(Collection<AccountId> accountIds, Consumer<Transaction> action) {
+    if (accountIds.isEmpty()) return;
+
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  FIND_BY_ACCOUNT_IDS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          statement.setFetchSize(STREAM_FETCH_SIZE);
+          statement.setArray(
+              1,
+              connection.createArrayOf(
+                  "uuid", accountIds.stream().map(AccountId::value).toArray()));
+          return statement;
+        },
+        (RowCallbackHandler) rs -> action.accept(TRANSACTION_ROW_MAPPER.mapRow(rs, rs.getRow())));
+  }
+
+  @Override
+  public List<Transaction> findByAccountIdAndOccurredOnIn(
+      AccountId accountId, Collection<LocalDate> occurredOn) {
+    if (occurredOn.isEmpty()) return List.of();
+
     return jdbcTemplate.query(
         """
                 SELECT id, account_id, occurred_on, direction, amount, currency, memo, created_at
                 FROM transactions
-                WHERE account_id = ?
+                WHERE account_id = ? AND occurred_on = ANY (?)
                 ORDER BY occurred_on, created_at, id
                 """,
-        TRANSACTION_ROW_MAPPER,
-        accountId.value());
+        ps -> {
+          ps.setObject(1, accountId.value());
+          ps.setArray(
+              2,
+              ps.getConnection()
+                  .createArrayOf("date", occurredOn.stream().map(Date::valueOf).toArray()));
+        },
+        TRANSACTION_ROW_MAPPER);
   }
 
   @Override
-  public void save(Transaction transaction) {
-    jdbcTemplate.update(
-        """
-                INSERT INTO transactions (
-                    id,
-                    account_id,
-                    occurred_on,
-                    direction,
-                    amount,
-                    currency,
-                    memo,
-                    created_at
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+  public Optional<Versioned<Transaction>> findVersioned(
+      AccountId accountId, TransactionId transactionId) {
+    return jdbcTemplate
+        .query(
+            """
+                SELECT id, account_id, occurred_on, direction, amount, currency, memo, created_at,
+                       version
+                FROM transactions
+                WHERE id = ? AND account_id = ?
                 """,
-        transaction.id().value(),
-        transaction.accountId().value(),
-        Date.valueOf(transaction.occurredOn()),
-        transaction.direction().name(),
-        transaction.amount().amount(),
-        transaction.amount().currency().getCurrencyCode(),
-        transaction.memo(),
-        Timestamp.from(transaction.createdAt()));
+            (rs, rowNum) ->
+                new Versioned<>(TRANSACTION_ROW_MAPPER.mapRow(rs, rowNum), rs.getLong("version")),
+            transactionId.value(),
+            accountId.value())
+        .stream()
+        .findFirst();
+  }
+
+  @Override
+  public void save(Transaction transaction) {
+    jdbcTemplate.update(INSERT_SQL, insertArgs(transaction));
+  }
+
+  @Override
+  public void saveAll(List<Transaction> transactions) {
+    if (transactions.isEmpty()) return;
+
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL, transactions.stream().map(PostgresTransactionRepository::insertArgs).toList());
   }
 
   @Override
@@ -76,7 +178,7 @@ public final class PostgresTransactionRepository implements TransactionRepositor
         jdbcTemplate.update(
             """
                 UPDATE transactions
-                SET occurred_on = ?, direction = ?, amount = ?, memo = ?
+                SET occurred_on = ?, direction = ?, amount = ?, memo = ?, version = version + 1
                 WHERE id = ? AND account_id = ?
                 """,
             Date.valueOf(transaction.occurredOn()),
@@ -91,6 +193,32 @@ public final class PostgresTransactionRepository implements TransactionRepositor
     }
   }
 
+  @Override
+  public long update(Transaction transaction, long expectedVersion) {
+    List<Long> versions =
+        jdbcTemplate.queryForList(
+            """
+                UPDATE transactions
+                SET occurred_on = ?, direction = ?, amount = ?, memo = ?, version = version + 1
+                WHERE id = ? AND account_id = ? AND version = ?
+                RETURNING version
+                """,
+            Long.class,
+            Date.valueOf(transaction.occurredOn()),
+            transaction.direction().name(),
+            transaction.amount().amount(),
+            transaction.memo(),
+            transaction.id().value(),
+            transaction.accountId().value(),
+            expectedVersion);
+
+    if (versions.isEmpty()) {
+      throw new VersionConflictException(
+          "Transaction was changed concurrently, reload it and retry");
+    }
+    return versions.getFirst();
+  }
+
   @Override
   public boolean delete(AccountId accountId, TransactionId transactionId) {
     return jdbcTemplate.update(
@@ -102,4 +230,17 @@ public final class PostgresTransactionRepository implements TransactionRepositor
             accountId.value())
         == 1;
   }
+
+  private static Object[] insertArgs(Transaction transaction) {
+    return new Object[] {
+      transaction.id().value(),
+      transaction.accountId().value(),
+      Date.valueOf(transaction.occurredOn()),
+      transaction.direction().name(),
+      transaction.amount().amount(),
+      transaction.amount().currency().getCurrencyCode(),
+      transaction.memo(),
+      Timestamp.from(transaction.createdAt())
+    };
+  }
 }
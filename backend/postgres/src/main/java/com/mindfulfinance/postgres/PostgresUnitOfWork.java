@@ -0,0 +1,50 @@
+package com.mindfulfinance.postgres;
+
+import com.mindfulfinance.application.ports.UnitOfWork;
+import java.util.function.Supplier;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a unit in one database transaction. The transaction manager binds a single connection to the
+ * thread for its duration, and the {@code JdbcTemplate} of every adapter picks it up, so the writes
+ * commit together with one commit instead of one auto-commit per statement.
+ */
+public final class PostgresUnitOfWork implements UnitOfWork {
+  private final TransactionTemplate transactionTemplate;
+
+  /** Joins the caller's transaction when there is one, as {@link UnitOfWork} requires. */
+  public PostgresUnitOfWork(PlatformTransactionManager transactionManager) {
+    this(transactionManager, TransactionDefinition.PROPAGATION_REQUIRED);
+  }
+
+  private PostgresUnitOfWork(PlatformTransactionManager transactionManager, int propagation) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(propagation);
+  }
+
+  /**
+   * Always commits on its own, even when called inside another transaction; for writes accepted by
+   * an earlier request that must not roll back with the current one.
+   */
+  public static PostgresUnitOfWork independent(PlatformTransactionManager transactionManager) {
+    return new PostgresUnitOfWork(
+        transactionManager, TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * Joins the caller's transaction, or opens a read-only one; for streamed reads, which PostgreSQL
+   * only serves through a cursor with auto-commit off.
+   */
+  public static PostgresUnitOfWork readOnly(PlatformTransactionManager transactionManager) {
+    PostgresUnitOfWork unit = new PostgresUnitOfWork(transactionManager);
+    unit.transactionTemplate.setReadOnly(true);
+    return unit;
+  }
+
+  @Override
+  public <T> T execute(Supplier<T> work) {
+    return transactionTemplate.execute(status -> work.get());
+  }
+}
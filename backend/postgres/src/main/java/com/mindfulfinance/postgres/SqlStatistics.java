@@ -0,0 +1,99 @@
+package com.mindfulfinance.postgres;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Execution statistics per SQL statement, collected by {@link SqlStatisticsDataSource}: a
+ * lightweight stand-in for {@code pg_stat_statements} where that extension cannot be enabled.
+ * Statements are grouped by {@link #fingerprint}, so the same query with different literals counts
+ * as one.
+ *
+ * <p>At most {@value #MAX_STATEMENTS} distinct statements are kept; executions of further ones are
+ * added to {@value #OTHER}.
+ */
+public final class SqlStatistics {
+  static final int MAX_STATEMENTS = 500;
+  static final String OTHER = "(other statements)";
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])\\d+(?:\\.\\d+)?\\b");
+
+  private final Map<String, Counters> statements = new ConcurrentHashMap<>();
+
+  /** Statistics of one statement since the last {@link #reset}. */
+  public record Statement(String sql, long calls, Duration totalTime, Duration maxTime, long rows) {
+    public Duration meanTime() {
+      return calls == 0 ? Duration.ZERO : totalTime.dividedBy(calls);
+    }
+  }
+
+  /**
+   * Adds one execution of the statement with {@code fingerprint} that took {@code nanos} and
+   * changed {@code rows}.
+   */
+  public void recordExecution(String fingerprint, long nanos, long rows) {
+    Counters counters = counters(fingerprint);
+    counters.calls.increment();
+    counters.totalNanos.add(nanos);
+    counters.maxNanos.accumulate(nanos);
+    if (rows > 0) counters.rows.add(rows);
+  }
+
+  /** Adds rows read from a result of the statement with {@code fingerprint}. */
+  public void recordRowsRead(String fingerprint, long rows) {
+    counters(fingerprint).rows.add(rows);
+  }
+
+  /** The recorded statements, most total time first. */
+  public List<Statement> statements() {
+    return statements.entrySet().stream()
+        .map(
+            entry ->
+                new Statement(
+                    entry.getKey(),
+                    entry.getValue().calls.sum(),
+                    Duration.ofNanos(entry.getValue().totalNanos.sum()),
+                    Duration.ofNanos(entry.getValue().maxNanos.get()),
+                    entry.getValue().rows.sum()))
+        .filter(statement -> statement.calls() > 0)
+        .sorted(Comparator.comparing(Statement::totalTime).reversed())
+        .toList();
+  }
+
+  public void reset() {
+    statements.clear();
+  }
+
+  /**
+   * The statement with whitespace collapsed and string and number literals replaced by {@code ?};
+   * bind parameters are already {@code ?}.
+   */
+  public static String fingerprint(String sql) {
+    String normalized = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+    normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+    return NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+  }
+
+  private Counters counters(String fingerprint) {
+    String key = fingerprint;
+    Counters counters = statements.get(key);
+    if (counters != null) return counters;
+    if (statements.size() >= MAX_STATEMENTS) key = OTHER;
+    return statements.computeIfAbsent(key, ignored -> new Counters());
+  }
+
+  private static final class Counters {
+    final LongAdder calls = new LongAdder();
+    final LongAdder totalNanos = new LongAdder();
+    final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    final LongAdder rows = new LongAdder();
+  }
+}
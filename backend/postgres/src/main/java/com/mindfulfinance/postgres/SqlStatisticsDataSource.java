@@ -0,0 +1,206 @@
+package com.mindfulfinance.postgres;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Records every statement run through connections of the target data source in {@link
+ * SqlStatistics}: executions, time spent executing, rows changed and rows read from results.
+ * Executions that take longer than the slow threshold are logged with the types of their bind
+ * parameters, never their values, since those hold account names, memos and amounts.
+ *
+ * <p>Execution time ends when the driver returns the result; rows a cursor fetches later while the
+ * result is read are counted but not timed.
+ */
+public final class SqlStatisticsDataSource extends DelegatingDataSource implements AutoCloseable {
+  private static final System.Logger LOG =
+      System.getLogger(SqlStatisticsDataSource.class.getName());
+
+  private final SqlStatistics statistics;
+  private final long slowThresholdNanos;
+
+  public SqlStatisticsDataSource(
+      DataSource target, SqlStatistics statistics, Duration slowThreshold) {
+    super(target);
+    if (statistics == null) {
+      throw new IllegalArgumentException("statistics must not be null");
+    }
+    if (slowThreshold == null || slowThreshold.isNegative()) {
+      throw new IllegalArgumentException("slowThreshold must not be negative");
+    }
+    this.statistics = statistics;
+    this.slowThresholdNanos = slowThreshold.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return recording(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return recording(super.getConnection(username, password));
+  }
+
+  /** Closes the target data source, such as a connection pool, when the application stops. */
+  @Override
+  public void close() throws Exception {
+    if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  private Connection recording(Connection connection) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              Object result = invoke(connection, method, args);
+              return switch (method.getName()) {
+                case "prepareStatement" ->
+                    recording(
+                        result,
+                        PreparedStatement.class,
+                        SqlStatistics.fingerprint((String) args[0]));
+                case "createStatement" -> recording(result, Statement.class, null);
+                default -> result;
+              };
+            });
+  }
+
+  /**
+   * Wraps {@code statement} so that each execution is recorded under {@code preparedFingerprint},
+   * or under the fingerprint of the SQL handed to a plain statement.
+   */
+  private <S extends Statement> S recording(
+      Object statement, Class<S> type, String preparedFingerprint) {
+    Map<Integer, String> parameterTypes = new TreeMap<>();
+    int[] batched = {0};
+    return type.cast(
+        Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              String name = method.getName();
+              if (name.startsWith("set")
+                  && args != null
+                  && args.length >= 2
+                  && method.getParameterTypes()[0] == int.class) {
+                parameterTypes.put((Integer) args[0], parameterType(name, args[1]));
+                return invoke(statement, method, args);
+              }
+              if (name.equals("clearParameters")) {
+                parameterTypes.clear();
+              } else if (name.equals("addBatch")) {
+                batched[0]++;
+              } else if (name.equals("clearBatch")) {
+                batched[0] = 0;
+              }
+              if (name.equals("getResultSet")) {
+                return counting(invoke(statement, method, args), preparedFingerprint);
+              }
+              if (!name.startsWith("execute")) {
+                return invoke(statement, method, args);
+              }
+              String fingerprint =
+                  args != null && args.length > 0 && args[0] instanceof String sql
+                      ? SqlStatistics.fingerprint(sql)
+                      : preparedFingerprint;
+              if (fingerprint == null) {
+                return invoke(statement, method, args);
+              }
+
+              long started = System.nanoTime();
+              Object result = invoke(statement, method, args);
+              long nanos = System.nanoTime() - started;
+              long rows = changedRows(result);
+              statistics.recordExecution(fingerprint, nanos, rows);
+              if (nanos >= slowThresholdNanos) {
+                logSlow(fingerprint, nanos, rows, parameterTypes, batched[0]);
+              }
+              if (name.endsWith("Batch")) batched[0] = 0;
+              return result instanceof ResultSet ? counting(result, fingerprint) : result;
+            }));
+  }
+
+  /** Wraps {@code resultSet} so that the rows read from it are added when it is closed. */
+  private Object counting(Object resultSet, String fingerprint) {
+    if (!(resultSet instanceof ResultSet) || fingerprint == null) return resultSet;
+    long[] rows = {0};
+    boolean[] closed = {false};
+    return Proxy.newProxyInstance(
+        getClass().getClassLoader(),
+        new Class<?>[] {ResultSet.class},
+        (proxy, method, args) -> {
+          Object result = invoke(resultSet, method, args);
+          if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            rows[0]++;
+          } else if (method.getName().equals("close") && !closed[0]) {
+            closed[0] = true;
+            statistics.recordRowsRead(fingerprint, rows[0]);
+          }
+          return result;
+        });
+  }
+
+  private void logSlow(
+      String fingerprint, long nanos, long rows, Map<Integer, String> parameterTypes, int batched) {
+    String parameters =
+        parameterTypes.entrySet().stream()
+            .map(entry -> "$" + entry.getKey() + " " + entry.getValue())
+            .collect(Collectors.joining(", ", "[", "]"));
+    LOG.log(
+        System.Logger.Level.WARNING,
+        "Slow SQL statement: {0} ms, {1} rows changed, {2} batched, parameters {3}: {4}",
+        nanos / 1_000_000,
+        rows,
+        batched,
+        parameters,
+        fingerprint);
+  }
+
+  /** The type of a bound value, e.g. {@code UUID} for {@code setObject(1, uuid)}. */
+  private static String parameterType(String setter, Object value) {
+    if (setter.equals("setNull") || value == null) return "null";
+    return value.getClass().getSimpleName();
+  }
+
+  private static long changedRows(Object result) {
+    return switch (result) {
+      case Integer count -> Math.max(count, 0);
+      case Long count -> Math.max(count, 0);
+      case int[] counts -> {
+        long sum = 0;
+        for (int count : counts) sum += Math.max(count, 0);
+        yield sum;
+      }
+      case long[] counts -> {
+        long sum = 0;
+        for (long count : counts) sum += Math.max(count, 0);
+        yield sum;
+      }
+      case null, default -> 0;
+    };
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getTargetException();
+    }
+  }
+}
@@ -0,0 +1,19 @@
+CREATE TABLE import_jobs (
+    id UUID PRIMARY KEY,
+    account_id UUID NOT NULL REFERENCES accounts(id) ON DELETE CASCADE,
+    status TEXT NOT NULL,
+    CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED', 'CANCELLED')),
+    parsed_count INTEGER NOT NULL CHECK (parsed_count >= 0),
+    imported_count INTEGER NOT NULL CHECK (imported_count >= 0),
+    skipped_count INTEGER NOT NULL CHECK (skipped_count >= 0),
+    failed_count INTEGER NOT NULL CHECK (failed_count >= 0),
+    cancel_requested BOOLEAN NOT NULL,
+    error TEXT,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+-- At most one running import per account, across all API replicas.
+CREATE UNIQUE INDEX ux_import_jobs_running_account
+ON import_jobs (account_id)
+WHERE status = 'RUNNING';
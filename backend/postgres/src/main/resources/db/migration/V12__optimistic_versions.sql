@@ -0,0 +1,14 @@
+-- Row versions for optimistic concurrency: every write bumps the version, and compare-and-set
+-- updates only apply when the version is still the one the writer read. Stored rows start at 1,
+-- so 0 can stand for "no row yet".
+ALTER TABLE transactions
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
+
+ALTER TABLE personal_finance_cards
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
+
+ALTER TABLE personal_finance_monthly_expense_actuals
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
+
+ALTER TABLE personal_finance_monthly_income_actuals
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
@@ -0,0 +1,5 @@
+-- Periodic search for jobs left behind by stopped replicas; only the few unfinished jobs are
+-- indexed.
+CREATE INDEX ix_import_jobs_unfinished_account
+ON import_jobs (account_id, updated_at)
+WHERE status IN ('QUEUED', 'RUNNING');
@@ -34,7 +34,7 @@ class MigrationSmokeTest {
     flyway.clean();
     var result = flyway.migrate();
 
-    assertEquals(10, result.migrationsExecuted);
+    assertEquals(12, result.migrationsExecuted);
 
     try (var connection =
         DriverManager.getConnection(
@@ -42,6 +42,7 @@ class MigrationSmokeTest {
       assertThat(loadTableNames(connection))
           .containsExactly(
               "accounts",
+              "import_jobs",
               "personal_finance_cards",
               "personal_finance_income_forecasts",
               "personal_finance_income_plan_vacations",
@@ -63,7 +64,8 @@ class MigrationSmokeTest {
               "amount",
               "currency",
               "memo",
-              "created_at");
+              "created_at",
+              "version");
 
       assertThat(loadColumnTypes(connection, "transactions"))
           .containsEntry("account_id", "uuid")
@@ -0,0 +1,168 @@
+package com.mindfulfinance.postgres;
+
+import static com.mindfulfinance.domain.account.AccountStatus.ACTIVE;
+import static com.mindfulfinance.domain.account.AccountType.CASH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
+import com.mindfulfinance.domain.importjob.ImportJobProgress;
+import com.mindfulfinance.domain.importjob.ImportJobStatus;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+public class PostgresImportJobRepositoryTest {
+  @Container
+  static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  private static final Instant CREATED_AT = Instant.parse("2026-03-02T10:00:00Z");
+
+  private PostgresAccountRepository accountRepository;
+  private PostgresImportJobRepository importJobRepository;
+
+  @BeforeEach
+  void setUp() {
+    var flyway =
+        Flyway.configure()
+            .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+            .locations("classpath:db/migration")
+            .cleanDisabled(false)
+            .load();
+
+    flyway.clean();
+    flyway.migrate();
+
+    var dataSource =
+        new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    var jdbcTemplate = new JdbcTemplate(dataSource);
+
+    accountRepository = new PostgresAccountRepository(jdbcTemplate);
+    importJobRepository = new PostgresImportJobRepository(jdbcTemplate);
+  }
+
+  @Test
+  public void try_start_allows_one_running_job_per_account_until_it_finishes() {
+    AccountId accountId = saveAccount();
+    ImportJob first = saveQueuedJob(accountId);
+    ImportJob second = saveQueuedJob(accountId);
+    ImportJob otherAccount = saveQueuedJob(saveAccount());
+    Instant now = CREATED_AT.plusSeconds(1);
+
+    assertThat(importJobRepository.tryStart(first.id(), now, CREATED_AT)).isTrue();
+    assertThat(importJobRepository.tryStart(second.id(), now, CREATED_AT)).isFalse();
+    assertThat(importJobRepository.tryStart(otherAccount.id(), now, CREATED_AT)).isTrue();
+
+    importJobRepository.finish(
+        first.id(), ImportJobStatus.SUCCEEDED, new ImportJobProgress(3, 2, 1, 0), null, now);
+
+    assertThat(importJobRepository.tryStart(second.id(), now, CREATED_AT)).isTrue();
+    assertThat(importJobRepository.find(first.id()).orElseThrow().progress())
+        .isEqualTo(new ImportJobProgress(3, 2, 1, 0));
+  }
+
+  @Test
+  public void try_start_fails_a_running_job_that_stopped_reporting_progress() {
+    AccountId accountId = saveAccount();
+    ImportJob abandoned = saveQueuedJob(accountId);
+    ImportJob next = saveQueuedJob(accountId);
+    importJobRepository.tryStart(abandoned.id(), CREATED_AT, CREATED_AT);
+
+    assertThat(importJobRepository.tryStart(next.id(), CREATED_AT.plusSeconds(600), CREATED_AT))
+        .isFalse();
+    assertThat(
+            importJobRepository.tryStart(
+                next.id(), CREATED_AT.plusSeconds(600), CREATED_AT.plusSeconds(300)))
+        .isTrue();
+
+    ImportJob failed = importJobRepository.find(abandoned.id()).orElseThrow();
+    assertThat(failed.status()).isEqualTo(ImportJobStatus.FAILED);
+    assertThat(failed.error()).isEqualTo("Import job stopped reporting progress");
+  }
+
+  @Test
+  public void fail_abandoned_fails_jobs_that_nobody_refreshed_within_the_stale_window() {
+    ImportJob orphaned = saveQueuedJob(saveAccount());
+    AccountId crashedAccountId = saveAccount();
+    ImportJob crashedRunning = saveQueuedJob(crashedAccountId);
+    importJobRepository.tryStart(crashedRunning.id(), CREATED_AT, CREATED_AT);
+    AccountId busyAccountId = saveAccount();
+    ImportJob running = saveQueuedJob(busyAccountId);
+    ImportJob waitingInLane = saveQueuedJob(busyAccountId);
+    ImportJob retrying = saveQueuedJob(busyAccountId);
+    importJobRepository.tryStart(running.id(), CREATED_AT, CREATED_AT);
+    Instant recently = CREATED_AT.plusSeconds(500);
+    importJobRepository.recordProgress(running.id(), ImportJobProgress.NONE, recently);
+    importJobRepository.refreshQueued(
+        List.of(waitingInLane.id(), running.id()), CREATED_AT.plusSeconds(400));
+
+    assertThat(importJobRepository.tryStart(retrying.id(), recently, CREATED_AT)).isFalse();
+    assertThat(importJobRepository.find(retrying.id()).orElseThrow().updatedAt())
+        .isEqualTo(recently);
+    assertThat(importJobRepository.find(running.id()).orElseThrow().updatedAt())
+        .isEqualTo(recently);
+
+    Instant now = CREATED_AT.plusSeconds(600);
+    importJobRepository.failAbandoned(now, CREATED_AT.plusSeconds(300));
+
+    ImportJob failed = importJobRepository.find(orphaned.id()).orElseThrow();
+    assertThat(failed.status()).isEqualTo(ImportJobStatus.FAILED);
+    assertThat(failed.error()).isEqualTo("Import job was never started by its server");
+    assertThat(failed.updatedAt()).isEqualTo(now);
+    assertThat(importJobRepository.find(crashedRunning.id()).orElseThrow().error())
+        .isEqualTo("Import job stopped reporting progress");
+    assertThat(importJobRepository.find(running.id()).orElseThrow().status())
+        .isEqualTo(ImportJobStatus.RUNNING);
+    assertThat(importJobRepository.find(waitingInLane.id()).orElseThrow().status())
+        .isEqualTo(ImportJobStatus.QUEUED);
+    assertThat(importJobRepository.find(retrying.id()).orElseThrow().status())
+        .isEqualTo(ImportJobStatus.QUEUED);
+  }
+
+  @Test
+  public void cancel_stops_queued_job_at_once_and_flags_running_job() {
+    AccountId accountId = saveAccount();
+    ImportJob running = saveQueuedJob(accountId);
+    ImportJob queued = saveQueuedJob(accountId);
+    Instant now = CREATED_AT.plusSeconds(1);
+    importJobRepository.tryStart(running.id(), now, CREATED_AT);
+
+    assertThat(importJobRepository.requestCancel(queued.id(), now).orElseThrow().status())
+        .isEqualTo(ImportJobStatus.CANCELLED);
+    assertThat(importJobRepository.recordProgress(running.id(), ImportJobProgress.NONE, now))
+        .isFalse();
+
+    ImportJob flagged = importJobRepository.requestCancel(running.id(), now).orElseThrow();
+    assertThat(flagged.status()).isEqualTo(ImportJobStatus.RUNNING);
+    assertThat(flagged.cancelRequested()).isTrue();
+    assertThat(
+            importJobRepository.recordProgress(
+                running.id(), new ImportJobProgress(10, 8, 2, 0), now))
+        .isTrue();
+  }
+
+  private AccountId saveAccount() {
+    AccountId accountId = AccountId.random();
+    accountRepository.save(
+        new Account(accountId, "Cash", Currency.getInstance("USD"), CASH, ACTIVE, CREATED_AT));
+    return accountId;
+  }
+
+  private ImportJob saveQueuedJob(AccountId accountId) {
+    ImportJob job = ImportJob.queued(ImportJobId.random(), accountId, CREATED_AT);
+    importJobRepository.save(job);
+    return job;
+  }
+}
@@ -1,7 +1,10 @@
 package com.mindfulfinance.postgres;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.mindfulfinance.application.ports.VersionConflictException;
+import com.mindfulfinance.application.ports.Versioned;
 import com.mindfulfinance.domain.account.AccountId;
 import com.mindfulfinance.domain.money.Money;
 import com.mindfulfinance.domain.personalfinance.IncomeForecast;
@@ -18,12 +21,14 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -42,6 +47,7 @@ public class PostgresPersonalFinanceRepositoriesTest {
   private PostgresMonthlyIncomeActualRepository incomeActualRepository;
   private PostgresIncomeForecastRepository incomeForecastRepository;
   private PostgresIncomePlanRepository incomePlanRepository;
+  private DriverManagerDataSource dataSource;
 
   @BeforeEach
   void setUp() {
@@ -55,10 +61,10 @@ public class PostgresPersonalFinanceRepositoriesTest {
     flyway.clean();
     flyway.migrate();
 
-    JdbcTemplate jdbcTemplate =
-        new JdbcTemplate(
-            new DriverManagerDataSource(
-                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    dataSource =
+        new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
 
     cardRepository = new PostgresPersonalFinanceCardRepository(jdbcTemplate);
     expenseActualRepository = new PostgresMonthlyExpenseActualRepository(jdbcTemplate);
@@ -206,4 +212,152 @@ public class PostgresPersonalFinanceRepositoriesTest {
     cardRepository.delete(secondCardId);
     assertThat(cardRepository.find(secondCardId)).isEmpty();
   }
+
+  @Test
+  void income_plan_upsert_in_a_unit_of_work_is_stored_whole_or_not_at_all() {
+    PersonalFinanceCardId cardId =
+        new PersonalFinanceCardId(UUID.fromString("0b5f9c62-58d8-4d4a-9f0a-3a3f5d3b9e21"));
+    AccountId linkedAccountId =
+        new AccountId(UUID.fromString("d4c4a0f2-9e8b-4f34-8c1e-6f0e1b7a2c55"));
+    new JdbcTemplate(dataSource)
+        .update(
+            """
+                INSERT INTO accounts (id, name, currency, type, status, created_at)
+                VALUES (?, 'Основная карта', 'RUB', 'CASH', 'ACTIVE', ?)
+                """,
+            linkedAccountId.value(),
+            Timestamp.from(Instant.parse("2026-01-01T00:00:00Z")));
+    cardRepository.save(
+        new PersonalFinanceCard(
+            cardId,
+            "Основная карта",
+            linkedAccountId,
+            Instant.parse("2026-01-01T00:00:00Z"),
+            PersonalFinanceCardStatus.ACTIVE));
+    PostgresUnitOfWork unitOfWork =
+        new PostgresUnitOfWork(new DataSourceTransactionManager(dataSource));
+    IncomePlan plan =
+        new IncomePlan(
+            cardId,
+            2026,
+            List.of(
+                new VacationPeriod(LocalDate.of(2026, 6, 16), LocalDate.of(2026, 6, 29)),
+                new VacationPeriod(LocalDate.of(2026, 8, 3), LocalDate.of(2026, 8, 9))),
+            true,
+            12);
+
+    assertThatThrownBy(
+            () ->
+                unitOfWork.run(
+                    () -> {
+                      incomePlanRepository.upsert(plan);
+                      throw new IllegalStateException("Interrupted after the write");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(incomePlanRepository.findByCardAndYear(cardId, 2026)).isEmpty();
+
+    unitOfWork.run(() -> incomePlanRepository.upsert(plan));
+    assertThat(incomePlanRepository.findByCardAndYear(cardId, 2026).orElseThrow().vacations())
+        .hasSize(2);
+  }
+
+  @Test
+  void versioned_writes_apply_only_at_the_expected_version() {
+    PersonalFinanceCardId cardId =
+        new PersonalFinanceCardId(UUID.fromString("9a3e4c8d-2b61-4f7e-8d05-1c6f2a9b7e34"));
+    AccountId linkedAccountId =
+        new AccountId(UUID.fromString("5e7b2d19-c4a8-4b3f-9e61-0d8f3a7c2b46"));
+    new JdbcTemplate(dataSource)
+        .update(
+            """
+                INSERT INTO accounts (id, name, currency, type, status, created_at)
+                VALUES (?, 'Основная карта', 'RUB', 'CASH', 'ACTIVE', ?)
+                """,
+            linkedAccountId.value(),
+            Timestamp.from(Instant.parse("2026-01-01T00:00:00Z")));
+    PersonalFinanceCard card =
+        new PersonalFinanceCard(
+            cardId,
+            "Основная карта",
+            linkedAccountId,
+            Instant.parse("2026-01-01T00:00:00Z"),
+            PersonalFinanceCardStatus.ACTIVE);
+    cardRepository.save(card);
+    assertThat(cardRepository.findVersioned(cardId).orElseThrow().version()).isEqualTo(1);
+
+    PersonalFinanceCard archived = card.archive();
+    assertThat(cardRepository.update(archived, 1)).isEqualTo(2);
+    assertThatThrownBy(() -> cardRepository.update(card, 1))
+        .isInstanceOf(VersionConflictException.class);
+    assertThat(cardRepository.find(cardId)).contains(archived);
+
+    MonthlyIncomeActual march =
+        new MonthlyIncomeActual(cardId, 2026, 3, new Money(new BigDecimal("900.00"), RUB));
+    assertThat(incomeActualRepository.upsert(march, Versioned.ABSENT)).isEqualTo(1);
+    assertThatThrownBy(() -> incomeActualRepository.upsert(march, Versioned.ABSENT))
+        .isInstanceOf(VersionConflictException.class);
+    assertThat(incomeActualRepository.upsert(march, 1)).isEqualTo(2);
+    assertThat(incomeActualRepository.upsert(march)).isEqualTo(3);
+    assertThatThrownBy(() -> incomeActualRepository.delete(cardId, 2026, 3, 2))
+        .isInstanceOf(VersionConflictException.class);
+    assertThat(incomeActualRepository.findVersionedByCardAndYear(cardId, 2026))
+        .containsExactly(new Versioned<>(march, 3));
+
+    assertThat(incomeActualRepository.delete(cardId, 2026, 3, 3)).isEqualTo(4);
+    assertThat(incomeActualRepository.findByCardAndYear(cardId, 2026)).isEmpty();
+    assertThat(incomeActualRepository.delete(cardId, 2026, 4, Versioned.ABSENT))
+        .isEqualTo(Versioned.ABSENT);
+  }
+
+  @Test
+  void a_cleared_month_keeps_its_version_so_stale_writes_still_conflict() {
+    PersonalFinanceCardId cardId =
+        new PersonalFinanceCardId(UUID.fromString("3f8a1c5e-7d24-4b9a-a6e0-2c5d8b1f4e73"));
+    AccountId linkedAccountId =
+        new AccountId(UUID.fromString("c2d6e9a4-1b7f-4e38-9a05-6f3b8d2c7a19"));
+    new JdbcTemplate(dataSource)
+        .update(
+            """
+                INSERT INTO accounts (id, name, currency, type, status, created_at)
+                VALUES (?, 'Основная карта', 'RUB', 'CASH', 'ACTIVE', ?)
+                """,
+            linkedAccountId.value(),
+            Timestamp.from(Instant.parse("2026-01-01T00:00:00Z")));
+    cardRepository.save(
+        new PersonalFinanceCard(
+            cardId,
+            "Основная карта",
+            linkedAccountId,
+            Instant.parse("2026-01-01T00:00:00Z"),
+            PersonalFinanceCardStatus.ACTIVE));
+    MonthlyIncomeActual income =
+        new MonthlyIncomeActual(cardId, 2026, 3, new Money(new BigDecimal("900.00"), RUB));
+    MonthlyExpenseActual expense =
+        new MonthlyExpenseActual(
+            cardId,
+            2026,
+            3,
+            Map.of(PersonalExpenseCategory.GROCERIES, new Money(new BigDecimal("100.00"), RUB)));
+
+    assertThat(incomeActualRepository.upsert(income)).isEqualTo(1);
+    assertThat(incomeActualRepository.delete(cardId, 2026, 3)).isEqualTo(2);
+    assertThatThrownBy(() -> incomeActualRepository.upsert(income, Versioned.ABSENT))
+        .isInstanceOf(VersionConflictException.class);
+    assertThat(incomeActualRepository.upsert(income, 2)).isEqualTo(3);
+    assertThatThrownBy(() -> incomeActualRepository.upsert(income, 1))
+        .isInstanceOf(VersionConflictException.class);
+    assertThat(incomeActualRepository.findVersionedByCardAndYear(cardId, 2026))
+        .containsExactly(new Versioned<>(income, 3));
+
+    assertThat(expenseActualRepository.upsert(expense)).isEqualTo(1);
+    expenseActualRepository.deleteAll(cardId, 2026, List.of(3));
+    assertThat(expenseActualRepository.findByCardAndYear(cardId, 2026)).isEmpty();
+    Versioned<MonthlyExpenseActual> cleared =
+        expenseActualRepository.findVersionedByCardAndYear(cardId, 2026).getFirst();
+    assertThat(cleared.value().isEmpty()).isTrue();
+    assertThat(cleared.version()).isEqualTo(2);
+    assertThat(expenseActualRepository.upsert(expense)).isEqualTo(3);
+    assertThatThrownBy(() -> expenseActualRepository.delete(cardId, 2026, 3, 1))
+        .isInstanceOf(VersionConflictException.class);
+  }
 }
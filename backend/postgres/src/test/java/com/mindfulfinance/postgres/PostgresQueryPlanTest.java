@@ -0,0 +1,735 @@
+package com.mindfulfinance.postgres;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindfulfinance.application.ports.Versioned;
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import com.mindfulfinance.domain.account.AccountStatus;
+import com.mindfulfinance.domain.account.AccountType;
+import com.mindfulfinance.domain.importjob.ImportJob;
+import com.mindfulfinance.domain.importjob.ImportJobId;
+import com.mindfulfinance.domain.importjob.ImportJobProgress;
+import com.mindfulfinance.domain.importjob.ImportJobStatus;
+import com.mindfulfinance.domain.money.Money;
+import com.mindfulfinance.domain.personalfinance.IncomeForecast;
+import com.mindfulfinance.domain.personalfinance.IncomePlan;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseActual;
+import com.mindfulfinance.domain.personalfinance.MonthlyExpenseLimit;
+import com.mindfulfinance.domain.personalfinance.MonthlyIncomeActual;
+import com.mindfulfinance.domain.personalfinance.PersonalExpenseCategory;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCard;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardId;
+import com.mindfulfinance.domain.personalfinance.PersonalFinanceCardStatus;
+import com.mindfulfinance.domain.personalfinance.VacationPeriod;
+import com.mindfulfinance.domain.transaction.Transaction;
+import com.mindfulfinance.domain.transaction.TransactionDirection;
+import com.mindfulfinance.domain.transaction.TransactionId;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Guards the query plans of the Postgres repositories. The schema is filled with a few hundred
+ * thousand generated rows and analyzed, every repository method is called once, and each statement
+ * it sent is run again under {@code EXPLAIN (FORMAT JSON)} with the same parameters. A plan fails
+ * the test when it reads a large table sequentially, when it reads the ledger without the account
+ * and date index, or when its estimated cost exceeds the budget of that kind of query.
+ *
+ * <p>Repository calls run in a transaction that is rolled back, so the dataset and its statistics
+ * stay the same for every test.
+ */
+@Testcontainers
+class PostgresQueryPlanTest {
+  private static final Currency RUB = Currency.getInstance("RUB");
+  private static final Instant NOW = Instant.parse("2026-06-01T12:00:00Z");
+
+  private static final int ACCOUNTS = 2_000;
+  private static final int TRANSACTIONS_PER_ACCOUNT = 100;
+  private static final int IMPORT_JOBS_PER_ACCOUNT = 5;
+  private static final int FIRST_YEAR = 2024;
+  private static final int LAST_YEAR = 2026;
+
+  /** Tables with more rows than this must not be read sequentially, except by full listings. */
+  private static final double SEQ_SCAN_ROW_LIMIT = 1_000;
+
+  /** Planner cost budget of a statement that touches one row, or one card's year, by key. */
+  private static final double KEY_LOOKUP_COST = 100;
+
+  /** Planner cost budget of reading one account's ledger of {@value #TRANSACTIONS_PER_ACCOUNT}. */
+  private static final double LEDGER_READ_COST = 1_000;
+
+  /** Planner cost budget of listing a whole table of {@value #ACCOUNTS} rows. */
+  private static final double FULL_LISTING_COST = 500;
+
+  private static final String DATASET_SQL =
+      """
+          INSERT INTO accounts (id, name, currency, type, status, created_at)
+          SELECT md5('account-' || a)::uuid,
+                 'Account ' || a,
+                 (ARRAY['RUB', 'USD', 'EUR'])[1 + a % 3],
+                 (ARRAY['CASH', 'DEPOSIT', 'FUND', 'IIS', 'BROKERAGE'])[1 + a % 5],
+                 CASE WHEN a % 10 = 0 THEN 'ARCHIVED' ELSE 'ACTIVE' END,
+                 timestamptz '2024-01-01 00:00:00+00' + a * interval '1 minute'
+          FROM generate_series(1, :accounts) AS a;
+
+          INSERT INTO transactions (
+              id, account_id, occurred_on, direction, amount, currency, memo, created_at
+          )
+          SELECT md5('transaction-' || a || '-' || t)::uuid,
+                 md5('account-' || a)::uuid,
+                 make_date(:firstYear, 1, 1) + (t * 11 + a) % (365 * (:lastYear - :firstYear + 1)),
+                 CASE WHEN t % 3 = 0 THEN 'INFLOW' ELSE 'OUTFLOW' END,
+                 round((1 + (t * 7919 + a * 104729) % 999999) / 100.0, 2),
+                 (ARRAY['RUB', 'USD', 'EUR'])[1 + a % 3],
+                 'Payment ' || t,
+                 timestamptz '2024-01-01 00:00:00+00' + (a * 1000 + t) * interval '1 second'
+          FROM generate_series(1, :accounts) AS a, generate_series(1, :transactions) AS t;
+
+          INSERT INTO personal_finance_cards (id, name, linked_account_id, status, created_at)
+          SELECT md5('card-' || a)::uuid,
+                 'Card ' || a,
+                 md5('account-' || a)::uuid,
+                 CASE WHEN a % 10 = 0 THEN 'ARCHIVED' ELSE 'ACTIVE' END,
+                 timestamptz '2024-01-01 00:00:00+00' + a * interval '1 minute'
+          FROM generate_series(1, :accounts) AS a;
+
+          INSERT INTO personal_finance_monthly_expense_actuals (
+              card_id, year, month, restaurants, groceries, personal, utilities, transport,
+              gifts, investments, entertainment, education
+          )
+          SELECT md5('card-' || a)::uuid, y, m, 1500.00, 12000.00, 3000.00, 6000.00, 2500.00,
+                 0, 10000.00, 2000.00, 0
+          FROM generate_series(1, :accounts) AS a,
+               generate_series(:firstYear, :lastYear) AS y,
+               generate_series(1, 12) AS m;
+
+          INSERT INTO personal_finance_monthly_income_actuals (card_id, year, month, total_amount)
+          SELECT md5('card-' || a)::uuid, y, m, 150000.00 + a
+          FROM generate_series(1, :accounts) AS a,
+               generate_series(:firstYear, :lastYear) AS y,
+               generate_series(1, 12) AS m;
+
+          INSERT INTO personal_finance_monthly_expense_limits (
+              card_id, restaurants, groceries, personal, utilities, transport, gifts, investments,
+              entertainment, education
+          )
+          SELECT md5('card-' || a)::uuid, 5, 10, 5, 5, 5, 2, 10, 3, 2
+          FROM generate_series(1, :accounts) AS a;
+
+          INSERT INTO personal_finance_income_forecasts (card_id, salary_amount, bonus_percent)
+          SELECT md5('card-' || a)::uuid, 150000.00, 20
+          FROM generate_series(1, :accounts) AS a;
+
+          INSERT INTO personal_finance_income_plans (
+              card_id, year, thirteenth_salary_enabled, thirteenth_salary_month
+          )
+          SELECT md5('card-' || a)::uuid, y, a % 2 = 0, CASE WHEN a % 2 = 0 THEN 12 END
+          FROM generate_series(1, :accounts) AS a, generate_series(:firstYear, :lastYear) AS y;
+
+          INSERT INTO personal_finance_income_plan_vacations (card_id, year, start_date, end_date)
+          SELECT md5('card-' || a)::uuid, y, make_date(y, 7, 1), make_date(y, 7, 14)
+          FROM generate_series(1, :accounts) AS a, generate_series(:firstYear, :lastYear) AS y;
+
+          INSERT INTO import_jobs (
+              id, account_id, status, parsed_count, imported_count, skipped_count, failed_count,
+              cancel_requested, error, created_at, updated_at
+          )
+          SELECT md5('import-job-' || a || '-' || j)::uuid,
+                 md5('account-' || a)::uuid,
+                 'SUCCEEDED', 100, 95, 5, 0, FALSE, NULL,
+                 timestamptz '2025-01-01 00:00:00+00' + (a * 10 + j) * interval '1 minute',
+                 timestamptz '2025-01-01 00:01:00+00' + (a * 10 + j) * interval '1 minute'
+          FROM generate_series(1, :accounts) AS a, generate_series(1, :importJobs) AS j;
+
+          ANALYZE;
+          """;
+
+  @Container
+  static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+  private static final Map<String, Double> tableRows = new HashMap<>();
+
+  private RecordingDataSource recording;
+  private TransactionTemplate transactionTemplate;
+  private PostgresAccountRepository accountRepository;
+  private PostgresTransactionRepository transactionRepository;
+  private PostgresPersonalFinanceCardRepository cardRepository;
+  private PostgresMonthlyExpenseActualRepository expenseActualRepository;
+  private PostgresMonthlyExpenseLimitRepository expenseLimitRepository;
+  private PostgresMonthlyIncomeActualRepository incomeActualRepository;
+  private PostgresIncomeForecastRepository incomeForecastRepository;
+  private PostgresIncomePlanRepository incomePlanRepository;
+  private PostgresImportJobRepository importJobRepository;
+
+  @BeforeAll
+  static void loadDataset() {
+    var flyway =
+        Flyway.configure()
+            .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+            .cleanDisabled(false)
+            .locations("classpath:db/migration")
+            .load();
+
+    flyway.clean();
+    flyway.migrate();
+
+    var jdbcTemplate =
+        new JdbcTemplate(
+            new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    jdbcTemplate.execute(
+        DATASET_SQL
+            .replace(":accounts", Integer.toString(ACCOUNTS))
+            .replace(":transactions", Integer.toString(TRANSACTIONS_PER_ACCOUNT))
+            .replace(":importJobs", Integer.toString(IMPORT_JOBS_PER_ACCOUNT))
+            .replace(":firstYear", Integer.toString(FIRST_YEAR))
+            .replace(":lastYear", Integer.toString(LAST_YEAR)));
+    jdbcTemplate.query(
+        """
+            SELECT relname, reltuples
+            FROM pg_class
+            WHERE relkind = 'r' AND relnamespace = 'public'::regnamespace
+            """,
+        rs -> {
+          tableRows.put(rs.getString("relname"), rs.getDouble("reltuples"));
+        });
+  }
+
+  @BeforeEach
+  void setUp() {
+    recording =
+        new RecordingDataSource(
+            new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    var jdbcTemplate = new JdbcTemplate(recording);
+
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(recording));
+    accountRepository = new PostgresAccountRepository(jdbcTemplate);
+    transactionRepository = new PostgresTransactionRepository(jdbcTemplate);
+    cardRepository = new PostgresPersonalFinanceCardRepository(jdbcTemplate);
+    expenseActualRepository = new PostgresMonthlyExpenseActualRepository(jdbcTemplate);
+    expenseLimitRepository = new PostgresMonthlyExpenseLimitRepository(jdbcTemplate);
+    incomeActualRepository = new PostgresMonthlyIncomeActualRepository(jdbcTemplate);
+    incomeForecastRepository = new PostgresIncomeForecastRepository(jdbcTemplate);
+    incomePlanRepository = new PostgresIncomePlanRepository(jdbcTemplate);
+    importJobRepository = new PostgresImportJobRepository(jdbcTemplate);
+  }
+
+  @Test
+  void dataset_is_large_enough_for_plans_to_matter() {
+    assertThat(tableRows.get("transactions")).isGreaterThan(100 * SEQ_SCAN_ROW_LIMIT);
+    assertThat(tableRows.get("personal_finance_monthly_expense_actuals"))
+        .isGreaterThan(10 * SEQ_SCAN_ROW_LIMIT);
+    assertThat(tableRows.get("accounts")).isGreaterThan(SEQ_SCAN_ROW_LIMIT);
+    assertThat(tableRows.get("personal_finance_cards")).isGreaterThan(SEQ_SCAN_ROW_LIMIT);
+    assertThat(tableRows.get("import_jobs")).isGreaterThan(SEQ_SCAN_ROW_LIMIT);
+  }
+
+  @Test
+  void ledger_reads_use_the_account_and_date_index() {
+    AccountId accountId = accountId(42);
+    LocalDate someDay = LocalDate.of(FIRST_YEAR, 3, 15);
+
+    List<Plan> ledger =
+        explain(
+            () -> {
+              transactionRepository.findByAccountId(accountId);
+              transactionRepository.forEachByAccountId(accountId, transaction -> {});
+            });
+    List<Plan> byDates =
+        explain(
+            () ->
+                transactionRepository.findByAccountIdAndOccurredOnIn(
+                    accountId, List.of(someDay, someDay.plusDays(1), someDay.plusDays(2))));
+
+    assertThat(ledger).hasSize(2);
+    ledger.forEach(plan -> assertIndexScan(plan, "transactions", "account_id"));
+    assertThat(byDates).hasSize(1);
+    byDates.forEach(plan -> assertIndexScan(plan, "transactions", "account_id", "occurred_on"));
+    assertPlans(ledger, LEDGER_READ_COST);
+    assertPlans(byDates, LEDGER_READ_COST);
+  }
+
+  @Test
+  void ledgers_of_several_accounts_are_read_in_one_indexed_query() {
+    List<AccountId> accountIds = List.of(accountId(3), accountId(42), accountId(1999));
+
+    List<Plan> plans =
+        explain(() -> transactionRepository.forEachByAccountIds(accountIds, transaction -> {}));
+
+    assertThat(plans).hasSize(1);
+    assertIndexScan(plans.get(0), "transactions", "account_id");
+    assertPlans(plans, accountIds.size() * LEDGER_READ_COST);
+  }
+
+  @Test
+  void transaction_writes_touch_rows_by_key() {
+    AccountId accountId = accountId(42);
+    Transaction stored =
+        transactionRepository.findVersioned(accountId, transactionId(42, 7)).orElseThrow().value();
+
+    List<Plan> plans =
+        explain(
+            () -> {
+              transactionRepository.findVersioned(accountId, stored.id());
+              transactionRepository.save(transaction(accountId, "Coffee"));
+              transactionRepository.saveAll(
+                  List.of(transaction(accountId, "Taxi"), transaction(accountId, "Books")));
+              transactionRepository.update(withMemo(stored, "Edited"));
+              transactionRepository.update(withMemo(stored, "Edited again"), 2);
+              transactionRepository.delete(accountId, stored.id());
+            });
+
+    assertThat(plans).hasSize(7);
+    plans.stream()
+        .filter(plan -> !plan.sql().contains("INSERT"))
+        .forEach(plan -> assertIndexScan(plan, "transactions", "id"));
+    assertPlans(plans, KEY_LOOKUP_COST);
+  }
+
+  @Test
+  void account_lookups_use_the_primary_key() {
+    Account created =
+        new Account(AccountId.random(), "New", RUB, AccountType.CASH, AccountStatus.ACTIVE, NOW);
+
+    List<Plan> lookups =
+        explain(
+            () -> {
+              accountRepository.find(accountId(7));
+              accountRepository.lock(accountId(7));
+              accountRepository.save(created);
+              accountRepository.delete(created.id());
+            });
+    List<Plan> listing = explain(accountRepository::findAll);
+
+    assertThat(lookups).hasSize(4);
+    assertPlans(lookups, KEY_LOOKUP_COST);
+    assertThat(listing).hasSize(1);
+    assertPlans(listing, FULL_LISTING_COST, "accounts");
+  }
+
+  @Test
+  void card_lookups_use_the_primary_key_or_the_linked_account() {
+    PersonalFinanceCard card = cardRepository.find(cardId(7)).orElseThrow();
+    PersonalFinanceCard created =
+        new PersonalFinanceCard(
+            PersonalFinanceCardId.random(),
+            "New",
+            accountId(ACCOUNTS + 1),
+            NOW,
+            PersonalFinanceCardStatus.ACTIVE);
+
+    List<Plan> lookups =
+        explain(
+            () -> {
+              accountRepository.save(
+                  new Account(
+                      created.linkedAccountId(),
+                      "New",
+                      RUB,
+                      AccountType.CASH,
+                      AccountStatus.ACTIVE,
+                      NOW));
+              cardRepository.find(card.id());
+              cardRepository.findVersioned(card.id());
+              cardRepository.findByLinkedAccountId(card.linkedAccountId());
+              cardRepository.save(created);
+              cardRepository.update(
+                  new PersonalFinanceCard(
+                      card.id(),
+                      "Renamed",
+                      card.linkedAccountId(),
+                      card.createdAt(),
+                      card.status()),
+                  1);
+              cardRepository.delete(created.id());
+            });
+    List<Plan> listing = explain(cardRepository::findAll);
+
+    assertThat(lookups).hasSize(7);
+    lookups.stream()
+        .filter(plan -> plan.sql().contains("WHERE linked_account_id = ?"))
+        .forEach(plan -> assertIndexScan(plan, "personal_finance_cards", "linked_account_id"));
+    assertPlans(lookups, KEY_LOOKUP_COST);
+    assertThat(listing).hasSize(1);
+    assertPlans(listing, FULL_LISTING_COST, "personal_finance_cards");
+  }
+
+  @Test
+  void monthly_actuals_are_read_and_written_by_card_and_year() {
+    PersonalFinanceCardId cardId = cardId(7);
+    MonthlyExpenseActual expense =
+        new MonthlyExpenseActual(
+            cardId,
+            LAST_YEAR,
+            3,
+            Map.of(PersonalExpenseCategory.GROCERIES, new Money(new BigDecimal("100.00"), RUB)));
+    MonthlyIncomeActual income =
+        new MonthlyIncomeActual(cardId, LAST_YEAR, 3, new Money(new BigDecimal("100.00"), RUB));
+
+    List<Plan> plans =
+        explain(
+            () -> {
+              expenseActualRepository.findByCardAndYear(cardId, LAST_YEAR);
+              expenseActualRepository.findVersionedByCardAndYear(cardId, LAST_YEAR);
+              expenseActualRepository.upsert(expense);
+              expenseActualRepository.upsert(expense, 2);
+              expenseActualRepository.upsertAll(List.of(expense));
+              expenseActualRepository.delete(cardId, LAST_YEAR, 3, 4);
+              expenseActualRepository.delete(cardId, LAST_YEAR + 1, 3, Versioned.ABSENT);
+              expenseActualRepository.delete(cardId, LAST_YEAR, 4);
+              expenseActualRepository.deleteAll(cardId, LAST_YEAR, List.of(5, 6));
+
+              incomeActualRepository.findByCardAndYear(cardId, LAST_YEAR);
+              incomeActualRepository.findVersionedByCardAndYear(cardId, LAST_YEAR);
+              incomeActualRepository.upsert(income);
+              incomeActualRepository.upsert(income, 2);
+              incomeActualRepository.upsertAll(List.of(income));
+              incomeActualRepository.delete(cardId, LAST_YEAR, 3, 4);
+              incomeActualRepository.delete(cardId, LAST_YEAR + 1, 3, Versioned.ABSENT);
+              incomeActualRepository.delete(cardId, LAST_YEAR, 4);
+              incomeActualRepository.deleteAll(cardId, LAST_YEAR, List.of(5, 6));
+            });
+
+    assertThat(plans).hasSize(18);
+    plans.stream()
+        .filter(plan -> plan.sql().contains("expense_actuals") && !plan.sql().contains("INSERT"))
+        .forEach(
+            plan ->
+                assertIndexScan(
+                    plan, "personal_finance_monthly_expense_actuals", "card_id", "year"));
+    plans.stream()
+        .filter(plan -> plan.sql().contains("income_actuals") && !plan.sql().contains("INSERT"))
+        .forEach(
+            plan ->
+                assertIndexScan(
+                    plan, "personal_finance_monthly_income_actuals", "card_id", "year"));
+    assertPlans(plans, KEY_LOOKUP_COST);
+  }
+
+  @Test
+  void card_settings_are_read_and_written_by_card() {
+    PersonalFinanceCardId cardId = cardId(7);
+
+    List<Plan> plans =
+        explain(
+            () -> {
+              expenseLimitRepository.findByCardId(cardId);
+              expenseLimitRepository.upsert(MonthlyExpenseLimit.empty(cardId));
+              expenseLimitRepository.delete(cardId);
+
+              incomeForecastRepository.findByCardId(cardId);
+              incomeForecastRepository.upsert(
+                  new IncomeForecast(
+                      cardId, new Money(new BigDecimal("200000.00"), RUB), new BigDecimal("15")));
+              incomeForecastRepository.delete(cardId);
+
+              incomePlanRepository.findByCardAndYear(cardId, LAST_YEAR);
+              incomePlanRepository.upsert(
+                  new IncomePlan(
+                      cardId,
+                      LAST_YEAR,
+                      List.of(
+                          new VacationPeriod(
+                              LocalDate.of(LAST_YEAR, 8, 1), LocalDate.of(LAST_YEAR, 8, 14))),
+                      false,
+                      null));
+              incomePlanRepository.delete(cardId, LAST_YEAR);
+              incomePlanRepository.deleteByCardId(cardId);
+            });
+
+    assertThat(plans).isNotEmpty();
+    assertPlans(plans, KEY_LOOKUP_COST);
+  }
+
+  @Test
+  void import_jobs_are_claimed_and_updated_by_key() {
+    AccountId accountId = accountId(7);
+    ImportJob job = ImportJob.queued(ImportJobId.random(), accountId, NOW);
+    ImportJobId stored = new ImportJobId(md5Uuid("import-job-7-1"));
+
+    List<Plan> plans =
+        explain(
+            () -> {
+              importJobRepository.save(job);
+              importJobRepository.find(job.id());
+              importJobRepository.tryStart(job.id(), NOW, NOW.minusSeconds(300));
+              importJobRepository.recordProgress(job.id(), new ImportJobProgress(10, 9, 1, 0), NOW);
+              importJobRepository.requestCancel(job.id(), NOW);
+              importJobRepository.finish(
+                  job.id(),
+                  ImportJobStatus.SUCCEEDED,
+                  new ImportJobProgress(10, 9, 1, 0),
+                  null,
+                  NOW);
+              importJobRepository.requestCancel(stored, NOW);
+            });
+
+    assertThat(plans).isNotEmpty();
+    plans.stream()
+        .filter(plan -> plan.sql().contains("WHERE account_id ="))
+        .forEach(plan -> assertIndexScan(plan, "import_jobs", "account_id"));
+    assertPlans(plans, KEY_LOOKUP_COST);
+  }
+
+  /**
+   * Runs {@code repositoryCalls} in a rolled-back transaction and explains every statement they
+   * sent, in order.
+   */
+  private List<Plan> explain(Runnable repositoryCalls) {
+    recording.statements.clear();
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          repositoryCalls.run();
+          status.setRollbackOnly();
+        });
+
+    List<Plan> plans = new ArrayList<>();
+    try (Connection connection =
+        DriverManager.getConnection(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+      for (RecordedStatement statement : recording.statements) {
+        try (PreparedStatement explain =
+            connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+          for (Binding binding : statement.bindings()) {
+            binding.method().invoke(explain, binding.args());
+          }
+          try (var rs = explain.executeQuery()) {
+            rs.next();
+            plans.add(new Plan(statement.sql(), JSON.readTree(rs.getString(1)).get(0).get("Plan")));
+          }
+        }
+      }
+    } catch (Exception ex) {
+      throw new AssertionError("Could not explain the recorded statements", ex);
+    }
+    return plans;
+  }
+
+  /**
+   * Checks that no plan reads a large table sequentially, except {@code fullListings}, and that
+   * every plan stays within {@code costBudget}.
+   */
+  private static void assertPlans(List<Plan> plans, double costBudget, String... fullListings) {
+    Set<String> allowed = Set.of(fullListings);
+    for (Plan plan : plans) {
+      plan.nodes()
+          .filter(node -> "Seq Scan".equals(node.path("Node Type").asText()))
+          .map(node -> node.path("Relation Name").asText())
+          .filter(relation -> !allowed.contains(relation))
+          .forEach(
+              relation ->
+                  assertThat(tableRows.getOrDefault(relation, 0.0))
+                      .as("sequential scan of %s in%n%s%n%s", relation, plan.sql(), plan.root())
+                      .isLessThanOrEqualTo(SEQ_SCAN_ROW_LIMIT));
+      assertThat(plan.root().path("Total Cost").asDouble())
+          .as("estimated cost of%n%s%n%s", plan.sql(), plan.root())
+          .isLessThanOrEqualTo(costBudget);
+    }
+  }
+
+  /**
+   * Checks that {@code plan} reads {@code table} through an index whose condition covers all {@code
+   * columns}. Other scans of the same table, such as the one in a subquery, may use other indexes.
+   */
+  private static void assertIndexScan(Plan plan, String table, String... columns) {
+    List<String> conditions =
+        plan.nodes()
+            .filter(node -> node.path("Node Type").asText().endsWith("Scan"))
+            .filter(node -> table.equals(node.path("Relation Name").asText()))
+            .map(PostgresQueryPlanTest::indexCondition)
+            .toList();
+
+    assertThat(conditions)
+        .as("scans of %s in%n%s%n%s", table, plan.sql(), plan.root())
+        .anySatisfy(condition -> assertThat(condition).contains(columns));
+  }
+
+  /** The index condition of a scan node, looking through a bitmap heap scan to its index scan. */
+  private static String indexCondition(JsonNode scan) {
+    if (scan.has("Index Cond")) return scan.get("Index Cond").asText();
+    if ("Bitmap Heap Scan".equals(scan.path("Node Type").asText())) {
+      return Plan.descendants(scan)
+          .filter(node -> node.has("Index Cond"))
+          .map(node -> node.get("Index Cond").asText())
+          .reduce("", String::concat);
+    }
+    return scan.path("Node Type").asText();
+  }
+
+  private static AccountId accountId(int index) {
+    return new AccountId(md5Uuid("account-" + index));
+  }
+
+  private static TransactionId transactionId(int account, int index) {
+    return new TransactionId(md5Uuid("transaction-" + account + "-" + index));
+  }
+
+  private static PersonalFinanceCardId cardId(int index) {
+    return new PersonalFinanceCardId(md5Uuid("card-" + index));
+  }
+
+  /** The same UUID as {@code md5(key)::uuid} in the dataset script. */
+  private static UUID md5Uuid(String key) {
+    try {
+      byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+      long high = 0;
+      long low = 0;
+      for (int i = 0; i < 8; i++) high = (high << 8) | (digest[i] & 0xff);
+      for (int i = 8; i < 16; i++) low = (low << 8) | (digest[i] & 0xff);
+      return new UUID(high, low);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static Transaction transaction(AccountId accountId, String memo) {
+    return new Transaction(
+        TransactionId.random(),
+        accountId,
+        LocalDate.of(LAST_YEAR, 5, 20),
+        TransactionDirection.OUTFLOW,
+        new Money(new BigDecimal("350.00"), RUB),
+        memo,
+        NOW);
+  }
+
+  private static Transaction withMemo(Transaction transaction, String memo) {
+    return new Transaction(
+        transaction.id(),
+        transaction.accountId(),
+        transaction.occurredOn(),
+        transaction.direction(),
+        transaction.amount(),
+        memo,
+        transaction.createdAt());
+  }
+
+  /** The explained plan of one statement. */
+  private record Plan(String sql, JsonNode root) {
+    Stream<JsonNode> nodes() {
+      return Stream.concat(Stream.of(root), descendants(root));
+    }
+
+    static Stream<JsonNode> descendants(JsonNode node) {
+      if (!node.has("Plans")) return Stream.empty();
+      List<JsonNode> children = new ArrayList<>();
+      node.get("Plans").forEach(children::add);
+      return children.stream()
+          .flatMap(child -> Stream.concat(Stream.of(child), descendants(child)));
+    }
+  }
+
+  private record Binding(Method method, Object[] args) {}
+
+  private record RecordedStatement(String sql, List<Binding> bindings) {}
+
+  /**
+   * Hands out connections whose prepared statements remember their SQL and the parameters bound to
+   * each execution, so the test can explain exactly what a repository sent.
+   */
+  private static final class RecordingDataSource extends DelegatingDataSource {
+    final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    RecordingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      Connection connection = super.getConnection();
+      return (Connection)
+          Proxy.newProxyInstance(
+              getClass().getClassLoader(),
+              new Class<?>[] {Connection.class},
+              (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                return switch (method.getName()) {
+                  case "prepareStatement" ->
+                      recording(result, PreparedStatement.class, (String) args[0]);
+                  case "createStatement" -> recording(result, Statement.class, null);
+                  default -> result;
+                };
+              });
+    }
+
+    /**
+     * Wraps {@code statement} so that each execution, or each batch entry, is recorded with the SQL
+     * it ran: {@code preparedSql} and the parameters bound at that moment, or the SQL handed to a
+     * plain statement.
+     */
+    private <S extends Statement> S recording(Object statement, Class<S> type, String preparedSql) {
+      Map<Integer, Binding> bindings = new TreeMap<>();
+      return type.cast(
+          Proxy.newProxyInstance(
+              getClass().getClassLoader(),
+              new Class<?>[] {type},
+              (proxy, method, args) -> {
+                String name = method.getName();
+                boolean runs =
+                    (name.equals("addBatch") || name.startsWith("execute"))
+                        && !name.equals("executeBatch");
+                if (name.startsWith("set")
+                    && args != null
+                    && args.length >= 2
+                    && method.getParameterTypes()[0] == int.class) {
+                  bindings.put((Integer) args[0], new Binding(method, args));
+                } else if (name.equals("clearParameters")) {
+                  bindings.clear();
+                } else if (runs && args != null && args.length > 0 && args[0] instanceof String) {
+                  statements.add(new RecordedStatement((String) args[0], List.of()));
+                } else if (runs && preparedSql != null) {
+                  statements.add(
+                      new RecordedStatement(preparedSql, List.copyOf(bindings.values())));
+                }
+                return invoke(statement, method, args);
+              }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException ex) {
+        throw ex.getTargetException();
+      }
+    }
+  }
+}
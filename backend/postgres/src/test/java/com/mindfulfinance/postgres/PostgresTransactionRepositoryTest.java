@@ -16,14 +16,21 @@ import com.mindfulfinance.domain.transaction.TransactionId;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -35,6 +42,7 @@ public class PostgresTransactionRepositoryTest {
 
   private PostgresAccountRepository accountRepository;
   private PostgresTransactionRepository transactionRepository;
+  private TransactionTemplate transactionTemplate;
 
   @BeforeEach
   void setUp() {
@@ -55,6 +63,7 @@ public class PostgresTransactionRepositoryTest {
 
     accountRepository = new PostgresAccountRepository(jdbcTemplate);
     transactionRepository = new PostgresTransactionRepository(jdbcTemplate);
+    transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
   }
 
   @Test
@@ -91,6 +100,128 @@ public class PostgresTransactionRepositoryTest {
         .containsExactly(earlierOccurredOn, laterOccurredOn);
   }
 
+  @Test
+  public void save_all_then_find_by_occurred_on_in_returns_only_requested_dates() {
+    var account =
+        account("11111111-1111-1111-1111-111111111111", "Cash", "USD", "2026-03-02T00:00:00Z");
+    accountRepository.save(account);
+
+    var first =
+        transaction(
+            "33333333-3333-3333-3333-333333333333",
+            account.id(),
+            "2026-03-01",
+            INFLOW,
+            "100.00",
+            "USD",
+            "Salary",
+            "2026-03-02T10:00:00Z");
+    var second =
+        transaction(
+            "44444444-4444-4444-4444-444444444444",
+            account.id(),
+            "2026-03-02",
+            OUTFLOW,
+            "20.00",
+            "USD",
+            "Taxi",
+            "2026-03-02T11:00:00Z");
+    var third =
+        transaction(
+            "55555555-5555-5555-5555-555555555555",
+            account.id(),
+            "2026-03-03",
+            OUTFLOW,
+            "5.00",
+            "USD",
+            "Coffee",
+            "2026-03-02T12:00:00Z");
+
+    transactionRepository.saveAll(List.of(first, second, third));
+
+    assertThat(transactionRepository.findByAccountId(account.id()))
+        .containsExactly(first, second, third);
+    assertThat(
+            transactionRepository.findByAccountIdAndOccurredOnIn(
+                account.id(), Set.of(LocalDate.parse("2026-03-01"), LocalDate.parse("2026-03-03"))))
+        .containsExactly(first, third);
+  }
+
+  @Test
+  public void for_each_by_account_id_streams_a_ledger_larger_than_the_fetch_size_in_order() {
+    var account =
+        account("11111111-1111-1111-1111-111111111111", "Cash", "USD", "2026-03-02T00:00:00Z");
+    accountRepository.save(account);
+    List<Transaction> saved = new ArrayList<>();
+    for (int i = 0; i < 2500; i++) {
+      saved.add(
+          new Transaction(
+              TransactionId.random(),
+              account.id(),
+              LocalDate.parse("2026-01-01").plusDays(i % 365),
+              OUTFLOW,
+              new Money(new BigDecimal(i + 1), Currency.getInstance("USD")),
+              null,
+              Instant.parse("2026-03-02T00:00:00Z").plusSeconds(i)));
+    }
+    transactionRepository.saveAll(saved);
+
+    List<Transaction> streamed = new ArrayList<>();
+    transactionTemplate.executeWithoutResult(
+        status -> transactionRepository.forEachByAccountId(account.id(), streamed::add));
+
+    assertThat(streamed).isEqualTo(transactionRepository.findByAccountId(account.id()));
+    assertThat(streamed).hasSize(2500);
+  }
+
+  @Test
+  public void for_each_by_account_ids_reads_through_a_cursor_only_inside_a_transaction() {
+    var account =
+        account("11111111-1111-1111-1111-111111111111", "Cash", "USD", "2026-03-02T00:00:00Z");
+    accountRepository.save(account);
+    List<Transaction> saved = new ArrayList<>();
+    for (int i = 0; i < 1500; i++) {
+      saved.add(
+          new Transaction(
+              TransactionId.random(),
+              account.id(),
+              LocalDate.parse("2026-01-01").plusDays(i % 365),
+              OUTFLOW,
+              new Money(new BigDecimal(i + 1), Currency.getInstance("USD")),
+              null,
+              Instant.parse("2026-03-02T00:00:00Z").plusSeconds(i)));
+    }
+    transactionRepository.saveAll(saved);
+    // One session throughout, so pg_cursors sees the portal the driver reads the rows from.
+    var session =
+        new SingleConnectionDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+    var jdbcTemplate = new JdbcTemplate(session);
+    var repository = new PostgresTransactionRepository(jdbcTemplate);
+    var readOnly = new TransactionTemplate(new DataSourceTransactionManager(session));
+    readOnly.setReadOnly(true);
+    List<Integer> openPortals = new ArrayList<>();
+    Consumer<Transaction> countPortals =
+        tx ->
+            openPortals.add(
+                jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_cursors WHERE name <> ''", Integer.class));
+
+    try {
+      repository.forEachByAccountIds(List.of(account.id()), countPortals);
+      assertThat(openPortals).hasSize(1500).containsOnly(0);
+
+      openPortals.clear();
+      readOnly.executeWithoutResult(
+          status -> repository.forEachByAccountIds(List.of(account.id()), countPortals));
+      // The first fetch-size rows are handed over while the rest still wait in the open portal.
+      assertThat(openPortals).hasSize(1500);
+      assertThat(openPortals.get(0)).isEqualTo(1);
+    } finally {
+      session.destroy();
+    }
+  }
+
   @Test
   public void find_by_account_id_returns_only_transactions_for_requested_account() {
     var firstAccount =
@@ -242,6 +373,70 @@ public class PostgresTransactionRepositoryTest {
         .isFalse();
   }
 
+  @Test
+  public void for_each_by_account_ids_reads_only_the_requested_accounts_account_by_account() {
+    var first =
+        account("11111111-1111-1111-1111-111111111111", "Cash", "USD", "2026-03-02T00:00:00Z");
+    var second =
+        account("22222222-2222-2222-2222-222222222222", "Travel", "EUR", "2026-03-02T00:30:00Z");
+    var third =
+        account("55555555-5555-5555-5555-555555555555", "Other", "USD", "2026-03-02T01:00:00Z");
+    accountRepository.save(first);
+    accountRepository.save(second);
+    accountRepository.save(third);
+
+    var secondTransaction =
+        transaction(
+            "44444444-4444-4444-4444-444444444444",
+            second.id(),
+            "2026-03-01",
+            OUTFLOW,
+            "40.00",
+            "EUR",
+            "Taxi",
+            "2026-03-01T08:30:00Z");
+    var firstLater =
+        transaction(
+            "33333333-3333-3333-3333-333333333333",
+            first.id(),
+            "2026-03-03",
+            INFLOW,
+            "100.00",
+            "USD",
+            "Deposit",
+            "2026-03-03T08:00:00Z");
+    var firstEarlier =
+        transaction(
+            "66666666-6666-6666-6666-666666666666",
+            first.id(),
+            "2026-03-02",
+            OUTFLOW,
+            "5.00",
+            "USD",
+            "Coffee",
+            "2026-03-02T08:00:00Z");
+    var thirdTransaction =
+        transaction(
+            "77777777-7777-7777-7777-777777777777",
+            third.id(),
+            "2026-03-02",
+            INFLOW,
+            "1.00",
+            "USD",
+            "Interest",
+            "2026-03-02T09:00:00Z");
+    transactionRepository.saveAll(
+        List.of(secondTransaction, firstLater, firstEarlier, thirdTransaction));
+
+    List<Transaction> read = new ArrayList<>();
+    transactionRepository.forEachByAccountIds(List.of(second.id(), first.id()), read::add);
+    List<Transaction> none = new ArrayList<>();
+    transactionRepository.forEachByAccountIds(List.of(), none::add);
+
+    assertThat(read).containsExactly(firstEarlier, firstLater, secondTransaction);
+    assertThat(none).isEmpty();
+  }
+
   private static Account account(String id, String name, String currency, String createdAt) {
     return new Account(
         new AccountId(UUID.fromString(id)),
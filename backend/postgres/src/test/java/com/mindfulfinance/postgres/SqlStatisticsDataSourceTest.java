@@ -0,0 +1,164 @@
+package com.mindfulfinance.postgres;
+
+import static com.mindfulfinance.domain.account.AccountStatus.ACTIVE;
+import static com.mindfulfinance.domain.account.AccountType.CASH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mindfulfinance.domain.account.Account;
+import com.mindfulfinance.domain.account.AccountId;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+public class SqlStatisticsDataSourceTest {
+  @Container
+  static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  private final Logger log = Logger.getLogger(SqlStatisticsDataSource.class.getName());
+  private final List<String> logged = new CopyOnWriteArrayList<>();
+  private final Handler handler =
+      new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+          logged.add(new SimpleFormatter().formatMessage(record));
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+      };
+
+  private DriverManagerDataSource target;
+  private SqlStatistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    var flyway =
+        Flyway.configure()
+            .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+            .locations("classpath:db/migration")
+            .cleanDisabled(false)
+            .load();
+
+    flyway.clean();
+    flyway.migrate();
+
+    target =
+        new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    statistics = new SqlStatistics();
+    log.addHandler(handler);
+  }
+
+  @AfterEach
+  void tearDown() {
+    log.removeHandler(handler);
+  }
+
+  @Test
+  public void fingerprint_collapses_whitespace_and_literals() {
+    assertThat(
+            SqlStatistics.fingerprint(
+                """
+                SELECT id FROM accounts
+                WHERE name = 'O''Brien' AND balance > 10.50 AND id = ?
+                LIMIT 20
+                """))
+        .isEqualTo("SELECT id FROM accounts WHERE name = ? AND balance > ? AND id = ? LIMIT ?");
+    assertThat(SqlStatistics.fingerprint("SELECT t1.id, $2 FROM t1"))
+        .isEqualTo("SELECT t1.id, $2 FROM t1");
+  }
+
+  @Test
+  public void executions_are_counted_per_statement_with_rows_changed_and_read() {
+    var repository =
+        new PostgresAccountRepository(
+            new JdbcTemplate(new SqlStatisticsDataSource(target, statistics, Duration.ofHours(1))));
+
+    repository.save(account("11111111-1111-1111-1111-111111111111", "Cash"));
+    repository.save(account("22222222-2222-2222-2222-222222222222", "Savings"));
+    repository.findAll();
+    repository.findAll();
+
+    assertThat(statistics.statements())
+        .anySatisfy(
+            statement -> {
+              assertThat(statement.sql()).startsWith("INSERT INTO accounts");
+              assertThat(statement.calls()).isEqualTo(2);
+              assertThat(statement.rows()).isEqualTo(2);
+            })
+        .anySatisfy(
+            statement -> {
+              assertThat(statement.sql()).startsWith("SELECT").contains("FROM accounts");
+              assertThat(statement.calls()).isEqualTo(2);
+              assertThat(statement.rows()).isEqualTo(4);
+              assertThat(statement.maxTime()).isPositive();
+              assertThat(statement.totalTime()).isGreaterThanOrEqualTo(statement.maxTime());
+            });
+    assertThat(logged).isEmpty();
+
+    statistics.reset();
+
+    assertThat(statistics.statements()).isEmpty();
+  }
+
+  @Test
+  public void slow_statements_are_logged_with_parameter_types_but_not_values() {
+    var repository =
+        new PostgresAccountRepository(
+            new JdbcTemplate(new SqlStatisticsDataSource(target, statistics, Duration.ZERO)));
+
+    repository.save(account("11111111-1111-1111-1111-111111111111", "Secret savings"));
+
+    assertThat(logged)
+        .singleElement()
+        .satisfies(
+            message -> {
+              assertThat(message).contains("INSERT INTO accounts", "$1 UUID", "1 rows changed");
+              assertThat(message)
+                  .doesNotContain("Secret savings", "11111111-1111-1111-1111-111111111111");
+            });
+  }
+
+  @Test
+  public void statements_beyond_the_limit_are_added_to_other_statements() {
+    for (int i = 0; i <= SqlStatistics.MAX_STATEMENTS; i++) {
+      statistics.recordExecution("SELECT " + i, 1_000, 1);
+    }
+
+    assertThat(statistics.statements()).hasSize(SqlStatistics.MAX_STATEMENTS + 1);
+    assertThat(statistics.statements())
+        .filteredOn(statement -> statement.sql().equals(SqlStatistics.OTHER))
+        .singleElement()
+        .satisfies(statement -> assertThat(statement.calls()).isEqualTo(1));
+  }
+
+  private static Account account(String id, String name) {
+    return new Account(
+        new AccountId(UUID.fromString(id)),
+        name,
+        Currency.getInstance("USD"),
+        CASH,
+        ACTIVE,
+        Instant.parse("2026-03-02T00:00:00Z"));
+  }
+}